@@ -0,0 +1,225 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.set.Sets;
+import walkingkooka.math.Fraction;
+import walkingkooka.net.AbsoluteUrl;
+import walkingkooka.net.Url;
+import walkingkooka.reflect.PublicStaticHelper;
+import walkingkooka.spreadsheet.engine.SpreadsheetEngine;
+import walkingkooka.spreadsheet.engine.SpreadsheetEngineContext;
+import walkingkooka.spreadsheet.engine.SpreadsheetEngineContexts;
+import walkingkooka.spreadsheet.format.pattern.SpreadsheetPattern;
+import walkingkooka.spreadsheet.meta.SpreadsheetMetadata;
+import walkingkooka.spreadsheet.meta.SpreadsheetMetadataPropertyName;
+import walkingkooka.spreadsheet.meta.store.SpreadsheetMetadataStores;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetReferenceKind;
+import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
+import walkingkooka.spreadsheet.reference.store.SpreadsheetCellRangeStores;
+import walkingkooka.spreadsheet.reference.store.SpreadsheetExpressionReferenceStores;
+import walkingkooka.spreadsheet.reference.store.SpreadsheetLabelStores;
+import walkingkooka.spreadsheet.security.store.SpreadsheetGroupStores;
+import walkingkooka.spreadsheet.security.store.SpreadsheetUserStores;
+import walkingkooka.spreadsheet.store.SpreadsheetCellStores;
+import walkingkooka.spreadsheet.store.SpreadsheetColumnStores;
+import walkingkooka.spreadsheet.store.SpreadsheetRowStores;
+import walkingkooka.spreadsheet.store.repo.SpreadsheetStoreRepositories;
+import walkingkooka.spreadsheet.store.repo.SpreadsheetStoreRepository;
+import walkingkooka.tree.expression.ExpressionEvaluationContext;
+import walkingkooka.tree.expression.ExpressionNumber;
+import walkingkooka.tree.expression.ExpressionPurityContext;
+import walkingkooka.tree.expression.FunctionExpressionName;
+import walkingkooka.tree.expression.function.ExpressionFunction;
+import walkingkooka.tree.expression.function.ExpressionFunctionParameter;
+import walkingkooka.tree.expression.function.ExpressionFunctionParameterKind;
+import walkingkooka.tree.expression.function.ExpressionFunctionParameterName;
+import walkingkooka.tree.expression.function.FakeExpressionFunction;
+import walkingkooka.tree.expression.function.UnknownExpressionFunctionException;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Shared fixtures used by the JMH benchmarks, creating realistic metadata, stores, contexts and sheets of cells.
+ */
+public final class SpreadsheetBenchmarkFixtures implements PublicStaticHelper {
+
+    /**
+     * Every generated sheet has this many columns, rows are added until the requested number of cells is reached.
+     */
+    public final static int COLUMNS = 10;
+
+    public final static Supplier<LocalDateTime> NOW = LocalDateTime::now;
+
+    public final static Function<SpreadsheetSelection, SpreadsheetSelection> RESOLVE_IF_LABEL = (s) -> {
+        throw new UnsupportedOperationException();
+    };
+
+    /**
+     * Creates a {@link SpreadsheetMetadata} with all the properties required to parse, evaluate and format cells.
+     */
+    public static SpreadsheetMetadata metadata() {
+        return SpreadsheetMetadata.NON_LOCALE_DEFAULTS
+                .set(SpreadsheetMetadataPropertyName.LOCALE, Locale.forLanguageTag("EN-AU"))
+                .loadFromLocale()
+                .set(SpreadsheetMetadataPropertyName.SPREADSHEET_ID, SpreadsheetId.with(1))
+                .set(SpreadsheetMetadataPropertyName.TEXT_FORMAT_PATTERN, SpreadsheetPattern.parseTextFormatPattern("@"));
+    }
+
+    /**
+     * Creates a {@link SpreadsheetStoreRepository} backed by empty tree map stores.
+     */
+    public static SpreadsheetStoreRepository storeRepository() {
+        return SpreadsheetStoreRepositories.basic(
+                SpreadsheetCellStores.treeMap(),
+                SpreadsheetExpressionReferenceStores.treeMap(),
+                SpreadsheetColumnStores.treeMap(),
+                SpreadsheetGroupStores.fake(),
+                SpreadsheetLabelStores.treeMap(),
+                SpreadsheetExpressionReferenceStores.treeMap(),
+                SpreadsheetMetadataStores.fake(),
+                SpreadsheetCellRangeStores.treeMap(),
+                SpreadsheetCellRangeStores.treeMap(),
+                SpreadsheetRowStores.treeMap(),
+                SpreadsheetUserStores.fake()
+        );
+    }
+
+    /**
+     * Creates a {@link SpreadsheetEngineContext} for the given {@link SpreadsheetEngine} and {@link SpreadsheetStoreRepository}.
+     */
+    public static SpreadsheetEngineContext engineContext(final SpreadsheetEngine engine,
+                                                         final SpreadsheetStoreRepository repository) {
+        return SpreadsheetEngineContexts.basic(
+                metadata(),
+                SpreadsheetBenchmarkFixtures::function,
+                engine,
+                SpreadsheetBenchmarkFixtures::fraction,
+                repository,
+                SERVER_URL,
+                NOW
+        );
+    }
+
+    /**
+     * Only SUM is available, which adds all numbers including those within ranges.
+     */
+    private static ExpressionFunction<?, ExpressionEvaluationContext> function(final FunctionExpressionName name) {
+        if (false == SUM.equalsIgnoreCase(name.value())) {
+            throw new UnknownExpressionFunctionException(name);
+        }
+
+        return new FakeExpressionFunction<>() {
+            @Override
+            public Object apply(final List<Object> parameters,
+                                final ExpressionEvaluationContext context) {
+                ExpressionNumber sum = context.expressionNumberKind()
+                        .zero();
+
+                for (final Object parameter : parameters) {
+                    if (parameter instanceof List) {
+                        for (final Object value : (List<?>) parameter) {
+                            if (value instanceof ExpressionNumber) {
+                                sum = sum.add((ExpressionNumber) value, context);
+                            }
+                        }
+                    }
+                    if (parameter instanceof ExpressionNumber) {
+                        sum = sum.add((ExpressionNumber) parameter, context);
+                    }
+                }
+
+                return sum;
+            }
+
+            @Override
+            public List<ExpressionFunctionParameter<?>> parameters(final int count) {
+                return SUM_PARAMETERS;
+            }
+
+            @Override
+            public boolean isPure(final ExpressionPurityContext context) {
+                return true;
+            }
+        };
+    }
+
+    private final static String SUM = "sum";
+
+    private final static List<ExpressionFunctionParameter<?>> SUM_PARAMETERS = Lists.of(
+            ExpressionFunctionParameterName.with("parameters")
+                    .variable(Object.class)
+                    .setKinds(ExpressionFunctionParameterKind.CONVERT_EVALUATE_RESOLVE_REFERENCES)
+    );
+
+    private static Fraction fraction(final BigDecimal value) {
+        throw new UnsupportedOperationException();
+    }
+
+    private final static AbsoluteUrl SERVER_URL = Url.parseAbsolute("https://example.com");
+
+    /**
+     * Creates count cells filling {@link #COLUMNS} columns. Every row starts with a number in column A, each following
+     * cell adds one to the cell on its left, giving every row a chain of references.
+     */
+    public static Set<SpreadsheetCell> cells(final int count) {
+        final Set<SpreadsheetCell> cells = Sets.sorted();
+
+        for (int i = 0; i < count; i++) {
+            final int column = i % COLUMNS;
+            final int row = i / COLUMNS;
+
+            cells.add(
+                    cell(column, row)
+                            .setFormula(
+                                    SpreadsheetFormula.EMPTY.setText(
+                                            0 == column ?
+                                                    String.valueOf(row) :
+                                                    "=" + cell(column - 1, row) + "+1"
+                                    )
+                            )
+            );
+        }
+
+        return cells;
+    }
+
+    /**
+     * Factory that creates a relative {@link SpreadsheetCellReference} from zero based column and row values.
+     */
+    public static SpreadsheetCellReference cell(final int column,
+                                                final int row) {
+        return SpreadsheetReferenceKind.RELATIVE.column(column)
+                .setRow(SpreadsheetReferenceKind.RELATIVE.row(row));
+    }
+
+    /**
+     * Stop creation
+     */
+    private SpreadsheetBenchmarkFixtures() {
+        throw new UnsupportedOperationException();
+    }
+}
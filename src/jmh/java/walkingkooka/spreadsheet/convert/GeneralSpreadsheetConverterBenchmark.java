@@ -0,0 +1,119 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.convert;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import walkingkooka.Either;
+import walkingkooka.convert.Converter;
+import walkingkooka.spreadsheet.SpreadsheetBenchmarkFixtures;
+import walkingkooka.spreadsheet.meta.SpreadsheetMetadata;
+import walkingkooka.tree.expression.ExpressionNumber;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the {@link GeneralSpreadsheetConverter} created by {@link SpreadsheetMetadata#converter()} converting
+ * between numbers, strings, booleans and dates. Strings being converted are produced by the converter itself so
+ * they always match the metadata patterns.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class GeneralSpreadsheetConverterBenchmark {
+
+    private Converter<SpreadsheetConverterContext> converter;
+
+    private SpreadsheetConverterContext context;
+
+    private ExpressionNumber number;
+
+    private String numberText;
+
+    private final LocalDate date = LocalDate.of(1999, 12, 31);
+
+    private String dateText;
+
+    private final LocalDateTime dateTime = LocalDateTime.of(1999, 12, 31, 12, 58, 59);
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final SpreadsheetMetadata metadata = SpreadsheetBenchmarkFixtures.metadata();
+        final SpreadsheetConverterContext context = metadata.converterContext(
+                SpreadsheetBenchmarkFixtures.NOW,
+                SpreadsheetBenchmarkFixtures.RESOLVE_IF_LABEL
+        );
+
+        this.converter = metadata.converter();
+        this.context = context;
+
+        this.number = metadata.expressionNumberKind()
+                .create(1234.5);
+        this.numberText = context.convertOrFail(this.number, String.class);
+        this.dateText = context.convertOrFail(this.date, String.class);
+    }
+
+    @Benchmark
+    public Either<String, String> numberToString() {
+        return this.converter.convert(this.number, String.class, this.context);
+    }
+
+    @Benchmark
+    public Either<ExpressionNumber, String> stringToNumber() {
+        return this.converter.convert(this.numberText, ExpressionNumber.class, this.context);
+    }
+
+    @Benchmark
+    public Either<Boolean, String> numberToBoolean() {
+        return this.converter.convert(this.number, Boolean.class, this.context);
+    }
+
+    @Benchmark
+    public Either<LocalDate, String> numberToDate() {
+        return this.converter.convert(this.number, LocalDate.class, this.context);
+    }
+
+    @Benchmark
+    public Either<String, String> dateToString() {
+        return this.converter.convert(this.date, String.class, this.context);
+    }
+
+    @Benchmark
+    public Either<LocalDate, String> stringToDate() {
+        return this.converter.convert(this.dateText, LocalDate.class, this.context);
+    }
+
+    @Benchmark
+    public Either<ExpressionNumber, String> dateTimeToNumber() {
+        return this.converter.convert(this.dateTime, ExpressionNumber.class, this.context);
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.engine;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import walkingkooka.spreadsheet.SpreadsheetBenchmarkFixtures;
+import walkingkooka.spreadsheet.SpreadsheetCell;
+import walkingkooka.spreadsheet.SpreadsheetFormula;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellRange;
+import walkingkooka.spreadsheet.reference.SpreadsheetReferenceKind;
+import walkingkooka.spreadsheet.reference.SpreadsheetRowReference;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link BasicSpreadsheetEngine} operations that leave the sheet unchanged, against sheets of several sizes.
+ * Operations that permanently change the shape of the sheet are in {@link BasicSpreadsheetEngineDeleteInsertBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BasicSpreadsheetEngineBenchmark {
+
+    /**
+     * The viewport is 10 columns by 20 rows using the default column width and row height.
+     */
+    private final static double VIEWPORT_WIDTH = 1000;
+
+    private final static double VIEWPORT_HEIGHT = 600;
+
+    /**
+     * The number of rows each fill repeats the first row into.
+     */
+    private final static int FILL_ROWS = 10;
+
+    @Param({"100", "1000", "10000"})
+    public int cells;
+
+    private SpreadsheetEngine engine;
+
+    private SpreadsheetEngineContext context;
+
+    private int rows;
+
+    private int row;
+
+    private Set<SpreadsheetCell> fillCells;
+
+    private SpreadsheetCellRange fillFrom;
+
+    private SpreadsheetCellRange fillTo;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final SpreadsheetEngine engine = BasicSpreadsheetEngine.INSTANCE;
+        final SpreadsheetEngineContext context = SpreadsheetBenchmarkFixtures.engineContext(
+                engine,
+                SpreadsheetBenchmarkFixtures.storeRepository()
+        );
+        engine.saveCells(
+                SpreadsheetBenchmarkFixtures.cells(this.cells),
+                context
+        );
+
+        this.engine = engine;
+        this.context = context;
+
+        final int columns = SpreadsheetBenchmarkFixtures.COLUMNS;
+        final int rows = this.cells / columns;
+        this.rows = rows;
+
+        this.fillCells = SpreadsheetBenchmarkFixtures.cells(columns);
+        this.fillFrom = SpreadsheetBenchmarkFixtures.cell(0, 0)
+                .cellRange(SpreadsheetBenchmarkFixtures.cell(columns - 1, 0));
+        this.fillTo = SpreadsheetBenchmarkFixtures.cell(0, rows)
+                .cellRange(SpreadsheetBenchmarkFixtures.cell(columns - 1, rows + FILL_ROWS - 1));
+    }
+
+    /**
+     * Saves a new value into the first cell of a row, which also updates the chain of cells that reference it.
+     */
+    @Benchmark
+    public SpreadsheetDelta saveCell() {
+        final int row = this.nextRow();
+
+        return this.engine.saveCell(
+                SpreadsheetBenchmarkFixtures.cell(0, row)
+                        .setFormula(
+                                SpreadsheetFormula.EMPTY.setText(String.valueOf(row))
+                        ),
+                this.context
+        );
+    }
+
+    @Benchmark
+    public SpreadsheetDelta loadCellsWindow() {
+        return this.loadCellsWindow(SpreadsheetEngineEvaluation.COMPUTE_IF_NECESSARY);
+    }
+
+    @Benchmark
+    public SpreadsheetDelta loadCellsWindowForceRecompute() {
+        return this.loadCellsWindow(SpreadsheetEngineEvaluation.FORCE_RECOMPUTE);
+    }
+
+    /**
+     * Translates a viewport scrolled to the next row into a window and then loads all cells within that window.
+     */
+    private SpreadsheetDelta loadCellsWindow(final SpreadsheetEngineEvaluation evaluation) {
+        final SpreadsheetEngine engine = this.engine;
+        final SpreadsheetEngineContext context = this.context;
+
+        return engine.loadCells(
+                engine.window(
+                        SpreadsheetBenchmarkFixtures.cell(0, this.nextRow())
+                                .viewport(VIEWPORT_WIDTH, VIEWPORT_HEIGHT),
+                        false,
+                        SpreadsheetEngine.NO_SELECTION,
+                        context
+                ),
+                evaluation,
+                SpreadsheetDeltaProperties.ALL,
+                context
+        );
+    }
+
+    /**
+     * Repeats the first row into the rows following the sheet, the first invocation creates those cells and following
+     * invocations replace them.
+     */
+    @Benchmark
+    public SpreadsheetDelta fillCells() {
+        return this.engine.fillCells(
+                this.fillCells,
+                this.fillFrom,
+                this.fillTo,
+                this.context
+        );
+    }
+
+    /**
+     * Inserts a row in the middle of the sheet and then deletes it, both move every cell and reference below it.
+     */
+    @Benchmark
+    public void insertRowsThenDeleteRows(final Blackhole blackhole) {
+        final SpreadsheetEngine engine = this.engine;
+        final SpreadsheetEngineContext context = this.context;
+        final SpreadsheetRowReference row = SpreadsheetReferenceKind.RELATIVE.row(this.rows / 2);
+
+        blackhole.consume(
+                engine.insertRows(
+                        row,
+                        1,
+                        context
+                )
+        );
+        blackhole.consume(
+                engine.deleteRows(
+                        row,
+                        1,
+                        context
+                )
+        );
+    }
+
+    private int nextRow() {
+        final int row = (this.row + 1) % this.rows;
+        this.row = row;
+        return row;
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.engine;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import walkingkooka.spreadsheet.SpreadsheetBenchmarkFixtures;
+import walkingkooka.spreadsheet.reference.SpreadsheetReferenceKind;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link BasicSpreadsheetEngine} operations that permanently change the shape of the sheet. The sheet is
+ * rebuilt before every invocation, which is excluded from the measurement but makes these benchmarks slow to run.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BasicSpreadsheetEngineDeleteInsertBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int cells;
+
+    private SpreadsheetEngine engine;
+
+    private SpreadsheetEngineContext context;
+
+    @Setup(Level.Invocation)
+    public void setup() {
+        final SpreadsheetEngine engine = BasicSpreadsheetEngine.INSTANCE;
+        final SpreadsheetEngineContext context = SpreadsheetBenchmarkFixtures.engineContext(
+                engine,
+                SpreadsheetBenchmarkFixtures.storeRepository()
+        );
+        engine.saveCells(
+                SpreadsheetBenchmarkFixtures.cells(this.cells),
+                context
+        );
+
+        this.engine = engine;
+        this.context = context;
+    }
+
+    /**
+     * Deletes column B, every row has a reference to B that becomes an error and all following columns move left.
+     */
+    @Benchmark
+    public SpreadsheetDelta deleteColumns() {
+        return this.engine.deleteColumns(
+                SpreadsheetReferenceKind.RELATIVE.column(1),
+                1,
+                this.context
+        );
+    }
+
+    /**
+     * Inserts a row before the first row, moving every cell and reference in the sheet.
+     */
+    @Benchmark
+    public SpreadsheetDelta insertRows() {
+        return this.engine.insertRows(
+                SpreadsheetReferenceKind.RELATIVE.row(0),
+                1,
+                this.context
+        );
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.format.pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import walkingkooka.spreadsheet.SpreadsheetBenchmarkFixtures;
+import walkingkooka.spreadsheet.format.SpreadsheetFormatter;
+import walkingkooka.spreadsheet.format.SpreadsheetFormatterContext;
+import walkingkooka.spreadsheet.format.SpreadsheetText;
+import walkingkooka.spreadsheet.meta.SpreadsheetMetadata;
+import walkingkooka.tree.expression.ExpressionNumber;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks parsing {@link SpreadsheetFormatPattern} text and formatting values with the resulting {@link SpreadsheetFormatter}.
+ * The number values include small values handled by long arithmetic and large values that fall back to {@link BigDecimal}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SpreadsheetFormatPatternBenchmark {
+
+    private final static String NUMBER_PATTERN = "$ ###,##0.00 \"text-literal\"";
+
+    @Param({"1.25", "1234567.891", "123456789012345678901234.5"})
+    public String number;
+
+    private SpreadsheetFormatterContext context;
+
+    private ExpressionNumber numberValue;
+
+    private SpreadsheetFormatter numberFormatter;
+
+    private SpreadsheetFormatter scientificFormatter;
+
+    private SpreadsheetFormatter dateFormatter;
+
+    private SpreadsheetFormatter dateTimeFormatter;
+
+    private SpreadsheetFormatter timeFormatter;
+
+    private SpreadsheetFormatter textFormatter;
+
+    private final LocalDate date = LocalDate.of(1999, 12, 31);
+
+    private final LocalDateTime dateTime = LocalDateTime.of(1999, 12, 31, 12, 58, 59);
+
+    private final LocalTime time = LocalTime.of(12, 58, 59);
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final SpreadsheetMetadata metadata = SpreadsheetBenchmarkFixtures.metadata();
+
+        this.context = metadata.formatterContext(
+                SpreadsheetBenchmarkFixtures.NOW,
+                SpreadsheetBenchmarkFixtures.RESOLVE_IF_LABEL
+        );
+        this.numberValue = metadata.expressionNumberKind()
+                .create(new BigDecimal(this.number));
+
+        this.numberFormatter = SpreadsheetPattern.parseNumberFormatPattern(NUMBER_PATTERN).formatter();
+        this.scientificFormatter = SpreadsheetPattern.parseNumberFormatPattern("#.##E-#").formatter();
+        this.dateFormatter = SpreadsheetPattern.parseDateFormatPattern("dddd, d mmmm yyyy").formatter();
+        this.dateTimeFormatter = SpreadsheetPattern.parseDateTimeFormatPattern("dddd, mmmm d, yyyy \\a\\t h:mm:ss AM/PM").formatter();
+        this.timeFormatter = SpreadsheetPattern.parseTimeFormatPattern("h:mm:ss AM/PM").formatter();
+        this.textFormatter = SpreadsheetPattern.parseTextFormatPattern("@ \"text\"").formatter();
+    }
+
+    @Benchmark
+    public SpreadsheetNumberFormatPattern parseNumberFormatPattern() {
+        return SpreadsheetPattern.parseNumberFormatPattern(NUMBER_PATTERN);
+    }
+
+    @Benchmark
+    public Optional<SpreadsheetText> formatNumber() {
+        return this.numberFormatter.format(this.numberValue, this.context);
+    }
+
+    @Benchmark
+    public Optional<SpreadsheetText> formatNumberScientific() {
+        return this.scientificFormatter.format(this.numberValue, this.context);
+    }
+
+    @Benchmark
+    public Optional<SpreadsheetText> formatDate() {
+        return this.dateFormatter.format(this.date, this.context);
+    }
+
+    @Benchmark
+    public Optional<SpreadsheetText> formatDateTime() {
+        return this.dateTimeFormatter.format(this.dateTime, this.context);
+    }
+
+    @Benchmark
+    public Optional<SpreadsheetText> formatTime() {
+        return this.timeFormatter.format(this.time, this.context);
+    }
+
+    @Benchmark
+    public Optional<SpreadsheetText> formatText() {
+        return this.textFormatter.format(this.number, this.context);
+    }
+}
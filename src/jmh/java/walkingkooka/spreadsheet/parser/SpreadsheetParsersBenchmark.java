@@ -0,0 +1,135 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.parser;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import walkingkooka.spreadsheet.SpreadsheetBenchmarkFixtures;
+import walkingkooka.spreadsheet.meta.SpreadsheetMetadata;
+import walkingkooka.text.cursor.TextCursors;
+import walkingkooka.text.cursor.parser.Parser;
+import walkingkooka.text.cursor.parser.ParserToken;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks parsing formulas with an increasing number of terms, using the EBNF {@link SpreadsheetParsers#expression()},
+ * the hand written {@link SpreadsheetParsers#expressionRecursiveDescent()} or the metadata value or expression parser
+ * used by the engine.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SpreadsheetParsersBenchmark {
+
+    private final static String[] OPERATORS = {"+", "-", "*", "/"};
+
+    @Param({"expression", "expressionRecursiveDescent", "metadata"})
+    public String parser;
+
+    @Param({"1", "10", "100"})
+    public int terms;
+
+    private Parser<SpreadsheetParserContext> formulaParser;
+
+    private SpreadsheetParserContext context;
+
+    private String text;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final SpreadsheetMetadata metadata = SpreadsheetBenchmarkFixtures.metadata();
+        final String expression = expression(this.terms);
+
+        final Parser<SpreadsheetParserContext> parser;
+        final String text;
+        switch (this.parser) {
+            case "expression":
+                parser = SpreadsheetParsers.expression();
+                text = expression;
+                break;
+            case "expressionRecursiveDescent":
+                parser = SpreadsheetParsers.expressionRecursiveDescent();
+                text = expression;
+                break;
+            case "metadata":
+                parser = metadata.parser();
+                text = "=" + expression;
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown parser " + this.parser);
+        }
+
+        this.formulaParser = parser;
+        this.context = metadata.parserContext(SpreadsheetBenchmarkFixtures.NOW);
+        this.text = text;
+    }
+
+    /**
+     * Creates an expression mixing numbers, cell references and function calls with ranges, joined by all operators.
+     */
+    private static String expression(final int terms) {
+        final StringBuilder b = new StringBuilder();
+
+        for (int i = 0; i < terms; i++) {
+            if (i > 0) {
+                b.append(OPERATORS[i % OPERATORS.length]);
+            }
+            switch (i % 3) {
+                case 0:
+                    b.append(i)
+                            .append(".5");
+                    break;
+                case 1:
+                    b.append(SpreadsheetBenchmarkFixtures.cell(i % SpreadsheetBenchmarkFixtures.COLUMNS, i));
+                    break;
+                default:
+                    b.append("SUM(")
+                            .append(SpreadsheetBenchmarkFixtures.cell(0, i))
+                            .append(':')
+                            .append(SpreadsheetBenchmarkFixtures.cell(SpreadsheetBenchmarkFixtures.COLUMNS - 1, i))
+                            .append(')');
+                    break;
+            }
+        }
+
+        return b.toString();
+    }
+
+    @Benchmark
+    public Optional<ParserToken> parse() {
+        return this.formulaParser.parse(
+                TextCursors.charSequence(this.text),
+                this.context
+        );
+    }
+}
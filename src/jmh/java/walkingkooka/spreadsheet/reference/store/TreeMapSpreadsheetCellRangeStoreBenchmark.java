@@ -0,0 +1,151 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.reference.store;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import walkingkooka.spreadsheet.SpreadsheetBenchmarkFixtures;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellRange;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellReference;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks queries against a {@link TreeMapSpreadsheetCellRangeStore} mapping ranges to the cells that reference them,
+ * similar to the store holding the ranges used by formulas. Ranges are up to {@link #MAX_RANGE_SIZE} columns and rows
+ * and are generated from a fixed seed so every run queries the same store.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TreeMapSpreadsheetCellRangeStoreBenchmark {
+
+    private final static int MAX_RANGE_SIZE = 20;
+
+    @Param({"1000", "10000", "100000"})
+    public int ranges;
+
+    private SpreadsheetCellRangeStore<SpreadsheetCellReference> store;
+
+    private SpreadsheetCellRange[] range;
+
+    private SpreadsheetCellReference[] value;
+
+    private int rows;
+
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final int ranges = this.ranges;
+        final int rows = ranges / SpreadsheetBenchmarkFixtures.COLUMNS;
+
+        final SpreadsheetCellRangeStore<SpreadsheetCellReference> store = SpreadsheetCellRangeStores.treeMap();
+        final SpreadsheetCellRange[] range = new SpreadsheetCellRange[ranges];
+        final SpreadsheetCellReference[] value = new SpreadsheetCellReference[ranges];
+        final Random random = new Random(1);
+
+        for (int i = 0; i < ranges; i++) {
+            final int column = random.nextInt(SpreadsheetBenchmarkFixtures.COLUMNS);
+            final int row = random.nextInt(rows);
+
+            range[i] = SpreadsheetBenchmarkFixtures.cell(column, row)
+                    .cellRange(
+                            SpreadsheetBenchmarkFixtures.cell(
+                                    column + random.nextInt(MAX_RANGE_SIZE),
+                                    row + random.nextInt(MAX_RANGE_SIZE)
+                            )
+                    );
+            value[i] = SpreadsheetBenchmarkFixtures.cell(
+                    i % SpreadsheetBenchmarkFixtures.COLUMNS,
+                    i / SpreadsheetBenchmarkFixtures.COLUMNS
+            );
+            store.addValue(range[i], value[i]);
+        }
+
+        this.store = store;
+        this.range = range;
+        this.value = value;
+        this.rows = rows;
+    }
+
+    @Benchmark
+    public Optional<List<SpreadsheetCellReference>> load() {
+        return this.store.load(this.range[this.next()]);
+    }
+
+    @Benchmark
+    public Set<SpreadsheetCellRange> loadCellReferenceRanges() {
+        return this.store.loadCellReferenceRanges(this.nextCell());
+    }
+
+    @Benchmark
+    public Set<SpreadsheetCellReference> loadCellReferenceValues() {
+        return this.store.loadCellReferenceValues(this.nextCell());
+    }
+
+    @Benchmark
+    public Set<SpreadsheetCellRange> rangesWithValue() {
+        return this.store.rangesWithValue(this.value[this.next()]);
+    }
+
+    /**
+     * Removes and then adds back an existing range and value, leaving the store unchanged.
+     */
+    @Benchmark
+    public void removeValueThenAddValue() {
+        final int index = this.next();
+        final SpreadsheetCellRange range = this.range[index];
+        final SpreadsheetCellReference value = this.value[index];
+
+        final SpreadsheetCellRangeStore<SpreadsheetCellReference> store = this.store;
+        store.removeValue(range, value);
+        store.addValue(range, value);
+    }
+
+    private int next() {
+        final int index = (this.index + 1) % this.ranges;
+        this.index = index;
+        return index;
+    }
+
+    private SpreadsheetCellReference nextCell() {
+        final int index = this.next();
+        return SpreadsheetBenchmarkFixtures.cell(
+                index % SpreadsheetBenchmarkFixtures.COLUMNS,
+                index % this.rows
+        );
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.reference.store;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import walkingkooka.collect.set.Sets;
+import walkingkooka.spreadsheet.SpreadsheetBenchmarkFixtures;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellReference;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the {@link TreeMapSpreadsheetExpressionReferenceStore} holding the references of sheets of several sizes,
+ * where every cell except the last in each row is referenced by the cell on its right.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TreeMapSpreadsheetExpressionReferenceStoreBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int cells;
+
+    private SpreadsheetExpressionReferenceStore<SpreadsheetCellReference> store;
+
+    private SpreadsheetCellReference[] cell;
+
+    private Set<SpreadsheetCellReference>[] referrers;
+
+    private int index;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        final int cells = this.cells;
+        final int columns = SpreadsheetBenchmarkFixtures.COLUMNS;
+
+        final SpreadsheetExpressionReferenceStore<SpreadsheetCellReference> store = SpreadsheetExpressionReferenceStores.treeMap();
+        final SpreadsheetCellReference[] cell = new SpreadsheetCellReference[cells];
+        final Set<SpreadsheetCellReference>[] referrers = new Set[cells];
+
+        for (int i = 0; i < cells; i++) {
+            final int column = i % columns;
+            final int row = i / columns;
+
+            cell[i] = SpreadsheetBenchmarkFixtures.cell(column, row);
+            referrers[i] = column < columns - 1 ?
+                    Sets.of(SpreadsheetBenchmarkFixtures.cell(column + 1, row)) :
+                    Sets.empty();
+            store.saveReferences(cell[i], referrers[i]);
+        }
+
+        this.store = store;
+        this.cell = cell;
+        this.referrers = referrers;
+    }
+
+    @Benchmark
+    public Optional<Set<SpreadsheetCellReference>> load() {
+        return this.store.load(this.cell[this.next()]);
+    }
+
+    @Benchmark
+    public Set<SpreadsheetCellReference> loadReferred() {
+        return this.store.loadReferred(this.cell[this.next()]);
+    }
+
+    /**
+     * Saves the existing references for a cell again, which compares them against the references already present.
+     */
+    @Benchmark
+    public void saveReferences() {
+        final int index = this.next();
+        this.store.saveReferences(
+                this.cell[index],
+                this.referrers[index]
+        );
+    }
+
+    private int next() {
+        final int index = (this.index + 1) % this.cells;
+        this.index = index;
+        return index;
+    }
+}
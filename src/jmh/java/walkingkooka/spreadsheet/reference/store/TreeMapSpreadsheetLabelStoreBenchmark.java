@@ -0,0 +1,120 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.reference.store;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import walkingkooka.spreadsheet.SpreadsheetBenchmarkFixtures;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetLabelMapping;
+import walkingkooka.spreadsheet.reference.SpreadsheetLabelName;
+import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
+import walkingkooka.tree.expression.ExpressionReference;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the {@link TreeMapSpreadsheetLabelStore} holding several numbers of labels, each mapped to a different cell.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TreeMapSpreadsheetLabelStoreBenchmark {
+
+    private final static int FIND_SIMILAR_COUNT = 10;
+
+    @Param({"100", "1000", "10000"})
+    public int labels;
+
+    private SpreadsheetLabelStore store;
+
+    private SpreadsheetLabelName[] label;
+
+    private SpreadsheetCellReference[] cell;
+
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final int labels = this.labels;
+
+        final SpreadsheetLabelStore store = SpreadsheetLabelStores.treeMap();
+        final SpreadsheetLabelName[] label = new SpreadsheetLabelName[labels];
+        final SpreadsheetCellReference[] cell = new SpreadsheetCellReference[labels];
+
+        for (int i = 0; i < labels; i++) {
+            label[i] = SpreadsheetSelection.labelName("Label" + i);
+            cell[i] = SpreadsheetBenchmarkFixtures.cell(
+                    i % SpreadsheetBenchmarkFixtures.COLUMNS,
+                    i / SpreadsheetBenchmarkFixtures.COLUMNS
+            );
+            store.save(label[i].mapping(cell[i]));
+        }
+
+        this.store = store;
+        this.label = label;
+        this.cell = cell;
+    }
+
+    @Benchmark
+    public Optional<SpreadsheetLabelMapping> load() {
+        return this.store.load(this.label[this.next()]);
+    }
+
+    /**
+     * Finds labels similar to the digits of an existing label, matching many labels containing those digits.
+     */
+    @Benchmark
+    public Set<SpreadsheetLabelMapping> findSimilar() {
+        return this.store.findSimilar(
+                String.valueOf(this.next()),
+                FIND_SIMILAR_COUNT
+        );
+    }
+
+    @Benchmark
+    public Set<SpreadsheetLabelMapping> labels() {
+        return this.store.labels(this.cell[this.next()]);
+    }
+
+    @Benchmark
+    public Set<? super ExpressionReference> loadCellReferencesOrRanges() {
+        return this.store.loadCellReferencesOrRanges(this.label[this.next()]);
+    }
+
+    private int next() {
+        final int index = (this.index + 1) % this.labels;
+        this.index = index;
+        return index;
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.store;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.spreadsheet.SpreadsheetBenchmarkFixtures;
+import walkingkooka.spreadsheet.SpreadsheetCell;
+import walkingkooka.spreadsheet.reference.SpreadsheetReferenceKind;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the {@link TreeMapSpreadsheetCellStore} holding sheets of several sizes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TreeMapSpreadsheetCellStoreBenchmark {
+
+    /**
+     * The number of rows in a window, matching a typical viewport.
+     */
+    private final static int WINDOW_ROWS = 20;
+
+    @Param({"1000", "10000", "100000"})
+    public int cells;
+
+    private SpreadsheetCellStore store;
+
+    private List<SpreadsheetCell> saved;
+
+    private int rows;
+
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final SpreadsheetCellStore store = SpreadsheetCellStores.treeMap();
+        final List<SpreadsheetCell> saved = Lists.array();
+        saved.addAll(
+                SpreadsheetBenchmarkFixtures.cells(this.cells)
+        );
+        saved.forEach(store::save);
+
+        this.store = store;
+        this.saved = saved;
+        this.rows = this.cells / SpreadsheetBenchmarkFixtures.COLUMNS;
+    }
+
+    @Benchmark
+    public Optional<SpreadsheetCell> load() {
+        return this.store.load(
+                this.next()
+                        .reference()
+        );
+    }
+
+    /**
+     * Replaces an existing cell with an equal cell.
+     */
+    @Benchmark
+    public SpreadsheetCell save() {
+        return this.store.save(this.next());
+    }
+
+    /**
+     * Loads all the cells within a window the width of the sheet.
+     */
+    @Benchmark
+    public Set<SpreadsheetCell> loadCellsWindow() {
+        final int row = this.nextRow();
+
+        return this.store.loadCells(
+                SpreadsheetBenchmarkFixtures.cell(0, row)
+                        .cellRange(
+                                SpreadsheetBenchmarkFixtures.cell(SpreadsheetBenchmarkFixtures.COLUMNS - 1, row + WINDOW_ROWS - 1)
+                        )
+        );
+    }
+
+    @Benchmark
+    public Set<SpreadsheetCell> row() {
+        return this.store.row(
+                SpreadsheetReferenceKind.RELATIVE.row(this.nextRow())
+        );
+    }
+
+    @Benchmark
+    public Set<SpreadsheetCell> column() {
+        return this.store.column(
+                SpreadsheetReferenceKind.RELATIVE.column(this.nextRow() % SpreadsheetBenchmarkFixtures.COLUMNS)
+        );
+    }
+
+    @Benchmark
+    public double maxColumnWidth() {
+        return this.store.maxColumnWidth(
+                SpreadsheetReferenceKind.RELATIVE.column(this.nextRow() % SpreadsheetBenchmarkFixtures.COLUMNS)
+        );
+    }
+
+    private SpreadsheetCell next() {
+        final int index = (this.index + 1) % this.saved.size();
+        this.index = index;
+        return this.saved.get(index);
+    }
+
+    private int nextRow() {
+        final int index = (this.index + 1) % this.rows;
+        this.index = index;
+        return index;
+    }
+}
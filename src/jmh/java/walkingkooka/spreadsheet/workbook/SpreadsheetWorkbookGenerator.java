@@ -0,0 +1,377 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.workbook;
+
+import walkingkooka.collect.set.Sets;
+import walkingkooka.color.Color;
+import walkingkooka.spreadsheet.SpreadsheetCell;
+import walkingkooka.spreadsheet.SpreadsheetColumn;
+import walkingkooka.spreadsheet.SpreadsheetDescription;
+import walkingkooka.spreadsheet.SpreadsheetFormula;
+import walkingkooka.spreadsheet.conditionalformat.SpreadsheetConditionalFormattingRule;
+import walkingkooka.spreadsheet.engine.SpreadsheetEngine;
+import walkingkooka.spreadsheet.engine.SpreadsheetEngineContext;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellRange;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetExpressionReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetLabelName;
+import walkingkooka.spreadsheet.reference.SpreadsheetReferenceKind;
+import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
+import walkingkooka.spreadsheet.store.repo.SpreadsheetStoreRepository;
+import walkingkooka.tree.expression.Expression;
+import walkingkooka.tree.text.TextStyle;
+import walkingkooka.tree.text.TextStylePropertyName;
+
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Generates a workbook into the {@link SpreadsheetStoreRepository} of a {@link SpreadsheetEngineContext}. The same
+ * seed and sizes always generate the same workbook.
+ * <ul>
+ * <li>Column A holds numbers.</li>
+ * <li>Column B holds chains of chainLength cells, each adding one to the cell above.</li>
+ * <li>Column C holds SUMs over the last sumWidth cells of column A.</li>
+ * <li>The remaining columns hold a mix of numbers, text and formulas referencing column A.</li>
+ * <li>Labels alternate between single cells and small ranges.</li>
+ * <li>Conditional formatting rules each cover a small range.</li>
+ * <li>Hidden columns are picked at random.</li>
+ * </ul>
+ */
+public final class SpreadsheetWorkbookGenerator {
+
+    /**
+     * The fewest number of columns, the first three hold numbers, chains and sums.
+     */
+    public final static int MIN_COLUMNS = 4;
+
+    /**
+     * Cells are saved in batches of about this many cells.
+     */
+    private final static int BATCH_CELLS = 1000;
+
+    /**
+     * The widest and tallest range given to a label or conditional formatting rule.
+     */
+    private final static int RANGE_SIZE = 10;
+
+    /**
+     * Factory that creates a new {@link SpreadsheetWorkbookGenerator}.
+     */
+    public static SpreadsheetWorkbookGenerator with(final long seed,
+                                                    final int cells,
+                                                    final int columns,
+                                                    final int chainLength,
+                                                    final int sumWidth,
+                                                    final int labels,
+                                                    final int rules,
+                                                    final int hiddenColumns) {
+        if (cells < columns) {
+            throw new IllegalArgumentException("Invalid cells " + cells + " < columns " + columns);
+        }
+        if (columns < MIN_COLUMNS) {
+            throw new IllegalArgumentException("Invalid columns " + columns + " < " + MIN_COLUMNS);
+        }
+        if (chainLength < 1) {
+            throw new IllegalArgumentException("Invalid chainLength " + chainLength + " < 1");
+        }
+        if (sumWidth < 1) {
+            throw new IllegalArgumentException("Invalid sumWidth " + sumWidth + " < 1");
+        }
+        if (labels < 0) {
+            throw new IllegalArgumentException("Invalid labels " + labels + " < 0");
+        }
+        if (rules < 0) {
+            throw new IllegalArgumentException("Invalid rules " + rules + " < 0");
+        }
+        if (hiddenColumns < 0 || hiddenColumns > columns) {
+            throw new IllegalArgumentException("Invalid hiddenColumns " + hiddenColumns + " not between 0 and " + columns);
+        }
+
+        return new SpreadsheetWorkbookGenerator(
+                seed,
+                cells,
+                columns,
+                chainLength,
+                sumWidth,
+                labels,
+                rules,
+                hiddenColumns
+        );
+    }
+
+    private SpreadsheetWorkbookGenerator(final long seed,
+                                         final int cells,
+                                         final int columns,
+                                         final int chainLength,
+                                         final int sumWidth,
+                                         final int labels,
+                                         final int rules,
+                                         final int hiddenColumns) {
+        super();
+        this.seed = seed;
+        this.cells = cells;
+        this.columns = columns;
+        this.chainLength = chainLength;
+        this.sumWidth = sumWidth;
+        this.labels = labels;
+        this.rules = rules;
+        this.hiddenColumns = hiddenColumns;
+    }
+
+    /**
+     * Generates the workbook, the hidden columns, conditional formatting rules and labels are saved first so saving
+     * cells also formats them.
+     */
+    public void generate(final SpreadsheetEngine engine,
+                         final SpreadsheetEngineContext context) {
+        final Random random = new Random(this.seed);
+        final SpreadsheetStoreRepository repository = context.storeRepository();
+
+        this.generateHiddenColumns(random, repository);
+        this.generateRules(random, repository);
+        this.generateLabels(random, repository);
+        this.generateCells(random, engine, context);
+    }
+
+    private void generateHiddenColumns(final Random random,
+                                       final SpreadsheetStoreRepository repository) {
+        final Set<Integer> hidden = Sets.sorted();
+        while (hidden.size() < this.hiddenColumns) {
+            hidden.add(random.nextInt(this.columns));
+        }
+
+        for (final Integer column : hidden) {
+            repository.columns()
+                    .save(
+                            SpreadsheetColumn.with(
+                                    SpreadsheetReferenceKind.RELATIVE.column(column)
+                            ).setHidden(true)
+                    );
+        }
+    }
+
+    private void generateRules(final Random random,
+                               final SpreadsheetStoreRepository repository) {
+        for (int i = 0; i < this.rules; i++) {
+            final boolean result = random.nextBoolean();
+            final TextStyle style = TextStyle.EMPTY.set(
+                    TextStylePropertyName.BACKGROUND_COLOR,
+                    Color.parse(
+                            "#" + Integer.toHexString(0x1000000 | random.nextInt(0x1000000)).substring(1)
+                    )
+            );
+
+            repository.rangeToConditionalFormattingRules()
+                    .addValue(
+                            this.range(random),
+                            SpreadsheetConditionalFormattingRule.with(
+                                    SpreadsheetDescription.with("Rule" + i),
+                                    i,
+                                    SpreadsheetFormula.EMPTY
+                                            .setText(String.valueOf(result))
+                                            .setExpression(
+                                                    Optional.of(
+                                                            Expression.value(result)
+                                                    )
+                                            ),
+                                    (c) -> style
+                            )
+                    );
+        }
+    }
+
+    private void generateLabels(final Random random,
+                                final SpreadsheetStoreRepository repository) {
+        for (int i = 0; i < this.labels; i++) {
+            final SpreadsheetExpressionReference reference = 0 == i % 2 ?
+                    this.cell(random) :
+                    this.range(random);
+
+            repository.labels()
+                    .save(
+                            label(i).mapping(reference)
+                    );
+        }
+    }
+
+    private void generateCells(final Random random,
+                               final SpreadsheetEngine engine,
+                               final SpreadsheetEngineContext context) {
+        final int columns = this.columns;
+        final int cells = this.cells;
+        final int batchRows = Math.max(1, BATCH_CELLS / columns);
+
+        Set<SpreadsheetCell> batch = Sets.sorted();
+
+        for (int i = 0; i < cells; i++) {
+            final int column = i % columns;
+            final int row = i / columns;
+
+            batch.add(
+                    cell(column, row)
+                            .setFormula(
+                                    SpreadsheetFormula.EMPTY.setText(
+                                            this.formula(column, row, random)
+                                    )
+                            )
+            );
+
+            if (columns - 1 == column && 0 == (row + 1) % batchRows || cells - 1 == i) {
+                engine.saveCells(batch, context);
+                batch = Sets.sorted();
+            }
+        }
+    }
+
+    private String formula(final int column,
+                           final int row,
+                           final Random random) {
+        final String formula;
+
+        switch (column) {
+            case 0:
+                formula = String.valueOf(random.nextInt(1000));
+                break;
+            case 1:
+                formula = 0 == row % this.chainLength ?
+                        String.valueOf(row) :
+                        "=" + cell(1, row - 1) + "+1";
+                break;
+            case 2:
+                formula = "=sum(" + cell(0, Math.max(0, row - this.sumWidth + 1)).cellRange(cell(0, row)) + ")";
+                break;
+            default:
+                final int kind = random.nextInt(10);
+                if (kind < 4) {
+                    formula = String.valueOf(random.nextInt(1000));
+                } else {
+                    formula = kind < 6 ?
+                            "'Text" + random.nextInt(1000) :
+                            "=" + cell(0, row) + "*" + column;
+                }
+                break;
+        }
+
+        return formula;
+    }
+
+    private SpreadsheetCellReference cell(final Random random) {
+        return cell(
+                random.nextInt(this.columns),
+                random.nextInt(this.rows())
+        );
+    }
+
+    private SpreadsheetCellRange range(final Random random) {
+        final int column = random.nextInt(this.columns);
+        final int row = random.nextInt(this.rows());
+
+        return cell(column, row)
+                .cellRange(
+                        cell(
+                                Math.min(this.columns - 1, column + random.nextInt(RANGE_SIZE)),
+                                Math.min(this.rows() - 1, row + random.nextInt(RANGE_SIZE))
+                        )
+                );
+    }
+
+    /**
+     * Returns the name of the label with the given index, labels are numbered from zero.
+     */
+    public static SpreadsheetLabelName label(final int index) {
+        return SpreadsheetSelection.labelName("Label" + index);
+    }
+
+    /**
+     * Factory that creates a relative {@link SpreadsheetCellReference} from zero based column and row values.
+     */
+    public static SpreadsheetCellReference cell(final int column,
+                                                final int row) {
+        return SpreadsheetReferenceKind.RELATIVE.column(column)
+                .setRow(SpreadsheetReferenceKind.RELATIVE.row(row));
+    }
+
+    public long seed() {
+        return this.seed;
+    }
+
+    private final long seed;
+
+    public int cells() {
+        return this.cells;
+    }
+
+    private final int cells;
+
+    public int columns() {
+        return this.columns;
+    }
+
+    private final int columns;
+
+    /**
+     * The number of rows holding at least one cell.
+     */
+    public int rows() {
+        return (this.cells + this.columns - 1) / this.columns;
+    }
+
+    public int chainLength() {
+        return this.chainLength;
+    }
+
+    private final int chainLength;
+
+    public int sumWidth() {
+        return this.sumWidth;
+    }
+
+    private final int sumWidth;
+
+    public int labels() {
+        return this.labels;
+    }
+
+    private final int labels;
+
+    public int rules() {
+        return this.rules;
+    }
+
+    private final int rules;
+
+    public int hiddenColumns() {
+        return this.hiddenColumns;
+    }
+
+    private final int hiddenColumns;
+
+    @Override
+    public String toString() {
+        return "seed=" + this.seed +
+                " cells=" + this.cells +
+                " columns=" + this.columns +
+                " chainLength=" + this.chainLength +
+                " sumWidth=" + this.sumWidth +
+                " labels=" + this.labels +
+                " rules=" + this.rules +
+                " hiddenColumns=" + this.hiddenColumns;
+    }
+}
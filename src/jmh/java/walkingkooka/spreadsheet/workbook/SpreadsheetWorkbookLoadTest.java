@@ -0,0 +1,247 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.workbook;
+
+import walkingkooka.collect.map.Maps;
+import walkingkooka.spreadsheet.SpreadsheetBenchmarkFixtures;
+import walkingkooka.spreadsheet.engine.HistogramSpreadsheetEngineMetrics;
+import walkingkooka.spreadsheet.engine.SpreadsheetEngine;
+import walkingkooka.spreadsheet.engine.SpreadsheetEngineContext;
+import walkingkooka.spreadsheet.engine.SpreadsheetEngineMetricsPhase;
+import walkingkooka.spreadsheet.engine.SpreadsheetEngines;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+
+/**
+ * Generates a workbook using a {@link SpreadsheetWorkbookGenerator} and then replays a seeded random mix of
+ * {@link SpreadsheetWorkbookLoadTestOperation operations}, reporting latency percentiles for each operation along with
+ * the {@link HistogramSpreadsheetEngineMetrics} of each engine phase. Everything runs in memory.
+ * <pre>
+ * mvn -Pjmh -DskipTests test-compile exec:exec@loadtest -Dloadtest.args="cells=1000000 operations=1000"
+ * </pre>
+ */
+public final class SpreadsheetWorkbookLoadTest {
+
+    /**
+     * Accepts optional arguments in the form name=value, see {@link #DEFAULTS} for all names and their defaults.
+     */
+    public static void main(final String[] args) {
+        final Map<String, Long> arguments = Maps.sorted();
+        arguments.putAll(DEFAULTS);
+
+        for (final String arg : args) {
+            final int equals = arg.indexOf('=');
+            if (-1 == equals || !DEFAULTS.containsKey(arg.substring(0, equals))) {
+                throw new IllegalArgumentException("Invalid argument " + arg + " expected one of " + DEFAULTS.keySet() + " in the form name=value");
+            }
+            arguments.put(
+                    arg.substring(0, equals),
+                    Long.parseLong(arg.substring(equals + 1))
+            );
+        }
+
+        final long seed = arguments.get(SEED);
+
+        System.out.println(
+                with(
+                        SpreadsheetWorkbookGenerator.with(
+                                seed,
+                                arguments.get(CELLS).intValue(),
+                                arguments.get(COLUMNS).intValue(),
+                                arguments.get(CHAIN_LENGTH).intValue(),
+                                arguments.get(SUM_WIDTH).intValue(),
+                                arguments.get(LABELS).intValue(),
+                                arguments.get(RULES).intValue(),
+                                arguments.get(HIDDEN_COLUMNS).intValue()
+                        ),
+                        arguments.get(OPERATIONS).intValue(),
+                        seed
+                ).run()
+        );
+    }
+
+    private final static String SEED = "seed";
+    private final static String CELLS = "cells";
+    private final static String COLUMNS = "columns";
+    private final static String CHAIN_LENGTH = "chainLength";
+    private final static String SUM_WIDTH = "sumWidth";
+    private final static String LABELS = "labels";
+    private final static String RULES = "rules";
+    private final static String HIDDEN_COLUMNS = "hiddenColumns";
+    private final static String OPERATIONS = "operations";
+
+    private final static Map<String, Long> DEFAULTS = Maps.sorted();
+
+    static {
+        DEFAULTS.put(SEED, 1L);
+        DEFAULTS.put(CELLS, 100000L);
+        DEFAULTS.put(COLUMNS, 20L);
+        DEFAULTS.put(CHAIN_LENGTH, 100L);
+        DEFAULTS.put(SUM_WIDTH, 50L);
+        DEFAULTS.put(LABELS, 1000L);
+        DEFAULTS.put(RULES, 1000L);
+        DEFAULTS.put(HIDDEN_COLUMNS, 2L);
+        DEFAULTS.put(OPERATIONS, 1000L);
+    }
+
+    /**
+     * The percentiles included in the report.
+     */
+    private final static double[] PERCENTILES = new double[]{50, 90, 99, 100};
+
+    /**
+     * Factory that creates a new {@link SpreadsheetWorkbookLoadTest}.
+     */
+    public static SpreadsheetWorkbookLoadTest with(final SpreadsheetWorkbookGenerator workbook,
+                                                  final int operations,
+                                                  final long seed) {
+        Objects.requireNonNull(workbook, "workbook");
+        if (operations < 1) {
+            throw new IllegalArgumentException("Invalid operations " + operations + " < 1");
+        }
+
+        return new SpreadsheetWorkbookLoadTest(
+                workbook,
+                operations,
+                seed
+        );
+    }
+
+    private SpreadsheetWorkbookLoadTest(final SpreadsheetWorkbookGenerator workbook,
+                                        final int operations,
+                                        final long seed) {
+        super();
+        this.workbook = workbook;
+        this.operations = operations;
+        this.seed = seed;
+    }
+
+    /**
+     * Generates the workbook, replays the operations and returns the report.
+     */
+    public String run() {
+        final HistogramSpreadsheetEngineMetrics metrics = HistogramSpreadsheetEngineMetrics.empty();
+        final SpreadsheetEngine engine = SpreadsheetEngines.basic(metrics);
+        final SpreadsheetEngineContext context = SpreadsheetBenchmarkFixtures.engineContext(
+                engine,
+                SpreadsheetBenchmarkFixtures.storeRepository()
+        );
+
+        final SpreadsheetWorkbookGenerator workbook = this.workbook;
+        final StringBuilder report = new StringBuilder();
+
+        final long generateStart = System.nanoTime();
+        workbook.generate(engine, context);
+        report.append(workbook)
+                .append(" generated in ")
+                .append((System.nanoTime() - generateStart) / 1000000)
+                .append("ms\n");
+
+        metrics.clear();
+
+        final SpreadsheetWorkbookLoadTestOperation[] all = SpreadsheetWorkbookLoadTestOperation.values();
+        final long[][] latencies = new long[all.length][this.operations];
+        final int[] counts = new int[all.length];
+
+        final Random random = new Random(this.seed);
+
+        for (int i = 0; i < this.operations; i++) {
+            final SpreadsheetWorkbookLoadTestOperation operation = SpreadsheetWorkbookLoadTestOperation.pick(random);
+
+            final long start = System.nanoTime();
+            operation.execute(
+                    workbook,
+                    random,
+                    engine,
+                    context
+            );
+            final int index = operation.ordinal();
+            latencies[index][counts[index]++] = System.nanoTime() - start;
+        }
+
+        report.append(this.operations)
+                .append(" operations seed=")
+                .append(this.seed)
+                .append(" latencies in micros\n");
+
+        for (final SpreadsheetWorkbookLoadTestOperation operation : all) {
+            final int index = operation.ordinal();
+            final int count = counts[index];
+            if (0 == count) {
+                continue;
+            }
+
+            final long[] sorted = Arrays.copyOf(latencies[index], count);
+            Arrays.sort(sorted);
+
+            report.append(operation)
+                    .append(" count=")
+                    .append(count);
+            for (final double percentile : PERCENTILES) {
+                report.append(" p")
+                        .append((int) percentile)
+                        .append('=')
+                        .append(percentile(sorted, percentile) / 1000);
+            }
+            report.append('\n');
+        }
+
+        report.append("phases in nanos\n");
+        for (final SpreadsheetEngineMetricsPhase phase : SpreadsheetEngineMetricsPhase.values()) {
+            if (metrics.events(phase) > 0) {
+                report.append(phase)
+                        .append(" events=")
+                        .append(metrics.events(phase))
+                        .append(" count=")
+                        .append(metrics.count(phase))
+                        .append(" nanos=")
+                        .append(metrics.nanos(phase))
+                        .append(" p50<=")
+                        .append(metrics.percentile(phase, 50))
+                        .append(" p99<=")
+                        .append(metrics.percentile(phase, 99))
+                        .append('\n');
+            }
+        }
+
+        return report.toString();
+    }
+
+    /**
+     * Nearest rank percentile of the sorted latencies.
+     */
+    private static long percentile(final long[] sorted,
+                                   final double percentile) {
+        final int rank = (int) Math.ceil(percentile / 100 * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    private final SpreadsheetWorkbookGenerator workbook;
+
+    private final int operations;
+
+    private final long seed;
+
+    @Override
+    public String toString() {
+        return this.workbook + " operations=" + this.operations + " seed=" + this.seed;
+    }
+}
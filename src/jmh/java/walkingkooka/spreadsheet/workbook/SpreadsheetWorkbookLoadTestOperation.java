@@ -0,0 +1,265 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.workbook;
+
+import walkingkooka.spreadsheet.SpreadsheetFormula;
+import walkingkooka.spreadsheet.engine.SpreadsheetDeltaProperties;
+import walkingkooka.spreadsheet.engine.SpreadsheetEngine;
+import walkingkooka.spreadsheet.engine.SpreadsheetEngineContext;
+import walkingkooka.spreadsheet.engine.SpreadsheetEngineEvaluation;
+import walkingkooka.spreadsheet.reference.SpreadsheetReferenceKind;
+import walkingkooka.spreadsheet.reference.SpreadsheetRowReference;
+
+import java.util.Random;
+
+/**
+ * The operations replayed by {@link SpreadsheetWorkbookLoadTest}, each with a weight giving how often it is picked.
+ */
+public enum SpreadsheetWorkbookLoadTestOperation {
+
+    /**
+     * Loads the cells within a viewport scrolled to a random row.
+     */
+    LOAD_WINDOW(50) {
+        @Override
+        void execute(final SpreadsheetWorkbookGenerator workbook,
+                     final Random random,
+                     final SpreadsheetEngine engine,
+                     final SpreadsheetEngineContext context) {
+            loadWindow(
+                    SpreadsheetEngineEvaluation.COMPUTE_IF_NECESSARY,
+                    workbook,
+                    random,
+                    engine,
+                    context
+            );
+        }
+    },
+
+    /**
+     * Loads and evaluates every cell within a viewport scrolled to a random row.
+     */
+    LOAD_WINDOW_FORCE_RECOMPUTE(5) {
+        @Override
+        void execute(final SpreadsheetWorkbookGenerator workbook,
+                     final Random random,
+                     final SpreadsheetEngine engine,
+                     final SpreadsheetEngineContext context) {
+            loadWindow(
+                    SpreadsheetEngineEvaluation.FORCE_RECOMPUTE,
+                    workbook,
+                    random,
+                    engine,
+                    context
+            );
+        }
+    },
+
+    /**
+     * Loads the cells of a random label.
+     */
+    LOAD_LABEL(10) {
+        @Override
+        void execute(final SpreadsheetWorkbookGenerator workbook,
+                     final Random random,
+                     final SpreadsheetEngine engine,
+                     final SpreadsheetEngineContext context) {
+            final int labels = workbook.labels();
+            if (labels > 0) {
+                engine.loadCells(
+                        SpreadsheetWorkbookGenerator.label(random.nextInt(labels)),
+                        SpreadsheetEngineEvaluation.COMPUTE_IF_NECESSARY,
+                        SpreadsheetDeltaProperties.ALL,
+                        context
+                );
+            }
+        }
+    },
+
+    /**
+     * Saves a new number into column A, which updates the sums and formulas that reference it.
+     */
+    SAVE_VALUE(20) {
+        @Override
+        void execute(final SpreadsheetWorkbookGenerator workbook,
+                     final Random random,
+                     final SpreadsheetEngine engine,
+                     final SpreadsheetEngineContext context) {
+            engine.saveCell(
+                    SpreadsheetWorkbookGenerator.cell(
+                            0,
+                            random.nextInt(workbook.rows())
+                    ).setFormula(
+                            SpreadsheetFormula.EMPTY.setText(
+                                    String.valueOf(random.nextInt(1000))
+                            )
+                    ),
+                    context
+            );
+        }
+    },
+
+    /**
+     * Saves a new number at the start of a chain in column B, which updates every cell in the chain.
+     */
+    SAVE_CHAIN(5) {
+        @Override
+        void execute(final SpreadsheetWorkbookGenerator workbook,
+                     final Random random,
+                     final SpreadsheetEngine engine,
+                     final SpreadsheetEngineContext context) {
+            final int chainLength = workbook.chainLength();
+            final int chains = (workbook.rows() + chainLength - 1) / chainLength;
+
+            engine.saveCell(
+                    SpreadsheetWorkbookGenerator.cell(
+                            1,
+                            random.nextInt(chains) * chainLength
+                    ).setFormula(
+                            SpreadsheetFormula.EMPTY.setText(
+                                    String.valueOf(random.nextInt(1000))
+                            )
+                    ),
+                    context
+            );
+        }
+    },
+
+    /**
+     * Saves a new formula into one of the mixed columns.
+     */
+    SAVE_FORMULA(9) {
+        @Override
+        void execute(final SpreadsheetWorkbookGenerator workbook,
+                     final Random random,
+                     final SpreadsheetEngine engine,
+                     final SpreadsheetEngineContext context) {
+            final int row = random.nextInt(workbook.rows());
+
+            engine.saveCell(
+                    SpreadsheetWorkbookGenerator.cell(
+                            3 + random.nextInt(workbook.columns() - 3),
+                            row
+                    ).setFormula(
+                            SpreadsheetFormula.EMPTY.setText(
+                                    "=" + SpreadsheetWorkbookGenerator.cell(0, row) + "+" + random.nextInt(1000)
+                            )
+                    ),
+                    context
+            );
+        }
+    },
+
+    /**
+     * Inserts a row at a random position and then deletes it, both move every cell and reference below it.
+     */
+    INSERT_ROWS_THEN_DELETE_ROWS(1) {
+        @Override
+        void execute(final SpreadsheetWorkbookGenerator workbook,
+                     final Random random,
+                     final SpreadsheetEngine engine,
+                     final SpreadsheetEngineContext context) {
+            final SpreadsheetRowReference row = SpreadsheetReferenceKind.RELATIVE.row(
+                    random.nextInt(workbook.rows())
+            );
+
+            engine.insertRows(
+                    row,
+                    1,
+                    context
+            );
+            engine.deleteRows(
+                    row,
+                    1,
+                    context
+            );
+        }
+    };
+
+    SpreadsheetWorkbookLoadTestOperation(final int weight) {
+        this.weight = weight;
+    }
+
+    abstract void execute(final SpreadsheetWorkbookGenerator workbook,
+                          final Random random,
+                          final SpreadsheetEngine engine,
+                          final SpreadsheetEngineContext context);
+
+    /**
+     * How often this operation is picked relative to the other operations.
+     */
+    final int weight;
+
+    /**
+     * Picks a random operation honouring the weight of each operation.
+     */
+    static SpreadsheetWorkbookLoadTestOperation pick(final Random random) {
+        int pick = random.nextInt(TOTAL_WEIGHT);
+
+        SpreadsheetWorkbookLoadTestOperation picked = null;
+        for (final SpreadsheetWorkbookLoadTestOperation operation : VALUES) {
+            pick -= operation.weight;
+            if (pick < 0) {
+                picked = operation;
+                break;
+            }
+        }
+
+        return picked;
+    }
+
+    private final static SpreadsheetWorkbookLoadTestOperation[] VALUES = values();
+
+    private final static int TOTAL_WEIGHT = totalWeight();
+
+    private static int totalWeight() {
+        int total = 0;
+        for (final SpreadsheetWorkbookLoadTestOperation operation : VALUES) {
+            total += operation.weight;
+        }
+        return total;
+    }
+
+    /**
+     * The viewport is about 10 columns by 20 rows using the default column width and row height.
+     */
+    private final static double VIEWPORT_WIDTH = 1000;
+
+    private final static double VIEWPORT_HEIGHT = 600;
+
+    private static void loadWindow(final SpreadsheetEngineEvaluation evaluation,
+                                   final SpreadsheetWorkbookGenerator workbook,
+                                   final Random random,
+                                   final SpreadsheetEngine engine,
+                                   final SpreadsheetEngineContext context) {
+        engine.loadCells(
+                engine.window(
+                        SpreadsheetWorkbookGenerator.cell(
+                                0,
+                                random.nextInt(workbook.rows())
+                        ).viewport(VIEWPORT_WIDTH, VIEWPORT_HEIGHT),
+                        false,
+                        SpreadsheetEngine.NO_SELECTION,
+                        context
+                ),
+                evaluation,
+                SpreadsheetDeltaProperties.ALL,
+                context
+        );
+    }
+}
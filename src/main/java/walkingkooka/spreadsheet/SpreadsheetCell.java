@@ -282,6 +282,15 @@ public final class SpreadsheetCell implements Comparable<SpreadsheetCell>,
      */
     private final Optional<TextNode> formatted;
 
+    /**
+     * Used by {@link SpreadsheetCellInterner} to swap in equal pooled instances, which unlike the setters keeps formatted.
+     */
+    SpreadsheetCell setInterned(final TextStyle style,
+                                final Optional<SpreadsheetParsePattern> parsePattern,
+                                final Optional<SpreadsheetFormatPattern> formatPattern) {
+        return this.replace(this.reference, this.formula, style, parsePattern, formatPattern, this.formatted);
+    }
+
     // replace..........................................................................................................
 
     /**
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet;
+
+import walkingkooka.collect.map.Maps;
+import walkingkooka.spreadsheet.format.pattern.SpreadsheetFormatPattern;
+import walkingkooka.spreadsheet.format.pattern.SpreadsheetParsePattern;
+import walkingkooka.tree.text.TextStyle;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A pool that replaces the {@link TextStyle}, {@link SpreadsheetParsePattern} and {@link SpreadsheetFormatPattern} of
+ * a {@link SpreadsheetCell} with the first equal instance it has seen, so cells sharing a style or pattern also share
+ * a single instance and its lazily compiled formatter or parser. A pool is not thread safe and is scoped to its owner,
+ * such as a cell store or a single unmarshall, so its entries are released along with that owner.
+ */
+public final class SpreadsheetCellInterner {
+
+    /**
+     * Each pool is cleared when it reaches this size, which protects against unbounded growth.
+     */
+    final static int MAX_SIZE = 1024;
+
+    /**
+     * Creates a new empty {@link SpreadsheetCellInterner}.
+     */
+    public static SpreadsheetCellInterner empty() {
+        return new SpreadsheetCellInterner();
+    }
+
+    private SpreadsheetCellInterner() {
+        super();
+    }
+
+    /**
+     * Returns a {@link SpreadsheetCell} equal to the given, with its style and patterns replaced by any pooled
+     * instances. The given cell is returned if nothing was replaced.
+     */
+    public SpreadsheetCell intern(final SpreadsheetCell cell) {
+        Objects.requireNonNull(cell, "cell");
+
+        final TextStyle style = cell.style();
+        final Optional<SpreadsheetParsePattern> parsePattern = cell.parsePattern();
+        final Optional<SpreadsheetFormatPattern> formatPattern = cell.formatPattern();
+
+        final TextStyle internedStyle = intern(style, TextStyle.EMPTY, this.styles);
+        final Optional<SpreadsheetParsePattern> internedParsePattern = intern(parsePattern, SpreadsheetCell.NO_PARSE_PATTERN, this.parsePatterns);
+        final Optional<SpreadsheetFormatPattern> internedFormatPattern = intern(formatPattern, SpreadsheetCell.NO_FORMAT_PATTERN, this.formatPatterns);
+
+        return style == internedStyle &&
+                parsePattern == internedParsePattern &&
+                formatPattern == internedFormatPattern ?
+                cell :
+                cell.setInterned(
+                        internedStyle,
+                        internedParsePattern,
+                        internedFormatPattern
+                );
+    }
+
+    /**
+     * Returns the pooled instance equal to the given, adding the given if none is pooled. The empty value, an empty
+     * style or absent pattern, is never pooled. A full pool is cleared before the given value is
+     * added.
+     */
+    private static <T> T intern(final T value,
+                                final T empty,
+                                final Map<T, T> pool) {
+        T interned = value;
+
+        if (!empty.equals(value)) {
+            interned = pool.get(value);
+            if (null == interned) {
+                interned = value;
+
+                if (pool.size() >= MAX_SIZE) {
+                    pool.clear();
+                }
+                pool.put(value, value);
+            }
+        }
+
+        return interned;
+    }
+
+    /**
+     * The number of pooled styles and patterns.
+     */
+    int size() {
+        return this.styles.size() +
+                this.parsePatterns.size() +
+                this.formatPatterns.size();
+    }
+
+    private final Map<TextStyle, TextStyle> styles = Maps.hash();
+
+    private final Map<Optional<SpreadsheetParsePattern>, Optional<SpreadsheetParsePattern>> parsePatterns = Maps.hash();
+
+    private final Map<Optional<SpreadsheetFormatPattern>, Optional<SpreadsheetFormatPattern>> formatPatterns = Maps.hash();
+
+    @Override
+    public String toString() {
+        return this.styles.size() + " style(s) " +
+                this.parsePatterns.size() + " parse pattern(s) " +
+                this.formatPatterns.size() + " format pattern(s)";
+    }
+}
@@ -23,6 +23,9 @@ import java.util.Objects;
  * An {@link RuntimeException} that holds a {@link SpreadsheetError}
  * <br>
  * This behaviour guarantees that any formula or expression with an error will fail with the first {@link SpreadsheetError}.
+ * <br>
+ * No stack trace is captured, as this exception is thrown whenever a function receives an error value, and only the
+ * {@link SpreadsheetError} is ever reported.
  */
 public final class SpreadsheetErrorException extends RuntimeException implements HasSpreadsheetError {
 
@@ -33,7 +36,12 @@ public final class SpreadsheetErrorException extends RuntimeException implements
     }
 
     public SpreadsheetErrorException(final SpreadsheetError error) {
-        super();
+        super(
+                null, // message
+                null, // cause
+                false, // enableSuppression
+                false // writableStackTrace
+        );
         this.error = Objects.requireNonNull(error, "error");
     }
 
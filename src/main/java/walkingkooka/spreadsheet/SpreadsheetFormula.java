@@ -34,6 +34,7 @@ import walkingkooka.tree.json.JsonObject;
 import walkingkooka.tree.json.JsonPropertyName;
 import walkingkooka.tree.json.marshall.JsonNodeContext;
 import walkingkooka.tree.json.marshall.JsonNodeMarshallContext;
+import walkingkooka.tree.json.marshall.JsonNodeMarshallContextObjectPostProcessor;
 import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
 import walkingkooka.tree.json.marshall.JsonNodeUnmarshallException;
 import walkingkooka.tree.json.patch.Patchable;
@@ -428,7 +429,13 @@ public final class SpreadsheetFormula implements HasText,
     private JsonNode marshall(final JsonNodeMarshallContext context) {
         JsonObject object = JsonNode.object();
 
-        final String text = this.text;
+        final Optional<SpreadsheetParserToken> token = this.token;
+        final Optional<Expression> expression = this.expression;
+        final boolean compact = (token.isPresent() || expression.isPresent()) && isCompact(context);
+
+        final String text = compact ?
+                this.text() :
+                this.text;
         if (null != text) {
             object = object.set(
                     TEXT_PROPERTY,
@@ -436,14 +443,14 @@ public final class SpreadsheetFormula implements HasText,
             );
         }
 
-        final Optional<SpreadsheetParserToken> token = this.token;
-        if (token.isPresent()) {
-            object = object.set(TOKEN_PROPERTY, context.marshallWithType(token.get()));
-        }
+        if (false == compact) {
+            if (token.isPresent()) {
+                object = object.set(TOKEN_PROPERTY, context.marshallWithType(token.get()));
+            }
 
-        final Optional<Expression> expression = this.expression;
-        if (expression.isPresent()) {
-            object = object.set(EXPRESSION_PROPERTY, context.marshallWithType(expression.get()));
+            if (expression.isPresent()) {
+                object = object.set(EXPRESSION_PROPERTY, context.marshallWithType(expression.get()));
+            }
         }
 
         final Optional<Object> value = this.value;
@@ -454,6 +461,64 @@ public final class SpreadsheetFormula implements HasText,
         return object;
     }
 
+    /**
+     * Returns a {@link JsonNodeMarshallContext} that marshalls {@link SpreadsheetFormula formulas} with only their text
+     * and value, leaving out the token and expression which are usually many times larger than the text. The receiver
+     * is expected to parse the text again when the token or expression is required, as {@link walkingkooka.spreadsheet.engine.SpreadsheetEngine}
+     * does for any cell missing a token, keeping the value.
+     * <br>
+     * Any object post processor already set upon the context is replaced, use {@link #compactMarshallContext(JsonNodeMarshallContext, JsonNodeMarshallContextObjectPostProcessor)}
+     * to keep it.
+     */
+    public static JsonNodeMarshallContext compactMarshallContext(final JsonNodeMarshallContext context) {
+        return compactMarshallContext(
+                context,
+                (value, object) -> object
+        );
+    }
+
+    /**
+     * Returns a {@link JsonNodeMarshallContext} like {@link #compactMarshallContext(JsonNodeMarshallContext)} which then
+     * gives every marshalled object to the given post processor. A context cannot return its post processor, so one
+     * already set upon the context must be given here to be kept.
+     */
+    public static JsonNodeMarshallContext compactMarshallContext(final JsonNodeMarshallContext context,
+                                                                 final JsonNodeMarshallContextObjectPostProcessor processor) {
+        Objects.requireNonNull(context, "context");
+        Objects.requireNonNull(processor, "processor");
+
+        return context.setObjectPostProcessor(
+                (value, object) -> COMPACT_PROBE == value ?
+                        COMPACT_PROBE_JSON :
+                        processor.apply(value, object)
+        );
+    }
+
+    /**
+     * A context cannot return its post processor, so {@link #marshall(JsonNodeMarshallContext)} marshalls this probe,
+     * which the post processor of a {@link #compactMarshallContext(JsonNodeMarshallContext)} replaces with
+     * {@link #COMPACT_PROBE_JSON}, to learn whether to skip the token and expression. The probe has no token, so
+     * marshalling it never probes again.
+     */
+    private final static SpreadsheetFormula COMPACT_PROBE = new SpreadsheetFormula(
+            "",
+            NO_TOKEN,
+            NO_EXPRESSION,
+            NO_VALUE
+    );
+
+    private final static JsonNode COMPACT_PROBE_JSON = JsonNode.object()
+            .set(
+                    JsonPropertyName.with("compact"),
+                    JsonNode.booleanNode(true)
+            );
+
+    private static boolean isCompact(final JsonNodeMarshallContext context) {
+        return COMPACT_PROBE_JSON.equals(
+                context.marshall(COMPACT_PROBE)
+        );
+    }
+
     private final static String TEXT_PROPERTY_STRING = "text";
     private final static String TOKEN_PROPERTY_STRING = "token";
     private final static String EXPRESSION_PROPERTY_STRING = "expression";
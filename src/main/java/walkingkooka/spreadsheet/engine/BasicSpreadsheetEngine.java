@@ -32,6 +32,7 @@ import walkingkooka.spreadsheet.SpreadsheetRow;
 import walkingkooka.spreadsheet.SpreadsheetViewport;
 import walkingkooka.spreadsheet.conditionalformat.SpreadsheetConditionalFormattingRule;
 import walkingkooka.spreadsheet.format.SpreadsheetFormatter;
+import walkingkooka.spreadsheet.format.SpreadsheetText;
 import walkingkooka.spreadsheet.format.pattern.SpreadsheetFormatPattern;
 import walkingkooka.spreadsheet.format.pattern.SpreadsheetParsePattern;
 import walkingkooka.spreadsheet.meta.SpreadsheetMetadata;
@@ -70,6 +71,8 @@ import walkingkooka.tree.text.TextNode;
 import walkingkooka.tree.text.TextStylePropertyName;
 
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -85,15 +88,58 @@ final class BasicSpreadsheetEngine implements SpreadsheetEngine {
     /**
      * Singleton
      */
-    final static BasicSpreadsheetEngine INSTANCE = new BasicSpreadsheetEngine();
+    final static BasicSpreadsheetEngine INSTANCE = new BasicSpreadsheetEngine(NoopSpreadsheetEngineMetrics.INSTANCE);
+
+    /**
+     * Factory that creates a {@link BasicSpreadsheetEngine} reporting to the given {@link SpreadsheetEngineMetrics}.
+     */
+    static BasicSpreadsheetEngine with(final SpreadsheetEngineMetrics metrics) {
+        Objects.requireNonNull(metrics, "metrics");
+
+        return NoopSpreadsheetEngineMetrics.INSTANCE == metrics ?
+                INSTANCE :
+                new BasicSpreadsheetEngine(metrics);
+    }
 
     /**
      * Private ctor.
      */
-    private BasicSpreadsheetEngine() {
+    private BasicSpreadsheetEngine(final SpreadsheetEngineMetrics metrics) {
         super();
+        this.metrics = metrics;
+        this.metricsEnabled = NoopSpreadsheetEngineMetrics.INSTANCE != metrics;
+    }
+
+    // METRICS..........................................................................................................
+
+    /**
+     * Returns the start time of a phase, skipping the clock when metrics are not being recorded.
+     */
+    long metricsStart() {
+        return this.metricsEnabled ?
+                System.nanoTime() :
+                0;
+    }
+
+    /**
+     * Reports a phase that began at the given start time.
+     */
+    void metricsEnd(final SpreadsheetEngineMetricsPhase phase,
+                    final int count,
+                    final long start) {
+        if (this.metricsEnabled) {
+            this.metrics.onPhase(
+                    phase,
+                    count,
+                    System.nanoTime() - start
+            );
+        }
     }
 
+    private final SpreadsheetEngineMetrics metrics;
+
+    private final boolean metricsEnabled;
+
     // LOAD CELL........................................................................................................
 
     /**
@@ -127,16 +173,33 @@ final class BasicSpreadsheetEngine implements SpreadsheetEngine {
                                         final SpreadsheetEngineEvaluation evaluation,
                                         final Set<SpreadsheetDeltaProperties> deltaProperties,
                                         final SpreadsheetEngineContext context) {
-        try (final BasicSpreadsheetEngineChanges changes = BasicSpreadsheetEngineChangesMode.BATCH.createChanges(this, deltaProperties, context)) {
-            final SpreadsheetStoreRepository repository = context.storeRepository();
+        final SpreadsheetStoreRepository repository = context.storeRepository();
 
-            final Set<SpreadsheetCellReference> loadedOrDeleted = Sets.sorted();
+        final long start = this.metricsStart();
+        final Set<SpreadsheetCell> loaded = repository.cells()
+                .loadCells(cellRange);
+        this.metricsEnd(SpreadsheetEngineMetricsPhase.STORE_LOAD, loaded.size(), start);
+
+        // only cells that will be updated are loaded with watched stores, if there are none skip watching the stores
+        final List<SpreadsheetCell> readOnly = Lists.array();
+        final Map<SpreadsheetCellReference, SpreadsheetCell> computed = Maps.hash();
+        final List<SpreadsheetCell> updates = this.loadCellsReadOnly(
+                loaded,
+                evaluation,
+                readOnly,
+                computed,
+                context
+        );
 
-            for (final SpreadsheetCell cell : repository.cells()
-                    .loadCells(cellRange)) {
+        try (final BasicSpreadsheetEngineChanges changes = updates.isEmpty() ?
+                BasicSpreadsheetEngineChanges.readOnly(this, context, deltaProperties) :
+                BasicSpreadsheetEngineChangesMode.BATCH.createChanges(this, deltaProperties, context)) {
+            final Set<SpreadsheetCellReference> loadedOrDeleted = Sets.sorted();
 
-                final SpreadsheetCell evaluated = this.maybeParseAndEvaluateAndFormat(
+            for (final SpreadsheetCell cell : updates) {
+                final SpreadsheetCell evaluated = this.loadComputedOrParseAndEvaluateAndFormat(
                         cell,
+                        computed.get(cell.reference()),
                         evaluation,
                         context
                 );
@@ -145,6 +208,14 @@ final class BasicSpreadsheetEngine implements SpreadsheetEngine {
                 loadedOrDeleted.add(cell.reference());
             }
 
+            this.onLoadReadOnly(
+                    readOnly,
+                    changes
+            );
+            for (final SpreadsheetCell cell : readOnly) {
+                loadedOrDeleted.add(cell.reference());
+            }
+
             SpreadsheetDelta delta = this.prepareDelta(
                     changes,
                     context
@@ -181,6 +252,48 @@ final class BasicSpreadsheetEngine implements SpreadsheetEngine {
         }
     }
 
+    /**
+     * Attempts to load each of the given cells without updating any store, adding those that need no update to
+     * readOnly and returning the cells that would be updated. Only the returned cells need to be loaded with watched
+     * stores, so pure loads, such as viewport reloads of cells already computed, skip watching the stores entirely.
+     * Updated cells already computed while trying are added to computed, so they are only saved when loaded again.
+     */
+    private List<SpreadsheetCell> loadCellsReadOnly(final Collection<SpreadsheetCell> cells,
+                                                    final SpreadsheetEngineEvaluation evaluation,
+                                                    final List<SpreadsheetCell> readOnly,
+                                                    final Map<SpreadsheetCellReference, SpreadsheetCell> computed,
+                                                    final SpreadsheetEngineContext context) {
+        final List<SpreadsheetCell> updates = Lists.array();
+
+        for (final SpreadsheetCell cell : cells) {
+            final SpreadsheetCell evaluated = evaluation.loadReadOnly(
+                    cell,
+                    computed,
+                    this,
+                    context
+            );
+            if (null == evaluated) {
+                updates.add(cell);
+            } else {
+                readOnly.add(evaluated);
+            }
+        }
+
+        return updates;
+    }
+
+    /**
+     * Records the cells loaded without updates, skipping any already refreshed while loading the updated cells.
+     */
+    private void onLoadReadOnly(final List<SpreadsheetCell> readOnly,
+                                final BasicSpreadsheetEngineChanges changes) {
+        for (final SpreadsheetCell cell : readOnly) {
+            if (!changes.isLoaded(cell.reference())) {
+                changes.onLoad(cell);
+            }
+        }
+    }
+
     /**
      * Loads the given cell, returning true if it was successful.
      */
@@ -188,11 +301,14 @@ final class BasicSpreadsheetEngine implements SpreadsheetEngine {
                       final SpreadsheetEngineEvaluation evaluation,
                       final BasicSpreadsheetEngineChanges changes,
                       final SpreadsheetEngineContext context) {
+        final long start = this.metricsStart();
         final Optional<SpreadsheetCell> loaded = context.storeRepository()
                 .cells()
                 .load(reference);
+        this.metricsEnd(SpreadsheetEngineMetricsPhase.STORE_LOAD, loaded.isPresent() ? 1 : 0, start);
+
         loaded.map(c -> {
-            final SpreadsheetCell evaluated = this.maybeParseAndEvaluateAndFormat(c, evaluation, context);
+            final SpreadsheetCell evaluated = this.loadParseAndEvaluateAndFormat(c, evaluation, context);
             changes.onLoad(evaluated); // might have just loaded a cell without any updates but want to record cell.
             return evaluated;
         });
@@ -473,30 +589,66 @@ final class BasicSpreadsheetEngine implements SpreadsheetEngine {
         checkDeltaProperties(deltaProperties);
         checkContext(context);
 
-        try (final BasicSpreadsheetEngineChanges changes = BasicSpreadsheetEngineChangesMode.IMMEDIATE.createChanges(this, deltaProperties, context)) {
-            final SpreadsheetCellStore store = context.storeRepository()
-                    .cells();
+        final SpreadsheetCellStore store = context.storeRepository()
+                .cells();
 
-            for (final SpreadsheetCellRange range : ranges) {
+        // if nothing will be updated skip watching the stores
+        final long start = this.metricsStart();
+        final Set<SpreadsheetCell> loaded = Sets.sorted();
+        for (final SpreadsheetCellRange range : ranges) {
+            loaded.addAll(
+                    store.loadCells(range)
+            );
+        }
+        this.metricsEnd(SpreadsheetEngineMetricsPhase.STORE_LOAD, loaded.size(), start);
+
+        // only cells that will be updated are loaded with watched stores, if there are none skip watching the stores
+        final List<SpreadsheetCell> readOnly = Lists.array();
+        final Map<SpreadsheetCellReference, SpreadsheetCell> computed = Maps.hash();
+        final List<SpreadsheetCell> updates = this.loadCellsReadOnly(
+                loaded,
+                evaluation,
+                readOnly,
+                computed,
+                context
+        );
 
-                range.cellStream()
-                        .forEach(reference -> {
-                            if (!changes.isLoaded(reference)) {
-                                final Optional<SpreadsheetCell> loaded = store.load(reference);
-                                if (loaded.isPresent()) {
-                                            final SpreadsheetCell evaluated = this.maybeParseAndEvaluateAndFormat(loaded.get(), evaluation, context);
-                                            changes.onLoad(evaluated); // might have just loaded a cell without any updates but want to record cell.
-                                        }
-                                    }
-                                }
+        try (final BasicSpreadsheetEngineChanges changes = updates.isEmpty() ?
+                BasicSpreadsheetEngineChanges.readOnly(this, context, deltaProperties) :
+                BasicSpreadsheetEngineChangesMode.IMMEDIATE.createChanges(this, deltaProperties, context)) {
+            for (final SpreadsheetCell cell : updates) {
+                final SpreadsheetCellReference reference = cell.reference();
+
+                // an earlier update may have already refreshed this cell
+                if (!changes.isLoaded(reference)) {
+                    final long loadStart = this.metricsStart();
+                    final Optional<SpreadsheetCell> reloaded = store.load(reference);
+                    this.metricsEnd(SpreadsheetEngineMetricsPhase.STORE_LOAD, reloaded.isPresent() ? 1 : 0, loadStart);
+
+                    if (reloaded.isPresent()) {
+                        final SpreadsheetCell evaluated = this.loadComputedOrParseAndEvaluateAndFormat(
+                                reloaded.get(),
+                                cell.equals(reloaded.get()) ?
+                                        computed.get(reference) :
+                                        null, // updated since computed
+                                evaluation,
+                                context
                         );
+                        changes.onLoad(evaluated); // might have just loaded a cell without any updates but want to record cell.
+                    }
+                }
             }
 
-            return this.prepareDelta(
+            this.onLoadReadOnly(
+                    readOnly,
+                    changes
+            );
+
+            return this.prepareWindowDelta(
                     changes,
                     ranges,
                     context
-            ).setWindow(ranges);
+            );
         }
     }
 
@@ -530,23 +682,46 @@ final class BasicSpreadsheetEngine implements SpreadsheetEngine {
                                           final SpreadsheetEngineContext context) {
         changes.refreshUpdated();
 
-        return this.prepareDelta(
+        final long start = this.metricsStart();
+        final SpreadsheetDelta delta = this.prepareDeltaBuilder(
                 changes,
                 changes.deletedAndUpdatedCellRange()
                         .map(Sets::of)
                         .orElse(Sets.empty()),
                 context
-        );
+        ).build();
+        this.metricsEnd(SpreadsheetEngineMetricsPhase.DELTA, delta.cells().size(), start);
+
+        return delta;
     }
 
     /**
-     * Creates a {@link SpreadsheetDelta} to hold the given cells and then queries to fetch the labels for those cells.
+     * Creates a {@link SpreadsheetDelta} with the given window holding the given cells.
      */
-    private SpreadsheetDelta prepareDelta(final BasicSpreadsheetEngineChanges changes,
-                                          final Set<SpreadsheetCellRange> window,
-                                          final SpreadsheetEngineContext context) {
+    private SpreadsheetDelta prepareWindowDelta(final BasicSpreadsheetEngineChanges changes,
+                                                final Set<SpreadsheetCellRange> window,
+                                                final SpreadsheetEngineContext context) {
         changes.refreshUpdated();
 
+        final long start = this.metricsStart();
+        final SpreadsheetDelta delta = this.prepareDeltaBuilder(
+                changes,
+                window,
+                context
+        ).setWindow(window)
+                .build();
+        this.metricsEnd(SpreadsheetEngineMetricsPhase.DELTA, delta.cells().size(), start);
+
+        return delta;
+    }
+
+    /**
+     * Creates a {@link SpreadsheetDeltaBuilder} to hold the given cells and then queries to fetch the labels for those cells.
+     * All parts are filtered once when the {@link SpreadsheetDelta} is built.
+     */
+    private SpreadsheetDeltaBuilder prepareDeltaBuilder(final BasicSpreadsheetEngineChanges changes,
+                                                        final Set<SpreadsheetCellRange> window,
+                                                        final SpreadsheetEngineContext context) {
         final Set<SpreadsheetDeltaProperties> deltaProperties = changes.deltaProperties;
 
         final boolean addCells = deltaProperties.contains(SpreadsheetDeltaProperties.CELLS);
@@ -694,28 +869,28 @@ final class BasicSpreadsheetEngine implements SpreadsheetEngine {
 
         }
 
-        // order is important because labels and cells for hidden columns/rows are filtered.
-        SpreadsheetDelta delta = SpreadsheetDelta.EMPTY;
+        // cells for hidden columns/rows are filtered when the delta is built.
+        final SpreadsheetDeltaBuilder delta = SpreadsheetDelta.builder();
         if (addColumns) {
-            delta = delta.setColumns(sortedSet(columns));
+            delta.setColumns(sortedSet(columns));
         }
         if (addRows) {
-            delta = delta.setRows(sortedSet(rows));
+            delta.setRows(sortedSet(rows));
         }
         if (addCells) {
-            delta = delta.setCells(updatedCells);
+            delta.setCells(updatedCells);
         }
         if (addLabels) {
-            delta = delta.setLabels(labels);
+            delta.setLabels(labels);
         }
         if (addDeletedCells) {
-            delta = delta.setDeletedCells(deletedCells);
+            delta.setDeletedCells(deletedCells);
         }
         if (addDeletedColumns) {
-            delta = delta.setDeletedColumns(changes.deletedColumns());
+            delta.setDeletedColumns(changes.deletedColumns());
         }
         if (addDeletedRows) {
-            delta = delta.setDeletedRows(changes.deletedRows());
+            delta.setDeletedRows(changes.deletedRows());
         }
         if (deltaProperties.contains(SpreadsheetDeltaProperties.COLUMN_WIDTHS)) {
             final Map<SpreadsheetColumnReference, Double> columnsWidths = Maps.sorted(SpreadsheetRowReference.COLUMN_OR_ROW_REFERENCE_KIND_IGNORED_COMPARATOR);
@@ -739,7 +914,7 @@ final class BasicSpreadsheetEngine implements SpreadsheetEngine {
                 );
             }
 
-            delta = delta.setColumnWidths(columnsWidths);
+            delta.setColumnWidths(columnsWidths);
         }
         if (deltaProperties.contains(SpreadsheetDeltaProperties.ROW_HEIGHTS)) {
             final Map<SpreadsheetRowReference, Double> rowsHeights = Maps.sorted(SpreadsheetRowReference.COLUMN_OR_ROW_REFERENCE_KIND_IGNORED_COMPARATOR);
@@ -763,7 +938,7 @@ final class BasicSpreadsheetEngine implements SpreadsheetEngine {
                 );
             }
 
-            delta = delta.setRowHeights(rowsHeights);
+            delta.setRowHeights(rowsHeights);
         }
 
         return delta;
@@ -867,19 +1042,131 @@ final class BasicSpreadsheetEngine implements SpreadsheetEngine {
 
     // cell eval........................................................................................................
 
+    /**
+     * Evaluates a cell just loaded from the cell store, skipping a clean cell which is already in the store. Cells
+     * being saved must never use this, as a clean cell may have been deleted since it was marked.
+     */
+    private SpreadsheetCell loadParseAndEvaluateAndFormat(final SpreadsheetCell cell,
+                                                          final SpreadsheetEngineEvaluation evaluation,
+                                                          final SpreadsheetEngineContext context) {
+        final SpreadsheetCell result;
+
+        if (SpreadsheetEngineEvaluation.COMPUTE_IF_NECESSARY == evaluation) {
+            result = this.isClean(cell, context) ?
+                    cell : // nothing to evaluate, format or save
+                    this.maybeParseAndEvaluateAndFormat(
+                            this.parseStoredFormula(cell, context),
+                            evaluation,
+                            context
+                    );
+        } else {
+            result = this.maybeParseAndEvaluateAndFormat(cell, evaluation, context);
+        }
+
+        return result;
+    }
+
+    /**
+     * A stored cell with a value and formatted text but no token, such as one restored from
+     * {@link SpreadsheetFormula#compactMarshallContext} or a binary snapshot, is parsed again. When the text parses
+     * unchanged the value and formatted text computed before it was stored are kept, so it is not evaluated again.
+     * Saved cells never take this path, as their value may come from a client.
+     */
+    private SpreadsheetCell parseStoredFormula(final SpreadsheetCell cell,
+                                               final SpreadsheetEngineContext context) {
+        SpreadsheetCell result = cell;
+
+        final SpreadsheetFormula formula = cell.formula();
+        final Optional<Object> value = formula.value();
+        final Optional<TextNode> formatted = cell.formatted();
+
+        if (false == formula.token().isPresent() && value.isPresent() && formatted.isPresent()) {
+            final SpreadsheetCell parsed = this.parseFormulaIfNecessary(
+                    cell,
+                    Function.identity(),
+                    context
+            );
+            final SpreadsheetFormula parsedFormula = parsed.formula();
+
+            result = parsedFormula.error().isPresent() || false == formula.text().equals(parsedFormula.text()) ?
+                    parsed :
+                    parsed.setFormula(
+                            parsedFormula.setValue(value)
+                    ).setFormatted(formatted);
+        }
+
+        return result;
+    }
+
+    /**
+     * Saves a cell already computed by {@link #loadCellsReadOnly} or loads the cell if none was computed.
+     */
+    private SpreadsheetCell loadComputedOrParseAndEvaluateAndFormat(final SpreadsheetCell cell,
+                                                                    final SpreadsheetCell computed,
+                                                                    final SpreadsheetEngineEvaluation evaluation,
+                                                                    final SpreadsheetEngineContext context) {
+        return null != computed ?
+                this.saveEvaluated(computed, evaluation, context) :
+                this.loadParseAndEvaluateAndFormat(cell, evaluation, context);
+    }
+
     /**
      * Attempts to evaluate the cell, parsing and evaluating as necessary depending on the {@link SpreadsheetEngineEvaluation}
      */
     SpreadsheetCell maybeParseAndEvaluateAndFormat(final SpreadsheetCell cell,
                                                    final SpreadsheetEngineEvaluation evaluation,
                                                    final SpreadsheetEngineContext context) {
-        final SpreadsheetCell result = evaluation.parseFormulaEvaluateAndStyle(cell, this, context);
-        context.storeRepository()
+        return this.saveEvaluated(
+                evaluation.parseFormulaEvaluateAndStyle(cell, this, context),
+                evaluation,
+                context
+        );
+    }
+
+    /**
+     * Saves a just evaluated and formatted cell, marking it clean if it is pure.
+     */
+    private SpreadsheetCell saveEvaluated(final SpreadsheetCell result,
+                                          final SpreadsheetEngineEvaluation evaluation,
+                                          final SpreadsheetEngineContext context) {
+        final long start = this.metricsStart();
+        final SpreadsheetCell saved = context.storeRepository()
                 .cells()
                 .save(result); // update cells enabling caching of parsing and value and errors.
+        this.metricsEnd(SpreadsheetEngineMetricsPhase.STORE_SAVE, 1, start);
+
+        if (SpreadsheetEngineEvaluation.SKIP_EVALUATE != evaluation) {
+            this.markCleanIfPure(saved, context);
+        }
+
         return result;
     }
 
+    /**
+     * A clean cell was formatted by the given context and is unchanged since, which means loading it again requires no
+     * evaluation, formatting or save. Cells with conditional formatting rules are never clean, as the rules may change.
+     */
+    private boolean isClean(final SpreadsheetCell cell,
+                            final SpreadsheetEngineContext context) {
+        return context.isClean(cell) &&
+                context.storeRepository()
+                        .rangeToConditionalFormattingRules()
+                        .loadCellReferenceValues(cell.reference())
+                        .isEmpty();
+    }
+
+    /**
+     * Marks a just formatted cell as clean if its expression is pure.
+     */
+    private void markCleanIfPure(final SpreadsheetCell cell,
+                                 final SpreadsheetEngineContext context) {
+        final Optional<Expression> expression = cell.formula()
+                .expression();
+        if (cell.formatted().isPresent() && expression.isPresent() && expression.get().isPure(context)) {
+            context.markClean(cell);
+        }
+    }
+
     // Visible for SpreadsheetEngineEvaluation only called by COMPUTE_IF_NECESSARY & FORCE_RECOMPUTE
     SpreadsheetCell parseFormulaEvaluateAndStyle(final SpreadsheetCell cell,
                                                  final SpreadsheetEngineEvaluation evaluation,
@@ -907,6 +1194,9 @@ final class BasicSpreadsheetEngine implements SpreadsheetEngine {
     SpreadsheetCell parseFormulaIfNecessary(final SpreadsheetCell cell,
                                             final Function<SpreadsheetParserToken, SpreadsheetParserToken> parsed,
                                             final SpreadsheetEngineContext context) {
+        final long start = this.metricsStart();
+        int parsedCount = 0;
+
         SpreadsheetCell result = cell;
         SpreadsheetFormula formula = cell.formula();
 
@@ -925,6 +1215,7 @@ final class BasicSpreadsheetEngine implements SpreadsheetEngine {
                             context,
                             text
                     );
+                    parsedCount = 1;
                 }
                 if (null != token) {
                     token = parsed.apply(token);
@@ -956,8 +1247,11 @@ final class BasicSpreadsheetEngine implements SpreadsheetEngine {
             );
         }
 
+        this.metricsEnd(SpreadsheetEngineMetricsPhase.PARSE, parsedCount, start);
+
         return result;
     }
+
     /**
      * This {@link SpreadsheetParserToken} is set upon {@link SpreadsheetFormula} when the {@link SpreadsheetFormula#text()} is empty.
      */
@@ -1104,6 +1398,40 @@ final class BasicSpreadsheetEngine implements SpreadsheetEngine {
                 );
     }
 
+    /**
+     * Returns the cell if it is clean, or if it already holds a value and formatted text and a pure {@link Expression}
+     * and formatting it again yields the same cell, otherwise returns null because loading would update the cell. A
+     * cell formatted again that differs is added to computed, so loading it only needs to save it.
+     */
+    // SpreadsheetEngineEvaluation#COMPUTE_IF_NECESSARY
+    SpreadsheetCell computeIfNecessaryReadOnly(final SpreadsheetCell cell,
+                                               final Map<SpreadsheetCellReference, SpreadsheetCell> computed,
+                                               final SpreadsheetEngineContext context) {
+        SpreadsheetCell result = null;
+
+        if (this.isClean(cell, context)) {
+            result = cell;
+        } else {
+            final Optional<Expression> expression = cell.formula()
+                    .expression();
+            if (cell.formatted().isPresent() && expression.isPresent() && expression.get().isPure(context)) {
+                final SpreadsheetCell evaluated = this.parseFormulaEvaluateAndStyle(
+                        cell,
+                        SpreadsheetEngineEvaluation.COMPUTE_IF_NECESSARY,
+                        context
+                );
+                if (evaluated.equals(cell)) {
+                    result = evaluated;
+                    context.markClean(cell);
+                } else {
+                    computed.put(cell.reference(), evaluated);
+                }
+            }
+        }
+
+        return result;
+    }
+
     /**
      * Unconditionally evaluate the {@link Expression} returning the value.
      */
@@ -1111,13 +1439,17 @@ final class BasicSpreadsheetEngine implements SpreadsheetEngine {
     Optional<Object> evaluate(final Expression expression,
                               final SpreadsheetCell cell,
                               final SpreadsheetEngineContext context) {
-
-        return Optional.ofNullable(
-                context.evaluate(
-                        expression,
-                        Optional.of(cell)
-                )
-        );
+        final long start = this.metricsStart();
+        try {
+            return Optional.ofNullable(
+                    context.evaluate(
+                            expression,
+                            Optional.of(cell)
+                    )
+            );
+        } finally {
+            this.metricsEnd(SpreadsheetEngineMetricsPhase.EVALUATE, 1, start);
+        }
     }
 
     // FORMAT .........................................................................................................
@@ -1143,11 +1475,14 @@ final class BasicSpreadsheetEngine implements SpreadsheetEngine {
         final Object value = formula.value()
                 .orElse("");
 
+        final long start = this.metricsStart();
+        final Optional<SpreadsheetText> formatted = context.format(value, formatter);
+        this.metricsEnd(SpreadsheetEngineMetricsPhase.FORMAT, 1, start);
+
         return this.locateAndApplyConditionalFormattingRule(
                 cell.setFormatted(
                         Optional.of(
-                                context.format(value, formatter)
-                                        .map(
+                                formatted.map(
                                                 f -> cell.style()
                                                         .replace(f.toTextNode())
                                         )
@@ -1161,44 +1496,60 @@ final class BasicSpreadsheetEngine implements SpreadsheetEngine {
     private final static TextNode EMPTY_TEXT_NODE = TextNode.text("");
 
     /**
-     * Locates and returns the first matching conditional rule style.
+     * Locates the first matching conditional rule in priority order and applies its style. Rules are evaluated from the
+     * lowest priority number and evaluation stops at the first match.
      */
     private SpreadsheetCell locateAndApplyConditionalFormattingRule(final SpreadsheetCell cell,
                                                                     final SpreadsheetEngineContext context) {
+        final long start = this.metricsStart();
+        int tested = 0;
+
         SpreadsheetCell result = cell;
 
-        final Set<SpreadsheetConditionalFormattingRule> rules = Sets.sorted(SpreadsheetConditionalFormattingRule.PRIORITY_COMPARATOR);
-        rules.addAll(context.storeRepository()
+        final Set<SpreadsheetConditionalFormattingRule> loaded = context.storeRepository()
                 .rangeToConditionalFormattingRules()
-                .loadCellReferenceValues(cell.reference()));
-        for (SpreadsheetConditionalFormattingRule rule : rules) {
-            final Object test = context.evaluate(
-                    rule.formula()
-                            .expression()
-                            .get(),
-                    Optional.of(
-                            cell
-                    )
-            );
-            final Boolean booleanResult = context.metadata()
-                    .converterContext(
-                            context::now,
-                            context::resolveIfLabel
-                    )
-                    .convertOrFail(test, Boolean.class);
-            if (Boolean.TRUE.equals(booleanResult)) {
-                final TextNode formatted = cell.formatted()
-                        .orElseThrow(() -> new BasicSpreadsheetEngineException("Missing formatted cell=" + cell));
-                result = cell.setFormatted(
-                        Optional.of(
-                                rule.style()
-                                        .apply(cell)
-                                        .replace(formatted)));
+                .loadCellReferenceValues(cell.reference());
+
+        if (false == loaded.isEmpty()) {
+            final List<SpreadsheetConditionalFormattingRule> rules = Lists.array();
+            rules.addAll(loaded);
+            rules.sort(CONDITIONAL_FORMATTING_RULE_EVALUATION_ORDER);
+
+            SpreadsheetConditionalFormattingRule previous = null;
+
+            for (final SpreadsheetConditionalFormattingRule rule : rules) {
+                // only the first rule of any priority is considered.
+                if (null != previous && previous.priority() == rule.priority()) {
+                    continue;
+                }
+                previous = rule;
+                tested++;
+
+                if (context.testConditionalFormattingRule(rule, cell)) {
+                    final TextNode formatted = cell.formatted()
+                            .orElseThrow(() -> new BasicSpreadsheetEngineException("Missing formatted cell=" + cell));
+                    result = cell.setFormatted(
+                            Optional.of(
+                                    rule.style()
+                                            .apply(cell)
+                                            .replace(formatted)
+                            )
+                    );
+                    break;
+                }
             }
         }
+
+        this.metricsEnd(SpreadsheetEngineMetricsPhase.CONDITIONAL_FORMATTING, tested, start);
+
         return result;
     }
 
+    /**
+     * The lowest priority number wins, and is evaluated first.
+     */
+    private final static Comparator<SpreadsheetConditionalFormattingRule> CONDITIONAL_FORMATTING_RULE_EVALUATION_ORDER = SpreadsheetConditionalFormattingRule.PRIORITY_COMPARATOR.reversed();
+
     // max..............................................................................................................
 
     @Override
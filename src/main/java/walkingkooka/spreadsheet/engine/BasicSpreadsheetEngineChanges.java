@@ -56,14 +56,32 @@ final class BasicSpreadsheetEngineChanges implements AutoCloseable {
                 engine,
                 context,
                 deltaProperties,
-                mode
+                mode,
+                true
+        );
+    }
+
+    /**
+     * Creates a {@link BasicSpreadsheetEngineChanges} that does not watch any store, it only records cells given to
+     * {@link #onLoad(SpreadsheetCell)}. This must only be used by loads that never update any store.
+     */
+    static BasicSpreadsheetEngineChanges readOnly(final BasicSpreadsheetEngine engine,
+                                                  final SpreadsheetEngineContext context,
+                                                  final Set<SpreadsheetDeltaProperties> deltaProperties) {
+        return new BasicSpreadsheetEngineChanges(
+                engine,
+                context,
+                deltaProperties,
+                BasicSpreadsheetEngineChangesMode.IMMEDIATE,
+                false
         );
     }
 
     private BasicSpreadsheetEngineChanges(final BasicSpreadsheetEngine engine,
                                           final SpreadsheetEngineContext context,
                                           final Set<SpreadsheetDeltaProperties> deltaProperties,
-                                          final BasicSpreadsheetEngineChangesMode mode) {
+                                          final BasicSpreadsheetEngineChangesMode mode,
+                                          final boolean watch) {
         super();
 
         this.mode = mode;
@@ -72,46 +90,49 @@ final class BasicSpreadsheetEngineChanges implements AutoCloseable {
         this.engine = engine;
         this.context = context;
 
-        // test $deltaProperties for each watcher registration.
+        // test $watch and $deltaProperties for each watcher registration.
 
         final SpreadsheetStoreRepository repository = context.storeRepository();
 
         final SpreadsheetCellStore cellStore = repository.cells();
 
-        this.onSaveCell = deltaProperties.contains(SpreadsheetDeltaProperties.CELLS) ?
+        this.onSaveCell = watch && deltaProperties.contains(SpreadsheetDeltaProperties.CELLS) ?
                 cellStore.addSaveWatcher(this::onCellSaved) :
                 null;
 
-        this.onDeleteCell = deltaProperties.contains(SpreadsheetDeltaProperties.DELETED_CELLS) ?
+        // deletes are always watched so the context forgets any clean cell
+        this.onDeleteCell = watch ?
                 cellStore.addDeleteWatcher(this::onCellDeleted) :
                 null;
 
         // ???
-        this.onDeleteCellReferences = repository.cellReferences()
-                .addRemoveReferenceWatcher(this::onCellReferenceDeleted);
+        this.onDeleteCellReferences = watch ?
+                repository.cellReferences()
+                        .addRemoveReferenceWatcher(this::onCellReferenceDeleted) :
+                null;
 
         final SpreadsheetColumnStore columnStore = repository.columns();
-        this.onSaveColumn = deltaProperties.contains(SpreadsheetDeltaProperties.COLUMNS) ?
+        this.onSaveColumn = watch && deltaProperties.contains(SpreadsheetDeltaProperties.COLUMNS) ?
                 columnStore.addSaveWatcher(this::onColumnSaved) :
                 null;
-        this.onDeleteColumn = deltaProperties.contains(SpreadsheetDeltaProperties.DELETED_CELLS) ?
+        this.onDeleteColumn = watch && deltaProperties.contains(SpreadsheetDeltaProperties.DELETED_CELLS) ?
                 columnStore.addDeleteWatcher(this::onColumnDeleted) :
                 null;
 
         final SpreadsheetLabelStore labelStore = repository.labels();
 
-        this.onSaveLabel = deltaProperties.contains(SpreadsheetDeltaProperties.LABELS) ?
+        this.onSaveLabel = watch && deltaProperties.contains(SpreadsheetDeltaProperties.LABELS) ?
                 labelStore.addSaveWatcher(this::onLabelSaved) :
                 null;
-        this.onDeleteLabel = deltaProperties.contains(SpreadsheetDeltaProperties.DELETED_LABELS) ?
+        this.onDeleteLabel = watch && deltaProperties.contains(SpreadsheetDeltaProperties.DELETED_LABELS) ?
                 labelStore.addDeleteWatcher(this::onLabelDeleted) :
                 null;
 
         final SpreadsheetRowStore rowStore = repository.rows();
-        this.onSaveRow = deltaProperties.contains(SpreadsheetDeltaProperties.ROWS) ?
+        this.onSaveRow = watch && deltaProperties.contains(SpreadsheetDeltaProperties.ROWS) ?
                 rowStore.addSaveWatcher(this::onRowSaved) :
                 null;
-        this.onDeleteRow = deltaProperties.contains(SpreadsheetDeltaProperties.DELETED_ROWS) ?
+        this.onDeleteRow = watch && deltaProperties.contains(SpreadsheetDeltaProperties.DELETED_ROWS) ?
                 rowStore.addDeleteWatcher(this::onRowDeleted) :
                 null;
 
@@ -125,7 +146,11 @@ final class BasicSpreadsheetEngineChanges implements AutoCloseable {
     }
 
     private void onCellDeleted(final SpreadsheetCellReference cell) {
-        this.mode.onCellDeleted(cell, this);
+        this.context.markDirty(cell);
+
+        if (this.deltaProperties.contains(SpreadsheetDeltaProperties.DELETED_CELLS)) {
+            this.mode.onCellDeleted(cell, this);
+        }
     }
 
     private void onCellReferenceDeleted(final TargetAndSpreadsheetCellReference<SpreadsheetCellReference> targetAndReference) {
@@ -171,9 +196,7 @@ final class BasicSpreadsheetEngineChanges implements AutoCloseable {
         if (null == previous) {
             updatedAndDeleted.put(reference, cell);
 
-            this.removePreviousExpressionReferences(reference);
-            this.addNewExpressionReferences(reference, cell.formula());
-            this.batchReferrers(reference);
+            this.updateReferences(reference, cell.formula());
         }
     }
 
@@ -202,9 +225,27 @@ final class BasicSpreadsheetEngineChanges implements AutoCloseable {
         // delete does not overwrite save/updated
         if (null == previous) {
             updatedAndDeleted.put(cell, null);
-            this.removePreviousExpressionReferences(cell);
-            this.batchReferrers(cell);
+            this.updateReferences(cell, null);
+        }
+    }
+
+    /**
+     * Replaces the references of the given cell with those of the formula if present and then batches any cells that
+     * refer to this cell.
+     */
+    private void updateReferences(final SpreadsheetCellReference cell,
+                                  final SpreadsheetFormula formula) {
+        final BasicSpreadsheetEngine engine = this.engine;
+        final long start = engine.metricsStart();
+        final int batched = this.batched;
+
+        this.removePreviousExpressionReferences(cell);
+        if (null != formula) {
+            this.addNewExpressionReferences(cell, formula);
         }
+        this.batchReferrers(cell);
+
+        engine.metricsEnd(SpreadsheetEngineMetricsPhase.REFERENCES, this.batched - batched, start);
     }
 
     private void removePreviousExpressionReferences(final SpreadsheetCellReference cell) {
@@ -274,9 +315,7 @@ final class BasicSpreadsheetEngineChanges implements AutoCloseable {
         final SpreadsheetCellReference reference = cell.reference();
         this.unsavedCells.add(reference);
 
-        this.removePreviousExpressionReferences(reference);
-        this.addNewExpressionReferences(reference, cell.formula());
-        this.batchReferrers(reference);
+        this.updateReferences(reference, cell.formula());
     }
 
     void onCellDeletedBatch(final SpreadsheetCellReference cell) {
@@ -344,6 +383,10 @@ final class BasicSpreadsheetEngineChanges implements AutoCloseable {
     void refreshUpdated() {
         this.mode = BasicSpreadsheetEngineChangesMode.IMMEDIATE;
 
+        final BasicSpreadsheetEngine engine = this.engine;
+        final long start = engine.metricsStart();
+        int refreshed = 0;
+
         for (; ; ) {
             final SpreadsheetCellReference potential = this.unsavedCells.poll();
             if (null == potential) {
@@ -354,13 +397,16 @@ final class BasicSpreadsheetEngineChanges implements AutoCloseable {
                 continue;
             }
 
-            this.engine.loadCell0(
+            engine.loadCell0(
                     potential,
                     SpreadsheetEngineEvaluation.FORCE_RECOMPUTE,
                     this,
                     this.context
             );
+            refreshed++;
         }
+
+        engine.metricsEnd(SpreadsheetEngineMetricsPhase.REFRESH, refreshed, start);
     }
 
     /**
@@ -568,6 +614,7 @@ final class BasicSpreadsheetEngineChanges implements AutoCloseable {
         // saves replace delete, but dont replace a previous save
         if (null == this.updatedAndDeletedCells.get(reference)) {
             this.unsavedCells.add(reference);
+            this.batched++;
             this.batchReferrers(reference);
         }
     }
@@ -610,6 +657,11 @@ final class BasicSpreadsheetEngineChanges implements AutoCloseable {
      */
     private final Queue<SpreadsheetCellReference> unsavedCells = new ConcurrentLinkedQueue<>();
 
+    /**
+     * The number of referring cells queued so far, used to report {@link SpreadsheetEngineMetricsPhase#REFERENCES}.
+     */
+    private int batched;
+
     /**
      * Records all updated which includes deleted cells. This can then be returned by the {@link BasicSpreadsheetEngine} method.
      * A null value indicates the cell was deleted.
@@ -19,10 +19,13 @@ package walkingkooka.spreadsheet.engine;
 
 import walkingkooka.Cast;
 import walkingkooka.ToStringBuilder;
+import walkingkooka.collect.map.Maps;
 import walkingkooka.math.Fraction;
 import walkingkooka.net.AbsoluteUrl;
 import walkingkooka.spreadsheet.SpreadsheetCell;
 import walkingkooka.spreadsheet.SpreadsheetErrorKind;
+import walkingkooka.spreadsheet.conditionalformat.SpreadsheetConditionalFormattingRule;
+import walkingkooka.spreadsheet.convert.SpreadsheetConverterContext;
 import walkingkooka.spreadsheet.expression.SpreadsheetExpressionEvaluationContexts;
 import walkingkooka.spreadsheet.format.SpreadsheetFormatter;
 import walkingkooka.spreadsheet.format.SpreadsheetFormatterContext;
@@ -32,11 +35,12 @@ import walkingkooka.spreadsheet.meta.SpreadsheetMetadata;
 import walkingkooka.spreadsheet.meta.SpreadsheetMetadataPropertyName;
 import walkingkooka.spreadsheet.parser.SpreadsheetParserContext;
 import walkingkooka.spreadsheet.parser.SpreadsheetParserToken;
-import walkingkooka.spreadsheet.parser.SpreadsheetParsers;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellReference;
 import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
 import walkingkooka.spreadsheet.store.repo.SpreadsheetStoreRepository;
 import walkingkooka.text.LineEnding;
 import walkingkooka.text.cursor.TextCursor;
+import walkingkooka.text.cursor.parser.Parser;
 import walkingkooka.text.cursor.parser.ParserReporters;
 import walkingkooka.tree.expression.Expression;
 import walkingkooka.tree.expression.ExpressionEvaluationContext;
@@ -45,6 +49,7 @@ import walkingkooka.tree.expression.function.ExpressionFunction;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Function;
@@ -107,15 +112,16 @@ final class BasicSpreadsheetEngineContext implements SpreadsheetEngineContext {
                 this
         );
 
+        this.converterContext = metadata.converterContext(
+                now,
+                this::resolveIfLabel
+        );
         this.spreadsheetFormatContext = SpreadsheetFormatterContexts.basic(
                 metadata.numberToColor(),
                 metadata.nameToColor(),
                 metadata.getOrFail(SpreadsheetMetadataPropertyName.CELL_CHARACTER_WIDTH),
                 metadata.formatter(),
-                metadata.converterContext(
-                        now,
-                        this::resolveIfLabel
-                )
+                this.converterContext
         );
         this.fractioner = fractioner;
 
@@ -149,13 +155,26 @@ final class BasicSpreadsheetEngineContext implements SpreadsheetEngineContext {
 
     @Override
     public SpreadsheetParserToken parseFormula(final TextCursor formula) {
-        return SpreadsheetParsers.valueOrExpression(this.metadata.parser())
-                .orFailIfCursorNotEmpty(ParserReporters.basic())
+        return this.formulaParser()
                 .parse(formula, this.parserContext)
                 .get()
                 .cast(SpreadsheetParserToken.class);
     }
 
+    /**
+     * Lazily creates the formula parser, {@link SpreadsheetMetadata#parser()} is already a value or expression parser,
+     * and is shared by all metadata with the same parse patterns.
+     */
+    private Parser<SpreadsheetParserContext> formulaParser() {
+        if (null == this.formulaParser) {
+            this.formulaParser = this.metadata.parser()
+                    .orFailIfCursorNotEmpty(ParserReporters.basic());
+        }
+        return this.formulaParser;
+    }
+
+    private Parser<SpreadsheetParserContext> formulaParser;
+
     /**
      * This parser is used to parse strings, date, date/time, time and numbers outside an expression but within a formula.
      */
@@ -197,6 +216,84 @@ final class BasicSpreadsheetEngineContext implements SpreadsheetEngineContext {
         return result;
     }
 
+    /**
+     * Memoizes the results of {@link SpreadsheetEngineContext#testConditionalFormattingRule(SpreadsheetConditionalFormattingRule, SpreadsheetCell)}
+     * by the cell value when the rule {@link Expression} is pure and contains no references, as the result then only
+     * depends on the value of the cell. The {@link SpreadsheetMetadata} is fixed for the life of this context which
+     * means memoized results remain valid.
+     */
+    @Override
+    public boolean testConditionalFormattingRule(final SpreadsheetConditionalFormattingRule rule,
+                                                 final SpreadsheetCell cell) {
+        Objects.requireNonNull(rule, "rule");
+        Objects.requireNonNull(cell, "cell");
+
+        final Expression expression = rule.formula()
+                .expression()
+                .get();
+
+        final Map<Optional<Object>, Boolean> valueToResult = this.conditionalFormattingRuleResults(expression);
+
+        final boolean result;
+        if (null != valueToResult) {
+            final Optional<Object> value = cell.formula()
+                    .value();
+            final Boolean memoized = valueToResult.get(value);
+            if (null != memoized) {
+                result = memoized;
+            } else {
+                result = SpreadsheetEngineContext.super.testConditionalFormattingRule(rule, cell);
+                if (valueToResult.size() >= MAX_CONDITIONAL_FORMATTING_RULE_RESULTS) {
+                    valueToResult.clear();
+                }
+                valueToResult.put(value, result);
+            }
+        } else {
+            result = SpreadsheetEngineContext.super.testConditionalFormattingRule(rule, cell);
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the memoized results for the given rule {@link Expression} or null if the {@link Expression} cannot be memoized.
+     */
+    private Map<Optional<Object>, Boolean> conditionalFormattingRuleResults(final Expression expression) {
+        final Map<Expression, Map<Optional<Object>, Boolean>> expressionToResults = this.conditionalFormattingRuleExpressionToResults;
+
+        Map<Optional<Object>, Boolean> results = expressionToResults.get(expression);
+        if (null == results) {
+            if (false == expressionToResults.containsKey(expression)) {
+                if (expression.isPure(this) && false == BasicSpreadsheetEngineContextHasReferencesExpressionVisitor.hasReferences(expression)) {
+                    results = Maps.hash();
+                }
+                if (expressionToResults.size() >= MAX_CONDITIONAL_FORMATTING_RULE_EXPRESSIONS) {
+                    expressionToResults.clear();
+                }
+                expressionToResults.put(expression, results);
+            }
+        }
+
+        return results;
+    }
+
+    /**
+     * A cache of conditional formatting rule {@link Expression} to memoized results by cell value. A null value
+     * indicates the {@link Expression} is not pure or has references and must always be evaluated.
+     */
+    private final Map<Expression, Map<Optional<Object>, Boolean>> conditionalFormattingRuleExpressionToResults = Maps.hash();
+
+    /**
+     * The memoized conditional formatting rule {@link Expression expressions} are cleared when they reach this many,
+     * which protects against unbounded growth. Clearing only means rules are evaluated again.
+     */
+    final static int MAX_CONDITIONAL_FORMATTING_RULE_EXPRESSIONS = 64;
+
+    /**
+     * The memoized results of a single {@link Expression} are cleared when they reach this many cell values.
+     */
+    final static int MAX_CONDITIONAL_FORMATTING_RULE_RESULTS = 4096;
+
     private final AbsoluteUrl serverUrl;
 
     /**
@@ -228,6 +325,66 @@ final class BasicSpreadsheetEngineContext implements SpreadsheetEngineContext {
 
     private final SpreadsheetFormatterContext spreadsheetFormatContext;
 
+    /**
+     * A cell equal to a cell marked clean was formatted using the same {@link SpreadsheetMetadata}, any update to the
+     * cell including a new value replaces the cell with an unequal cell.
+     */
+    @Override
+    public boolean isClean(final SpreadsheetCell cell) {
+        Objects.requireNonNull(cell, "cell");
+
+        return cell.equals(
+                this.referenceToCleanCell.get(
+                        cell.reference()
+                                .toRelative()
+                )
+        );
+    }
+
+    @Override
+    public void markClean(final SpreadsheetCell cell) {
+        Objects.requireNonNull(cell, "cell");
+
+        final Map<SpreadsheetCellReference, SpreadsheetCell> referenceToCleanCell = this.referenceToCleanCell;
+        if (referenceToCleanCell.size() >= MAX_CLEAN_CELLS) {
+            referenceToCleanCell.clear();
+        }
+        referenceToCleanCell.put(
+                cell.reference()
+                        .toRelative(),
+                cell
+        );
+    }
+
+    @Override
+    public void markDirty(final SpreadsheetCellReference cell) {
+        Objects.requireNonNull(cell, "cell");
+
+        this.referenceToCleanCell.remove(cell.toRelative());
+    }
+
+    /**
+     * The clean cells are cleared when they reach this many, which protects against unbounded growth. Clearing only
+     * means cells are formatted again.
+     */
+    final static int MAX_CLEAN_CELLS = 4096;
+
+    /**
+     * The last cell marked clean for each cell reference, usually the same instance held by the cell store.
+     */
+    private final Map<SpreadsheetCellReference, SpreadsheetCell> referenceToCleanCell = Maps.hash();
+
+    @Override
+    public SpreadsheetConverterContext converterContext() {
+        return this.converterContext;
+    }
+
+    /**
+     * Used by formatting and returned by {@link #converterContext()}, so conditional formatting rule results are
+     * converted without creating a new {@link SpreadsheetConverterContext}.
+     */
+    private final SpreadsheetConverterContext converterContext;
+
     // Store............................................................................................................
 
     @Override
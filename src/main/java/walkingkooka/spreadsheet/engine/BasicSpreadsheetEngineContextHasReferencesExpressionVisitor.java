@@ -0,0 +1,55 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.engine;
+
+import walkingkooka.tree.expression.Expression;
+import walkingkooka.tree.expression.ExpressionVisitor;
+import walkingkooka.tree.expression.ReferenceExpression;
+
+/**
+ * Accepts an {@link Expression} and records if any {@link ReferenceExpression} was encountered. Expressions without
+ * any references only depend on their inputs, which allows their results to be memoized.
+ */
+final class BasicSpreadsheetEngineContextHasReferencesExpressionVisitor extends ExpressionVisitor {
+
+    static boolean hasReferences(final Expression expression) {
+        final BasicSpreadsheetEngineContextHasReferencesExpressionVisitor visitor = new BasicSpreadsheetEngineContextHasReferencesExpressionVisitor();
+        visitor.accept(expression);
+        return visitor.references;
+    }
+
+    // VisibleForTesting
+    BasicSpreadsheetEngineContextHasReferencesExpressionVisitor() {
+        super();
+    }
+
+    @Override
+    protected void visit(final ReferenceExpression node) {
+        this.references = true;
+    }
+
+    /**
+     * Becomes true when a {@link ReferenceExpression} is visited.
+     */
+    private boolean references;
+
+    @Override
+    public String toString() {
+        return String.valueOf(this.references);
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.engine;
+
+import java.util.Objects;
+
+/**
+ * An in memory {@link SpreadsheetEngineMetrics} that records for each {@link SpreadsheetEngineMetricsPhase} the number of
+ * events, the total count and nanos and a histogram of durations. Durations are placed in power of two buckets, which
+ * means percentiles are reported as the upper bound of the bucket holding that percentile.
+ */
+public final class HistogramSpreadsheetEngineMetrics implements SpreadsheetEngineMetrics {
+
+    /**
+     * Bucket 0 holds zero durations, bucket n holds durations from 2^(n-1) to 2^n - 1.
+     */
+    private final static int BUCKETS = 64;
+
+    private final static int PHASES = SpreadsheetEngineMetricsPhase.values().length;
+
+    /**
+     * Creates a new empty {@link HistogramSpreadsheetEngineMetrics}.
+     */
+    public static HistogramSpreadsheetEngineMetrics empty() {
+        return new HistogramSpreadsheetEngineMetrics();
+    }
+
+    /**
+     * Private ctor use factory.
+     */
+    private HistogramSpreadsheetEngineMetrics() {
+        super();
+    }
+
+    @Override
+    public synchronized void onPhase(final SpreadsheetEngineMetricsPhase phase,
+                                     final int count,
+                                     final long nanos) {
+        Objects.requireNonNull(phase, "phase");
+
+        final int index = phase.ordinal();
+        final long positive = Math.max(0, nanos);
+
+        this.events[index]++;
+        this.counts[index] += count;
+        this.nanos[index] += positive;
+        this.buckets[index][bucket(positive)]++;
+    }
+
+    private static int bucket(final long nanos) {
+        return 64 - Long.numberOfLeadingZeros(nanos);
+    }
+
+    /**
+     * The number of times the phase was reported.
+     */
+    public synchronized long events(final SpreadsheetEngineMetricsPhase phase) {
+        return this.events[checkPhase(phase)];
+    }
+
+    /**
+     * The sum of all the counts reported for the phase.
+     */
+    public synchronized long count(final SpreadsheetEngineMetricsPhase phase) {
+        return this.counts[checkPhase(phase)];
+    }
+
+    /**
+     * The sum of all the durations reported for the phase.
+     */
+    public synchronized long nanos(final SpreadsheetEngineMetricsPhase phase) {
+        return this.nanos[checkPhase(phase)];
+    }
+
+    /**
+     * Returns the upper bound in nanos of the bucket holding the given percentile of durations for the phase, or 0
+     * if the phase was never reported.
+     */
+    public synchronized long percentile(final SpreadsheetEngineMetricsPhase phase,
+                                        final double percentile) {
+        final int index = checkPhase(phase);
+        if (!(percentile > 0 && percentile <= 100)) {
+            throw new IllegalArgumentException("Invalid percentile " + percentile + " expected > 0 and <= 100");
+        }
+
+        final long[] buckets = this.buckets[index];
+        final long rank = (long) Math.ceil(this.events[index] * percentile / 100);
+
+        long upper = 0;
+        long seen = 0;
+
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets[i];
+            if (seen >= rank) {
+                upper = 0 == i ?
+                        0 :
+                        (1L << i) - 1;
+                break;
+            }
+        }
+
+        return upper;
+    }
+
+    /**
+     * Clears all recorded phases.
+     */
+    public synchronized void clear() {
+        for (int i = 0; i < PHASES; i++) {
+            this.events[i] = 0;
+            this.counts[i] = 0;
+            this.nanos[i] = 0;
+
+            final long[] buckets = this.buckets[i];
+            for (int j = 0; j < BUCKETS; j++) {
+                buckets[j] = 0;
+            }
+        }
+    }
+
+    private static int checkPhase(final SpreadsheetEngineMetricsPhase phase) {
+        return Objects.requireNonNull(phase, "phase")
+                .ordinal();
+    }
+
+    private final long[] events = new long[PHASES];
+
+    private final long[] counts = new long[PHASES];
+
+    private final long[] nanos = new long[PHASES];
+
+    private final long[][] buckets = new long[PHASES][BUCKETS];
+
+    // Object...........................................................................................................
+
+    /**
+     * Summarises every reported phase, eg <pre>EVALUATE events=2 count=2 nanos=1500 p50=1023 p99=1023</pre>
+     */
+    @Override
+    public synchronized String toString() {
+        final StringBuilder b = new StringBuilder();
+
+        for (final SpreadsheetEngineMetricsPhase phase : SpreadsheetEngineMetricsPhase.values()) {
+            final int index = phase.ordinal();
+            if (0 == this.events[index]) {
+                continue;
+            }
+            if (b.length() > 0) {
+                b.append(", ");
+            }
+            b.append(phase)
+                    .append(" events=")
+                    .append(this.events[index])
+                    .append(" count=")
+                    .append(this.counts[index])
+                    .append(" nanos=")
+                    .append(this.nanos[index])
+                    .append(" p50=")
+                    .append(this.percentile(phase, 50))
+                    .append(" p99=")
+                    .append(this.percentile(phase, 99));
+        }
+
+        return b.toString();
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.engine;
+
+import java.util.Objects;
+
+/**
+ * A {@link SpreadsheetEngineMetrics} that ignores all phases. {@link BasicSpreadsheetEngine} skips reading the clock
+ * entirely when given this instance.
+ */
+final class NoopSpreadsheetEngineMetrics implements SpreadsheetEngineMetrics {
+
+    /**
+     * Singleton
+     */
+    final static NoopSpreadsheetEngineMetrics INSTANCE = new NoopSpreadsheetEngineMetrics();
+
+    /**
+     * Private ctor use singleton
+     */
+    private NoopSpreadsheetEngineMetrics() {
+        super();
+    }
+
+    @Override
+    public void onPhase(final SpreadsheetEngineMetricsPhase phase,
+                        final int count,
+                        final long nanos) {
+        Objects.requireNonNull(phase, "phase");
+    }
+
+    @Override
+    public String toString() {
+        return this.getClass().getSimpleName();
+    }
+}
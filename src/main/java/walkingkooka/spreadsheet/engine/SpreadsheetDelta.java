@@ -25,6 +25,7 @@ import walkingkooka.collect.map.Maps;
 import walkingkooka.collect.set.Sets;
 import walkingkooka.predicate.Predicates;
 import walkingkooka.spreadsheet.SpreadsheetCell;
+import walkingkooka.spreadsheet.SpreadsheetCellInterner;
 import walkingkooka.spreadsheet.SpreadsheetColumn;
 import walkingkooka.spreadsheet.SpreadsheetFormula;
 import walkingkooka.spreadsheet.SpreadsheetRow;
@@ -56,6 +57,7 @@ import walkingkooka.tree.text.TextStyle;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -105,6 +107,13 @@ public abstract class SpreadsheetDelta implements Patchable<SpreadsheetDelta>,
             NO_ROW_HEIGHTS
     );
 
+    /**
+     * {@see SpreadsheetDeltaBuilder}
+     */
+    public static SpreadsheetDeltaBuilder builder() {
+        return SpreadsheetDeltaBuilder.empty();
+    }
+
     /**
      * {@see SpreadsheetDeltaWindowSet}
      */
@@ -347,11 +356,23 @@ public abstract class SpreadsheetDelta implements Patchable<SpreadsheetDelta>,
                 equals0(left, right);
     }
 
+    /**
+     * Both {@link Set sets} are sorted by {@link SpreadsheetSelection} so their elements are compared pair by pair,
+     * rather than copying either into a hash set. A false negative only results in an unnecessary replace.
+     */
     private static <T> boolean equals0(final Set<T> left,
                                        final Set<T> right) {
-        final Set<T> equality = Sets.hash();
-        equality.addAll(left);
-        return equality.equals(right);
+        final Iterator<T> rightIterator = right.iterator();
+
+        boolean equals = true;
+        for (final T leftElement : left) {
+            if (false == leftElement.equals(rightIterator.next())) {
+                equals = false;
+                break;
+            }
+        }
+
+        return equals;
     }
 
     // deletedCells............................................................................................................
@@ -595,57 +616,71 @@ public abstract class SpreadsheetDelta implements Patchable<SpreadsheetDelta>,
                                             final Set<SpreadsheetColumn> columns,
                                             final Set<SpreadsheetRow> rows,
                                             final Set<SpreadsheetCellRange> window) {
-        Predicate<SpreadsheetCell> predicate = null;
-
-        final int columnCount = null != columns ? columns.size() : 0;
-        final int rowCount = null != rows ? rows.size() : 0;
-
-        if (columnCount + rowCount > 0) {
-            // Any columns or rows within this Set are hidden and matches by a cell will be removed.
-            final Set<SpreadsheetColumnOrRowReference> hidden = Sets.sorted(SpreadsheetColumnOrRowReference.COLUMN_OR_ROW_REFERENCE_KIND_IGNORED_COMPARATOR);
-
-            if (columnCount > 0) {
-                for (final SpreadsheetColumn column : columns) {
-                    if (column.hidden()) {
-                        hidden.add(column.reference());
-                    }
+        // Any columns or rows within these Sets are hidden and matches by a cell will be removed.
+        final Set<SpreadsheetColumnReference> hiddenColumns = Sets.hash();
+        if (null != columns) {
+            for (final SpreadsheetColumn column : columns) {
+                if (column.hidden()) {
+                    hiddenColumns.add(
+                            column.reference()
+                                    .toRelative()
+                    );
                 }
             }
+        }
 
-            if (rowCount > 0) {
-                for (final SpreadsheetRow row : rows) {
-                    if (row.hidden()) {
-                        hidden.add(row.reference());
-                    }
+        final Set<SpreadsheetRowReference> hiddenRows = Sets.hash();
+        if (null != rows) {
+            for (final SpreadsheetRow row : rows) {
+                if (row.hidden()) {
+                    hiddenRows.add(
+                            row.reference()
+                                    .toRelative()
+                    );
                 }
             }
+        }
 
-            if (!hidden.isEmpty()) {
-                predicate = (c) -> {
-                    final SpreadsheetCellReference cellReference = c.reference();
-                    return !(
-                            hidden.contains(cellReference.column()) ||
-                                    hidden.contains(cellReference.row())
-                    );
-                };
+        final SpreadsheetCellRange[] ranges = null != window ?
+                window.toArray(new SpreadsheetCellRange[window.size()]) :
+                new SpreadsheetCellRange[0];
+
+        final Set<SpreadsheetCell> filtered = Sets.sorted();
+
+        if (hiddenColumns.isEmpty() && hiddenRows.isEmpty() && 0 == ranges.length) {
+            filtered.addAll(cells);
+        } else {
+            for (final SpreadsheetCell cell : cells) {
+                final SpreadsheetCellReference cellReference = cell.reference();
+
+                if (false == hiddenColumns.isEmpty() && hiddenColumns.contains(cellReference.column().toRelative())) {
+                    continue;
+                }
+                if (false == hiddenRows.isEmpty() && hiddenRows.contains(cellReference.row().toRelative())) {
+                    continue;
+                }
+                if (ranges.length > 0 && false == testWindow(ranges, cellReference)) {
+                    continue;
+                }
+                filtered.add(cell);
             }
         }
 
+        return Sets.immutable(filtered);
+    }
 
-        if (null != window && !window.isEmpty()) {
-            final Predicate<SpreadsheetCell> windowPredicate = c -> window.stream().anyMatch(w -> w.test(c.reference()));
+    private static boolean testWindow(final SpreadsheetCellRange[] ranges,
+                                      final SpreadsheetCellReference cell) {
+        boolean test = false;
 
-            predicate = null != predicate ?
-                    predicate.and(windowPredicate) :
-                    windowPredicate;
+        for (final SpreadsheetCellRange range : ranges) {
+            if (range.test(cell)) {
+                test = true;
+                break;
+            }
         }
 
-        return null != predicate ?
-                filter(
-                        cells,
-                        predicate
-                ) :
-                copyAndImmutable(cells);
+        return test;
     }
 
     static <T> Set<T> copyAndImmutable(final Set<T> cells) {
@@ -1553,9 +1588,8 @@ public abstract class SpreadsheetDelta implements Patchable<SpreadsheetDelta>,
                     break;
                 case CELLS_PROPERTY_STRING:
                     unmarshalled = unmarshalled.setCells(
-                            unmarshallCsv(
+                            unmarshallCells(
                                     child,
-                                    SpreadsheetCell.class,
                                     context
                             )
                     );
@@ -1661,6 +1695,23 @@ public abstract class SpreadsheetDelta implements Patchable<SpreadsheetDelta>,
                 .collect(Collectors.toCollection(Sets::ordered));
     }
 
+    /**
+     * Unmarshalls the cells, sharing equal styles and patterns between all the cells of this delta.
+     */
+    private static Set<SpreadsheetCell> unmarshallCells(final JsonNode node,
+                                                        final JsonNodeUnmarshallContext context) {
+        final SpreadsheetCellInterner interner = SpreadsheetCellInterner.empty();
+        final Set<SpreadsheetCell> cells = Sets.ordered();
+
+        for (final SpreadsheetCell cell : unmarshallCsv(node, SpreadsheetCell.class, context)) {
+            cells.add(
+                    interner.intern(cell)
+            );
+        }
+
+        return cells;
+    }
+
     private static <T> Set<T> unmarshallCsv(final JsonNode node,
                                             final Class<T> type,
                                             final JsonNodeUnmarshallContext context) {
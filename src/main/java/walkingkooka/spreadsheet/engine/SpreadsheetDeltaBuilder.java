@@ -0,0 +1,194 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.engine;
+
+import walkingkooka.predicate.Predicates;
+import walkingkooka.spreadsheet.SpreadsheetCell;
+import walkingkooka.spreadsheet.SpreadsheetColumn;
+import walkingkooka.spreadsheet.SpreadsheetRow;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellRange;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetColumnReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetLabelMapping;
+import walkingkooka.spreadsheet.reference.SpreadsheetRowReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetViewportSelection;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * A mutable builder that collects all the parts of a {@link SpreadsheetDelta}, and filters them once in {@link #build()}.
+ * Chaining the would be setters of {@link SpreadsheetDelta} instead copies and filters the cells again for each
+ * columns, rows or window that is set. The built {@link SpreadsheetDelta} is equal to one created by calling the
+ * equivalent would be setters on {@link SpreadsheetDelta#EMPTY}.
+ */
+public final class SpreadsheetDeltaBuilder {
+
+    static SpreadsheetDeltaBuilder empty() {
+        return new SpreadsheetDeltaBuilder();
+    }
+
+    private SpreadsheetDeltaBuilder() {
+        super();
+    }
+
+    public SpreadsheetDeltaBuilder setViewportSelection(final Optional<SpreadsheetViewportSelection> viewportSelection) {
+        this.viewportSelection = Objects.requireNonNull(viewportSelection, "viewportSelection");
+        return this;
+    }
+
+    private Optional<SpreadsheetViewportSelection> viewportSelection = SpreadsheetDelta.NO_VIEWPORT_SELECTION;
+
+    public SpreadsheetDeltaBuilder setCells(final Set<SpreadsheetCell> cells) {
+        this.cells = Objects.requireNonNull(cells, "cells");
+        return this;
+    }
+
+    private Set<SpreadsheetCell> cells = SpreadsheetDelta.NO_CELLS;
+
+    public SpreadsheetDeltaBuilder setColumns(final Set<SpreadsheetColumn> columns) {
+        this.columns = Objects.requireNonNull(columns, "columns");
+        return this;
+    }
+
+    private Set<SpreadsheetColumn> columns = SpreadsheetDelta.NO_COLUMNS;
+
+    public SpreadsheetDeltaBuilder setLabels(final Set<SpreadsheetLabelMapping> labels) {
+        this.labels = Objects.requireNonNull(labels, "labels");
+        return this;
+    }
+
+    private Set<SpreadsheetLabelMapping> labels = SpreadsheetDelta.NO_LABELS;
+
+    public SpreadsheetDeltaBuilder setRows(final Set<SpreadsheetRow> rows) {
+        this.rows = Objects.requireNonNull(rows, "rows");
+        return this;
+    }
+
+    private Set<SpreadsheetRow> rows = SpreadsheetDelta.NO_ROWS;
+
+    public SpreadsheetDeltaBuilder setDeletedCells(final Set<SpreadsheetCellReference> deletedCells) {
+        this.deletedCells = Objects.requireNonNull(deletedCells, "deletedCells");
+        return this;
+    }
+
+    private Set<SpreadsheetCellReference> deletedCells = SpreadsheetDelta.NO_DELETED_CELLS;
+
+    public SpreadsheetDeltaBuilder setDeletedColumns(final Set<SpreadsheetColumnReference> deletedColumns) {
+        this.deletedColumns = Objects.requireNonNull(deletedColumns, "deletedColumns");
+        return this;
+    }
+
+    private Set<SpreadsheetColumnReference> deletedColumns = SpreadsheetDelta.NO_DELETED_COLUMNS;
+
+    public SpreadsheetDeltaBuilder setDeletedRows(final Set<SpreadsheetRowReference> deletedRows) {
+        this.deletedRows = Objects.requireNonNull(deletedRows, "deletedRows");
+        return this;
+    }
+
+    private Set<SpreadsheetRowReference> deletedRows = SpreadsheetDelta.NO_DELETED_ROWS;
+
+    public SpreadsheetDeltaBuilder setColumnWidths(final Map<SpreadsheetColumnReference, Double> columnWidths) {
+        this.columnWidths = Objects.requireNonNull(columnWidths, "columnWidths");
+        return this;
+    }
+
+    private Map<SpreadsheetColumnReference, Double> columnWidths = SpreadsheetDelta.NO_COLUMN_WIDTHS;
+
+    public SpreadsheetDeltaBuilder setRowHeights(final Map<SpreadsheetRowReference, Double> rowHeights) {
+        this.rowHeights = Objects.requireNonNull(rowHeights, "rowHeights");
+        return this;
+    }
+
+    private Map<SpreadsheetRowReference, Double> rowHeights = SpreadsheetDelta.NO_ROW_HEIGHTS;
+
+    public SpreadsheetDeltaBuilder setWindow(final Set<SpreadsheetCellRange> window) {
+        this.window = SpreadsheetDeltaWindowSet.with(window);
+        return this;
+    }
+
+    private Set<SpreadsheetCellRange> window = SpreadsheetDelta.NO_WINDOW;
+
+    /**
+     * Creates the {@link SpreadsheetDelta}, copying every part and filtering cells by hidden columns and rows, and
+     * everything by the window if one is present, in a single pass.
+     */
+    public SpreadsheetDelta build() {
+        final Set<SpreadsheetCellRange> window = this.window;
+
+        final Set<SpreadsheetCell> cells = SpreadsheetDelta.filterCells(
+                this.cells,
+                this.columns,
+                this.rows,
+                window
+        );
+
+        return window.isEmpty() ?
+                SpreadsheetDeltaNonWindowed.withNonWindowed(
+                        this.viewportSelection,
+                        cells,
+                        SpreadsheetDelta.copyAndImmutable(this.columns),
+                        SpreadsheetDelta.copyAndImmutable(this.labels),
+                        SpreadsheetDelta.copyAndImmutable(this.rows),
+                        SpreadsheetDelta.filter(
+                                this.deletedCells,
+                                Predicates.always(),
+                                SpreadsheetCellReference::toRelative
+                        ),
+                        SpreadsheetDelta.filter(
+                                this.deletedColumns,
+                                Predicates.always(),
+                                SpreadsheetColumnReference::toRelative
+                        ),
+                        SpreadsheetDelta.filter(
+                                this.deletedRows,
+                                Predicates.always(),
+                                SpreadsheetRowReference::toRelative
+                        ),
+                        SpreadsheetDelta.filterMap(
+                                this.columnWidths,
+                                Predicates.always()
+                        ),
+                        SpreadsheetDelta.filterMap(
+                                this.rowHeights,
+                                Predicates.always()
+                        )
+                ) :
+                SpreadsheetDeltaWindowed.withWindowed(
+                        this.viewportSelection,
+                        cells,
+                        SpreadsheetDelta.filterColumns(this.columns, window),
+                        SpreadsheetDelta.filterLabels(this.labels, window),
+                        SpreadsheetDelta.filterRows(this.rows, window),
+                        SpreadsheetDelta.filterDeletedCells(this.deletedCells, window),
+                        SpreadsheetDelta.filterDeletedColumns(this.deletedColumns, window),
+                        SpreadsheetDelta.filterDeletedRows(this.deletedRows, window),
+                        SpreadsheetDelta.filterColumnWidths0(this.columnWidths, window),
+                        SpreadsheetDelta.filterRowHeights0(this.rowHeights, window),
+                        window
+                );
+    }
+
+    @Override
+    public String toString() {
+        return this.build()
+                .toString();
+    }
+}
@@ -31,8 +31,10 @@ import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
 import walkingkooka.spreadsheet.reference.SpreadsheetViewportSelection;
 
 import java.util.Collection;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 
 /**
  * The engine or host for the active spreadsheet.
@@ -213,4 +215,17 @@ public interface SpreadsheetEngine {
      */
     Optional<SpreadsheetViewportSelection> navigate(final SpreadsheetViewportSelection selection,
                                                     final SpreadsheetEngineContext context);
+
+    /**
+     * Performs all the operations within the {@link Function} as a single batch, using the given {@link SpreadsheetEngine}.
+     * This allows decorators such as the metadata stamper to do their work once after all operations complete. The
+     * default has no batch work and simply performs the operations with this engine.
+     */
+    default <T> T batch(final Function<SpreadsheetEngine, T> operations,
+                        final SpreadsheetEngineContext context) {
+        Objects.requireNonNull(operations, "operations");
+        Objects.requireNonNull(context, "context");
+
+        return operations.apply(this);
+    }
 }
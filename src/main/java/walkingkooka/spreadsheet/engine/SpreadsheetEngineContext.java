@@ -20,10 +20,13 @@ package walkingkooka.spreadsheet.engine;
 import walkingkooka.Context;
 import walkingkooka.datetime.HasNow;
 import walkingkooka.spreadsheet.SpreadsheetCell;
+import walkingkooka.spreadsheet.conditionalformat.SpreadsheetConditionalFormattingRule;
+import walkingkooka.spreadsheet.convert.SpreadsheetConverterContext;
 import walkingkooka.spreadsheet.format.SpreadsheetFormatter;
 import walkingkooka.spreadsheet.format.SpreadsheetText;
 import walkingkooka.spreadsheet.meta.SpreadsheetMetadata;
 import walkingkooka.spreadsheet.parser.SpreadsheetParserToken;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellReference;
 import walkingkooka.spreadsheet.reference.SpreadsheetLabelName;
 import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
 import walkingkooka.spreadsheet.store.repo.SpreadsheetStoreRepository;
@@ -31,6 +34,7 @@ import walkingkooka.text.cursor.TextCursor;
 import walkingkooka.tree.expression.Expression;
 import walkingkooka.tree.expression.ExpressionPurityContext;
 
+import java.util.Objects;
 import java.util.Optional;
 
 /**
@@ -58,6 +62,63 @@ public interface SpreadsheetEngineContext extends Context, ExpressionPurityConte
      */
     Object evaluate(final Expression node, final Optional<SpreadsheetCell> cell);
 
+    /**
+     * Evaluates the {@link SpreadsheetConditionalFormattingRule} for the given {@link SpreadsheetCell}, returning true
+     * if the rule matches and its style should be applied. Implementations may memoize results around this default.
+     */
+    default boolean testConditionalFormattingRule(final SpreadsheetConditionalFormattingRule rule,
+                                                  final SpreadsheetCell cell) {
+        final Object value = this.evaluate(
+                rule.formula()
+                        .expression()
+                        .get(),
+                Optional.of(cell)
+        );
+
+        return Boolean.TRUE.equals(
+                value instanceof Boolean ?
+                        value :
+                        this.converterContext()
+                                .convertOrFail(value, Boolean.class)
+        );
+    }
+
+    /**
+     * Returns a {@link SpreadsheetConverterContext} used to convert values such as conditional formatting rule results.
+     * The default creates a new {@link SpreadsheetConverterContext} from the {@link SpreadsheetMetadata} each call,
+     * implementations should return the same instance.
+     */
+    default SpreadsheetConverterContext converterContext() {
+        return this.metadata()
+                .converterContext(
+                        this::now,
+                        this::resolveIfLabel
+                );
+    }
+
+    /**
+     * Returns true if this context formatted an equal {@link SpreadsheetCell} which was recorded with
+     * {@link #markClean(SpreadsheetCell)}. The default never records any cell, which means every cell is formatted again.
+     */
+    default boolean isClean(final SpreadsheetCell cell) {
+        Objects.requireNonNull(cell, "cell");
+        return false;
+    }
+
+    /**
+     * Records a {@link SpreadsheetCell} with a pure expression that was just formatted by this context.
+     */
+    default void markClean(final SpreadsheetCell cell) {
+        Objects.requireNonNull(cell, "cell");
+    }
+
+    /**
+     * Forgets any clean cell recorded for the given {@link SpreadsheetCellReference}, typically because it was deleted.
+     */
+    default void markDirty(final SpreadsheetCellReference cell) {
+        Objects.requireNonNull(cell, "cell");
+    }
+
     /**
      * Formats the given value using the provided formatter.
      */
@@ -21,6 +21,7 @@ import walkingkooka.Cast;
 import walkingkooka.net.header.LinkRelation;
 import walkingkooka.spreadsheet.SpreadsheetCell;
 import walkingkooka.spreadsheet.SpreadsheetFormula;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellReference;
 import walkingkooka.tree.expression.Expression;
 import walkingkooka.tree.expression.ExpressionPurityContext;
 import walkingkooka.tree.json.JsonNode;
@@ -29,6 +30,7 @@ import walkingkooka.tree.json.marshall.JsonNodeMarshallContext;
 import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
 
 import java.util.Arrays;
+import java.util.Map;
 import java.util.Optional;
 
 public enum SpreadsheetEngineEvaluation {
@@ -46,6 +48,14 @@ public enum SpreadsheetEngineEvaluation {
                     .save(cell.setFormula(cell.formula().clear()));
         }
 
+        @Override
+        SpreadsheetCell loadReadOnly(final SpreadsheetCell cell,
+                                     final Map<SpreadsheetCellReference, SpreadsheetCell> computed,
+                                     final BasicSpreadsheetEngine engine,
+                                     final SpreadsheetEngineContext context) {
+            return null; // always saves the cleared cell
+        }
+
         @Override
         Optional<Object> evaluate(final BasicSpreadsheetEngine engine,
                                   final Expression expression,
@@ -67,6 +77,14 @@ public enum SpreadsheetEngineEvaluation {
             return cell;
         }
 
+        @Override
+        SpreadsheetCell loadReadOnly(final SpreadsheetCell cell,
+                                     final Map<SpreadsheetCellReference, SpreadsheetCell> computed,
+                                     final BasicSpreadsheetEngine engine,
+                                     final SpreadsheetEngineContext context) {
+            return cell;
+        }
+
         @Override
         Optional<Object> evaluate(final BasicSpreadsheetEngine engine,
                                   final Expression expression,
@@ -97,6 +115,14 @@ public enum SpreadsheetEngineEvaluation {
             );
         }
 
+        @Override
+        SpreadsheetCell loadReadOnly(final SpreadsheetCell cell,
+                                     final Map<SpreadsheetCellReference, SpreadsheetCell> computed,
+                                     final BasicSpreadsheetEngine engine,
+                                     final SpreadsheetEngineContext context) {
+            return null; // always evaluates and saves
+        }
+
         @Override
         Optional<Object> evaluate(final BasicSpreadsheetEngine engine,
                                   final Expression expression,
@@ -126,6 +152,18 @@ public enum SpreadsheetEngineEvaluation {
             );
         }
 
+        @Override
+        SpreadsheetCell loadReadOnly(final SpreadsheetCell cell,
+                                     final Map<SpreadsheetCellReference, SpreadsheetCell> computed,
+                                     final BasicSpreadsheetEngine engine,
+                                     final SpreadsheetEngineContext context) {
+            return engine.computeIfNecessaryReadOnly(
+                    cell,
+                    computed,
+                    context
+            );
+        }
+
         @Override
         Optional<Object> evaluate(final BasicSpreadsheetEngine engine,
                                   final Expression expression,
@@ -149,6 +187,15 @@ public enum SpreadsheetEngineEvaluation {
                                                           final BasicSpreadsheetEngine engine,
                                                           final SpreadsheetEngineContext context);
 
+    /**
+     * Returns the loaded cell if loading it would not update the cell store, otherwise returns null. A cell computed
+     * while trying, that must be saved, is added to computed so it is not computed again.
+     */
+    abstract SpreadsheetCell loadReadOnly(final SpreadsheetCell cell,
+                                          final Map<SpreadsheetCellReference, SpreadsheetCell> computed,
+                                          final BasicSpreadsheetEngine engine,
+                                          final SpreadsheetEngineContext context);
+
     /**
      * This method is only really executed by {@link #COMPUTE_IF_NECESSARY} and {@link #FORCE_RECOMPUTE}.
      */
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.engine;
+
+/**
+ * A listener that receives the counts and durations of the phases within each {@link SpreadsheetEngine} operation.
+ * Phases may nest, for example evaluating a cell may load and evaluate the cells it references, and the duration of the
+ * outer phase includes any nested phases.
+ */
+public interface SpreadsheetEngineMetrics {
+
+    /**
+     * Invoked when a phase ends, with the number of items such as cells or rules it processed and the elapsed nanoseconds.
+     */
+    void onPhase(final SpreadsheetEngineMetricsPhase phase,
+                 final int count,
+                 final long nanos);
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.engine;
+
+/**
+ * The phases of a {@link SpreadsheetEngine} operation reported to a {@link SpreadsheetEngineMetrics}.
+ */
+public enum SpreadsheetEngineMetricsPhase {
+
+    /**
+     * Loading cells from the cell store, the count is the number of cells loaded.
+     */
+    STORE_LOAD,
+
+    /**
+     * Parsing a cell formula into tokens and an expression, the count is 1 when the formula text was parsed and 0 when
+     * the cell already had a token.
+     */
+    PARSE,
+
+    /**
+     * Evaluating a cell expression, which includes resolving any references to other cells, the count is always 1.
+     */
+    EVALUATE,
+
+    /**
+     * Formatting a cell value, the count is always 1.
+     */
+    FORMAT,
+
+    /**
+     * Locating and testing the conditional formatting rules for a cell, the count is the number of rules tested.
+     */
+    CONDITIONAL_FORMATTING,
+
+    /**
+     * Saving an evaluated cell to the cell store, the count is always 1.
+     */
+    STORE_SAVE,
+
+    /**
+     * Replacing the references of a saved or deleted cell and walking the cells that refer to it, the count is the
+     * number of referring cells that were queued to be refreshed.
+     */
+    REFERENCES,
+
+    /**
+     * Refreshing the queued referring cells, the count is the number of cells refreshed.
+     */
+    REFRESH,
+
+    /**
+     * Preparing the {@link SpreadsheetDelta} returned by the operation, the count is the number of cells in the delta.
+     */
+    DELTA
+}
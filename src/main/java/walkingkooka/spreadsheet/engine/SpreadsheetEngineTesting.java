@@ -573,6 +573,30 @@ public interface SpreadsheetEngineTesting<E extends SpreadsheetEngine> extends C
         );
     }
 
+    @Test
+    default void testBatchNullOperationsFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> this.createSpreadsheetEngine()
+                        .batch(
+                                null,
+                                this.createContext()
+                        )
+        );
+    }
+
+    @Test
+    default void testBatchNullContextFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> this.createSpreadsheetEngine()
+                        .batch(
+                                (e) -> null,
+                                null
+                        )
+        );
+    }
+
     E createSpreadsheetEngine();
 
     SpreadsheetEngineContext createContext();
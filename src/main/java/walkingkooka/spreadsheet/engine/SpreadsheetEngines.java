@@ -33,6 +33,13 @@ public final class SpreadsheetEngines implements PublicStaticHelper {
         return BasicSpreadsheetEngine.INSTANCE;
     }
 
+    /**
+     * {@see BasicSpreadsheetEngine}
+     */
+    public static SpreadsheetEngine basic(final SpreadsheetEngineMetrics metrics) {
+        return BasicSpreadsheetEngine.with(metrics);
+    }
+
     /**
      * {@see FakeSpreadsheetEngine}
      */
@@ -40,6 +47,13 @@ public final class SpreadsheetEngines implements PublicStaticHelper {
         return new FakeSpreadsheetEngine();
     }
 
+    /**
+     * {@see NoopSpreadsheetEngineMetrics}
+     */
+    public static SpreadsheetEngineMetrics noopMetrics() {
+        return NoopSpreadsheetEngineMetrics.INSTANCE;
+    }
+
     /**
      * {@see SpreadsheetMetadataStampingSpreadsheetEngine}
      */
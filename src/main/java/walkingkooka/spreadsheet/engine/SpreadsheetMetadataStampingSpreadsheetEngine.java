@@ -43,7 +43,8 @@ import java.util.function.Supplier;
 
 /**
  * Wraps a {@link SpreadsheetEngine} that conditionally calls a {@link Function} to stamp and save the {@link SpreadsheetMetadata}.
- * This is particularly useful to update the last modified user and timestamp.
+ * This is particularly useful to update the last modified user and timestamp. Operations performed within a
+ * {@link #batch(Function, SpreadsheetEngineContext)} are stamped and saved once when the batch completes.
  */
 final class SpreadsheetMetadataStampingSpreadsheetEngine implements SpreadsheetEngine {
 
@@ -52,14 +53,20 @@ final class SpreadsheetMetadataStampingSpreadsheetEngine implements SpreadsheetE
         Objects.requireNonNull(engine, "engine");
         Objects.requireNonNull(stamper, "stamper");
 
-        return new SpreadsheetMetadataStampingSpreadsheetEngine(engine, stamper);
+        return new SpreadsheetMetadataStampingSpreadsheetEngine(
+                engine,
+                stamper,
+                null
+        );
     }
 
     private SpreadsheetMetadataStampingSpreadsheetEngine(final SpreadsheetEngine engine,
-                                                         final Function<SpreadsheetMetadata, SpreadsheetMetadata> stamper) {
+                                                         final Function<SpreadsheetMetadata, SpreadsheetMetadata> stamper,
+                                                         final SpreadsheetMetadataStampingSpreadsheetEngineSaveWatcherDeleteWatcher batch) {
         super();
         this.engine = engine;
         this.stamper = stamper;
+        this.batch = batch;
     }
 
     @Override
@@ -67,13 +74,15 @@ final class SpreadsheetMetadataStampingSpreadsheetEngine implements SpreadsheetE
                                       final SpreadsheetEngineEvaluation evaluation,
                                       final Set<SpreadsheetDeltaProperties> deltaProperties,
                                       final SpreadsheetEngineContext context) {
-        return this.stamp(
+        return this.stampLoad(
                 () -> this.engine.loadCells(
                         selection,
                         evaluation,
                         deltaProperties,
                         context
                 ),
+                evaluation,
+                deltaProperties,
                 context
         );
     }
@@ -83,13 +92,15 @@ final class SpreadsheetMetadataStampingSpreadsheetEngine implements SpreadsheetE
                                       final SpreadsheetEngineEvaluation evaluation,
                                       final Set<SpreadsheetDeltaProperties> deltaProperties,
                                       final SpreadsheetEngineContext context) {
-        return this.stamp(
+        return this.stampLoad(
                 () -> this.engine.loadCells(
                         range,
                         evaluation,
                         deltaProperties,
                         context
                 ),
+                evaluation,
+                deltaProperties,
                 context
         );
     }
@@ -258,6 +269,113 @@ final class SpreadsheetMetadataStampingSpreadsheetEngine implements SpreadsheetE
         return this.engine.navigate(selection, context);
     }
 
+    /**
+     * Performs all operations with a {@link SpreadsheetMetadataStampingSpreadsheetEngine} that counts rather than stamps
+     * changes, stamping and saving the {@link SpreadsheetMetadata} once at the end if anything changed. The stamp is
+     * applied after the last operation so it has the latest timestamp. Nested batches join the outer batch.
+     */
+    @Override
+    public <T> T batch(final Function<SpreadsheetEngine, T> operations,
+                       final SpreadsheetEngineContext context) {
+        Objects.requireNonNull(operations, "operations");
+        Objects.requireNonNull(context, "context");
+
+        return this.batch0(
+                operations::apply,
+                context
+        );
+    }
+
+    /**
+     * Delegates to the wrapped engine's {@link SpreadsheetEngine#batch(Function, SpreadsheetEngineContext)}, wrapping
+     * the engine it supplies with a {@link SpreadsheetMetadataStampingSpreadsheetEngine} that joins this or a new batch.
+     */
+    private <T> T batch0(final Function<SpreadsheetMetadataStampingSpreadsheetEngine, T> operations,
+                         final SpreadsheetEngineContext context) {
+        final SpreadsheetMetadataStampingSpreadsheetEngineSaveWatcherDeleteWatcher batch = this.batch;
+        final SpreadsheetMetadataStampingSpreadsheetEngineSaveWatcherDeleteWatcher outer = null != batch ?
+                null :
+                SpreadsheetMetadataStampingSpreadsheetEngineSaveWatcherDeleteWatcher.create();
+
+        try {
+            return this.engine.batch(
+                    (e) -> operations.apply(
+                            new SpreadsheetMetadataStampingSpreadsheetEngine(
+                                    e,
+                                    this.stamper,
+                                    null != outer ? outer : batch
+                            )
+                    ),
+                    context
+            );
+        } finally {
+            if (null != outer && outer.saveOrDeletes > 0) {
+                this.saveStampedMetadata(context);
+            }
+        }
+    }
+
+    /**
+     * Loads never delete cells or touch labels, so only cell saves are watched, and {@link SpreadsheetEngineEvaluation#SKIP_EVALUATE}
+     * never saves, so it is not watched at all. A {@link SpreadsheetEngineEvaluation#COMPUTE_IF_NECESSARY} load that
+     * returns its cells is not watched either, it is stamped only when the delta holds a cell that is not clean, as
+     * cells loaded without an update are clean, which means pure reloads never register a watcher.
+     */
+    private SpreadsheetDelta stampLoad(final Supplier<SpreadsheetDelta> supplier,
+                                       final SpreadsheetEngineEvaluation evaluation,
+                                       final Set<SpreadsheetDeltaProperties> deltaProperties,
+                                       final SpreadsheetEngineContext context) {
+        final SpreadsheetDelta delta;
+
+        if (SpreadsheetEngineEvaluation.SKIP_EVALUATE == evaluation) {
+            delta = supplier.get();
+        } else if (SpreadsheetEngineEvaluation.COMPUTE_IF_NECESSARY == evaluation && deltaProperties.contains(SpreadsheetDeltaProperties.CELLS)) {
+            delta = supplier.get();
+
+            if (hasUpdates(delta, context)) {
+                this.saveStampedMetadataIfNecessary(
+                        1,
+                        context
+                );
+            }
+        } else {
+            final SpreadsheetStoreRepository repository = context.storeRepository();
+
+            final SpreadsheetMetadataStampingSpreadsheetEngineSaveWatcherDeleteWatcher watcher = SpreadsheetMetadataStampingSpreadsheetEngineSaveWatcherDeleteWatcher.create();
+            final Runnable saveWatcher = repository.cells()
+                    .addSaveWatcher(Cast.to(watcher));
+
+            try {
+                delta = supplier.get();
+            } finally {
+                saveWatcher.run();
+                this.saveStampedMetadataIfNecessary(
+                        watcher,
+                        context
+                );
+            }
+        }
+
+        return delta;
+    }
+
+    /**
+     * Tests if any cell in the delta is not clean, which means it was updated or is impure and was saved again.
+     */
+    private static boolean hasUpdates(final SpreadsheetDelta delta,
+                                      final SpreadsheetEngineContext context) {
+        boolean updates = false;
+
+        for (final SpreadsheetCell cell : delta.cells()) {
+            if (false == context.isClean(cell)) {
+                updates = true;
+                break;
+            }
+        }
+
+        return updates;
+    }
+
     private <T> T stamp(final Supplier<T> supplier,
                         final SpreadsheetEngineContext context) {
         final SpreadsheetStoreRepository repository = context.storeRepository();
@@ -279,9 +397,10 @@ final class SpreadsheetMetadataStampingSpreadsheetEngine implements SpreadsheetE
                         return supplier.get();
                     } finally {
                         deleteWatcher2.run();
-                        if (watcher.saveOrDeletes > 0) {
-                            repository.metadatas().save(this.stamper.apply(context.metadata()));
-                        }
+                        this.saveStampedMetadataIfNecessary(
+                                watcher,
+                                context
+                        );
                     }
                 } finally {
                     saveWatcher2.run();
@@ -294,6 +413,36 @@ final class SpreadsheetMetadataStampingSpreadsheetEngine implements SpreadsheetE
         }
     }
 
+    /**
+     * If the watcher recorded any saves or deletes either stamp and save the {@link SpreadsheetMetadata} or when
+     * within a batch add them to the batch total.
+     */
+    private void saveStampedMetadataIfNecessary(final SpreadsheetMetadataStampingSpreadsheetEngineSaveWatcherDeleteWatcher watcher,
+                                                final SpreadsheetEngineContext context) {
+        this.saveStampedMetadataIfNecessary(
+                watcher.saveOrDeletes,
+                context
+        );
+    }
+
+    private void saveStampedMetadataIfNecessary(final long saveOrDeletes,
+                                                final SpreadsheetEngineContext context) {
+        if (saveOrDeletes > 0) {
+            final SpreadsheetMetadataStampingSpreadsheetEngineSaveWatcherDeleteWatcher batch = this.batch;
+            if (null != batch) {
+                batch.saveOrDeletes += saveOrDeletes;
+            } else {
+                this.saveStampedMetadata(context);
+            }
+        }
+    }
+
+    private void saveStampedMetadata(final SpreadsheetEngineContext context) {
+        context.storeRepository()
+                .metadatas()
+                .save(this.stamper.apply(context.metadata()));
+    }
+
     /**
      * The engine being wrapped.
      */
@@ -304,6 +453,11 @@ final class SpreadsheetMetadataStampingSpreadsheetEngine implements SpreadsheetE
      */
     private final Function<SpreadsheetMetadata, SpreadsheetMetadata> stamper;
 
+    /**
+     * When not null operations are part of a batch and saves and deletes are accumulated here rather than stamped.
+     */
+    private final SpreadsheetMetadataStampingSpreadsheetEngineSaveWatcherDeleteWatcher batch;
+
     @Override
     public String toString() {
         return this.engine.toString();
@@ -120,9 +120,30 @@ final class LocalLabelsSpreadsheetExpressionEvaluationContext implements Spreads
 
     @Override
     public ExpressionFunction<?, ExpressionEvaluationContext> function(final FunctionExpressionName functionName) {
-        this.failIfParameterName(functionName);
+        return this.function(
+                functionName,
+                labelNameOrNull(functionName)
+        );
+    }
 
-        return this.context.function(functionName);
+    /**
+     * Nested lambdas wrap one {@link LocalLabelsSpreadsheetExpressionEvaluationContext} per level, the function name is
+     * converted to a {@link SpreadsheetLabelName} once and shared by every level rather than being re-validated by each.
+     */
+    private ExpressionFunction<?, ExpressionEvaluationContext> function(final FunctionExpressionName functionName,
+                                                                        final SpreadsheetLabelName label) {
+        this.failIfParameterName(
+                functionName,
+                label
+        );
+
+        final SpreadsheetExpressionEvaluationContext context = this.context;
+        return context instanceof LocalLabelsSpreadsheetExpressionEvaluationContext ?
+                ((LocalLabelsSpreadsheetExpressionEvaluationContext) context).function(
+                        functionName,
+                        label
+                ) :
+                context.function(functionName);
     }
 
     @Override
@@ -199,15 +220,43 @@ final class LocalLabelsSpreadsheetExpressionEvaluationContext implements Spreads
 
     @Override
     public boolean isPure(final FunctionExpressionName functionName) {
-        this.failIfParameterName(functionName);
+        return this.isPure(
+                functionName,
+                labelNameOrNull(functionName)
+        );
+    }
+
+    private boolean isPure(final FunctionExpressionName functionName,
+                           final SpreadsheetLabelName label) {
+        this.failIfParameterName(
+                functionName,
+                label
+        );
 
         // $functionName is not a named parameter let the wrapped context test the namedFunction for purity.
-        return this.context.isPure(functionName);
+        final SpreadsheetExpressionEvaluationContext context = this.context;
+        return context instanceof LocalLabelsSpreadsheetExpressionEvaluationContext ?
+                ((LocalLabelsSpreadsheetExpressionEvaluationContext) context).isPure(
+                        functionName,
+                        label
+                ) :
+                context.isPure(functionName);
     }
 
-    private void failIfParameterName(final FunctionExpressionName functionName) {
+    /**
+     * Returns the {@link SpreadsheetLabelName} for the function name or null if it is not valid label text, and
+     * therefore can never be a parameter.
+     */
+    private static SpreadsheetLabelName labelNameOrNull(final FunctionExpressionName functionName) {
         final String text = functionName.value();
-        if (SpreadsheetSelection.isLabelText(text) && this.findLocalLabel(SpreadsheetSelection.labelName(text)).isPresent()) {
+        return SpreadsheetSelection.isLabelText(text) ?
+                SpreadsheetSelection.labelName(text) :
+                null;
+    }
+
+    private void failIfParameterName(final FunctionExpressionName functionName,
+                                     final SpreadsheetLabelName label) {
+        if (null != label && this.findLocalLabel(label).isPresent()) {
             throw new IllegalArgumentException("Function name " + functionName + " is a parameter and not an actual function");
         }
     }
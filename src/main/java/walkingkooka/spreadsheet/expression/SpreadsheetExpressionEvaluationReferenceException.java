@@ -22,6 +22,11 @@ import walkingkooka.spreadsheet.SpreadsheetErrorKind;
 import walkingkooka.tree.expression.ExpressionEvaluationReferenceException;
 import walkingkooka.tree.expression.ExpressionReference;
 
+/**
+ * Reports a missing reference, which becomes a {@link SpreadsheetErrorKind#NAME} error value.
+ * <br>
+ * No stack trace is captured, as the stack trace is never used.
+ */
 public final class SpreadsheetExpressionEvaluationReferenceException extends ExpressionEvaluationReferenceException implements HasSpreadsheetErrorKind {
 
     private static final long serialVersionUID = 1L;
@@ -32,13 +37,19 @@ public final class SpreadsheetExpressionEvaluationReferenceException extends Exp
 
     public SpreadsheetExpressionEvaluationReferenceException(final String message,
                                                              final ExpressionReference reference) {
-        super(message, reference);
+        this(message, reference, null);
     }
 
     public SpreadsheetExpressionEvaluationReferenceException(final String message,
                                                              final ExpressionReference reference,
                                                              final Throwable cause) {
-        super(message, reference, cause);
+        super(
+                message,
+                reference,
+                cause,
+                false, // enableSuppression
+                false // writableStackTrace
+        );
     }
 
     @Override
@@ -20,6 +20,7 @@ package walkingkooka.spreadsheet.format;
 import walkingkooka.text.CharSequences;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 
 /**
  * Handles preparing the integer, fraction and possibly exponent digits that will eventually appear in the formatted text.
@@ -34,36 +35,19 @@ enum NumberSpreadsheetFormatterNormalOrScientific {
         NumberSpreadsheetFormatterContext context(final BigDecimal value,
                                                   final NumberSpreadsheetFormatter formatter,
                                                   final SpreadsheetFormatterContext context) {
-            final BigDecimal rounded = value.scaleByPowerOfTen(formatter.decimalPlacesShift)
-                    .setScale(
-                            formatter.fractionDigitSymbolCount,
-                            context.mathContext().getRoundingMode()
-                    );
-
-            final int valueSign = rounded.signum();
-            String integerDigits = "";
-            String fractionDigits = "";
-
-            if (0 != valueSign) {
-                final String digits = rounded
-                        .unscaledValue()
-                        .abs()
-                        .toString();
-                final int integerDigitCount = Math.min(rounded.precision() - rounded.scale(), digits.length());
-                integerDigits = integerDigitCount > 0 ?
-                        digits.substring(0, integerDigitCount) :
-                        "";
-                fractionDigits = integerDigitCount >= 0 ?
-                        digits.substring(integerDigitCount) :
-                        CharSequences.repeating('0', -integerDigitCount) + digits;
-            }
-
-            return NumberSpreadsheetFormatterContext.with(
-                    NumberSpreadsheetFormatterDigits.integer(NumberSpreadsheetFormatterMinusSign.fromSignum(valueSign), integerDigits, formatter.thousandsSeparator),
-                    NumberSpreadsheetFormatterDigits.fraction(fractionDigits),
-                    NO_EXPONENT,
+            final NumberSpreadsheetFormatterContext numberContext = normalLong(
+                    value,
                     formatter,
-                    context);
+                    context
+            );
+
+            return null != numberContext ?
+                    numberContext :
+                    normalBigDecimal(
+                            value,
+                            formatter,
+                            context
+                    );
         }
     },
     /**
@@ -112,5 +96,207 @@ enum NumberSpreadsheetFormatterNormalOrScientific {
             final NumberSpreadsheetFormatter formatter,
             final SpreadsheetFormatterContext context);
 
+    /**
+     * Scales and rounds the value using {@link BigDecimal}, this handles all values.
+     */
+    static NumberSpreadsheetFormatterContext normalBigDecimal(final BigDecimal value,
+                                                              final NumberSpreadsheetFormatter formatter,
+                                                              final SpreadsheetFormatterContext context) {
+        final BigDecimal rounded = value.scaleByPowerOfTen(formatter.decimalPlacesShift)
+                .setScale(
+                        formatter.fractionDigitSymbolCount,
+                        context.mathContext().getRoundingMode()
+                );
+
+        final int valueSign = rounded.signum();
+
+        return normal(
+                valueSign,
+                0 != valueSign ?
+                        rounded.unscaledValue()
+                                .abs()
+                                .toString() :
+                        "",
+                formatter,
+                context
+        );
+    }
+
+    /**
+     * Scales and rounds the value using long arithmetic, returning null if the value has too many digits or the
+     * rounding mode is not supported. The result is always identical to {@link #normalBigDecimal(BigDecimal, NumberSpreadsheetFormatter, SpreadsheetFormatterContext)}.
+     */
+    static NumberSpreadsheetFormatterContext normalLong(final BigDecimal value,
+                                                        final NumberSpreadsheetFormatter formatter,
+                                                        final SpreadsheetFormatterContext context) {
+        NumberSpreadsheetFormatterContext numberContext = null;
+
+        if (value.precision() <= MAX_LONG_DIGITS) {
+            final long unscaled = value.unscaledValue()
+                    .longValue();
+            final int fractionDigitSymbolCount = formatter.fractionDigitSymbolCount;
+
+            // the number of digits the unscaled value must be moved left(negative) or right(positive) to have the wanted scale.
+            final int shift = fractionDigitSymbolCount - (value.scale() - formatter.decimalPlacesShift);
+
+            final boolean negative = unscaled < 0;
+
+            long rounded = 0;
+            boolean handled = false;
+
+            if (shift >= 0) {
+                if (shift <= MAX_LONG_DIGITS) {
+                    final long multiplier = POWERS_OF_TEN[shift];
+                    if (Math.abs(unscaled) <= Long.MAX_VALUE / multiplier) {
+                        rounded = unscaled * multiplier;
+                        handled = true;
+                    }
+                }
+            } else {
+                // when every digit is discarded the quotient is zero and the remainder is the entire value.
+                final long divisor = -shift <= MAX_LONG_DIGITS ?
+                        POWERS_OF_TEN[-shift] :
+                        Long.MAX_VALUE;
+                final long quotient = unscaled / divisor;
+
+                final int increment = roundingIncrement(
+                        context.mathContext()
+                                .getRoundingMode(),
+                        quotient,
+                        unscaled % divisor,
+                        divisor,
+                        negative
+                );
+                if (-1 != increment) {
+                    rounded = negative ?
+                            quotient - increment :
+                            quotient + increment;
+                    handled = true;
+                }
+            }
+
+            if (handled) {
+                final int valueSign = Long.signum(rounded);
+
+                numberContext = normal(
+                        valueSign,
+                        0 != valueSign ?
+                                Long.toString(Math.abs(rounded)) :
+                                "",
+                        formatter,
+                        context
+                );
+            }
+        }
+
+        return numberContext;
+    }
+
+    /**
+     * Returns 1 if the absolute quotient should be incremented, 0 if not or -1 if the rounding mode is not supported.
+     * The remainder has the same sign as the value.
+     */
+    private static int roundingIncrement(final RoundingMode roundingMode,
+                                         final long quotient,
+                                         final long remainder,
+                                         final long divisor,
+                                         final boolean negative) {
+        final int increment;
+
+        if (0 == remainder) {
+            increment = 0;
+        } else {
+            // remainder has at most 18 digits so doubling never overflows
+            final int half = Long.compare(
+                    Math.abs(remainder) * 2,
+                    divisor
+            );
+
+            switch (roundingMode) {
+                case UP:
+                    increment = 1;
+                    break;
+                case DOWN:
+                    increment = 0;
+                    break;
+                case CEILING:
+                    increment = negative ? 0 : 1;
+                    break;
+                case FLOOR:
+                    increment = negative ? 1 : 0;
+                    break;
+                case HALF_UP:
+                    increment = half >= 0 ? 1 : 0;
+                    break;
+                case HALF_DOWN:
+                    increment = half > 0 ? 1 : 0;
+                    break;
+                case HALF_EVEN:
+                    increment = half > 0 || (0 == half && 0 != (quotient & 1)) ? 1 : 0;
+                    break;
+                default:
+                    increment = -1; // UNNECESSARY
+                    break;
+            }
+        }
+
+        return increment;
+    }
+
+    /**
+     * Splits the digits of the rounded unscaled value into the integer and fraction digits.
+     */
+    private static NumberSpreadsheetFormatterContext normal(final int valueSign,
+                                                            final String digits,
+                                                            final NumberSpreadsheetFormatter formatter,
+                                                            final SpreadsheetFormatterContext context) {
+        String integerDigits = "";
+        String fractionDigits = "";
+
+        if (0 != valueSign) {
+            final int integerDigitCount = Math.min(digits.length() - formatter.fractionDigitSymbolCount, digits.length());
+            integerDigits = integerDigitCount > 0 ?
+                    digits.substring(0, integerDigitCount) :
+                    "";
+            fractionDigits = integerDigitCount >= 0 ?
+                    digits.substring(integerDigitCount) :
+                    CharSequences.repeating('0', -integerDigitCount) + digits;
+        }
+
+        return NumberSpreadsheetFormatterContext.with(
+                NumberSpreadsheetFormatterDigits.integer(NumberSpreadsheetFormatterMinusSign.fromSignum(valueSign), integerDigits, formatter.thousandsSeparator),
+                NumberSpreadsheetFormatterDigits.fraction(fractionDigits),
+                NO_EXPONENT,
+                formatter,
+                context);
+    }
+
+    /**
+     * The most digits of an unscaled value or power of ten handled by long arithmetic.
+     */
+    final static int MAX_LONG_DIGITS = 18;
+
+    private final static long[] POWERS_OF_TEN = {
+            1L,
+            10L,
+            100L,
+            1000L,
+            10000L,
+            100000L,
+            1000000L,
+            10000000L,
+            100000000L,
+            1000000000L,
+            10000000000L,
+            100000000000L,
+            1000000000000L,
+            10000000000000L,
+            100000000000000L,
+            1000000000000000L,
+            10000000000000000L,
+            100000000000000000L,
+            1000000000000000000L
+    };
+
     private final static NumberSpreadsheetFormatterDigits NO_EXPONENT = NumberSpreadsheetFormatterDigits.exponent(NumberSpreadsheetFormatterMinusSign.NOT_REQUIRED, "");
 }
@@ -77,13 +77,18 @@ final class SpreadsheetNumberParsePatternConverter implements Converter<Expressi
         final TextCursor cursor = TextCursors.charSequence(value);
         final TextCursorSavePoint save = cursor.save();
 
+        SpreadsheetNumberParsePatternRequest request = null;
+
         // try all patterns until success or return failure.
         for (final List<SpreadsheetNumberParsePatternComponent> pattern : this.pattern.patterns) {
-            final SpreadsheetNumberParsePatternRequest request = SpreadsheetNumberParsePatternRequest.with(
-                    pattern.iterator(),
-                    SpreadsheetNumberParsePatternMode.VALUE,
-                    context
-            );
+            // tokens are converted into a number before the request is reset for the next pattern
+            request = null == request ?
+                    SpreadsheetNumberParsePatternRequest.with(
+                            pattern.iterator(),
+                            SpreadsheetNumberParsePatternMode.VALUE,
+                            context
+                    ) :
+                    request.reset(pattern.iterator());
             if (request.nextComponent(cursor) && cursor.isEmpty()) {
                 final List<ParserToken> tokens = request.tokens;
                 result = tokens.isEmpty() ?
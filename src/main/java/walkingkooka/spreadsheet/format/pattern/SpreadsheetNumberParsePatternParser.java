@@ -55,13 +55,17 @@ final class SpreadsheetNumberParsePatternParser implements Parser<SpreadsheetPar
         SpreadsheetNumberParserToken token = null;
 
         final TextCursorSavePoint save = cursor.save();
+        SpreadsheetNumberParsePatternRequest request = null;
 
         for (final List<SpreadsheetNumberParsePatternComponent> pattern : this.pattern.patterns) {
-            final SpreadsheetNumberParsePatternRequest request = SpreadsheetNumberParsePatternRequest.with(
-                    pattern.iterator(),
-                    this.mode,
-                    context
-            );
+            // the request is only shared by failed attempts, a successful attempt keeps its tokens.
+            request = null == request ?
+                    SpreadsheetNumberParsePatternRequest.with(
+                            pattern.iterator(),
+                            this.mode,
+                            context
+                    ) :
+                    request.reset(pattern.iterator());
             if (request.nextComponent(cursor)) {
                 final List<ParserToken> tokens = request.tokens;
                 if (!tokens.isEmpty()) {
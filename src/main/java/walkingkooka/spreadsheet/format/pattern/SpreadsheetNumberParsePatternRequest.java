@@ -108,6 +108,18 @@ final class SpreadsheetNumberParsePatternRequest {
      */
     SpreadsheetNumberParsePatternComponentDigitMode digitMode = SpreadsheetNumberParsePatternComponentDigitMode.INTEGER_OR_SIGN;
 
+    /**
+     * Clears all state so this request may be reused to try the next pattern, avoiding a new request, token list
+     * and {@link StringBuilder} for every pattern.
+     */
+    SpreadsheetNumberParsePatternRequest reset(final Iterator<SpreadsheetNumberParsePatternComponent> next) {
+        this.next = next;
+        this.tokens.clear();
+        this.digits.setLength(0);
+        this.digitMode = SpreadsheetNumberParsePatternComponentDigitMode.INTEGER_OR_SIGN;
+        return this;
+    }
+
     /**
      * Calls the nextComponent component if one exists.
      */
@@ -119,7 +131,7 @@ final class SpreadsheetNumberParsePatternRequest {
     /**
      * An {@link Iterator} which contains the next component, when empty the end of the text has been reached.
      */
-    final Iterator<SpreadsheetNumberParsePatternComponent> next;
+    Iterator<SpreadsheetNumberParsePatternComponent> next;
 
     @Override
     public String toString() {
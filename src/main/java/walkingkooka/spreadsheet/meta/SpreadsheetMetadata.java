@@ -54,12 +54,10 @@ import walkingkooka.spreadsheet.format.pattern.SpreadsheetTimeFormatPattern;
 import walkingkooka.spreadsheet.format.pattern.SpreadsheetTimeParsePattern;
 import walkingkooka.spreadsheet.parser.SpreadsheetParserContext;
 import walkingkooka.spreadsheet.parser.SpreadsheetParserContexts;
-import walkingkooka.spreadsheet.parser.SpreadsheetParsers;
 import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
 import walkingkooka.text.CharSequences;
 import walkingkooka.text.cursor.parser.HasParser;
 import walkingkooka.text.cursor.parser.Parser;
-import walkingkooka.text.cursor.parser.Parsers;
 import walkingkooka.text.printer.IndentingPrinter;
 import walkingkooka.text.printer.TreePrintable;
 import walkingkooka.tree.expression.ExpressionNumberContext;
@@ -317,9 +315,15 @@ public abstract class SpreadsheetMetadata implements HasConverter<SpreadsheetCon
         }
 
         // update and possibly swap of character properties
-        return SpreadsheetMetadataNonEmpty.with(Maps.immutable(copy), this.defaults);
+        return this.replaceProperties(Maps.immutable(copy));
     }
 
+    /**
+     * Creates a new {@link SpreadsheetMetadataNonEmpty} with the given properties and the same defaults, sub classes
+     * may share any cached components whose properties have not changed.
+     */
+    abstract SpreadsheetMetadataNonEmpty replaceProperties(final Map<SpreadsheetMetadataPropertyName<?>, Object> properties);
+
     // @VisibleForTesting
     static final SpreadsheetMetadataPropertyName<Character>[] SWAPPABLE_PROPERTIES = new SpreadsheetMetadataPropertyName[]{
             SpreadsheetMetadataPropertyName.DECIMAL_SEPARATOR,
@@ -460,6 +464,20 @@ public abstract class SpreadsheetMetadata implements HasConverter<SpreadsheetCon
         );
     }
 
+    // this list should match the properties used in the method above.
+    static final List<SpreadsheetMetadataPropertyName<?>> CONVERTER_REQUIRED = Lists.of(
+            SpreadsheetMetadataPropertyName.DATE_FORMAT_PATTERN,
+            SpreadsheetMetadataPropertyName.DATE_PARSE_PATTERN,
+            SpreadsheetMetadataPropertyName.DATETIME_FORMAT_PATTERN,
+            SpreadsheetMetadataPropertyName.DATETIME_OFFSET,
+            SpreadsheetMetadataPropertyName.DATETIME_PARSE_PATTERN,
+            SpreadsheetMetadataPropertyName.NUMBER_FORMAT_PATTERN,
+            SpreadsheetMetadataPropertyName.NUMBER_PARSE_PATTERN,
+            SpreadsheetMetadataPropertyName.TEXT_FORMAT_PATTERN,
+            SpreadsheetMetadataPropertyName.TIME_FORMAT_PATTERN,
+            SpreadsheetMetadataPropertyName.TIME_PARSE_PATTERN
+    );
+
     /**
      * Returns a {@link ExpressionNumberConverterContext}
      */
@@ -596,6 +614,13 @@ public abstract class SpreadsheetMetadata implements HasConverter<SpreadsheetCon
         );
     }
 
+    // this list should match the properties used in the method above.
+    static final List<SpreadsheetMetadataPropertyName<?>> JSON_NODE_UNMARSHALL_CONTEXT_REQUIRED = Lists.of(
+            SpreadsheetMetadataPropertyName.EXPRESSION_NUMBER_KIND,
+            SpreadsheetMetadataPropertyName.PRECISION,
+            SpreadsheetMetadataPropertyName.ROUNDING_MODE
+    );
+
     // HasMathContext....................................................................................................
 
     /**
@@ -619,6 +644,12 @@ public abstract class SpreadsheetMetadata implements HasConverter<SpreadsheetCon
         return new MathContext(precision, roundingMode);
     }
 
+    // this list should match the properties used in the method above.
+    static final List<SpreadsheetMetadataPropertyName<?>> MATH_CONTEXT_REQUIRED = Lists.of(
+            SpreadsheetMetadataPropertyName.PRECISION,
+            SpreadsheetMetadataPropertyName.ROUNDING_MODE
+    );
+
     // HasSpreadsheetFormatter..........................................................................................
 
     /**
@@ -646,6 +677,15 @@ public abstract class SpreadsheetMetadata implements HasConverter<SpreadsheetCon
                 textFormat.formatter()));
     }
 
+    // this list should match the properties used in the method above.
+    static final List<SpreadsheetMetadataPropertyName<?>> FORMATTER_REQUIRED = Lists.of(
+            SpreadsheetMetadataPropertyName.DATE_FORMAT_PATTERN,
+            SpreadsheetMetadataPropertyName.DATETIME_FORMAT_PATTERN,
+            SpreadsheetMetadataPropertyName.NUMBER_FORMAT_PATTERN,
+            SpreadsheetMetadataPropertyName.TEXT_FORMAT_PATTERN,
+            SpreadsheetMetadataPropertyName.TIME_FORMAT_PATTERN
+    );
+
     // HasSpreadsheetFormatterContext...................................................................................
 
     /**
@@ -684,18 +724,22 @@ public abstract class SpreadsheetMetadata implements HasConverter<SpreadsheetCon
 
         components.reportIfMissing();
 
-        return SpreadsheetParsers.valueOrExpression(
-                Parsers.alternatives(
-                        Lists.of(
-                                date.parser(),
-                                dateTime.parser(),
-                                number.parser().andEmptyTextCursor(),
-                                time.parser()
-                        )
-                )
+        return SpreadsheetMetadataParserCache.parser(
+                date,
+                dateTime,
+                number,
+                time
         );
     }
 
+    // this list should match the properties used in the method above.
+    static final List<SpreadsheetMetadataPropertyName<?>> PARSER_REQUIRED = Lists.of(
+            SpreadsheetMetadataPropertyName.DATE_PARSE_PATTERN,
+            SpreadsheetMetadataPropertyName.DATETIME_PARSE_PATTERN,
+            SpreadsheetMetadataPropertyName.NUMBER_PARSE_PATTERN,
+            SpreadsheetMetadataPropertyName.TIME_PARSE_PATTERN
+    );
+
     // HasSpreadsheetParserContext......................................................................................
 
     /**
@@ -87,6 +87,11 @@ final class SpreadsheetMetadataEmpty extends SpreadsheetMetadata {
         return this;
     }
 
+    @Override
+    SpreadsheetMetadataNonEmpty replaceProperties(final Map<SpreadsheetMetadataPropertyName<?>, Object> properties) {
+        return SpreadsheetMetadataNonEmpty.with(properties, this.defaults);
+    }
+
     // setDefaults......................................................................................................
 
     @Override
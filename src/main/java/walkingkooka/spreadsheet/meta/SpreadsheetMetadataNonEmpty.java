@@ -19,6 +19,7 @@ package walkingkooka.spreadsheet.meta;
 
 import walkingkooka.Cast;
 import walkingkooka.collect.map.Maps;
+import walkingkooka.collect.set.Sets;
 import walkingkooka.color.Color;
 import walkingkooka.convert.Converter;
 import walkingkooka.math.DecimalNumberContext;
@@ -37,6 +38,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -136,7 +138,7 @@ final class SpreadsheetMetadataNonEmpty extends SpreadsheetMetadata {
             copy.putAll(properties);
             copy.put(propertyName, value);
 
-            result = SpreadsheetMetadataNonEmpty.with(Maps.immutable(copy), this.defaults);
+            result = this.replaceProperties(Maps.immutable(copy));
         }
 
         return result;
@@ -158,7 +160,84 @@ final class SpreadsheetMetadataNonEmpty extends SpreadsheetMetadata {
         final SpreadsheetMetadata defaults = this.defaults;
         return copy.isEmpty() && null == defaults ?
                 EMPTY :
-                new SpreadsheetMetadataNonEmpty(Maps.immutable(copy), defaults);
+                this.replaceProperties(Maps.immutable(copy));
+    }
+
+    // replaceProperties................................................................................................
+
+    /**
+     * Creates a new {@link SpreadsheetMetadataNonEmpty} sharing any cached components that do not depend on a changed
+     * property. This means stamping the modified-by or modified-date-time does not rebuild the formatter, parser etc.
+     */
+    @Override
+    SpreadsheetMetadataNonEmpty replaceProperties(final Map<SpreadsheetMetadataPropertyName<?>, Object> properties) {
+        final SpreadsheetMetadataNonEmpty metadata = SpreadsheetMetadataNonEmpty.with(properties, this.defaults);
+
+        final Set<SpreadsheetMetadataPropertyName<?>> changed = changedPropertyNames(
+                this.value,
+                properties
+        );
+
+        if (changed.stream().noneMatch(SpreadsheetMetadataPropertyName::isColor)) {
+            metadata.nameToColor = this.nameToColor;
+            metadata.numberToColor = this.numberToColor;
+        }
+        if (isUnchanged(CONVERTER_REQUIRED, changed)) {
+            metadata.converter = this.converter;
+        }
+
+        final boolean decimalNumberContextUnchanged = isUnchanged(SpreadsheetMetadataDecimalNumberContextComponents.REQUIRED, changed);
+        if (decimalNumberContextUnchanged) {
+            metadata.decimalNumberContext = this.decimalNumberContext;
+
+            if (false == changed.contains(SpreadsheetMetadataPropertyName.EXPRESSION_NUMBER_KIND)) {
+                metadata.expressionNumberContext = this.expressionNumberContext;
+            }
+        }
+        if (isUnchanged(JSON_NODE_UNMARSHALL_CONTEXT_REQUIRED, changed)) {
+            metadata.jsonNodeUnmarshallContext = this.jsonNodeUnmarshallContext;
+        }
+        if (isUnchanged(MATH_CONTEXT_REQUIRED, changed)) {
+            metadata.mathContext = this.mathContext;
+        }
+        if (isUnchanged(FORMATTER_REQUIRED, changed)) {
+            metadata.formatter = this.formatter;
+        }
+        if (isUnchanged(PARSER_REQUIRED, changed)) {
+            metadata.parser = this.parser;
+        }
+
+        return metadata;
+    }
+
+    /**
+     * Returns the names of properties that were added, removed or have a different value. Defaults are ignored because
+     * they are shared by both {@link SpreadsheetMetadata}.
+     */
+    private static Set<SpreadsheetMetadataPropertyName<?>> changedPropertyNames(final Map<SpreadsheetMetadataPropertyName<?>, Object> before,
+                                                                              final Map<SpreadsheetMetadataPropertyName<?>, Object> after) {
+        final Set<SpreadsheetMetadataPropertyName<?>> changed = Sets.hash();
+
+        for (final Entry<SpreadsheetMetadataPropertyName<?>, Object> nameAndValue : before.entrySet()) {
+            final SpreadsheetMetadataPropertyName<?> name = nameAndValue.getKey();
+            if (false == nameAndValue.getValue().equals(after.get(name))) {
+                changed.add(name);
+            }
+        }
+
+        for (final SpreadsheetMetadataPropertyName<?> name : after.keySet()) {
+            if (false == before.containsKey(name)) {
+                changed.add(name);
+            }
+        }
+
+        return changed;
+    }
+
+    private static boolean isUnchanged(final List<SpreadsheetMetadataPropertyName<?>> required,
+                                       final Set<SpreadsheetMetadataPropertyName<?>> changed) {
+        return required.stream()
+                .noneMatch(changed::contains);
     }
 
     // getters..........................................................................................................
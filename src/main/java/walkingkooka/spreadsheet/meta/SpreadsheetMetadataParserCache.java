@@ -0,0 +1,101 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.meta;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.spreadsheet.format.pattern.SpreadsheetDateParsePattern;
+import walkingkooka.spreadsheet.format.pattern.SpreadsheetDateTimeParsePattern;
+import walkingkooka.spreadsheet.format.pattern.SpreadsheetNumberParsePattern;
+import walkingkooka.spreadsheet.format.pattern.SpreadsheetParsePattern;
+import walkingkooka.spreadsheet.format.pattern.SpreadsheetTimeParsePattern;
+import walkingkooka.spreadsheet.parser.SpreadsheetParserContext;
+import walkingkooka.spreadsheet.parser.SpreadsheetParsers;
+import walkingkooka.text.cursor.parser.Parser;
+import walkingkooka.text.cursor.parser.Parsers;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A cache of formula {@link Parser parsers} keyed by the parse patterns they were built from. This allows all
+ * {@link SpreadsheetMetadata} with the same parse patterns, such as each copy unmarshalled by a request, to share a
+ * single parser rather than each rebuilding the formula grammar. Expressions after the equals sign are parsed by
+ * {@link SpreadsheetParsers#valueOrExpressionRecursiveDescent(Parser)}.
+ */
+final class SpreadsheetMetadataParserCache {
+
+    /**
+     * The cache is cleared when it reaches this size, which protects against unbounded growth.
+     */
+    final static int MAX_SIZE = 64;
+
+    /**
+     * Returns a formula {@link Parser} for the given parse patterns, creating and caching one if necessary.
+     */
+    static Parser<SpreadsheetParserContext> parser(final SpreadsheetDateParsePattern date,
+                                                   final SpreadsheetDateTimeParsePattern dateTime,
+                                                   final SpreadsheetNumberParsePattern number,
+                                                   final SpreadsheetTimeParsePattern time) {
+        final List<SpreadsheetParsePattern> key = Lists.of(
+                date,
+                dateTime,
+                number,
+                time
+        );
+
+        final Map<List<SpreadsheetParsePattern>, Parser<SpreadsheetParserContext>> cache = CACHE;
+
+        Parser<SpreadsheetParserContext> parser;
+        synchronized (cache) {
+            parser = cache.get(key);
+        }
+
+        // parsers are immutable, if two threads race both create a parser and the last one is kept.
+        if (null == parser) {
+            parser = SpreadsheetParsers.valueOrExpressionRecursiveDescent(
+                    Parsers.alternatives(
+                            Lists.of(
+                                    date.parser(),
+                                    dateTime.parser(),
+                                    number.parser().andEmptyTextCursor(),
+                                    time.parser()
+                            )
+                    )
+            );
+
+            synchronized (cache) {
+                if (cache.size() >= MAX_SIZE) {
+                    cache.clear();
+                }
+                cache.put(key, parser);
+            }
+        }
+
+        return parser;
+    }
+
+    private final static Map<List<SpreadsheetParsePattern>, Parser<SpreadsheetParserContext>> CACHE = Maps.hash();
+
+    /**
+     * Stop creation
+     */
+    private SpreadsheetMetadataParserCache() {
+        throw new UnsupportedOperationException();
+    }
+}
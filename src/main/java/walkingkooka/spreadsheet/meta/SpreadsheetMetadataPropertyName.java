@@ -335,6 +335,13 @@ public abstract class SpreadsheetMetadataPropertyName<T> implements Name, Compar
         return this instanceof SpreadsheetMetadataPropertyNameGroupingSymbol || this instanceof SpreadsheetMetadataPropertyNameValueSeparator;
     }
 
+    /**
+     * Named and numbered colors are used by {@link SpreadsheetMetadata#nameToColor()} and {@link SpreadsheetMetadata#numberToColor()}.
+     */
+    final boolean isColor() {
+        return this instanceof SpreadsheetMetadataPropertyNameNamedColor || this instanceof SpreadsheetMetadataPropertyNameNumberedColor;
+    }
+
     @Override
     public final String value() {
         return this.name;
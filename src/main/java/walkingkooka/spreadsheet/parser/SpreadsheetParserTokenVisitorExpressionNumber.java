@@ -43,7 +43,10 @@ final class SpreadsheetParserTokenVisitorExpressionNumber extends SpreadsheetPar
         visitor.accept(token);
 
         final ExpressionNumberKind kind = context.expressionNumberKind();
-        final ExpressionNumber number = kind.parse(visitor.number.toString());
+        ExpressionNumber number = visitor.toExpressionNumber(kind);
+        if (null == number) {
+            number = kind.parse(visitor.number.toString());
+        }
         return visitor.percentage ?
                 number.divide(kind.create(100), context) :
                 number;
@@ -60,26 +63,60 @@ final class SpreadsheetParserTokenVisitorExpressionNumber extends SpreadsheetPar
     @Override
     protected void visit(final SpreadsheetDecimalSeparatorSymbolParserToken token) {
         this.number.append('.');
+
+        if (this.decimal) {
+            this.fast = false;
+        }
+        this.decimal = true;
     }
 
     @Override
     protected void visit(final SpreadsheetDigitsParserToken token) {
-        this.number.append(token.text());
+        final String text = token.text();
+        this.number.append(text);
+
+        final int length = text.length();
+        for (int i = 0; i < length; i++) {
+            final char c = text.charAt(i);
+            if (c < '0' || c > '9' || this.unscaled > MAX_BEFORE_DIGIT) {
+                this.fast = false;
+                break;
+            }
+            this.unscaled = this.unscaled * 10 + (c - '0');
+            this.digitCount++;
+            if (this.decimal) {
+                this.scale++;
+            }
+        }
     }
 
     @Override
     protected void visit(final SpreadsheetExponentSymbolParserToken token) {
         this.number.append('E');
+        this.fast = false;
     }
 
     @Override
     protected void visit(final SpreadsheetMinusSymbolParserToken token) {
         this.number.append('-');
+        this.sign();
+        this.negative = true;
     }
 
     @Override
     protected void visit(final SpreadsheetPlusSymbolParserToken token) {
         this.number.append('+');
+        this.sign();
+    }
+
+    /**
+     * Only a single sign before any digits or decimal separator is supported by the fast path.
+     */
+    private void sign() {
+        if (this.signed || this.digitCount > 0 || this.decimal) {
+            this.fast = false;
+        }
+        this.signed = true;
     }
 
     @Override
@@ -89,6 +126,85 @@ final class SpreadsheetParserTokenVisitorExpressionNumber extends SpreadsheetPar
 
     private boolean percentage = false;
 
+    /**
+     * Creates the {@link ExpressionNumber} from the digits accumulated in a long, returning null when the text must be
+     * parsed, such as numbers with an exponent, too many digits, or non ASCII digits.
+     */
+    private ExpressionNumber toExpressionNumber(final ExpressionNumberKind kind) {
+        ExpressionNumber number = null;
+
+        if (this.fast && this.digitCount > 0) {
+            final long unscaled = this.unscaled;
+            final int scale = this.scale;
+
+            switch (kind) {
+                case BIG_DECIMAL:
+                    number = kind.create(
+                            BigDecimal.valueOf(
+                                    this.negative ? -unscaled : unscaled,
+                                    scale
+                            )
+                    );
+                    break;
+                case DOUBLE:
+                    // both values are exact doubles so the division is correctly rounded, matching Double.parseDouble
+                    if (unscaled <= MAX_EXACT_DOUBLE && scale < POWERS_OF_TEN.length) {
+                        final double value = unscaled / POWERS_OF_TEN[scale];
+                        number = kind.create(
+                                this.negative ? -value : value
+                        );
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        return number;
+    }
+
+    /**
+     * Accumulating another digit could overflow a long when the value is greater than this.
+     */
+    private final static long MAX_BEFORE_DIGIT = (Long.MAX_VALUE - 9) / 10;
+
+    /**
+     * The largest long that is exactly representable as a double.
+     */
+    private final static long MAX_EXACT_DOUBLE = 1L << 53;
+
+    /**
+     * Powers of ten that are exactly representable as a double.
+     */
+    private final static double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20,
+            1e21, 1e22
+    };
+
+    /**
+     * The digits of the number without any decimal separator, valid only while {@link #fast} is true.
+     */
+    private long unscaled;
+
+    private int digitCount;
+
+    /**
+     * The number of digits after the decimal separator.
+     */
+    private int scale;
+
+    private boolean decimal;
+
+    private boolean negative;
+
+    private boolean signed;
+
+    /**
+     * When false the number text is parsed instead.
+     */
+    private boolean fast = true;
+
     /**
      * Aggregates all the number important characters digits, signs, exponent etc, this will be parsed by {@link BigDecimal}.
      */
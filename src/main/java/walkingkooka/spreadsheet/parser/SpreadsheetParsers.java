@@ -17,6 +17,7 @@
 
 package walkingkooka.spreadsheet.parser;
 
+import walkingkooka.collect.list.Lists;
 import walkingkooka.collect.map.Maps;
 import walkingkooka.predicate.character.CharPredicate;
 import walkingkooka.predicate.character.CharPredicates;
@@ -161,6 +162,14 @@ public final class SpreadsheetParsers implements PublicStaticHelper {
 
     private static final Parser<SpreadsheetParserContext> EXPRESSION_PARSER;
 
+    /**
+     * Returns a hand written recursive descent {@link Parser} that produces the same tokens as {@link #expression()}.
+     * This is the expression parser used by {@link #valueOrExpressionRecursiveDescent(Parser)}.
+     */
+    public static Parser<SpreadsheetParserContext> expressionRecursiveDescent() {
+        return SpreadsheetParsersExpressionParser.INSTANCE;
+    }
+
     private static void functions(final Map<EbnfIdentifierName, Parser<SpreadsheetParserContext>> predefined) {
         predefined.put(FUNCTION_NAME_IDENTIFIER, functionName());
         predefined.put(VALUE_SEPARATOR_SYMBOL_IDENTIFIER, SpreadsheetParsersValueSeparatorParser.INSTANCE);
@@ -397,7 +406,7 @@ public final class SpreadsheetParsers implements PublicStaticHelper {
     );
 
     private static final EbnfIdentifierName LAMBDA_FUNCTION_NAME_IDENTIFIER = EbnfIdentifierName.with("LAMBDA_FUNCTION_NAME");
-    private static final Parser<SpreadsheetParserContext> LAMBDA_FUNCTION_NAME = Parsers.<SpreadsheetParserContext>string("lambda", CaseSensitivity.INSENSITIVE)
+    static final Parser<SpreadsheetParserContext> LAMBDA_FUNCTION_NAME = Parsers.<SpreadsheetParserContext>string("lambda", CaseSensitivity.INSENSITIVE)
             .transform(SpreadsheetParsers::transformFunctionName)
             .setToString(SpreadsheetFunctionName.class.getSimpleName())
             .cast();
@@ -445,6 +454,38 @@ public final class SpreadsheetParsers implements PublicStaticHelper {
 
     private static final EbnfIdentifierName VALUE_OR_EXPRESSION_IDENTIFIER = EbnfIdentifierName.with("VALUE_OR_EXPRESSION");
 
+    /**
+     * Returns a {@link Parser} that produces the same tokens as {@link #valueOrExpression(Parser)}, but parses the
+     * expression after the equals sign using {@link #expressionRecursiveDescent()} rather than the grammar.
+     */
+    public static Parser<SpreadsheetParserContext> valueOrExpressionRecursiveDescent(final Parser<SpreadsheetParserContext> value) {
+        Objects.requireNonNull(value, "value");
+
+        return Parsers.alternatives(
+                        Lists.of(
+                                APOSTROPHE_STRING,
+                                EQUALS_EXPRESSION_RECURSIVE_DESCENT,
+                                value.setToString(VALUE_IDENTIFIER.toString())
+                        )
+                ).transform(SpreadsheetParsers::transformValueOrExpression)
+                .cast();
+    }
+
+    /**
+     * The APOSTROPHE_STRING rule from the grammar.
+     */
+    private static final Parser<SpreadsheetParserContext> APOSTROPHE_STRING;
+
+    /**
+     * <pre>
+     * EQUALS_EXPRESSION = FORMULA_EQUALS_SYMBOL, EXPRESSION;
+     * </pre>
+     */
+    private static final Parser<SpreadsheetParserContext> EQUALS_EXPRESSION_RECURSIVE_DESCENT = FORMULA_EQUALS_SYMBOL.builder()
+            .required(SpreadsheetParsersExpressionParser.INSTANCE)
+            .build()
+            .setToString("EQUALS_EXPRESSION");
+
     /**
      * If the token is a {@link SequenceParserToken} then it needs to be wrapped inside an {@link SpreadsheetExpressionParserToken}.
      */
@@ -510,7 +551,7 @@ public final class SpreadsheetParsers implements PublicStaticHelper {
 
         predefined.put(
                 NUMBER_IDENTIFIER,
-                SpreadsheetParsePattern.parseNumberParsePattern("#.#E+#;#.#;#").expressionParser() //
+                NUMBER
         );
         predefined.put(VALUE_IDENTIFIER, value.setToString(VALUE_IDENTIFIER.toString()));
 
@@ -519,6 +560,12 @@ public final class SpreadsheetParsers implements PublicStaticHelper {
     }
 
     private static final EbnfIdentifierName NUMBER_IDENTIFIER = EbnfIdentifierName.with("NUMBER");
+
+    /**
+     * Numbers within an expression, the pattern is only parsed once and the parser shared by all grammars.
+     */
+    static final Parser<SpreadsheetParserContext> NUMBER = SpreadsheetParsePattern.parseNumberParsePattern("#.#E+#;#.#;#")
+            .expressionParser();
     private static final EbnfIdentifierName VALUE_IDENTIFIER = EbnfIdentifierName.with("VALUE");
 
     /*
@@ -527,6 +574,8 @@ public final class SpreadsheetParsers implements PublicStaticHelper {
     static {
         final Map<EbnfIdentifierName, Parser<SpreadsheetParserContext>> parsers = resolveParsers(Parsers.fake());
 
+        APOSTROPHE_STRING = parsers.get(EbnfIdentifierName.with("APOSTROPHE_STRING"))
+                .setToString("APOSTROPHE_STRING");
         CELL_OR_CELL_RANGE_OR_LABEL_PARSER = parsers.get(EbnfIdentifierName.with("CELL_OR_CELL_RANGE_OR_LABEL"));
         CELL_RANGE_PARSER = parsers.get(EbnfIdentifierName.with("CELL_RANGE"));
         EXPRESSION_PARSER = parsers.get(EbnfIdentifierName.with("EXPRESSION"));
@@ -0,0 +1,657 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.parser;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.text.cursor.TextCursor;
+import walkingkooka.text.cursor.TextCursorSavePoint;
+import walkingkooka.text.cursor.parser.Parser;
+import walkingkooka.text.cursor.parser.ParserReporters;
+import walkingkooka.text.cursor.parser.ParserToken;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A hand written recursive descent {@link Parser} for the EXPRESSION rule of the formula grammar, producing the same
+ * {@link SpreadsheetParserToken tokens} as {@link SpreadsheetParsers#expression()}. Operators are lexed directly from
+ * the {@link TextCursor} and binary expressions are built using precedence climbing, avoiding the intermediate
+ * sequence tokens and the operator priority transform of the grammar driven parser. Leaf values such as cells, labels,
+ * function names, numbers, text and errors are still consumed by the existing parsers, so their tokens are identical.
+ * <br>
+ * Alternatives are tried in the same order as the grammar, and a failed REQUIRED rule is reported at the same
+ * position using {@link ParserReporters#basic()}.
+ */
+final class SpreadsheetParsersExpressionParser implements Parser<SpreadsheetParserContext> {
+
+    /**
+     * Singleton
+     */
+    final static SpreadsheetParsersExpressionParser INSTANCE = new SpreadsheetParsersExpressionParser();
+
+    /**
+     * Private ctor use singleton
+     */
+    private SpreadsheetParsersExpressionParser() {
+        super();
+    }
+
+    @Override
+    public Optional<ParserToken> parse(final TextCursor cursor,
+                                       final SpreadsheetParserContext context) {
+        Objects.requireNonNull(cursor, "cursor");
+        Objects.requireNonNull(context, "context");
+
+        return Optional.ofNullable(
+                this.expression(cursor, context)
+        );
+    }
+
+    /**
+     * <pre>
+     * EXPRESSION = [ WHITESPACE ], EXPRESSION_REQUIRED, [ WHITESPACE ];
+     * </pre>
+     * Leading or trailing whitespace results in all tokens being wrapped in a {@link SpreadsheetGroupParserToken}.
+     */
+    private SpreadsheetParserToken expression(final TextCursor cursor,
+                                              final SpreadsheetParserContext context) {
+        final TextCursorSavePoint save = cursor.save();
+
+        final SpreadsheetParserToken leading = whitespace(cursor, context);
+        final SpreadsheetParserToken expression = this.required(
+                this.binaryExpression(cursor, context),
+                cursor,
+                context
+        );
+
+        SpreadsheetParserToken token = null;
+        if (null != expression) {
+            final SpreadsheetParserToken trailing = whitespace(cursor, context);
+
+            token = null == leading && null == trailing ?
+                    expression :
+                    SpreadsheetParserToken.group(
+                            tokens(leading, expression, trailing),
+                            save.textBetween().toString()
+                    );
+        }
+
+        return token;
+    }
+
+    /**
+     * <pre>
+     * BINARY_EXPRESSION = BINARY_SUB_EXPRESSION, {[ WHITESPACE ], BINARY_OPERATOR, [ WHITESPACE ], BINARY_SUB_EXPRESSION_REQUIRED};
+     * </pre>
+     * This rule also matches everything matched by EXPRESSION_OPT, as every other alternative of EXPRESSION_OPT is
+     * also an alternative of BINARY_SUB_EXPRESSION.
+     */
+    private SpreadsheetParserToken binaryExpression(final TextCursor cursor,
+                                                    final SpreadsheetParserContext context) {
+        final TextCursorSavePoint start = cursor.save();
+        final SpreadsheetParserToken left = this.binarySubExpression(cursor, context);
+
+        return null != left ?
+                this.binaryOperators(
+                        start,
+                        left,
+                        SpreadsheetParserToken.LOWEST_PRIORITY,
+                        cursor,
+                        context
+                ) :
+                null;
+    }
+
+    /**
+     * Precedence climbing, consumes operators with a priority of at least minPriority. All operators are left
+     * associative and the whitespace around an operator becomes part of the binary token, matching the priority
+     * transform of the grammar driven parser.
+     */
+    private SpreadsheetParserToken binaryOperators(final TextCursorSavePoint start,
+                                                   final SpreadsheetParserToken first,
+                                                   final int minPriority,
+                                                   final TextCursor cursor,
+                                                   final SpreadsheetParserContext context) {
+        SpreadsheetParserToken left = first;
+
+        for (; ; ) {
+            final TextCursorSavePoint beforeOperator = cursor.save();
+
+            final SpreadsheetParserToken leftWhitespace = whitespace(cursor, context);
+            final SpreadsheetParserToken operator = binaryOperator(cursor);
+            if (null == operator) {
+                beforeOperator.restore();
+                break;
+            }
+            final int priority = operator.operatorPriority();
+            if (priority < minPriority) {
+                beforeOperator.restore();
+                break;
+            }
+
+            final SpreadsheetParserToken rightWhitespace = whitespace(cursor, context);
+
+            final TextCursorSavePoint rightStart = cursor.save();
+            SpreadsheetParserToken right = this.required(
+                    this.binarySubExpression(cursor, context),
+                    cursor,
+                    context
+            );
+            if (null == right) {
+                left = null;
+                break;
+            }
+
+            right = this.binaryOperators(
+                    rightStart,
+                    right,
+                    priority + 1,
+                    cursor,
+                    context
+            );
+            if (null == right) {
+                left = null;
+                break;
+            }
+
+            left = operator.binaryOperand(
+                    tokens(left, leftWhitespace, operator, rightWhitespace, right),
+                    start.textBetween().toString()
+            );
+        }
+
+        return left;
+    }
+
+    /**
+     * <pre>
+     * BINARY_SUB_EXPRESSION = LAMBDA_FUNCTION | NAMED_FUNCTION | CELL_OR_CELL_RANGE_OR_LABEL | GROUP | NEGATIVE | PERCENTAGE | NUMBER | TEXT | ERROR;
+     * </pre>
+     */
+    private SpreadsheetParserToken binarySubExpression(final TextCursor cursor,
+                                                       final SpreadsheetParserContext context) {
+        SpreadsheetParserToken token = null;
+
+        if (false == cursor.isEmpty()) {
+            switch (cursor.at()) {
+                case '(':
+                    token = this.group(cursor, context);
+                    break;
+                case '-':
+                    token = this.negative(cursor, context);
+                    break;
+                case '"':
+                    token = parse(SpreadsheetParsers.text(), cursor, context);
+                    break;
+                default:
+                    token = this.lambdaOrNamedFunctionOrCellOrCellRangeOrLabel(cursor, context);
+                    if (null == token) {
+                        token = percentageOrNumber(cursor, context);
+                        if (null == token) {
+                            token = parse(SpreadsheetParsers.error(), cursor, context);
+                        }
+                    }
+                    break;
+            }
+        }
+
+        return token;
+    }
+
+    /**
+     * <pre>
+     * NEGATIVE_EXPRESSION_REQUIRED = LAMBDA_FUNCTION | NAMED_FUNCTION | CELL_OR_CELL_RANGE_OR_LABEL | GROUP | PERCENTAGE | NUMBER;
+     * </pre>
+     */
+    private SpreadsheetParserToken negativeExpression(final TextCursor cursor,
+                                                      final SpreadsheetParserContext context) {
+        SpreadsheetParserToken token = null;
+
+        if (false == cursor.isEmpty()) {
+            if ('(' == cursor.at()) {
+                token = this.group(cursor, context);
+            } else {
+                token = this.lambdaOrNamedFunctionOrCellOrCellRangeOrLabel(cursor, context);
+                if (null == token) {
+                    token = percentageOrNumber(cursor, context);
+                }
+            }
+        }
+
+        return token;
+    }
+
+    /**
+     * Tries LAMBDA_FUNCTION, NAMED_FUNCTION and then CELL_OR_CELL_RANGE_OR_LABEL, all of which must begin with a letter
+     * or a dollar sign.
+     */
+    private SpreadsheetParserToken lambdaOrNamedFunctionOrCellOrCellRangeOrLabel(final TextCursor cursor,
+                                                                                 final SpreadsheetParserContext context) {
+        SpreadsheetParserToken token = null;
+
+        final char c = cursor.at();
+        if (isLetter(c) || '$' == c) {
+            token = this.lambdaFunction(cursor, context);
+            if (null == token) {
+                token = this.namedFunction(cursor, context);
+                if (null == token) {
+                    token = cellOrCellRangeOrLabel(cursor, context);
+                }
+            }
+        }
+
+        return token;
+    }
+
+    /**
+     * <pre>
+     * LAMBDA_FUNCTION_DEFINITION = LAMBDA_FUNCTION_NAME, FUNCTION_PARAMETERS;
+     * LAMBDA_FUNCTION = LAMBDA_FUNCTION_DEFINITION, FUNCTION_PARAMETERS;
+     * </pre>
+     */
+    private SpreadsheetParserToken lambdaFunction(final TextCursor cursor,
+                                                  final SpreadsheetParserContext context) {
+        SpreadsheetParserToken token = null;
+
+        final char c = cursor.at();
+        if ('l' == c || 'L' == c) {
+            final TextCursorSavePoint save = cursor.save();
+
+            final SpreadsheetParserToken name = parse(SpreadsheetParsers.LAMBDA_FUNCTION_NAME, cursor, context);
+            if (null != name) {
+                final SpreadsheetParserToken parameters = this.functionParameters(cursor, context);
+                if (null != parameters) {
+                    final SpreadsheetParserToken parameters2 = this.functionParameters(cursor, context);
+                    if (null != parameters2) {
+                        token = SpreadsheetParserToken.lambdaFunction(
+                                Lists.of(name, parameters, parameters2),
+                                save.textBetween().toString()
+                        );
+                    }
+                }
+            }
+
+            if (null == token) {
+                save.restore();
+            }
+        }
+
+        return token;
+    }
+
+    /**
+     * <pre>
+     * NAMED_FUNCTION = FUNCTION_NAME, FUNCTION_PARAMETERS;
+     * </pre>
+     */
+    private SpreadsheetParserToken namedFunction(final TextCursor cursor,
+                                                 final SpreadsheetParserContext context) {
+        SpreadsheetParserToken token = null;
+
+        final TextCursorSavePoint save = cursor.save();
+
+        final SpreadsheetParserToken name = parse(SpreadsheetParsers.functionName(), cursor, context);
+        if (null != name) {
+            final SpreadsheetParserToken parameters = this.functionParameters(cursor, context);
+            if (null != parameters) {
+                token = SpreadsheetParserToken.namedFunction(
+                        Lists.of(name, parameters),
+                        save.textBetween().toString()
+                );
+            }
+        }
+
+        if (null == token) {
+            save.restore();
+        }
+
+        return token;
+    }
+
+    /**
+     * <pre>
+     * FUNCTION_PARAMETERS = PARENTHESIS_OPEN_SYMBOL, [ WHITESPACE ], [ FUNCTION_PARAMETER_VALUES ], [ WHITESPACE ], PARENTHESIS_CLOSE_SYMBOL;
+     * FUNCTION_PARAMETER_VALUES = EXPRESSION_OPT, [{FUNCTION_PARAMETER_SEPARATOR}];
+     * FUNCTION_PARAMETER_SEPARATOR = [ WHITESPACE ], VALUE_SEPARATOR_SYMBOL, [ WHITESPACE ], EXPRESSION_REQUIRED;
+     * </pre>
+     */
+    private SpreadsheetParserToken functionParameters(final TextCursor cursor,
+                                                      final SpreadsheetParserContext context) {
+        final TextCursorSavePoint save = cursor.save();
+        if (false == consumeIf('(', cursor)) {
+            return null;
+        }
+
+        final List<ParserToken> tokens = Lists.array();
+        tokens.add(PARENTHESIS_OPEN_SYMBOL);
+        add(tokens, whitespace(cursor, context));
+
+        final SpreadsheetParserToken first = this.binaryExpression(cursor, context);
+        if (null != first) {
+            tokens.add(first);
+
+            for (; ; ) {
+                final TextCursorSavePoint beforeSeparator = cursor.save();
+
+                final SpreadsheetParserToken leftWhitespace = whitespace(cursor, context);
+                final SpreadsheetParserToken separator = parse(SpreadsheetParsersValueSeparatorParser.INSTANCE, cursor, context);
+                if (null == separator) {
+                    beforeSeparator.restore();
+                    break;
+                }
+                final SpreadsheetParserToken rightWhitespace = whitespace(cursor, context);
+
+                final SpreadsheetParserToken value = this.required(
+                        this.binaryExpression(cursor, context),
+                        cursor,
+                        context
+                );
+                if (null == value) {
+                    save.restore();
+                    return null;
+                }
+
+                add(tokens, leftWhitespace);
+                tokens.add(separator);
+                add(tokens, rightWhitespace);
+                tokens.add(value);
+            }
+        }
+
+        add(tokens, whitespace(cursor, context));
+
+        SpreadsheetParserToken token = null;
+        if (consumeIf(')', cursor)) {
+            tokens.add(PARENTHESIS_CLOSE_SYMBOL);
+
+            token = SpreadsheetParserToken.functionParameters(
+                    tokens,
+                    save.textBetween().toString()
+            );
+        } else {
+            save.restore();
+        }
+
+        return token;
+    }
+
+    /**
+     * <pre>
+     * GROUP = PARENTHESIS_OPEN_SYMBOL, [ WHITESPACE ], EXPRESSION_REQUIRED, [ WHITESPACE ], PARENTHESIS_CLOSE_SYMBOL;
+     * </pre>
+     */
+    private SpreadsheetParserToken group(final TextCursor cursor,
+                                         final SpreadsheetParserContext context) {
+        final TextCursorSavePoint save = cursor.save();
+        cursor.next();
+
+        final SpreadsheetParserToken leading = whitespace(cursor, context);
+        final SpreadsheetParserToken expression = this.required(
+                this.binaryExpression(cursor, context),
+                cursor,
+                context
+        );
+
+        SpreadsheetParserToken token = null;
+        if (null != expression) {
+            final SpreadsheetParserToken trailing = whitespace(cursor, context);
+
+            if (consumeIf(')', cursor)) {
+                token = SpreadsheetParserToken.group(
+                        tokens(PARENTHESIS_OPEN_SYMBOL, leading, expression, trailing, PARENTHESIS_CLOSE_SYMBOL),
+                        save.textBetween().toString()
+                );
+            }
+        }
+
+        if (null == token) {
+            save.restore();
+        }
+
+        return token;
+    }
+
+    /**
+     * <pre>
+     * NEGATIVE = NEGATIVE_SYMBOL, [ WHITESPACE ], NEGATIVE_EXPRESSION_REQUIRED;
+     * </pre>
+     */
+    private SpreadsheetParserToken negative(final TextCursor cursor,
+                                            final SpreadsheetParserContext context) {
+        final TextCursorSavePoint save = cursor.save();
+        cursor.next();
+
+        final SpreadsheetParserToken whitespace = whitespace(cursor, context);
+        final SpreadsheetParserToken value = this.required(
+                this.negativeExpression(cursor, context),
+                cursor,
+                context
+        );
+
+        SpreadsheetParserToken token = null;
+        if (null != value) {
+            token = SpreadsheetParserToken.negative(
+                    tokens(MINUS_SYMBOL, whitespace, value),
+                    save.textBetween().toString()
+            );
+        } else {
+            save.restore();
+        }
+
+        return token;
+    }
+
+    /**
+     * <pre>
+     * CELL_OR_CELL_RANGE_OR_LABEL = LABEL_NAME | CELL_RANGE | CELL;
+     * CELL_RANGE = CELL, [ WHITESPACE ], BETWEEN_SYMBOL, [ WHITESPACE ], CELL;
+     * </pre>
+     */
+    private static SpreadsheetParserToken cellOrCellRangeOrLabel(final TextCursor cursor,
+                                                                 final SpreadsheetParserContext context) {
+        SpreadsheetParserToken token = parse(SpreadsheetParsers.labelName(), cursor, context);
+        if (null == token) {
+            final TextCursorSavePoint save = cursor.save();
+
+            final SpreadsheetParserToken begin = parse(SpreadsheetParsers.cell(), cursor, context);
+            if (null != begin) {
+                token = begin;
+
+                final TextCursorSavePoint afterBegin = cursor.save();
+                final SpreadsheetParserToken leftWhitespace = whitespace(cursor, context);
+
+                if (consumeIf(SpreadsheetParsers.RANGE_SEPARATOR.character(), cursor)) {
+                    final SpreadsheetParserToken rightWhitespace = whitespace(cursor, context);
+                    final SpreadsheetParserToken end = parse(SpreadsheetParsers.cell(), cursor, context);
+                    if (null != end) {
+                        token = SpreadsheetParserToken.cellRange(
+                                tokens(begin, leftWhitespace, BETWEEN_SYMBOL, rightWhitespace, end),
+                                save.textBetween().toString()
+                        );
+                    }
+                }
+
+                if (begin == token) {
+                    afterBegin.restore();
+                }
+            }
+        }
+
+        return token;
+    }
+
+    /**
+     * <pre>
+     * PERCENTAGE = NUMBER, PERCENT_SYMBOL;
+     * </pre>
+     * If the number is not followed by a percent sign the number is returned, which is what the following NUMBER
+     * alternative would have matched.
+     */
+    private static SpreadsheetParserToken percentageOrNumber(final TextCursor cursor,
+                                                             final SpreadsheetParserContext context) {
+        final TextCursorSavePoint save = cursor.save();
+
+        SpreadsheetParserToken token = parse(SpreadsheetParsers.NUMBER, cursor, context);
+        if (null != token && consumeIf('%', cursor)) {
+            token = SpreadsheetParserToken.number(
+                    Lists.of(token, PERCENT_SYMBOL),
+                    save.textBetween().toString()
+            );
+        }
+
+        return token;
+    }
+
+    /**
+     * <pre>
+     * BINARY_OPERATOR = EQUALS_SYMBOL | NOT_EQUALS_SYMBOL | GREATER_THAN_EQUALS_SYMBOL | GREATER_THAN_SYMBOL | LESS_THAN_EQUALS_SYMBOL | LESS_THAN_SYMBOL | PLUS_SYMBOL | NEGATIVE_SYMBOL | MULTIPLY_SYMBOL | DIVIDE_SYMBOL | POWER_SYMBOL | BETWEEN_SYMBOL;
+     * </pre>
+     */
+    private static SpreadsheetParserToken binaryOperator(final TextCursor cursor) {
+        SpreadsheetParserToken token = null;
+
+        if (false == cursor.isEmpty()) {
+            final char c = cursor.at();
+            cursor.next();
+
+            switch (c) {
+                case '=':
+                    token = EQUALS_SYMBOL;
+                    break;
+                case '<':
+                    token = consumeIf('>', cursor) ?
+                            NOT_EQUALS_SYMBOL :
+                            consumeIf('=', cursor) ?
+                                    LESS_THAN_EQUALS_SYMBOL :
+                                    LESS_THAN_SYMBOL;
+                    break;
+                case '>':
+                    token = consumeIf('=', cursor) ?
+                            GREATER_THAN_EQUALS_SYMBOL :
+                            GREATER_THAN_SYMBOL;
+                    break;
+                case '+':
+                    token = PLUS_SYMBOL;
+                    break;
+                case '-':
+                    token = MINUS_SYMBOL;
+                    break;
+                case '*':
+                    token = MULTIPLY_SYMBOL;
+                    break;
+                case '/':
+                    token = DIVIDE_SYMBOL;
+                    break;
+                case '^':
+                    token = POWER_SYMBOL;
+                    break;
+                case ':':
+                    token = BETWEEN_SYMBOL;
+                    break;
+                default:
+                    break;
+            }
+            // the caller restores the cursor when no operator was found.
+        }
+
+        return token;
+    }
+
+    private static boolean consumeIf(final char c,
+                                     final TextCursor cursor) {
+        final boolean match = false == cursor.isEmpty() && c == cursor.at();
+        if (match) {
+            cursor.next();
+        }
+        return match;
+    }
+
+    private final static SpreadsheetParserToken BETWEEN_SYMBOL = SpreadsheetParserToken.betweenSymbol(":", ":");
+    private final static SpreadsheetParserToken DIVIDE_SYMBOL = SpreadsheetParserToken.divideSymbol("/", "/");
+    private final static SpreadsheetParserToken EQUALS_SYMBOL = SpreadsheetParserToken.equalsSymbol("=", "=");
+    private final static SpreadsheetParserToken GREATER_THAN_SYMBOL = SpreadsheetParserToken.greaterThanSymbol(">", ">");
+    private final static SpreadsheetParserToken GREATER_THAN_EQUALS_SYMBOL = SpreadsheetParserToken.greaterThanEqualsSymbol(">=", ">=");
+    private final static SpreadsheetParserToken LESS_THAN_SYMBOL = SpreadsheetParserToken.lessThanSymbol("<", "<");
+    private final static SpreadsheetParserToken LESS_THAN_EQUALS_SYMBOL = SpreadsheetParserToken.lessThanEqualsSymbol("<=", "<=");
+    private final static SpreadsheetParserToken MINUS_SYMBOL = SpreadsheetParserToken.minusSymbol("-", "-");
+    private final static SpreadsheetParserToken MULTIPLY_SYMBOL = SpreadsheetParserToken.multiplySymbol("*", "*");
+    private final static SpreadsheetParserToken NOT_EQUALS_SYMBOL = SpreadsheetParserToken.notEqualsSymbol("<>", "<>");
+    private final static SpreadsheetParserToken PARENTHESIS_CLOSE_SYMBOL = SpreadsheetParserToken.parenthesisCloseSymbol(")", ")");
+    private final static SpreadsheetParserToken PARENTHESIS_OPEN_SYMBOL = SpreadsheetParserToken.parenthesisOpenSymbol("(", "(");
+    private final static SpreadsheetParserToken PERCENT_SYMBOL = SpreadsheetParserToken.percentSymbol("%", "%");
+    private final static SpreadsheetParserToken PLUS_SYMBOL = SpreadsheetParserToken.plusSymbol("+", "+");
+    private final static SpreadsheetParserToken POWER_SYMBOL = SpreadsheetParserToken.powerSymbol("^", "^");
+
+    private static SpreadsheetParserToken whitespace(final TextCursor cursor,
+                                                     final SpreadsheetParserContext context) {
+        return cursor.isEmpty() ?
+                null :
+                parse(SpreadsheetParsers.whitespace(), cursor, context);
+    }
+
+    private static boolean isLetter(final char c) {
+        return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z');
+    }
+
+    private static SpreadsheetParserToken parse(final Parser<SpreadsheetParserContext> parser,
+                                                final TextCursor cursor,
+                                                final SpreadsheetParserContext context) {
+        final Optional<ParserToken> token = parser.parse(cursor, context);
+        return token.isPresent() ?
+                token.get().cast(SpreadsheetParserToken.class) :
+                null;
+    }
+
+    /**
+     * Matches the behaviour of a REQUIRED grammar rule, if the token is missing the failure is reported at the current
+     * cursor position.
+     */
+    private SpreadsheetParserToken required(final SpreadsheetParserToken token,
+                                            final TextCursor cursor,
+                                            final SpreadsheetParserContext context) {
+        if (null == token) {
+            ParserReporters.<SpreadsheetParserContext>basic()
+                    .report(cursor, context, this);
+        }
+        return token;
+    }
+
+    /**
+     * Returns a list holding all the non null tokens.
+     */
+    private static List<ParserToken> tokens(final SpreadsheetParserToken... tokens) {
+        final List<ParserToken> list = Lists.array();
+        for (final SpreadsheetParserToken token : tokens) {
+            add(list, token);
+        }
+        return list;
+    }
+
+    private static void add(final List<ParserToken> tokens,
+                            final SpreadsheetParserToken token) {
+        if (null != token) {
+            tokens.add(token);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "EXPRESSION";
+    }
+}
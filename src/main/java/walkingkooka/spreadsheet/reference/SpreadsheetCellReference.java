@@ -61,6 +61,16 @@ public final class SpreadsheetCellReference extends SpreadsheetCellReferenceOrRa
      * Parsers the text expecting a valid {@link SpreadsheetCellReference} or fails.
      */
     static SpreadsheetCellReference parseCell0(final String text) {
+        final long cell = SpreadsheetSelectionScanner.cell(text, 0, text.length());
+        return SpreadsheetSelectionScanner.FAIL != cell ?
+                SpreadsheetSelectionScanner.toCell(cell) :
+                parseCellWithParser(text);
+    }
+
+    /**
+     * Slow path used when the text is not a simple cell reference, the parser also reports any errors.
+     */
+    private static SpreadsheetCellReference parseCellWithParser(final String text) {
         try {
             return PARSER.parse(
                             TextCursors.charSequence(text),
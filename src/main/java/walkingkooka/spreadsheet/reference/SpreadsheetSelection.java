@@ -300,12 +300,30 @@ public abstract class SpreadsheetSelection implements Predicate<SpreadsheetCellR
      * </pre>
      */
     public static SpreadsheetCellRange parseCellRange(final String text) {
-        return parseRange(
-                text,
-                SpreadsheetParsers.cell(),
-                (t) -> t.cast(SpreadsheetCellReferenceParserToken.class).cell(),
-                SpreadsheetCellRange::with
-        );
+        checkText(text);
+
+        final int separator = text.indexOf(SEPARATOR.character());
+        final int length = text.length();
+
+        final long lower = SpreadsheetSelectionScanner.cell(text, 0, -1 == separator ? length : separator);
+        final long upper = -1 == separator || SpreadsheetSelectionScanner.FAIL == lower ?
+                lower :
+                SpreadsheetSelectionScanner.cell(text, separator + 1, length);
+
+        return SpreadsheetSelectionScanner.FAIL != upper ?
+                range(
+                        SpreadsheetSelectionScanner.toCell(lower),
+                        -1 == separator ?
+                                null :
+                                SpreadsheetSelectionScanner.toCell(upper),
+                        SpreadsheetCellRange::with
+                ) :
+                parseRange(
+                        text,
+                        SpreadsheetParsers.cell(),
+                        (t) -> t.cast(SpreadsheetCellReferenceParserToken.class).cell(),
+                        SpreadsheetCellRange::with
+                );
     }
 
     /**
@@ -323,7 +341,11 @@ public abstract class SpreadsheetSelection implements Predicate<SpreadsheetCellR
      * Parsers the text expecting a valid {@link SpreadsheetColumnReference} or fails.
      */
     public static SpreadsheetColumnReference parseColumn(final String text) {
-        return parseColumnOrRow(text, COLUMN_PARSER, SpreadsheetColumnReferenceParserToken.class).value();
+        final int column = SpreadsheetSelectionScanner.column(text, 0, text.length());
+
+        return SpreadsheetSelectionScanner.FAIL != column ?
+                SpreadsheetSelectionScanner.toColumn(column) :
+                parseColumnOrRow(text, COLUMN_PARSER, SpreadsheetColumnReferenceParserToken.class).value();
     }
 
     /**
@@ -337,19 +359,41 @@ public abstract class SpreadsheetSelection implements Predicate<SpreadsheetCellR
      * Parsers a range of columns.
      */
     public static SpreadsheetColumnReferenceRange parseColumnRange(final String text) {
-        return parseRange(
-                text,
-                SpreadsheetParsers.column(),
-                (t) -> t.cast(SpreadsheetColumnReferenceParserToken.class).value(),
-                SpreadsheetColumnReferenceRange::with
-        );
+        checkText(text);
+
+        final int separator = text.indexOf(SEPARATOR.character());
+        final int length = text.length();
+
+        final int lower = SpreadsheetSelectionScanner.column(text, 0, -1 == separator ? length : separator);
+        final int upper = -1 == separator || SpreadsheetSelectionScanner.FAIL == lower ?
+                lower :
+                SpreadsheetSelectionScanner.column(text, separator + 1, length);
+
+        return SpreadsheetSelectionScanner.FAIL != upper ?
+                range(
+                        SpreadsheetSelectionScanner.toColumn(lower),
+                        -1 == separator ?
+                                null :
+                                SpreadsheetSelectionScanner.toColumn(upper),
+                        SpreadsheetColumnReferenceRange::with
+                ) :
+                parseRange(
+                        text,
+                        SpreadsheetParsers.column(),
+                        (t) -> t.cast(SpreadsheetColumnReferenceParserToken.class).value(),
+                        SpreadsheetColumnReferenceRange::with
+                );
     }
 
     /**
      * Parsers the text expecting a valid {@link SpreadsheetRowReference} or fails.
      */
     public static SpreadsheetRowReference parseRow(final String text) {
-        return parseColumnOrRow(text, ROW_PARSER, SpreadsheetRowReferenceParserToken.class).value();
+        final int row = SpreadsheetSelectionScanner.row(text, 0, text.length());
+
+        return SpreadsheetSelectionScanner.FAIL != row ?
+                SpreadsheetSelectionScanner.toRow(row) :
+                parseColumnOrRow(text, ROW_PARSER, SpreadsheetRowReferenceParserToken.class).value();
     }
 
     /**
@@ -379,12 +423,30 @@ public abstract class SpreadsheetSelection implements Predicate<SpreadsheetCellR
      * Parsers a range of rows.
      */
     public static SpreadsheetRowReferenceRange parseRowRange(final String text) {
-        return parseRange(
-                text,
-                SpreadsheetParsers.row(),
-                (t) -> t.cast(SpreadsheetRowReferenceParserToken.class).value(),
-                SpreadsheetRowReferenceRange::with
-        );
+        checkText(text);
+
+        final int separator = text.indexOf(SEPARATOR.character());
+        final int length = text.length();
+
+        final int lower = SpreadsheetSelectionScanner.row(text, 0, -1 == separator ? length : separator);
+        final int upper = -1 == separator || SpreadsheetSelectionScanner.FAIL == lower ?
+                lower :
+                SpreadsheetSelectionScanner.row(text, separator + 1, length);
+
+        return SpreadsheetSelectionScanner.FAIL != upper ?
+                range(
+                        SpreadsheetSelectionScanner.toRow(lower),
+                        -1 == separator ?
+                                null :
+                                SpreadsheetSelectionScanner.toRow(upper),
+                        SpreadsheetRowReferenceRange::with
+                ) :
+                parseRange(
+                        text,
+                        SpreadsheetParsers.row(),
+                        (t) -> t.cast(SpreadsheetRowReferenceParserToken.class).value(),
+                        SpreadsheetRowReferenceRange::with
+                );
     }
 
     /**
@@ -431,8 +493,21 @@ public abstract class SpreadsheetSelection implements Predicate<SpreadsheetCellR
             upperSelection = parserTokenToSelection.apply(upper);
         }
 
+        return range(
+                lowerSelection,
+                upperSelection,
+                rangeFactory
+        );
+    }
+
+    /**
+     * Creates the range from the lower and optional upper bounds, swapping them if the lower is greater than the upper.
+     */
+    private static <R extends SpreadsheetSelection, S extends SpreadsheetSelection & Comparable<S>> R range(final S lowerSelection,
+                                                                                                            final S upperSelection,
+                                                                                                            final Function<Range<S>, R> rangeFactory) {
         return rangeFactory.apply(
-                null == upper ?
+                null == upperSelection ?
                         Range.singleton(lowerSelection) :
                         lowerSelection.compareTo(upperSelection) > 0 ?
                                 Range.greaterThanEquals(
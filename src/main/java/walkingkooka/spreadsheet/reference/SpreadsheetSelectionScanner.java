@@ -0,0 +1,176 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.reference;
+
+/**
+ * A hand written scanner for the common column, row and cell reference forms such as <code>A</code>, <code>$1</code>
+ * and <code>$A$1</code>, that packs the result into an int or long rather than creating parser tokens.
+ * Anything unusual, including values that are out of range, non ASCII letters or digits and all invalid text, is
+ * reported as {@link #FAIL}, so the caller can fall back to the parser which also produces the error messages.
+ */
+final class SpreadsheetSelectionScanner {
+
+    /**
+     * Returned by all scan methods when the text is not a simple reference.
+     */
+    final static int FAIL = -1;
+
+    /**
+     * Set on a packed column or row when the reference is absolute.
+     */
+    final static int ABSOLUTE = 1 << 24;
+
+    private final static int VALUE_MASK = ABSOLUTE - 1;
+
+    /**
+     * Scans the column letters between start and end, returning the packed column or {@link #FAIL}.
+     */
+    static int column(final CharSequence text,
+                      final int start,
+                      final int end) {
+        int i = start;
+        int absolute = 0;
+        if (i < end && SpreadsheetReferenceKind.ABSOLUTE_PREFIX == text.charAt(i)) {
+            absolute = ABSOLUTE;
+            i++;
+        }
+
+        int value = 0;
+        final int first = i;
+        while (i < end) {
+            final char c = text.charAt(i);
+            final int digit = c >= 'A' && c <= 'Z' ?
+                    c - 'A' + 1 :
+                    c >= 'a' && c <= 'z' ?
+                            c - 'a' + 1 :
+                            FAIL;
+            if (FAIL == digit) {
+                break;
+            }
+            value = value * SpreadsheetColumnReference.RADIX + digit;
+            if (value > SpreadsheetColumnReference.MAX_VALUE + 1) {
+                return FAIL;
+            }
+            i++;
+        }
+
+        return first == i || end != i ?
+                FAIL :
+                absolute | (value - 1);
+    }
+
+    /**
+     * Scans the row digits between start and end, returning the packed row or {@link #FAIL}.
+     */
+    static int row(final CharSequence text,
+                   final int start,
+                   final int end) {
+        int i = start;
+        int absolute = 0;
+        if (i < end && SpreadsheetReferenceKind.ABSOLUTE_PREFIX == text.charAt(i)) {
+            absolute = ABSOLUTE;
+            i++;
+        }
+
+        int value = 0;
+        final int first = i;
+        while (i < end) {
+            final char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return FAIL;
+            }
+            value = value * SpreadsheetRowReference.RADIX + c - '0';
+            if (value > SpreadsheetRowReference.MAX_VALUE + 1) {
+                return FAIL;
+            }
+            i++;
+        }
+
+        return first == i || 0 == value ?
+                FAIL :
+                absolute | (value - 1);
+    }
+
+    /**
+     * Scans a cell reference between start and end, returning the packed column in the high int and packed row
+     * in the low int, or {@link #FAIL}.
+     */
+    static long cell(final CharSequence text,
+                     final int start,
+                     final int end) {
+        int i = start;
+        if (i < end && SpreadsheetReferenceKind.ABSOLUTE_PREFIX == text.charAt(i)) {
+            i++;
+        }
+        while (i < end && isLetter(text.charAt(i))) {
+            i++;
+        }
+
+        final int column = column(text, start, i);
+        final int row = FAIL != column ?
+                row(text, i, end) :
+                FAIL;
+
+        return FAIL != row ?
+                ((long) column << 32) | row :
+                FAIL;
+    }
+
+    private static boolean isLetter(final char c) {
+        return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z');
+    }
+
+    /**
+     * Creates the {@link SpreadsheetColumnReference} from a packed column.
+     */
+    static SpreadsheetColumnReference toColumn(final int column) {
+        return kind(column)
+                .column(column & VALUE_MASK);
+    }
+
+    /**
+     * Creates the {@link SpreadsheetRowReference} from a packed row.
+     */
+    static SpreadsheetRowReference toRow(final int row) {
+        return kind(row)
+                .row(row & VALUE_MASK);
+    }
+
+    /**
+     * Creates the {@link SpreadsheetCellReference} from a packed cell.
+     */
+    static SpreadsheetCellReference toCell(final long cell) {
+        return SpreadsheetSelection.cell(
+                toColumn((int) (cell >>> 32)),
+                toRow((int) cell)
+        );
+    }
+
+    private static SpreadsheetReferenceKind kind(final int packed) {
+        return 0 != (packed & ABSOLUTE) ?
+                SpreadsheetReferenceKind.ABSOLUTE :
+                SpreadsheetReferenceKind.RELATIVE;
+    }
+
+    /**
+     * Stop creation
+     */
+    private SpreadsheetSelectionScanner() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -65,7 +65,11 @@ final class TreeMapSpreadsheetLabelStore implements SpreadsheetLabelStore {
         Objects.requireNonNull(mapping, "mapping");
 
         final SpreadsheetLabelName key = mapping.label();
-        if (false == mapping.equals(this.mappings.put(key, mapping))) {
+        final SpreadsheetLabelMapping previous = this.mappings.put(key, mapping);
+        if (null == previous) {
+            this.labelNameIndex.add(key);
+        }
+        if (false == mapping.equals(previous)) {
             this.saveWatchers.accept(mapping);
         }
 
@@ -84,6 +88,7 @@ final class TreeMapSpreadsheetLabelStore implements SpreadsheetLabelStore {
         Objects.requireNonNull(label, "label");
 
         if (null != this.mappings.remove(label)) {
+            this.labelNameIndex.remove(label);
             this.deleteWatchers.accept(label);
         }
     }
@@ -144,48 +149,38 @@ final class TreeMapSpreadsheetLabelStore implements SpreadsheetLabelStore {
         return results;
     }
 
+    /**
+     * Uses the {@link TreeMapSpreadsheetLabelStoreLabelNameIndex} to find an exact match followed by any labels that
+     * contain the text, without scanning every mapping.
+     */
     private Set<SpreadsheetLabelMapping> findSimilarNonEmpty(final String text,
                                                              final int count) {
-        Set<SpreadsheetLabelMapping> results;
-
-        do {
-            SpreadsheetLabelMapping mapping = null;
-            try {
-                mapping = this.mappings.get(SpreadsheetLabelName.labelName(text));
-                if (null != mapping && 1 == count) {
-                    results = Sets.of(mapping);
-                    break;
-                }
-            } catch (final Exception notExact) {
-                // ignore
-            }
+        final Set<SpreadsheetLabelMapping> results;
 
+        final Map<SpreadsheetLabelName, SpreadsheetLabelMapping> mappings = this.mappings;
+        final TreeMapSpreadsheetLabelStoreLabelNameIndex index = this.labelNameIndex;
+
+        final SpreadsheetLabelName exact = index.exact(text);
+        final SpreadsheetLabelMapping mapping = null != exact ?
+                mappings.get(exact) :
+                null;
+
+        if (null != mapping && 1 == count) {
+            results = Sets.of(mapping);
+        } else {
             results = Sets.ordered();
             if (null != mapping) {
                 results.add(mapping);
             }
 
-            this.mappings.values()
-                    .stream()
-                    .filter(l -> contains(text, l))
-                    .limit(count - (null != mapping ? 1 : 0))
-                    .forEach(results::add);
-        } while (false);
+            for (final SpreadsheetLabelName label : index.contains(text, count - (null != mapping ? 1 : 0))) {
+                results.add(mappings.get(label));
+            }
+        }
 
         return results;
     }
 
-    /**
-     * Predicate that returns true if the {@link SpreadsheetLabelMapping} contains the given text value.
-     * This assumes that a test has already been performed for exact matches.
-     */
-    private boolean contains(final String text,
-                             final SpreadsheetLabelMapping possible) {
-        final String value = possible.label()
-                .value();
-        return value.length() != text.length() && SpreadsheetLabelName.CASE_SENSITIVITY.contains(value, text);
-    }
-
     @Override
     public Set<? super ExpressionReference> loadCellReferencesOrRanges(final SpreadsheetLabelName label) {
         Objects.requireNonNull(label, "label");
@@ -208,6 +203,11 @@ final class TreeMapSpreadsheetLabelStore implements SpreadsheetLabelStore {
      */
     private final Map<SpreadsheetLabelName, SpreadsheetLabelMapping> mappings = Maps.sorted();
 
+    /**
+     * Index of all label names, used by {@link #findSimilar(String, int)}.
+     */
+    private final TreeMapSpreadsheetLabelStoreLabelNameIndex labelNameIndex = TreeMapSpreadsheetLabelStoreLabelNameIndex.empty();
+
     @Override
     public String toString() {
         return this.mappings.values().toString();
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.reference.store;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.collect.set.Sets;
+import walkingkooka.spreadsheet.reference.SpreadsheetLabelName;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A case-folded n-gram index over {@link SpreadsheetLabelName label names}, used by {@link TreeMapSpreadsheetLabelStore#findSimilar(String, int)}.
+ * Every label is indexed under all its grams of length 1 to {@link #GRAM_LENGTH}, a query then only verifies the labels
+ * belonging to its most selective gram, rather than every label in the store.
+ */
+final class TreeMapSpreadsheetLabelStoreLabelNameIndex {
+
+    /**
+     * The longest gram that is indexed.
+     */
+    final static int GRAM_LENGTH = 3;
+
+    static TreeMapSpreadsheetLabelStoreLabelNameIndex empty() {
+        return new TreeMapSpreadsheetLabelStoreLabelNameIndex();
+    }
+
+    private TreeMapSpreadsheetLabelStoreLabelNameIndex() {
+        super();
+    }
+
+    /**
+     * Adds the {@link SpreadsheetLabelName} to the index.
+     */
+    void add(final SpreadsheetLabelName label) {
+        final String folded = fold(label.value());
+        this.foldedToLabel.put(folded, label);
+
+        final Map<String, Set<SpreadsheetLabelName>> gramToLabels = this.gramToLabels;
+        final int length = folded.length();
+
+        for (int gramLength = 1; gramLength <= GRAM_LENGTH; gramLength++) {
+            for (int i = 0; i + gramLength <= length; i++) {
+                final String gram = folded.substring(i, i + gramLength);
+
+                Set<SpreadsheetLabelName> labels = gramToLabels.get(gram);
+                //noinspection Java8MapApi
+                if (null == labels) {
+                    labels = Sets.sorted();
+                    gramToLabels.put(gram, labels);
+                }
+                labels.add(label);
+            }
+        }
+    }
+
+    /**
+     * Removes the {@link SpreadsheetLabelName} from the index.
+     */
+    void remove(final SpreadsheetLabelName label) {
+        final String folded = fold(label.value());
+        this.foldedToLabel.remove(folded);
+
+        final Map<String, Set<SpreadsheetLabelName>> gramToLabels = this.gramToLabels;
+        final int length = folded.length();
+
+        for (int gramLength = 1; gramLength <= GRAM_LENGTH; gramLength++) {
+            for (int i = 0; i + gramLength <= length; i++) {
+                final String gram = folded.substring(i, i + gramLength);
+
+                final Set<SpreadsheetLabelName> labels = gramToLabels.get(gram);
+                if (null != labels) {
+                    labels.remove(label);
+
+                    if (labels.isEmpty()) {
+                        gramToLabels.remove(gram);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the {@link SpreadsheetLabelName} that matches the text ignoring case, or null if none match. Text that is
+     * not a valid label simply never matches.
+     */
+    SpreadsheetLabelName exact(final String text) {
+        return this.foldedToLabel.get(fold(text));
+    }
+
+    /**
+     * Returns up to count labels, in label order, that contain the text ignoring case but are not an exact match.
+     */
+    List<SpreadsheetLabelName> contains(final String text,
+                                        final int count) {
+        final List<SpreadsheetLabelName> results = Lists.array();
+
+        final String folded = fold(text);
+        final int length = folded.length();
+        final Set<SpreadsheetLabelName> candidates = this.candidates(folded);
+
+        if (null != candidates) {
+            for (final SpreadsheetLabelName label : candidates) {
+                if (results.size() >= count) {
+                    break;
+                }
+                final String value = fold(label.value());
+                if (value.length() != length && value.contains(folded)) {
+                    results.add(label);
+                }
+            }
+        }
+
+        return results;
+    }
+
+    /**
+     * Picks the smallest set of labels belonging to any gram of the folded text, or null if any gram is missing which
+     * means no label can contain the text.
+     */
+    private Set<SpreadsheetLabelName> candidates(final String folded) {
+        final Map<String, Set<SpreadsheetLabelName>> gramToLabels = this.gramToLabels;
+        final int length = folded.length();
+        final int gramLength = Math.min(GRAM_LENGTH, length);
+
+        Set<SpreadsheetLabelName> smallest = null;
+
+        for (int i = 0; i + gramLength <= length; i++) {
+            final Set<SpreadsheetLabelName> labels = gramToLabels.get(folded.substring(i, i + gramLength));
+            if (null == labels) {
+                smallest = null;
+                break;
+            }
+            if (null == smallest || labels.size() < smallest.size()) {
+                smallest = labels;
+            }
+        }
+
+        return smallest;
+    }
+
+    /**
+     * Label names are limited to ASCII letters, digits and underscore, which means folding only needs to lower case
+     * ASCII letters.
+     */
+    static String fold(final String text) {
+        final int length = text.length();
+
+        int i = 0;
+        while (i < length) {
+            final char c = text.charAt(i);
+            if (c >= 'A' && c <= 'Z') {
+                break;
+            }
+            i++;
+        }
+
+        final String folded;
+        if (i == length) {
+            folded = text;
+        } else {
+            final char[] chars = text.toCharArray();
+            while (i < length) {
+                final char c = chars[i];
+                if (c >= 'A' && c <= 'Z') {
+                    chars[i] = (char) (c - 'A' + 'a');
+                }
+                i++;
+            }
+            folded = new String(chars);
+        }
+
+        return folded;
+    }
+
+    /**
+     * Case folded label text to {@link SpreadsheetLabelName} used to find exact matches.
+     */
+    private final Map<String, SpreadsheetLabelName> foldedToLabel = Maps.hash();
+
+    /**
+     * Case folded grams to all the labels that contain that gram.
+     */
+    private final Map<String, Set<SpreadsheetLabelName>> gramToLabels = Maps.hash();
+
+    @Override
+    public String toString() {
+        return this.foldedToLabel.values().toString();
+    }
+}
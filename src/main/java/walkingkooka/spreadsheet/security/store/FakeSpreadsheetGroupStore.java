@@ -19,9 +19,11 @@ package walkingkooka.spreadsheet.security.store;
 
 import walkingkooka.spreadsheet.security.Group;
 import walkingkooka.spreadsheet.security.GroupId;
+import walkingkooka.spreadsheet.security.GroupName;
 import walkingkooka.spreadsheet.security.UserId;
 import walkingkooka.store.FakeStore;
 
+import java.util.Optional;
 import java.util.Set;
 
 public class FakeSpreadsheetGroupStore extends FakeStore<GroupId, Group> implements SpreadsheetGroupStore {
@@ -40,4 +42,9 @@ public class FakeSpreadsheetGroupStore extends FakeStore<GroupId, Group> impleme
     public Set<Group> loadUserGroups(final UserId userId) {
         throw new UnsupportedOperationException();
     }
+
+    @Override
+    public Optional<Group> loadWithName(final GroupName name) {
+        throw new UnsupportedOperationException();
+    }
 }
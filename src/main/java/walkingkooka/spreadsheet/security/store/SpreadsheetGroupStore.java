@@ -19,10 +19,12 @@ package walkingkooka.spreadsheet.security.store;
 
 import walkingkooka.spreadsheet.security.Group;
 import walkingkooka.spreadsheet.security.GroupId;
+import walkingkooka.spreadsheet.security.GroupName;
 import walkingkooka.spreadsheet.security.User;
 import walkingkooka.spreadsheet.security.UserId;
 import walkingkooka.store.Store;
 
+import java.util.Optional;
 import java.util.Set;
 
 /**
@@ -44,4 +46,9 @@ public interface SpreadsheetGroupStore extends Store<GroupId, Group> {
      * Loads all the groups for the provided {@link User}
      */
     Set<Group> loadUserGroups(final UserId userId);
+
+    /**
+     * Loads the group with the provided {@link GroupName}
+     */
+    Optional<Group> loadWithName(final GroupName name);
 }
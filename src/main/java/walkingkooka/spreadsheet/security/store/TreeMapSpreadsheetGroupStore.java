@@ -21,6 +21,7 @@ import walkingkooka.collect.map.Maps;
 import walkingkooka.collect.set.Sets;
 import walkingkooka.spreadsheet.security.Group;
 import walkingkooka.spreadsheet.security.GroupId;
+import walkingkooka.spreadsheet.security.GroupName;
 import walkingkooka.spreadsheet.security.UserId;
 import walkingkooka.store.Store;
 import walkingkooka.store.Stores;
@@ -45,6 +46,8 @@ final class TreeMapSpreadsheetGroupStore implements SpreadsheetGroupStore {
     private TreeMapSpreadsheetGroupStore() {
         super();
         this.store = Stores.treeMap(Comparator.naturalOrder(), TreeMapSpreadsheetGroupStore::groupSetId);
+        this.store.addSaveWatcher(this::onSave);
+        this.store.addDeleteWatcher(this::onDelete);
     }
 
     private static Group groupSetId(final GroupId id,
@@ -140,11 +143,70 @@ final class TreeMapSpreadsheetGroupStore implements SpreadsheetGroupStore {
         return groups;
     }
 
+    @Override
+    public Optional<Group> loadWithName(final GroupName name) {
+        Objects.requireNonNull(name, "name");
+
+        // several groups may share a name, the lowest id wins
+        final Set<GroupId> ids = this.nameToGroupIds.get(name);
+        return null != ids ?
+                this.store.load(ids.iterator().next()) :
+                Optional.empty();
+    }
+
+    /**
+     * Updates the name index, removing any previous name belonging to the saved {@link Group}.
+     */
+    private void onSave(final Group group) {
+        final GroupId id = group.id().get();
+        final GroupName name = group.name();
+
+        final GroupName previous = this.groupIdToName.put(id, name);
+        if (null != previous && !previous.equals(name)) {
+            this.removeName(previous, id);
+        }
+
+        Set<GroupId> ids = this.nameToGroupIds.get(name);
+        if (null == ids) {
+            ids = Sets.sorted();
+            this.nameToGroupIds.put(name, ids);
+        }
+        ids.add(id);
+    }
+
+    /**
+     * Removes the deleted {@link Group} from the name index.
+     */
+    private void onDelete(final GroupId id) {
+        final GroupName name = this.groupIdToName.remove(id);
+        if (null != name) {
+            this.removeName(name, id);
+        }
+    }
+
+    private void removeName(final GroupName name,
+                            final GroupId id) {
+        final Set<GroupId> ids = this.nameToGroupIds.get(name);
+        if (null != ids) {
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                this.nameToGroupIds.remove(name);
+            }
+        }
+    }
+
     // VisibleForTesting
     final Store<GroupId, Group> store;
 
     private final Map<GroupId, Set<UserId>> groupIdToUserIds = Maps.sorted();
 
+    /**
+     * Secondary index used by {@link #loadWithName(GroupName)}, maintained by save and delete watchers.
+     */
+    private final Map<GroupName, Set<GroupId>> nameToGroupIds = Maps.hash();
+
+    private final Map<GroupId, GroupName> groupIdToName = Maps.hash();
+
     @Override
     public String toString() {
         return this.store.toString();
@@ -17,6 +17,8 @@
 
 package walkingkooka.spreadsheet.security.store;
 
+import walkingkooka.collect.map.Maps;
+import walkingkooka.collect.set.Sets;
 import walkingkooka.net.email.EmailAddress;
 import walkingkooka.spreadsheet.security.User;
 import walkingkooka.spreadsheet.security.UserId;
@@ -25,6 +27,8 @@ import walkingkooka.store.Stores;
 
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.BiFunction;
@@ -43,6 +47,8 @@ final class TreeMapSpreadsheetUserStore implements SpreadsheetUserStore {
         super();
 
         this.store = Stores.treeMap(Comparator.naturalOrder(), TreeMapSpreadsheetUserStore::userIdSetter);
+        this.store.addSaveWatcher(this::onSave);
+        this.store.addDeleteWatcher(this::onDelete);
     }
 
     private static User userIdSetter(final UserId id,
@@ -94,14 +100,65 @@ final class TreeMapSpreadsheetUserStore implements SpreadsheetUserStore {
 
     @Override
     public Optional<User> loadWithEmail(final EmailAddress email) {
-        return this.store.values(UserId.with(0), Integer.MAX_VALUE)
-                .stream()
-                .filter(u -> email.equals(u.email()))
-                .findFirst();
+        Objects.requireNonNull(email, "email");
+
+        // several users may share an email, the lowest id wins
+        final Set<UserId> ids = this.emailToUserIds.get(email);
+        return null != ids ?
+                this.store.load(ids.iterator().next()) :
+                Optional.empty();
+    }
+
+    /**
+     * Updates the email index, removing any previous email belonging to the saved {@link User}.
+     */
+    private void onSave(final User user) {
+        final UserId id = user.id().get();
+        final EmailAddress email = user.email();
+
+        final EmailAddress previous = this.userIdToEmail.put(id, email);
+        if (null != previous && !previous.equals(email)) {
+            this.removeEmail(previous, id);
+        }
+
+        Set<UserId> ids = this.emailToUserIds.get(email);
+        if (null == ids) {
+            ids = Sets.sorted();
+            this.emailToUserIds.put(email, ids);
+        }
+        ids.add(id);
+    }
+
+    /**
+     * Removes the deleted {@link User} from the email index.
+     */
+    private void onDelete(final UserId id) {
+        final EmailAddress email = this.userIdToEmail.remove(id);
+        if (null != email) {
+            this.removeEmail(email, id);
+        }
+    }
+
+    private void removeEmail(final EmailAddress email,
+                             final UserId id) {
+        final Set<UserId> ids = this.emailToUserIds.get(email);
+        if (null != ids) {
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                this.emailToUserIds.remove(email);
+            }
+        }
     }
 
     final Store<UserId, User> store;
 
+    /**
+     * Secondary index used by {@link #loadWithEmail(EmailAddress)}, maintained by save and delete watchers.
+     */
+    private final Map<EmailAddress, Set<UserId>> emailToUserIds = Maps.hash();
+
+    private final Map<UserId, EmailAddress> userIdToEmail = Maps.hash();
+
     @Override
     public String toString() {
         return this.store.toString();
@@ -0,0 +1,605 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.store;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.collect.set.Sets;
+import walkingkooka.spreadsheet.SpreadsheetCell;
+import walkingkooka.spreadsheet.SpreadsheetCellInterner;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetColumnReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetRowReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
+import walkingkooka.store.Store;
+import walkingkooka.store.Watchers;
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.marshall.JsonNodeMarshallContext;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
+import walkingkooka.tree.text.Length;
+import walkingkooka.tree.text.PixelLength;
+import walkingkooka.tree.text.TextStylePropertyName;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+
+/**
+ * A {@link SpreadsheetCellStore} that appends every save and delete to a log file, keeping only an index of cell to
+ * file offset and a small cache of recently used cells in memory.
+ * <br>
+ * Each record is a header holding the length and CRC32 of the body, followed by the body which is an operation byte
+ * and the UTF-8 cell reference. Saves add a newline and the cell as JSON, deletes have nothing else.
+ * <br>
+ * Opening scans the log once rebuilding the index. A torn final record, left by a crash during an append, is
+ * truncated, while a corrupt record followed by more records fails with {@link LogSpreadsheetCellStoreException}
+ * rather than losing the records after it. When more than half the log is replaced or deleted records it is compacted
+ * into a new file which then atomically replaces the log.
+ * <br>
+ * Appends are written but not synced, so recovery covers a crash of the process but not of the operating system or
+ * machine, which may lose recent appends still in its buffers.
+ */
+final class LogSpreadsheetCellStore implements CloseableSpreadsheetCellStore {
+
+    /**
+     * The length and CRC32 of the body.
+     */
+    final static int HEADER_LENGTH = 4 + 4;
+
+    final static byte SAVE = 'S';
+
+    final static byte DELETE = 'D';
+
+    /**
+     * Compaction only happens after this many bytes in the log are replaced or deleted records.
+     */
+    final static long COMPACT_MIN_GARBAGE = 1024 * 1024;
+
+    /**
+     * Opens or creates the log at the given {@link Path}.
+     */
+    static LogSpreadsheetCellStore open(final Path path,
+                                        final int cacheSize,
+                                        final JsonNodeMarshallContext marshallContext,
+                                        final JsonNodeUnmarshallContext unmarshallContext) {
+        Objects.requireNonNull(path, "path");
+        if (cacheSize < 0) {
+            throw new IllegalArgumentException("Invalid cacheSize " + cacheSize + " < 0");
+        }
+        Objects.requireNonNull(marshallContext, "marshallContext");
+        Objects.requireNonNull(unmarshallContext, "unmarshallContext");
+
+        return new LogSpreadsheetCellStore(
+                path,
+                cacheSize,
+                marshallContext,
+                unmarshallContext
+        );
+    }
+
+    private LogSpreadsheetCellStore(final Path path,
+                                    final int cacheSize,
+                                    final JsonNodeMarshallContext marshallContext,
+                                    final JsonNodeUnmarshallContext unmarshallContext) {
+        super();
+        this.path = path;
+        this.cacheSize = cacheSize;
+        this.marshallContext = marshallContext;
+        this.unmarshallContext = unmarshallContext;
+
+        try {
+            Files.deleteIfExists(compactPath(path));
+            this.file = new RandomAccessFile(path.toFile(), "rw");
+            try {
+                this.replay();
+            } catch (final IOException | LogSpreadsheetCellStoreException cause) {
+                this.file.close();
+                throw cause;
+            }
+        } catch (final IOException cause) {
+            throw new LogSpreadsheetCellStoreException("Unable to open " + path + ", " + cause.getMessage(), cause);
+        }
+    }
+
+    // Store............................................................................................................
+
+    @Override
+    public Optional<SpreadsheetCell> load(final SpreadsheetCellReference id) {
+        Objects.requireNonNull(id, "id");
+
+        final SpreadsheetCellReference key = id.toRelative();
+
+        SpreadsheetCell cell = this.cache.get(key);
+        if (null == cell) {
+            final Long offset = this.offsets.get(key);
+            if (null != offset) {
+                cell = this.interner.intern(
+                        this.readCell(offset)
+                );
+                this.cache(key, cell);
+            }
+        }
+
+        return Optional.ofNullable(cell);
+    }
+
+    @Override
+    public SpreadsheetCell save(final SpreadsheetCell cell) {
+        Objects.requireNonNull(cell, "cell");
+
+        final SpreadsheetCell interned = this.interner.intern(cell);
+        final SpreadsheetCellReference key = cell.reference()
+                .toRelative();
+        final byte[] body = body(
+                SAVE,
+                key,
+                this.marshallContext.marshall(cell)
+                        .toString()
+        );
+
+        final long offset = this.append(body);
+        this.replaced(key);
+        this.offsets.put(key, offset);
+        this.live += HEADER_LENGTH + body.length;
+        this.cache(key, interned);
+
+        this.saveWatchers.accept(interned);
+        this.compactIfNecessary();
+        return interned;
+    }
+
+    @Override
+    public Runnable addSaveWatcher(final Consumer<SpreadsheetCell> saved) {
+        return this.saveWatchers.addWatcher(saved);
+    }
+
+    private final Watchers<SpreadsheetCell> saveWatchers = Watchers.create();
+
+    @Override
+    public void delete(final SpreadsheetCellReference id) {
+        Objects.requireNonNull(id, "id");
+
+        final SpreadsheetCellReference key = id.toRelative();
+        if (this.offsets.containsKey(key)) {
+            this.append(
+                    body(DELETE, key, null)
+            );
+            this.replaced(key);
+            this.offsets.remove(key);
+            this.cache.remove(key);
+
+            this.deleteWatchers.accept(id);
+            this.compactIfNecessary();
+        }
+    }
+
+    @Override
+    public Runnable addDeleteWatcher(final Consumer<SpreadsheetCellReference> deleted) {
+        return this.deleteWatchers.addWatcher(deleted);
+    }
+
+    private final Watchers<SpreadsheetCellReference> deleteWatchers = Watchers.create();
+
+    @Override
+    public int count() {
+        return this.offsets.size();
+    }
+
+    @Override
+    public Set<SpreadsheetCellReference> ids(final int from,
+                                             final int count) {
+        Store.checkFromAndTo(from, count);
+
+        return this.offsets.keySet()
+                .stream()
+                .skip(from)
+                .limit(count)
+                .collect(Collectors.toCollection(Sets::ordered));
+    }
+
+    @Override
+    public List<SpreadsheetCell> values(final SpreadsheetCellReference from,
+                                        final int count) {
+        Store.checkFromAndToIds(from, count);
+
+        return this.offsets.keySet()
+                .stream()
+                .filter(k -> k.compareTo(from) >= 0)
+                .limit(count)
+                .map(this::loadOrFail)
+                .collect(Collectors.toCollection(Lists::array));
+    }
+
+    // SpreadsheetCellStore.............................................................................................
+
+    @Override
+    public int rows() {
+        return this.offsets.keySet()
+                .stream()
+                .mapToInt(k -> k.row().value())
+                .max()
+                .orElse(0);
+    }
+
+    @Override
+    public int columns() {
+        return this.offsets.keySet()
+                .stream()
+                .mapToInt(k -> k.column().value())
+                .max()
+                .orElse(0);
+    }
+
+    @Override
+    public Set<SpreadsheetCell> row(final SpreadsheetRowReference row) {
+        Objects.requireNonNull(row, "row");
+
+        return this.filter(k -> row.compareTo(k.row()) == 0);
+    }
+
+    @Override
+    public Set<SpreadsheetCell> column(final SpreadsheetColumnReference column) {
+        Objects.requireNonNull(column, "column");
+
+        return this.filter(k -> column.compareTo(k.column()) == 0);
+    }
+
+    /**
+     * Only the cells with matching keys are loaded.
+     */
+    private Set<SpreadsheetCell> filter(final Predicate<SpreadsheetCellReference> filter) {
+        return this.offsets.keySet()
+                .stream()
+                .filter(filter)
+                .map(this::loadOrFail)
+                .collect(Collectors.toCollection(Sets::sorted));
+    }
+
+    @Override
+    public double maxColumnWidth(final SpreadsheetColumnReference column) {
+        Objects.requireNonNull(column, "column");
+
+        return this.max(
+                k -> k.column().equalsIgnoreReferenceKind(column),
+                TextStylePropertyName.WIDTH
+        );
+    }
+
+    @Override
+    public double maxRowHeight(final SpreadsheetRowReference row) {
+        Objects.requireNonNull(row, "row");
+
+        return this.max(
+                k -> k.row().equalsIgnoreReferenceKind(row),
+                TextStylePropertyName.HEIGHT
+        );
+    }
+
+    private double max(final Predicate<SpreadsheetCellReference> filter,
+                       final TextStylePropertyName<Length<?>> property) {
+        return this.filter(filter)
+                .stream()
+                .mapToDouble(c -> {
+                    double pixels = 0;
+
+                    final Optional<Length<?>> length = c.style()
+                            .get(property);
+                    if (length.isPresent()) {
+                        final PixelLength pixelLength = (PixelLength) length.get();
+                        pixels = pixelLength.value();
+                    }
+
+                    return pixels;
+                })
+                .max()
+                .orElse(0.0);
+    }
+
+    // cache............................................................................................................
+
+    private void cache(final SpreadsheetCellReference key,
+                       final SpreadsheetCell cell) {
+        final Map<SpreadsheetCellReference, SpreadsheetCell> cache = this.cache;
+        cache.put(key, cell);
+
+        if (cache.size() > this.cacheSize) {
+            final Iterator<SpreadsheetCellReference> eldest = cache.keySet()
+                    .iterator();
+            eldest.next();
+            eldest.remove();
+        }
+    }
+
+    private final int cacheSize;
+
+    /**
+     * Recently loaded or saved cells in least recently used order.
+     */
+    private final Map<SpreadsheetCellReference, SpreadsheetCell> cache = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Shares styles and patterns between cached cells.
+     */
+    private final SpreadsheetCellInterner interner = SpreadsheetCellInterner.empty();
+
+    // log..............................................................................................................
+
+    /**
+     * Scans every record rebuilding the index, truncating a torn final record.
+     */
+    private void replay() throws IOException {
+        final RandomAccessFile file = this.file;
+        final long length = file.length();
+
+        long offset = 0;
+        while (offset < length) {
+            final byte[] body = this.readBody(offset, length);
+            if (null == body) {
+                file.setLength(offset);
+                break;
+            }
+
+            final SpreadsheetCellReference key = reference(body);
+            this.replaced(key);
+
+            if (SAVE == body[0]) {
+                this.offsets.put(key, offset);
+                this.live += HEADER_LENGTH + body.length;
+            } else {
+                this.offsets.remove(key);
+            }
+
+            offset += HEADER_LENGTH + body.length;
+        }
+    }
+
+    /**
+     * Reads the body of the record at the given offset, returning null if it is the torn final record of the log,
+     * either short or failing its CRC. A corrupt record followed by more data fails.
+     */
+    private byte[] readBody(final long offset,
+                            final long length) throws IOException {
+        byte[] body = null;
+
+        if (offset + HEADER_LENGTH <= length) {
+            final RandomAccessFile file = this.file;
+            file.seek(offset);
+            final int bodyLength = file.readInt();
+            final int crc = file.readInt();
+            final long end = offset + HEADER_LENGTH + bodyLength;
+
+            if (bodyLength > 0 && end <= length) {
+                body = new byte[bodyLength];
+                file.readFully(body);
+
+                if ((SAVE != body[0] && DELETE != body[0]) || crc != crc(body)) {
+                    body = null;
+                }
+            }
+
+            if (null == body && end < length) {
+                throw new LogSpreadsheetCellStoreException("Corrupt record at " + offset + " in " + this.path);
+            }
+        }
+
+        return body;
+    }
+
+    private SpreadsheetCell readCell(final long offset) {
+        try {
+            final byte[] body = this.readBody(offset, this.file.length());
+            if (null == body || SAVE != body[0]) {
+                throw new LogSpreadsheetCellStoreException("Corrupt record at " + offset + " in " + this.path);
+            }
+
+            final String text = new String(body, 1, body.length - 1, StandardCharsets.UTF_8);
+            return this.unmarshallContext.unmarshall(
+                    JsonNode.parse(
+                            text.substring(text.indexOf('\n') + 1)
+                    ),
+                    SpreadsheetCell.class
+            );
+        } catch (final IOException cause) {
+            throw new LogSpreadsheetCellStoreException("Unable to read " + this.path + ", " + cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * Appends a record with the given body to the end of the log, returning its offset.
+     */
+    private long append(final byte[] body) {
+        try {
+            final RandomAccessFile file = this.file;
+            final long offset = file.length();
+
+            file.seek(offset);
+            file.write(
+                    ByteBuffer.allocate(HEADER_LENGTH + body.length)
+                            .putInt(body.length)
+                            .putInt(crc(body))
+                            .put(body)
+                            .array()
+            );
+            return offset;
+        } catch (final IOException cause) {
+            throw new LogSpreadsheetCellStoreException("Unable to write " + this.path + ", " + cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * Removes the previous record of the given key from the live bytes.
+     */
+    private void replaced(final SpreadsheetCellReference key) {
+        final Long previous = this.offsets.get(key);
+        if (null != previous) {
+            try {
+                final RandomAccessFile file = this.file;
+                file.seek(previous);
+                this.live -= HEADER_LENGTH + file.readInt();
+            } catch (final IOException cause) {
+                throw new LogSpreadsheetCellStoreException("Unable to read " + this.path + ", " + cause.getMessage(), cause);
+            }
+        }
+    }
+
+    private static byte[] body(final byte operation,
+                               final SpreadsheetCellReference reference,
+                               final String json) {
+        final String text = null != json ?
+                reference + "\n" + json :
+                reference.toString();
+        final byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+
+        final byte[] body = new byte[1 + utf8.length];
+        body[0] = operation;
+        System.arraycopy(utf8, 0, body, 1, utf8.length);
+        return body;
+    }
+
+    private static SpreadsheetCellReference reference(final byte[] body) {
+        int end = 1;
+        while (end < body.length && '\n' != body[end]) {
+            end++;
+        }
+
+        return SpreadsheetSelection.parseCell(
+                new String(body, 1, end - 1, StandardCharsets.UTF_8)
+        );
+    }
+
+    private static int crc(final byte[] body) {
+        final CRC32 crc = new CRC32();
+        crc.update(body, 0, body.length);
+        return (int) crc.getValue();
+    }
+
+    // compact..........................................................................................................
+
+    private void compactIfNecessary() {
+        try {
+            final long garbage = this.file.length() - this.live;
+            if (garbage >= COMPACT_MIN_GARBAGE && garbage > this.live) {
+                this.compact();
+            }
+        } catch (final IOException cause) {
+            throw new LogSpreadsheetCellStoreException("Unable to compact " + this.path + ", " + cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * Copies the current record of every cell into a new file which then replaces the log. A crash before the move
+     * leaves the original log untouched, and the partial copy is deleted when the log is next opened.
+     */
+    // VisibleForTesting
+    void compact() throws IOException {
+        final Path path = this.path;
+        final Path compactPath = compactPath(path);
+        final Map<SpreadsheetCellReference, Long> offsets = this.offsets;
+        final Map<SpreadsheetCellReference, Long> compacted = Maps.sorted();
+
+        final RandomAccessFile file = this.file;
+        final long length = file.length();
+
+        try (final RandomAccessFile compact = new RandomAccessFile(compactPath.toFile(), "rw")) {
+            compact.setLength(0);
+
+            for (final Map.Entry<SpreadsheetCellReference, Long> keyAndOffset : offsets.entrySet()) {
+                final long offset = keyAndOffset.getValue();
+                final byte[] body = this.readBody(offset, length);
+                if (null == body) {
+                    throw new LogSpreadsheetCellStoreException("Corrupt record at " + offset + " in " + path);
+                }
+
+                compacted.put(keyAndOffset.getKey(), compact.getFilePointer());
+                compact.writeInt(body.length);
+                compact.writeInt(crc(body));
+                compact.write(body);
+            }
+
+            compact.getFD().sync();
+        }
+
+        file.close();
+        Files.move(
+                compactPath,
+                path,
+                StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE
+        );
+        this.file = new RandomAccessFile(path.toFile(), "rw");
+
+        offsets.clear();
+        offsets.putAll(compacted);
+    }
+
+    private static Path compactPath(final Path path) {
+        return path.resolveSibling(path.getFileName() + ".compact");
+    }
+
+    /**
+     * The total length of the current record of every cell, everything else in the log is garbage.
+     */
+    private long live;
+
+    /**
+     * Every cell in the store and the offset of its current record.
+     */
+    private final Map<SpreadsheetCellReference, Long> offsets = Maps.sorted();
+
+    private final Path path;
+
+    private RandomAccessFile file;
+
+    private final JsonNodeMarshallContext marshallContext;
+
+    private final JsonNodeUnmarshallContext unmarshallContext;
+
+    // CloseableSpreadsheetCellStore...................................................................................
+
+    /**
+     * Closes the log file, after which any use of this store fails.
+     */
+    @Override
+    public void close() {
+        try {
+            this.file.close();
+        } catch (final IOException cause) {
+            throw new LogSpreadsheetCellStoreException("Unable to close " + this.path + ", " + cause.getMessage(), cause);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return this.path + " " + this.offsets.keySet();
+    }
+}
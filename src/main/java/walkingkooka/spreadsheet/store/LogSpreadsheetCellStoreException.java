@@ -0,0 +1,40 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.store;
+
+import walkingkooka.spreadsheet.SpreadsheetException;
+
+/**
+ * Reports a failure reading or writing the log of a {@link LogSpreadsheetCellStore}.
+ */
+public class LogSpreadsheetCellStoreException extends SpreadsheetException {
+
+    private static final long serialVersionUID = 1L;
+
+    protected LogSpreadsheetCellStoreException() {
+        super();
+    }
+
+    public LogSpreadsheetCellStoreException(final String message) {
+        super(message);
+    }
+
+    public LogSpreadsheetCellStoreException(final String message, final Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.store;
+
+import walkingkooka.reflect.PublicStaticHelper;
+import walkingkooka.tree.json.marshall.JsonNodeMarshallContext;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
+
+import java.nio.file.Path;
+
+/**
+ * Factory methods for file backed {@link SpreadsheetCellStore}, kept apart from {@link SpreadsheetCellStores} because
+ * they are not translated to javascript.
+ */
+public final class LogSpreadsheetCellStores implements PublicStaticHelper {
+
+    /**
+     * {@see LogSpreadsheetCellStore}
+     */
+    public static CloseableSpreadsheetCellStore file(final Path path,
+                                            final int cacheSize,
+                                            final JsonNodeMarshallContext marshallContext,
+                                            final JsonNodeUnmarshallContext unmarshallContext) {
+        return LogSpreadsheetCellStore.open(
+                path,
+                cacheSize,
+                marshallContext,
+                unmarshallContext
+        );
+    }
+
+    /**
+     * Stop creation
+     */
+    private LogSpreadsheetCellStores() {
+        throw new UnsupportedOperationException();
+    }
+}
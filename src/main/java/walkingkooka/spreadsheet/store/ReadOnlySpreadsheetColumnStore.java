@@ -0,0 +1,103 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.store;
+
+import walkingkooka.spreadsheet.SpreadsheetColumn;
+import walkingkooka.spreadsheet.reference.SpreadsheetColumnReference;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Wraps another {@link SpreadsheetColumnStore} and presents a readonly view.
+ */
+final class ReadOnlySpreadsheetColumnStore implements SpreadsheetColumnStore {
+
+    static ReadOnlySpreadsheetColumnStore with(final SpreadsheetColumnStore store) {
+        Objects.requireNonNull(store, "store");
+        return new ReadOnlySpreadsheetColumnStore(store);
+    }
+
+    private ReadOnlySpreadsheetColumnStore(final SpreadsheetColumnStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public Optional<SpreadsheetColumn> load(final SpreadsheetColumnReference id) {
+        return this.store.load(id);
+    }
+
+    @Override
+    public SpreadsheetColumn save(final SpreadsheetColumn column) {
+        Objects.requireNonNull(column, "column");
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Runnable addSaveWatcher(final Consumer<SpreadsheetColumn> saved) {
+        Objects.requireNonNull(saved, "saved");
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void delete(final SpreadsheetColumnReference id) {
+        Objects.requireNonNull(id, "id");
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Runnable addDeleteWatcher(final Consumer<SpreadsheetColumnReference> deleted) {
+        Objects.requireNonNull(deleted, "deleted");
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public int count() {
+        return this.store.count();
+    }
+
+    @Override
+    public Set<SpreadsheetColumnReference> ids(final int from, final int count) {
+        return this.store.ids(from, count);
+    }
+
+    @Override
+    public List<SpreadsheetColumn> values(final SpreadsheetColumnReference from, final int count) {
+        return this.store.values(from, count);
+    }
+
+    @Override
+    public Optional<SpreadsheetColumnReference> leftSkipHidden(final SpreadsheetColumnReference reference) {
+        return this.store.leftSkipHidden(reference);
+    }
+
+    @Override
+    public Optional<SpreadsheetColumnReference> rightSkipHidden(final SpreadsheetColumnReference reference) {
+        return this.store.rightSkipHidden(reference);
+    }
+
+    private final SpreadsheetColumnStore store;
+
+    @Override
+    public String toString() {
+        return this.store.toString();
+    }
+}
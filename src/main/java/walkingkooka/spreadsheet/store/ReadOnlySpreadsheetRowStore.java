@@ -0,0 +1,103 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.store;
+
+import walkingkooka.spreadsheet.SpreadsheetRow;
+import walkingkooka.spreadsheet.reference.SpreadsheetRowReference;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Wraps another {@link SpreadsheetRowStore} and presents a readonly view.
+ */
+final class ReadOnlySpreadsheetRowStore implements SpreadsheetRowStore {
+
+    static ReadOnlySpreadsheetRowStore with(final SpreadsheetRowStore store) {
+        Objects.requireNonNull(store, "store");
+        return new ReadOnlySpreadsheetRowStore(store);
+    }
+
+    private ReadOnlySpreadsheetRowStore(final SpreadsheetRowStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public Optional<SpreadsheetRow> load(final SpreadsheetRowReference id) {
+        return this.store.load(id);
+    }
+
+    @Override
+    public SpreadsheetRow save(final SpreadsheetRow row) {
+        Objects.requireNonNull(row, "row");
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Runnable addSaveWatcher(final Consumer<SpreadsheetRow> saved) {
+        Objects.requireNonNull(saved, "saved");
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void delete(final SpreadsheetRowReference id) {
+        Objects.requireNonNull(id, "id");
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Runnable addDeleteWatcher(final Consumer<SpreadsheetRowReference> deleted) {
+        Objects.requireNonNull(deleted, "deleted");
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public int count() {
+        return this.store.count();
+    }
+
+    @Override
+    public Set<SpreadsheetRowReference> ids(final int from, final int count) {
+        return this.store.ids(from, count);
+    }
+
+    @Override
+    public List<SpreadsheetRow> values(final SpreadsheetRowReference from, final int count) {
+        return this.store.values(from, count);
+    }
+
+    @Override
+    public Optional<SpreadsheetRowReference> upSkipHidden(final SpreadsheetRowReference reference) {
+        return this.store.upSkipHidden(reference);
+    }
+
+    @Override
+    public Optional<SpreadsheetRowReference> downSkipHidden(final SpreadsheetRowReference reference) {
+        return this.store.downSkipHidden(reference);
+    }
+
+    private final SpreadsheetRowStore store;
+
+    @Override
+    public String toString() {
+        return this.store.toString();
+    }
+}
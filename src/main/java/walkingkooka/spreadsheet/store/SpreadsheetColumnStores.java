@@ -33,6 +33,13 @@ public final class SpreadsheetColumnStores implements PublicStaticHelper {
         return new FakeSpreadsheetColumnStore();
     }
 
+    /**
+     * {@see ReadOnlySpreadsheetColumnStore}
+     */
+    public static SpreadsheetColumnStore readOnly(final SpreadsheetColumnStore store) {
+        return ReadOnlySpreadsheetColumnStore.with(store);
+    }
+
     /**
      * {@see TreeMapSpreadsheetColumnStore}
      */
@@ -23,6 +23,7 @@ import walkingkooka.spreadsheet.SpreadsheetCell;
 import walkingkooka.spreadsheet.SpreadsheetErrorKind;
 import walkingkooka.spreadsheet.SpreadsheetFormula;
 import walkingkooka.spreadsheet.meta.SpreadsheetMetadata;
+import walkingkooka.spreadsheet.meta.SpreadsheetMetadataPropertyName;
 import walkingkooka.spreadsheet.parser.SpreadsheetParserToken;
 import walkingkooka.spreadsheet.reference.SpreadsheetCellReference;
 import walkingkooka.spreadsheet.reference.SpreadsheetColumnReference;
@@ -69,18 +70,49 @@ final class SpreadsheetFormulaSpreadsheetMetadataAwareSpreadsheetCellStore imple
     }
 
     /**
-     * If the {@link SpreadsheetFormulaSpreadsheetMetadataAwareSpreadsheetCellStore} has a different {@link SpreadsheetMetadata}
-     * create with the wrapped store and new metadata.
+     * If the {@link SpreadsheetFormulaSpreadsheetMetadataAwareSpreadsheetCellStore} has a {@link SpreadsheetMetadata}
+     * with different {@link #REQUIRED} properties create with the wrapped store and new metadata. Other properties
+     * such as the modified-by or modified-date-time do not affect parsing or formula text and are ignored.
      */
     private static SpreadsheetFormulaSpreadsheetMetadataAwareSpreadsheetCellStore setMetadata(
             final SpreadsheetFormulaSpreadsheetMetadataAwareSpreadsheetCellStore store,
             final SpreadsheetMetadata metadata,
             final Supplier<LocalDateTime> now) {
-        return metadata.equals(store.metadata) ?
+        final SpreadsheetMetadata previous = store.metadata;
+
+        return metadata.equals(previous) ||
+                REQUIRED.stream()
+                        .allMatch(p -> metadata.get(p).equals(previous.get(p))) ?
                 store :
                 new SpreadsheetFormulaSpreadsheetMetadataAwareSpreadsheetCellStore(store.store, metadata, now);
     }
 
+    /**
+     * All the {@link SpreadsheetMetadataPropertyName properties} used to parse formulas, build expressions or update
+     * formula text.
+     */
+    // @VisibleForTesting
+    static final List<SpreadsheetMetadataPropertyName<?>> REQUIRED = Lists.of(
+            SpreadsheetMetadataPropertyName.CURRENCY_SYMBOL,
+            SpreadsheetMetadataPropertyName.DATE_PARSE_PATTERN,
+            SpreadsheetMetadataPropertyName.DATETIME_PARSE_PATTERN,
+            SpreadsheetMetadataPropertyName.DECIMAL_SEPARATOR,
+            SpreadsheetMetadataPropertyName.DEFAULT_YEAR,
+            SpreadsheetMetadataPropertyName.EXPONENT_SYMBOL,
+            SpreadsheetMetadataPropertyName.EXPRESSION_NUMBER_KIND,
+            SpreadsheetMetadataPropertyName.GROUPING_SEPARATOR,
+            SpreadsheetMetadataPropertyName.LOCALE,
+            SpreadsheetMetadataPropertyName.NEGATIVE_SIGN,
+            SpreadsheetMetadataPropertyName.NUMBER_PARSE_PATTERN,
+            SpreadsheetMetadataPropertyName.PERCENTAGE_SYMBOL,
+            SpreadsheetMetadataPropertyName.POSITIVE_SIGN,
+            SpreadsheetMetadataPropertyName.PRECISION,
+            SpreadsheetMetadataPropertyName.ROUNDING_MODE,
+            SpreadsheetMetadataPropertyName.TIME_PARSE_PATTERN,
+            SpreadsheetMetadataPropertyName.TWO_DIGIT_YEAR,
+            SpreadsheetMetadataPropertyName.VALUE_SEPARATOR
+    );
+
     private SpreadsheetFormulaSpreadsheetMetadataAwareSpreadsheetCellStore(final SpreadsheetCellStore store,
                                                                            final SpreadsheetMetadata metadata,
                                                                            final Supplier<LocalDateTime> now) {
@@ -34,6 +34,13 @@ public final class SpreadsheetRowStores implements PublicStaticHelper {
         return new FakeSpreadsheetRowStore();
     }
 
+    /**
+     * {@see ReadOnlySpreadsheetRowStore}
+     */
+    public static SpreadsheetRowStore readOnly(final SpreadsheetRowStore store) {
+        return ReadOnlySpreadsheetRowStore.with(store);
+    }
+
     /**
      * {@see TreeMapSpreadsheetRowStore}
      */
@@ -19,6 +19,7 @@ package walkingkooka.spreadsheet.store;
 
 import walkingkooka.collect.set.Sets;
 import walkingkooka.spreadsheet.SpreadsheetCell;
+import walkingkooka.spreadsheet.SpreadsheetCellInterner;
 import walkingkooka.spreadsheet.reference.SpreadsheetCellReference;
 import walkingkooka.spreadsheet.reference.SpreadsheetColumnReference;
 import walkingkooka.spreadsheet.reference.SpreadsheetRowReference;
@@ -70,9 +71,18 @@ final class TreeMapSpreadsheetCellStore implements SpreadsheetCellStore {
 
     @Override
     public SpreadsheetCell save(final SpreadsheetCell spreadsheetCell) {
-        return this.store.save(spreadsheetCell);
+        Objects.requireNonNull(spreadsheetCell, "spreadsheetCell");
+
+        return this.store.save(
+                this.interner.intern(spreadsheetCell)
+        );
     }
 
+    /**
+     * Shares styles and patterns between saved cells.
+     */
+    private final SpreadsheetCellInterner interner = SpreadsheetCellInterner.empty();
+
     @Override
     public Runnable addSaveWatcher(final Consumer<SpreadsheetCell> saved) {
         return this.store.addSaveWatcher(saved);
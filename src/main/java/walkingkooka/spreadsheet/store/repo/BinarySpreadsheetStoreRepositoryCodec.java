@@ -0,0 +1,134 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.store.repo;
+
+import walkingkooka.tree.json.marshall.JsonNodeMarshallContext;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Objects;
+
+/**
+ * A {@link SpreadsheetStoreRepositoryCodec} that writes a compact versioned binary snapshot.
+ * <ul>
+ * <li>Starts with {@link #MAGIC} and {@link #VERSION}, followed by sections each with a tag and entry count, ending with {@link #END}</li>
+ * <li>References are varints of their value shifted left one bit, the low bit set for absolute references</li>
+ * <li>Every string is written once and afterwards referred to by its index in a dictionary shared by the whole snapshot,
+ * this includes formula text, labels and the JSON of styles, patterns, formatted text and metadata</li>
+ * <li>Cell values begin with a tag, numbers, strings, booleans, dates, times and errors have their own tags, any other
+ * value is written as JSON with its type</li>
+ * </ul>
+ * The token and expression of formulas are not written, as their JSON differs for nearly every cell and would make a
+ * snapshot almost as large as the JSON of its cells. The engine parses the text of a restored formula again on its
+ * first load, keeping its value and formatted text when the text is unchanged, so pure formulas are not evaluated
+ * again. Groups, users and conditional formatting rules, which hold functions, are not included. Version 1 snapshots
+ * and version 2 snapshots holding a token or expression may still be restored.
+ */
+final class BinarySpreadsheetStoreRepositoryCodec implements SpreadsheetStoreRepositoryCodec {
+
+    static BinarySpreadsheetStoreRepositoryCodec with(final JsonNodeMarshallContext marshallContext,
+                                                     final JsonNodeUnmarshallContext unmarshallContext) {
+        Objects.requireNonNull(marshallContext, "marshallContext");
+        Objects.requireNonNull(unmarshallContext, "unmarshallContext");
+
+        return new BinarySpreadsheetStoreRepositoryCodec(
+                marshallContext,
+                unmarshallContext
+        );
+    }
+
+    private BinarySpreadsheetStoreRepositoryCodec(final JsonNodeMarshallContext marshallContext,
+                                                 final JsonNodeUnmarshallContext unmarshallContext) {
+        super();
+        this.marshallContext = marshallContext;
+        this.unmarshallContext = unmarshallContext;
+    }
+
+    @Override
+    public void snapshot(final SpreadsheetStoreRepository repository,
+                         final OutputStream output) throws IOException {
+        Objects.requireNonNull(repository, "repository");
+        Objects.requireNonNull(output, "output");
+
+        BinarySpreadsheetStoreRepositoryCodecWriter.with(
+                output,
+                this.marshallContext
+        ).write(repository);
+    }
+
+    private final JsonNodeMarshallContext marshallContext;
+
+    @Override
+    public void restore(final InputStream input,
+                        final SpreadsheetStoreRepository repository) throws IOException {
+        Objects.requireNonNull(input, "input");
+        Objects.requireNonNull(repository, "repository");
+
+        BinarySpreadsheetStoreRepositoryCodecReader.with(
+                input,
+                this.unmarshallContext
+        ).read(repository);
+    }
+
+    private final JsonNodeUnmarshallContext unmarshallContext;
+
+    // format...........................................................................................................
+
+    final static byte[] MAGIC = new byte[]{'W', 'K', 'S', 'S'};
+
+    final static int VERSION = 2;
+
+    final static int END = 0;
+    final static int METADATAS = 1;
+    final static int COLUMNS = 2;
+    final static int ROWS = 3;
+    final static int LABELS = 4;
+    final static int CELLS = 5;
+    final static int CELL_REFERENCES = 6;
+    final static int LABEL_REFERENCES = 7;
+    final static int RANGE_TO_CELLS = 8;
+
+    final static int CELL_VALUE = 1;
+    final static int CELL_STYLE = 2;
+    final static int CELL_PARSE_PATTERN = 4;
+    final static int CELL_FORMAT_PATTERN = 8;
+    final static int CELL_FORMATTED = 16;
+    // only read, earlier version 2 snapshots wrote the token and expression
+    final static int CELL_TOKEN = 32;
+    final static int CELL_EXPRESSION = 64;
+
+    final static int NULL = 0;
+    final static int NUMBER_INTEGER = 1;
+    final static int NUMBER_DOUBLE = 2;
+    final static int NUMBER_DECIMAL = 3;
+    final static int STRING = 4;
+    final static int TRUE = 5;
+    final static int FALSE = 6;
+    final static int LOCAL_DATE = 7;
+    final static int LOCAL_DATE_TIME = 8;
+    final static int LOCAL_TIME = 9;
+    final static int ERROR = 10;
+    final static int JSON = 11;
+
+    @Override
+    public String toString() {
+        return "binary v" + VERSION;
+    }
+}
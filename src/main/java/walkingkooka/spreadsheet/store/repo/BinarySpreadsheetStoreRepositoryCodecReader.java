@@ -0,0 +1,505 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.store.repo;
+
+import walkingkooka.Cast;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.set.Sets;
+import walkingkooka.spreadsheet.SpreadsheetCell;
+import walkingkooka.spreadsheet.SpreadsheetError;
+import walkingkooka.spreadsheet.SpreadsheetErrorKind;
+import walkingkooka.spreadsheet.SpreadsheetFormula;
+import walkingkooka.spreadsheet.format.pattern.SpreadsheetFormatPattern;
+import walkingkooka.spreadsheet.format.pattern.SpreadsheetParsePattern;
+import walkingkooka.spreadsheet.meta.SpreadsheetMetadata;
+import walkingkooka.spreadsheet.parser.SpreadsheetParserToken;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellRange;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetColumnReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetLabelMapping;
+import walkingkooka.spreadsheet.reference.SpreadsheetLabelName;
+import walkingkooka.spreadsheet.reference.SpreadsheetReferenceKind;
+import walkingkooka.spreadsheet.reference.SpreadsheetRowReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
+import walkingkooka.spreadsheet.reference.store.SpreadsheetCellRangeStore;
+import walkingkooka.tree.expression.Expression;
+import walkingkooka.tree.expression.ExpressionNumberKind;
+import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
+import walkingkooka.tree.text.TextNode;
+import walkingkooka.tree.text.TextStyle;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Reads a single snapshot written by {@link BinarySpreadsheetStoreRepositoryCodecWriter}, saving everything into a
+ * {@link SpreadsheetStoreRepository}. Styles, patterns and other JSON are unmarshalled once for each dictionary entry,
+ * which means cells that shared a style share the same restored {@link TextStyle}.
+ */
+final class BinarySpreadsheetStoreRepositoryCodecReader {
+
+    static BinarySpreadsheetStoreRepositoryCodecReader with(final InputStream input,
+                                                           final JsonNodeUnmarshallContext context) {
+        return new BinarySpreadsheetStoreRepositoryCodecReader(
+                input,
+                context
+        );
+    }
+
+    private BinarySpreadsheetStoreRepositoryCodecReader(final InputStream input,
+                                                       final JsonNodeUnmarshallContext context) {
+        super();
+        this.input = input;
+        this.context = context;
+    }
+
+    void read(final SpreadsheetStoreRepository repository) throws IOException {
+        for (final byte b : BinarySpreadsheetStoreRepositoryCodec.MAGIC) {
+            if (b != this.read()) {
+                throw new IOException("Not a spreadsheet snapshot");
+            }
+        }
+
+        final long version = this.varint();
+        if (version < 1 || version > BinarySpreadsheetStoreRepositoryCodec.VERSION) {
+            throw new IOException("Unsupported snapshot version " + version);
+        }
+
+        for (; ; ) {
+            final int section = this.read();
+            if (BinarySpreadsheetStoreRepositoryCodec.END == section) {
+                break;
+            }
+
+            final int count = this.count();
+
+            switch (section) {
+                case BinarySpreadsheetStoreRepositoryCodec.METADATAS:
+                    this.metadatas(count, repository);
+                    break;
+                case BinarySpreadsheetStoreRepositoryCodec.COLUMNS:
+                    this.columns(count, repository);
+                    break;
+                case BinarySpreadsheetStoreRepositoryCodec.ROWS:
+                    this.rows(count, repository);
+                    break;
+                case BinarySpreadsheetStoreRepositoryCodec.LABELS:
+                    this.labels(count, repository);
+                    break;
+                case BinarySpreadsheetStoreRepositoryCodec.CELLS:
+                    this.cells(count, repository);
+                    break;
+                case BinarySpreadsheetStoreRepositoryCodec.CELL_REFERENCES:
+                    this.cellReferences(count, repository);
+                    break;
+                case BinarySpreadsheetStoreRepositoryCodec.LABEL_REFERENCES:
+                    this.labelReferences(count, repository);
+                    break;
+                case BinarySpreadsheetStoreRepositoryCodec.RANGE_TO_CELLS:
+                    this.rangeToCells(count, repository);
+                    break;
+                default:
+                    throw new IOException("Unknown snapshot section " + section);
+            }
+        }
+    }
+
+    private void metadatas(final int count,
+                           final SpreadsheetStoreRepository repository) throws IOException {
+        for (int i = 0; i < count; i++) {
+            repository.metadatas()
+                    .save(this.json(SpreadsheetMetadata.class));
+        }
+    }
+
+    private void columns(final int count,
+                         final SpreadsheetStoreRepository repository) throws IOException {
+        for (int i = 0; i < count; i++) {
+            final SpreadsheetColumnReference column = this.column();
+            repository.columns()
+                    .save(
+                            column.column()
+                                    .setHidden(this.bool())
+                    );
+        }
+    }
+
+    private void rows(final int count,
+                      final SpreadsheetStoreRepository repository) throws IOException {
+        for (int i = 0; i < count; i++) {
+            final SpreadsheetRowReference row = this.row();
+            repository.rows()
+                    .save(
+                            row.row()
+                                    .setHidden(this.bool())
+                    );
+        }
+    }
+
+    private void labels(final int count,
+                        final SpreadsheetStoreRepository repository) throws IOException {
+        for (int i = 0; i < count; i++) {
+            final SpreadsheetLabelName label = SpreadsheetSelection.labelName(this.string());
+            repository.labels()
+                    .save(
+                            label.mapping(
+                                    SpreadsheetSelection.parseExpressionReference(this.string())
+                            )
+                    );
+        }
+    }
+
+    private void cells(final int count,
+                       final SpreadsheetStoreRepository repository) throws IOException {
+        for (int i = 0; i < count; i++) {
+            repository.cells()
+                    .save(this.cell());
+        }
+    }
+
+    private SpreadsheetCell cell() throws IOException {
+        final SpreadsheetCellReference reference = this.cellReference();
+        final int flags = this.read();
+
+        // the token and expression must be set before the value, setting either clears the value
+        SpreadsheetFormula formula = SpreadsheetFormula.EMPTY.setText(this.string());
+        if (0 != (flags & BinarySpreadsheetStoreRepositoryCodec.CELL_TOKEN)) {
+            formula = formula.setToken(
+                    Optional.of(this.<SpreadsheetParserToken>jsonWithType())
+            );
+        }
+        if (0 != (flags & BinarySpreadsheetStoreRepositoryCodec.CELL_EXPRESSION)) {
+            formula = formula.setExpression(
+                    Optional.of(this.<Expression>jsonWithType())
+            );
+        }
+        if (0 != (flags & BinarySpreadsheetStoreRepositoryCodec.CELL_VALUE)) {
+            formula = formula.setValue(
+                    Optional.ofNullable(this.value())
+            );
+        }
+
+        SpreadsheetCell cell = reference.setFormula(formula);
+        if (0 != (flags & BinarySpreadsheetStoreRepositoryCodec.CELL_STYLE)) {
+            cell = cell.setStyle(this.json(TextStyle.class));
+        }
+        if (0 != (flags & BinarySpreadsheetStoreRepositoryCodec.CELL_PARSE_PATTERN)) {
+            cell = cell.setParsePattern(
+                    Optional.of(this.<SpreadsheetParsePattern>jsonWithType())
+            );
+        }
+        if (0 != (flags & BinarySpreadsheetStoreRepositoryCodec.CELL_FORMAT_PATTERN)) {
+            cell = cell.setFormatPattern(
+                    Optional.of(this.<SpreadsheetFormatPattern>jsonWithType())
+            );
+        }
+        if (0 != (flags & BinarySpreadsheetStoreRepositoryCodec.CELL_FORMATTED)) {
+            cell = cell.setFormatted(
+                    Optional.of(this.<TextNode>jsonWithType())
+            );
+        }
+        return cell;
+    }
+
+    private void cellReferences(final int count,
+                                final SpreadsheetStoreRepository repository) throws IOException {
+        for (int i = 0; i < count; i++) {
+            final SpreadsheetCellReference id = this.cellReference();
+            repository.cellReferences()
+                    .saveReferences(
+                            id,
+                            this.cellReferences(Sets.sorted())
+                    );
+        }
+    }
+
+    private void labelReferences(final int count,
+                                 final SpreadsheetStoreRepository repository) throws IOException {
+        for (int i = 0; i < count; i++) {
+            final SpreadsheetLabelName id = SpreadsheetSelection.labelName(this.string());
+            repository.labelReferences()
+                    .saveReferences(
+                            id,
+                            this.cellReferences(Sets.sorted())
+                    );
+        }
+    }
+
+    private void rangeToCells(final int count,
+                              final SpreadsheetStoreRepository repository) throws IOException {
+        final SpreadsheetCellRangeStore<SpreadsheetCellReference> store = repository.rangeToCells();
+
+        for (int i = 0; i < count; i++) {
+            final SpreadsheetCellReference begin = this.cellReference();
+            final SpreadsheetCellRange range = begin.cellRange(this.cellReference());
+
+            final List<SpreadsheetCellReference> values = this.cellReferences(Lists.array());
+            for (final SpreadsheetCellReference value : values) {
+                store.addValue(range, value);
+            }
+        }
+    }
+
+    private <C extends Collection<SpreadsheetCellReference>> C cellReferences(final C references) throws IOException {
+        final int count = this.count();
+        for (int i = 0; i < count; i++) {
+            references.add(this.cellReference());
+        }
+        return references;
+    }
+
+    // references.......................................................................................................
+
+    private SpreadsheetCellReference cellReference() throws IOException {
+        final SpreadsheetColumnReference column = this.column();
+        return column.setRow(this.row());
+    }
+
+    private SpreadsheetColumnReference column() throws IOException {
+        final long packed = this.varint();
+        return SpreadsheetSelection.column(
+                (int) (packed >>> 1),
+                referenceKind(packed)
+        );
+    }
+
+    private SpreadsheetRowReference row() throws IOException {
+        final long packed = this.varint();
+        return SpreadsheetSelection.row(
+                (int) (packed >>> 1),
+                referenceKind(packed)
+        );
+    }
+
+    private static SpreadsheetReferenceKind referenceKind(final long packed) {
+        return 0 != (packed & 1) ?
+                SpreadsheetReferenceKind.ABSOLUTE :
+                SpreadsheetReferenceKind.RELATIVE;
+    }
+
+    // values...........................................................................................................
+
+    private Object value() throws IOException {
+        final int tag = this.read();
+        final Object value;
+
+        switch (tag) {
+            case BinarySpreadsheetStoreRepositoryCodec.NULL:
+                value = null;
+                break;
+            case BinarySpreadsheetStoreRepositoryCodec.NUMBER_INTEGER:
+                value = this.expressionNumberKind()
+                        .create(this.zigzag());
+                break;
+            case BinarySpreadsheetStoreRepositoryCodec.NUMBER_DOUBLE:
+                value = this.expressionNumberKind()
+                        .create(Double.longBitsToDouble(this.fixed64()));
+                break;
+            case BinarySpreadsheetStoreRepositoryCodec.NUMBER_DECIMAL:
+                value = this.expressionNumberKind()
+                        .create(new BigDecimal(this.string()));
+                break;
+            case BinarySpreadsheetStoreRepositoryCodec.STRING:
+                value = this.string();
+                break;
+            case BinarySpreadsheetStoreRepositoryCodec.TRUE:
+                value = Boolean.TRUE;
+                break;
+            case BinarySpreadsheetStoreRepositoryCodec.FALSE:
+                value = Boolean.FALSE;
+                break;
+            case BinarySpreadsheetStoreRepositoryCodec.LOCAL_DATE:
+                value = LocalDate.ofEpochDay(this.zigzag());
+                break;
+            case BinarySpreadsheetStoreRepositoryCodec.LOCAL_DATE_TIME:
+                final LocalDate date = LocalDate.ofEpochDay(this.zigzag());
+                value = LocalDateTime.of(
+                        date,
+                        LocalTime.ofNanoOfDay(this.varint())
+                );
+                break;
+            case BinarySpreadsheetStoreRepositoryCodec.LOCAL_TIME:
+                value = LocalTime.ofNanoOfDay(this.varint());
+                break;
+            case BinarySpreadsheetStoreRepositoryCodec.ERROR:
+                final SpreadsheetErrorKind kind = SpreadsheetErrorKind.valueOf(this.string());
+                final String message = this.string();
+                value = SpreadsheetError.with(
+                        kind,
+                        message,
+                        Optional.ofNullable(this.value())
+                );
+                break;
+            case BinarySpreadsheetStoreRepositoryCodec.JSON:
+                value = this.jsonWithType();
+                break;
+            default:
+                throw new IOException("Unknown value tag " + tag);
+        }
+
+        return value;
+    }
+
+    private ExpressionNumberKind expressionNumberKind() {
+        return this.context.expressionNumberKind();
+    }
+
+    private <T> T json(final Class<T> type) throws IOException {
+        final int index = this.stringIndex();
+
+        Object value = this.decoded.get(index);
+        if (null == value) {
+            value = this.context.unmarshall(
+                    JsonNode.parse(this.strings.get(index)),
+                    type
+            );
+            this.decoded.set(index, value);
+        }
+        return type.cast(value);
+    }
+
+    private <T> T jsonWithType() throws IOException {
+        final int index = this.stringIndex();
+
+        Object value = this.decoded.get(index);
+        if (null == value) {
+            value = this.context.unmarshallWithType(
+                    JsonNode.parse(this.strings.get(index))
+            );
+            this.decoded.set(index, value);
+        }
+        return Cast.to(value);
+    }
+
+    private final JsonNodeUnmarshallContext context;
+
+    // dictionary.......................................................................................................
+
+    private String string() throws IOException {
+        return this.strings.get(this.stringIndex());
+    }
+
+    /**
+     * Reads a dictionary reference, adding the string that follows a zero to the dictionary.
+     */
+    private int stringIndex() throws IOException {
+        final List<String> strings = this.strings;
+        final long reference = this.varint();
+
+        final int index;
+        if (0 == reference) {
+            final byte[] utf8 = new byte[this.count()];
+            for (int i = 0; i < utf8.length; i++) {
+                utf8[i] = (byte) this.read();
+            }
+
+            index = strings.size();
+            strings.add(new String(utf8, StandardCharsets.UTF_8));
+            this.decoded.add(null);
+        } else {
+            if (reference > strings.size()) {
+                throw new IOException("Unknown string " + reference);
+            }
+            index = (int) reference - 1;
+        }
+
+        return index;
+    }
+
+    private final List<String> strings = Lists.array();
+
+    /**
+     * Values unmarshalled from the JSON of the string with the same index, or null.
+     */
+    private final List<Object> decoded = Lists.array();
+
+    // primitives.......................................................................................................
+
+    private boolean bool() throws IOException {
+        return 0 != this.read();
+    }
+
+    private int count() throws IOException {
+        final long count = this.varint();
+        if (count > Integer.MAX_VALUE) {
+            throw new IOException("Invalid count " + count);
+        }
+        return (int) count;
+    }
+
+    private long zigzag() throws IOException {
+        final long value = this.varint();
+        return value >>> 1 ^ -(value & 1);
+    }
+
+    private long varint() throws IOException {
+        long value = 0;
+
+        for (int shift = 0; shift < 64; shift += 7) {
+            final int b = this.read();
+            value |= (long) (b & 0x7F) << shift;
+            if (0 == (b & 0x80)) {
+                return value;
+            }
+        }
+
+        throw new IOException("Invalid varint");
+    }
+
+    private long fixed64() throws IOException {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = value << 8 | this.read();
+        }
+        return value;
+    }
+
+    private int read() throws IOException {
+        if (this.position == this.limit) {
+            final int read = this.input.read(this.buffer);
+            if (read <= 0) {
+                throw new IOException("Truncated snapshot");
+            }
+            this.position = 0;
+            this.limit = read;
+        }
+        return this.buffer[this.position++] & 0xFF;
+    }
+
+    private final InputStream input;
+
+    private final byte[] buffer = new byte[8192];
+
+    private int position;
+
+    private int limit;
+
+    @Override
+    public String toString() {
+        return this.strings.size() + " string(s) " + this.input;
+    }
+}
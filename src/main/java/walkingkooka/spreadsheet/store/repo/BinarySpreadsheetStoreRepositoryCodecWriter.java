@@ -0,0 +1,407 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.store.repo;
+
+import walkingkooka.collect.map.Maps;
+import walkingkooka.spreadsheet.SpreadsheetCell;
+import walkingkooka.spreadsheet.SpreadsheetColumn;
+import walkingkooka.spreadsheet.SpreadsheetError;
+import walkingkooka.spreadsheet.SpreadsheetFormula;
+import walkingkooka.spreadsheet.SpreadsheetRow;
+import walkingkooka.spreadsheet.meta.SpreadsheetMetadata;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellRange;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetColumnOrRowReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetLabelMapping;
+import walkingkooka.spreadsheet.reference.SpreadsheetLabelName;
+import walkingkooka.spreadsheet.reference.SpreadsheetReferenceKind;
+import walkingkooka.spreadsheet.reference.store.SpreadsheetCellRangeStore;
+import walkingkooka.spreadsheet.reference.store.SpreadsheetExpressionReferenceStore;
+import walkingkooka.tree.expression.ExpressionNumber;
+import walkingkooka.tree.json.marshall.JsonNodeMarshallContext;
+import walkingkooka.tree.text.TextStyle;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Writes a single snapshot in the format described by {@link BinarySpreadsheetStoreRepositoryCodec}. Bytes are
+ * gathered in a buffer, so the {@link OutputStream} need not be buffered.
+ */
+final class BinarySpreadsheetStoreRepositoryCodecWriter {
+
+    static BinarySpreadsheetStoreRepositoryCodecWriter with(final OutputStream output,
+                                                           final JsonNodeMarshallContext context) {
+        return new BinarySpreadsheetStoreRepositoryCodecWriter(
+                output,
+                context
+        );
+    }
+
+    private BinarySpreadsheetStoreRepositoryCodecWriter(final OutputStream output,
+                                                       final JsonNodeMarshallContext context) {
+        super();
+        this.output = output;
+        this.context = context;
+    }
+
+    void write(final SpreadsheetStoreRepository repository) throws IOException {
+        this.bytes(BinarySpreadsheetStoreRepositoryCodec.MAGIC);
+        this.varint(BinarySpreadsheetStoreRepositoryCodec.VERSION);
+
+        this.metadatas(repository.metadatas().all());
+        this.columns(repository.columns().all());
+        this.rows(repository.rows().all());
+        this.labels(repository.labels().all());
+        this.cells(repository.cells().all());
+        this.cellReferences(repository.cellReferences());
+        this.labelReferences(repository.labelReferences());
+        this.rangeToCells(repository.rangeToCells());
+
+        this.write(BinarySpreadsheetStoreRepositoryCodec.END);
+        this.flush();
+    }
+
+    private void metadatas(final List<SpreadsheetMetadata> metadatas) throws IOException {
+        this.section(BinarySpreadsheetStoreRepositoryCodec.METADATAS, metadatas);
+
+        for (final SpreadsheetMetadata metadata : metadatas) {
+            this.json(metadata);
+        }
+    }
+
+    private void columns(final List<SpreadsheetColumn> columns) throws IOException {
+        this.section(BinarySpreadsheetStoreRepositoryCodec.COLUMNS, columns);
+
+        for (final SpreadsheetColumn column : columns) {
+            this.columnOrRow(column.reference());
+            this.bool(column.hidden());
+        }
+    }
+
+    private void rows(final List<SpreadsheetRow> rows) throws IOException {
+        this.section(BinarySpreadsheetStoreRepositoryCodec.ROWS, rows);
+
+        for (final SpreadsheetRow row : rows) {
+            this.columnOrRow(row.reference());
+            this.bool(row.hidden());
+        }
+    }
+
+    private void labels(final List<SpreadsheetLabelMapping> mappings) throws IOException {
+        this.section(BinarySpreadsheetStoreRepositoryCodec.LABELS, mappings);
+
+        for (final SpreadsheetLabelMapping mapping : mappings) {
+            this.string(mapping.label().value());
+            this.string(mapping.reference().toString());
+        }
+    }
+
+    private void cells(final List<SpreadsheetCell> cells) throws IOException {
+        this.section(BinarySpreadsheetStoreRepositoryCodec.CELLS, cells);
+
+        for (final SpreadsheetCell cell : cells) {
+            this.cell(cell);
+        }
+    }
+
+    private void cell(final SpreadsheetCell cell) throws IOException {
+        final SpreadsheetFormula formula = cell.formula();
+        final Optional<Object> value = formula.value();
+        final TextStyle style = cell.style();
+
+        int flags = 0;
+        if (value.isPresent()) {
+            flags |= BinarySpreadsheetStoreRepositoryCodec.CELL_VALUE;
+        }
+        if (!style.isEmpty()) {
+            flags |= BinarySpreadsheetStoreRepositoryCodec.CELL_STYLE;
+        }
+        if (cell.parsePattern().isPresent()) {
+            flags |= BinarySpreadsheetStoreRepositoryCodec.CELL_PARSE_PATTERN;
+        }
+        if (cell.formatPattern().isPresent()) {
+            flags |= BinarySpreadsheetStoreRepositoryCodec.CELL_FORMAT_PATTERN;
+        }
+        if (cell.formatted().isPresent()) {
+            flags |= BinarySpreadsheetStoreRepositoryCodec.CELL_FORMATTED;
+        }
+
+        this.cellReference(cell.reference());
+        this.write(flags);
+        this.string(formula.text()); // the token and expression are never written, the engine parses the text again
+        if (value.isPresent()) {
+            this.value(value.get());
+        }
+        if (!style.isEmpty()) {
+            this.json(style);
+        }
+        if (cell.parsePattern().isPresent()) {
+            this.jsonWithType(cell.parsePattern().get());
+        }
+        if (cell.formatPattern().isPresent()) {
+            this.jsonWithType(cell.formatPattern().get());
+        }
+        if (cell.formatted().isPresent()) {
+            this.jsonWithType(cell.formatted().get());
+        }
+    }
+
+    private void cellReferences(final SpreadsheetExpressionReferenceStore<SpreadsheetCellReference> store) throws IOException {
+        final Set<SpreadsheetCellReference> ids = store.ids(0, store.count());
+        this.section(BinarySpreadsheetStoreRepositoryCodec.CELL_REFERENCES, ids);
+
+        for (final SpreadsheetCellReference id : ids) {
+            this.cellReference(id);
+            this.cellReferences(store.load(id).orElse(null));
+        }
+    }
+
+    private void labelReferences(final SpreadsheetExpressionReferenceStore<SpreadsheetLabelName> store) throws IOException {
+        final Set<SpreadsheetLabelName> ids = store.ids(0, store.count());
+        this.section(BinarySpreadsheetStoreRepositoryCodec.LABEL_REFERENCES, ids);
+
+        for (final SpreadsheetLabelName id : ids) {
+            this.string(id.value());
+            this.cellReferences(store.load(id).orElse(null));
+        }
+    }
+
+    private void rangeToCells(final SpreadsheetCellRangeStore<SpreadsheetCellReference> store) throws IOException {
+        final Set<SpreadsheetCellRange> ids = store.ids(0, store.count());
+        this.section(BinarySpreadsheetStoreRepositoryCodec.RANGE_TO_CELLS, ids);
+
+        for (final SpreadsheetCellRange id : ids) {
+            this.cellReference(id.begin());
+            this.cellReference(id.end());
+            this.cellReferences(store.load(id).orElse(null));
+        }
+    }
+
+    private void cellReferences(final Collection<SpreadsheetCellReference> references) throws IOException {
+        if (null == references) {
+            this.varint(0);
+        } else {
+            this.varint(references.size());
+            for (final SpreadsheetCellReference reference : references) {
+                this.cellReference(reference);
+            }
+        }
+    }
+
+    private void section(final int tag,
+                         final Collection<?> entries) throws IOException {
+        this.write(tag);
+        this.varint(entries.size());
+    }
+
+    // references.......................................................................................................
+
+    private void cellReference(final SpreadsheetCellReference reference) throws IOException {
+        this.columnOrRow(reference.column());
+        this.columnOrRow(reference.row());
+    }
+
+    private void columnOrRow(final SpreadsheetColumnOrRowReference reference) throws IOException {
+        this.varint(
+                (long) reference.value() << 1 |
+                        (reference.referenceKind() == SpreadsheetReferenceKind.ABSOLUTE ? 1 : 0)
+        );
+    }
+
+    // values...........................................................................................................
+
+    private void value(final Object value) throws IOException {
+        if (null == value) {
+            this.write(BinarySpreadsheetStoreRepositoryCodec.NULL);
+        } else if (value instanceof ExpressionNumber) {
+            this.number((ExpressionNumber) value);
+        } else if (value instanceof String) {
+            this.write(BinarySpreadsheetStoreRepositoryCodec.STRING);
+            this.string((String) value);
+        } else if (value instanceof Boolean) {
+            this.write(
+                    (Boolean) value ?
+                            BinarySpreadsheetStoreRepositoryCodec.TRUE :
+                            BinarySpreadsheetStoreRepositoryCodec.FALSE
+            );
+        } else if (value instanceof LocalDate) {
+            this.write(BinarySpreadsheetStoreRepositoryCodec.LOCAL_DATE);
+            this.zigzag(((LocalDate) value).toEpochDay());
+        } else if (value instanceof LocalDateTime) {
+            final LocalDateTime dateTime = (LocalDateTime) value;
+
+            this.write(BinarySpreadsheetStoreRepositoryCodec.LOCAL_DATE_TIME);
+            this.zigzag(dateTime.toLocalDate().toEpochDay());
+            this.varint(dateTime.toLocalTime().toNanoOfDay());
+        } else if (value instanceof LocalTime) {
+            this.write(BinarySpreadsheetStoreRepositoryCodec.LOCAL_TIME);
+            this.varint(((LocalTime) value).toNanoOfDay());
+        } else if (value instanceof SpreadsheetError) {
+            final SpreadsheetError error = (SpreadsheetError) value;
+
+            this.write(BinarySpreadsheetStoreRepositoryCodec.ERROR);
+            this.string(error.kind().name());
+            this.string(error.message());
+            this.value(error.value().orElse(null));
+        } else {
+            this.write(BinarySpreadsheetStoreRepositoryCodec.JSON);
+            this.jsonWithType(value);
+        }
+    }
+
+    /**
+     * Whole numbers without a scale that fit a long are written as a zigzag varint, others as the bits of a double when
+     * that is exact and finally as the text of the {@link BigDecimal}, which keeps any scale such as 100.00.
+     */
+    private void number(final ExpressionNumber number) throws IOException {
+        BigDecimal decimal;
+        try {
+            decimal = number.bigDecimal();
+        } catch (final NumberFormatException notFinite) {
+            decimal = null;
+        }
+
+        if (null == decimal) {
+            this.write(BinarySpreadsheetStoreRepositoryCodec.NUMBER_DOUBLE);
+            this.fixed64(Double.doubleToLongBits(number.doubleValue()));
+        } else {
+            if (0 == decimal.scale() && decimal.precision() <= 18) {
+                this.write(BinarySpreadsheetStoreRepositoryCodec.NUMBER_INTEGER);
+                this.zigzag(decimal.longValueExact());
+            } else {
+                final double doubleValue = number.doubleValue();
+                if (BigDecimal.valueOf(doubleValue).equals(decimal)) {
+                    this.write(BinarySpreadsheetStoreRepositoryCodec.NUMBER_DOUBLE);
+                    this.fixed64(Double.doubleToLongBits(doubleValue));
+                } else {
+                    this.write(BinarySpreadsheetStoreRepositoryCodec.NUMBER_DECIMAL);
+                    this.string(decimal.toString());
+                }
+            }
+        }
+    }
+
+    private void json(final Object value) throws IOException {
+        this.string(
+                this.context.marshall(value)
+                        .toString()
+        );
+    }
+
+    private void jsonWithType(final Object value) throws IOException {
+        this.string(
+                this.context.marshallWithType(value)
+                        .toString()
+        );
+    }
+
+    private final JsonNodeMarshallContext context;
+
+    // dictionary.......................................................................................................
+
+    /**
+     * The first time a string is written a zero is followed by its UTF-8 bytes, afterwards only its index plus one.
+     */
+    private void string(final String string) throws IOException {
+        final Map<String, Integer> dictionary = this.dictionary;
+        final Integer index = dictionary.get(string);
+
+        if (null == index) {
+            dictionary.put(string, dictionary.size());
+
+            final byte[] utf8 = string.getBytes(StandardCharsets.UTF_8);
+            this.varint(0);
+            this.varint(utf8.length);
+            this.bytes(utf8);
+        } else {
+            this.varint(index + 1);
+        }
+    }
+
+    private final Map<String, Integer> dictionary = Maps.hash();
+
+    // primitives.......................................................................................................
+
+    private void bool(final boolean value) throws IOException {
+        this.write(value ? 1 : 0);
+    }
+
+    private void zigzag(final long value) throws IOException {
+        this.varint(value << 1 ^ value >> 63);
+    }
+
+    private void varint(final long value) throws IOException {
+        long remaining = value;
+        while (0 != (remaining & ~0x7FL)) {
+            this.write((int) (remaining & 0x7F | 0x80));
+            remaining >>>= 7;
+        }
+        this.write((int) remaining);
+    }
+
+    private void fixed64(final long value) throws IOException {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            this.write((int) (value >>> shift));
+        }
+    }
+
+    private void bytes(final byte[] bytes) throws IOException {
+        for (final byte b : bytes) {
+            this.write(b);
+        }
+    }
+
+    private void write(final int b) throws IOException {
+        if (this.position == this.buffer.length) {
+            this.drain();
+        }
+        this.buffer[this.position++] = (byte) b;
+    }
+
+    private void flush() throws IOException {
+        this.drain();
+        this.output.flush();
+    }
+
+    private void drain() throws IOException {
+        this.output.write(this.buffer, 0, this.position);
+        this.position = 0;
+    }
+
+    private final OutputStream output;
+
+    private final byte[] buffer = new byte[8192];
+
+    private int position;
+
+    @Override
+    public String toString() {
+        return this.dictionary.size() + " string(s) " + this.output;
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.store.repo;
+
+import walkingkooka.reflect.PublicStaticHelper;
+
+/**
+ * Factory methods for {@link VersionedSpreadsheetStoreRepository}, kept apart from {@link SpreadsheetStoreRepositories}
+ * because they use {@link java.util.concurrent} and are not translated to javascript.
+ */
+public final class MultiVersionSpreadsheetStoreRepositories implements PublicStaticHelper {
+
+    /**
+     * {@see MultiVersionSpreadsheetStoreRepository}
+     */
+    public static VersionedSpreadsheetStoreRepository with(final SpreadsheetStoreRepository repository) {
+        return MultiVersionSpreadsheetStoreRepository.with(repository);
+    }
+
+    /**
+     * Stop creation
+     */
+    private MultiVersionSpreadsheetStoreRepositories() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,391 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.store.repo;
+
+import walkingkooka.collect.map.Maps;
+import walkingkooka.spreadsheet.SpreadsheetCell;
+import walkingkooka.spreadsheet.SpreadsheetColumn;
+import walkingkooka.spreadsheet.SpreadsheetRow;
+import walkingkooka.spreadsheet.conditionalformat.SpreadsheetConditionalFormattingRule;
+import walkingkooka.spreadsheet.meta.SpreadsheetMetadata;
+import walkingkooka.spreadsheet.meta.store.SpreadsheetMetadataStore;
+import walkingkooka.spreadsheet.meta.store.SpreadsheetMetadataStores;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellRange;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetLabelMapping;
+import walkingkooka.spreadsheet.reference.SpreadsheetLabelName;
+import walkingkooka.spreadsheet.reference.store.SpreadsheetCellRangeStore;
+import walkingkooka.spreadsheet.reference.store.SpreadsheetCellRangeStores;
+import walkingkooka.spreadsheet.reference.store.SpreadsheetExpressionReferenceStore;
+import walkingkooka.spreadsheet.reference.store.SpreadsheetExpressionReferenceStores;
+import walkingkooka.spreadsheet.reference.store.SpreadsheetLabelStore;
+import walkingkooka.spreadsheet.reference.store.SpreadsheetLabelStores;
+import walkingkooka.spreadsheet.security.store.SpreadsheetGroupStore;
+import walkingkooka.spreadsheet.security.store.SpreadsheetUserStore;
+import walkingkooka.spreadsheet.store.SpreadsheetColumnStore;
+import walkingkooka.spreadsheet.store.SpreadsheetColumnStores;
+import walkingkooka.spreadsheet.store.SpreadsheetRowStore;
+import walkingkooka.spreadsheet.store.SpreadsheetRowStores;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * A {@link VersionedSpreadsheetStoreRepository} that keeps several versions of each cell, so snapshots read a
+ * consistent version of the cells while the writer continues, for example a column insert rewriting every formula.
+ * <br>
+ * Cells live in a {@link ConcurrentSkipListMap} of version chains, readers never block and the writer only copies what
+ * it changes. Labels, columns, rows, metadata and conditional formatting rules, which are small and rarely change, are
+ * copied when published and shared read only by snapshots. Each snapshot has its own empty cell reference, label
+ * reference and range stores, which only receive the references of cells it saves.
+ * <br>
+ * The cells of the given {@link SpreadsheetStoreRepository} are copied once, the writer keeps using all its other stores.
+ * Conditional formatting rules must be changed through {@link #rangeToConditionalFormattingRules()} to be published.
+ */
+final class MultiVersionSpreadsheetStoreRepository implements VersionedSpreadsheetStoreRepository {
+
+    static MultiVersionSpreadsheetStoreRepository with(final SpreadsheetStoreRepository repository) {
+        Objects.requireNonNull(repository, "repository");
+
+        return new MultiVersionSpreadsheetStoreRepository(repository);
+    }
+
+    private MultiVersionSpreadsheetStoreRepository(final SpreadsheetStoreRepository repository) {
+        super();
+        this.repository = repository;
+
+        final ConcurrentNavigableMap<SpreadsheetCellReference, MultiVersionSpreadsheetStoreRepositoryCellVersion> cells = new ConcurrentSkipListMap<>();
+        for (final SpreadsheetCell cell : repository.cells().all()) {
+            cells.put(
+                    cell.reference().toRelative(),
+                    MultiVersionSpreadsheetStoreRepositoryCellVersion.with(
+                            0,
+                            cell,
+                            null
+                    )
+            );
+        }
+        this.cellVersions = cells;
+        this.cells = MultiVersionSpreadsheetStoreRepositoryCellStore.writer(
+                cells,
+                this
+        );
+
+        this.labels().addSaveWatcher(this::labelsChanged);
+        this.labels().addDeleteWatcher(this::labelsChanged);
+        this.columns().addSaveWatcher(this::columnsChanged);
+        this.columns().addDeleteWatcher(this::columnsChanged);
+        this.rows().addSaveWatcher(this::rowsChanged);
+        this.rows().addDeleteWatcher(this::rowsChanged);
+        this.metadatas().addSaveWatcher(this::metadatasChanged);
+        this.metadatas().addDeleteWatcher(this::metadatasChanged);
+        this.rangeToConditionalFormattingRules = MultiVersionSpreadsheetStoreRepositoryCellRangeStore.with(
+                repository.rangeToConditionalFormattingRules(),
+                this::rangeToConditionalFormattingRulesChanged
+        );
+
+        this.publishedLabels = this.copyLabels();
+        this.publishedColumns = this.copyColumns();
+        this.publishedRows = this.copyRows();
+        this.publishedMetadatas = this.copyMetadatas();
+        this.publishedRangeToConditionalFormattingRules = this.copyRangeToConditionalFormattingRules();
+    }
+
+    // SpreadsheetStoreRepository.......................................................................................
+
+    @Override
+    public MultiVersionSpreadsheetStoreRepositoryCellStore cells() {
+        return this.cells;
+    }
+
+    private final MultiVersionSpreadsheetStoreRepositoryCellStore cells;
+
+    private final ConcurrentNavigableMap<SpreadsheetCellReference, MultiVersionSpreadsheetStoreRepositoryCellVersion> cellVersions;
+
+    @Override
+    public SpreadsheetExpressionReferenceStore<SpreadsheetCellReference> cellReferences() {
+        return this.repository.cellReferences();
+    }
+
+    @Override
+    public SpreadsheetColumnStore columns() {
+        return this.repository.columns();
+    }
+
+    @Override
+    public SpreadsheetGroupStore groups() {
+        return this.repository.groups();
+    }
+
+    @Override
+    public SpreadsheetLabelStore labels() {
+        return this.repository.labels();
+    }
+
+    @Override
+    public SpreadsheetExpressionReferenceStore<SpreadsheetLabelName> labelReferences() {
+        return this.repository.labelReferences();
+    }
+
+    @Override
+    public SpreadsheetMetadataStore metadatas() {
+        return this.repository.metadatas();
+    }
+
+    @Override
+    public SpreadsheetCellRangeStore<SpreadsheetCellReference> rangeToCells() {
+        return this.repository.rangeToCells();
+    }
+
+    @Override
+    public SpreadsheetCellRangeStore<SpreadsheetConditionalFormattingRule> rangeToConditionalFormattingRules() {
+        return this.rangeToConditionalFormattingRules;
+    }
+
+    /**
+     * Wraps the rules of the given {@link SpreadsheetStoreRepository} so changes are published.
+     */
+    private final SpreadsheetCellRangeStore<SpreadsheetConditionalFormattingRule> rangeToConditionalFormattingRules;
+
+    @Override
+    public SpreadsheetRowStore rows() {
+        return this.repository.rows();
+    }
+
+    @Override
+    public SpreadsheetUserStore users() {
+        return this.repository.users();
+    }
+
+    /**
+     * Provides all stores except cells.
+     */
+    private final SpreadsheetStoreRepository repository;
+
+    // VersionedSpreadsheetStoreRepository..............................................................................
+
+    @Override
+    public long version() {
+        return this.published;
+    }
+
+    @Override
+    public synchronized long publish() {
+        if (this.labelsChanged) {
+            this.publishedLabels = this.copyLabels();
+            this.labelsChanged = false;
+        }
+        if (this.columnsChanged) {
+            this.publishedColumns = this.copyColumns();
+            this.columnsChanged = false;
+        }
+        if (this.rowsChanged) {
+            this.publishedRows = this.copyRows();
+            this.rowsChanged = false;
+        }
+        if (this.metadatasChanged) {
+            this.publishedMetadatas = this.copyMetadatas();
+            this.metadatasChanged = false;
+        }
+        if (this.rangeToConditionalFormattingRulesChanged) {
+            this.publishedRangeToConditionalFormattingRules = this.copyRangeToConditionalFormattingRules();
+            this.rangeToConditionalFormattingRulesChanged = false;
+        }
+
+        this.published++;
+        this.updateHorizon();
+
+        return this.published;
+    }
+
+    /**
+     * The snapshot shares the published labels, columns, rows, metadata and conditional formatting rules. Its cell
+     * references, label references and range to cells stores start empty and are not copied from the writer, they only
+     * hold references of cells saved to the snapshot, so readers must not use them to find the references of published
+     * cells.
+     */
+    @Override
+    public synchronized SpreadsheetStoreRepositorySnapshot snapshot() {
+        final long version = this.published;
+
+        final Map<Long, Integer> pins = this.pins;
+        final Integer count = pins.get(version);
+        pins.put(version, null == count ? 1 : count + 1);
+        this.updateHorizon();
+
+        return MultiVersionSpreadsheetStoreRepositorySnapshot.with(
+                version,
+                SpreadsheetStoreRepositories.basic(
+                        MultiVersionSpreadsheetStoreRepositoryCellStore.snapshot(
+                                this.cellVersions,
+                                version
+                        ),
+                        SpreadsheetExpressionReferenceStores.treeMap(),
+                        this.publishedColumns,
+                        this.groups(),
+                        this.publishedLabels,
+                        SpreadsheetExpressionReferenceStores.treeMap(),
+                        this.publishedMetadatas,
+                        SpreadsheetCellRangeStores.treeMap(),
+                        this.publishedRangeToConditionalFormattingRules,
+                        this.publishedRows,
+                        this.users()
+                ),
+                () -> this.release(version)
+        );
+    }
+
+    private synchronized void release(final long version) {
+        final Map<Long, Integer> pins = this.pins;
+        final int count = pins.get(version);
+        if (1 == count) {
+            pins.remove(version);
+        } else {
+            pins.put(version, count - 1);
+        }
+        this.updateHorizon();
+    }
+
+    /**
+     * The version given to writes which are not yet published.
+     */
+    long writing() {
+        return this.published + 1;
+    }
+
+    /**
+     * The oldest version any current or future snapshot may read, older versions of cells may be dropped.
+     */
+    long horizon() {
+        return this.horizon;
+    }
+
+    private void updateHorizon() {
+        final Map<Long, Integer> pins = this.pins;
+        this.horizon = pins.isEmpty() ?
+                this.published :
+                Math.min(
+                        pins.keySet()
+                                .iterator()
+                                .next(),
+                        this.published
+                );
+    }
+
+    private volatile long published;
+
+    private volatile long horizon;
+
+    /**
+     * The versions of open snapshots and how many are open.
+     */
+    private final Map<Long, Integer> pins = Maps.sorted();
+
+    // published copies.................................................................................................
+
+    private void labelsChanged(final Object ignored) {
+        this.labelsChanged = true;
+    }
+
+    private boolean labelsChanged;
+
+    private SpreadsheetLabelStore copyLabels() {
+        final SpreadsheetLabelStore copy = SpreadsheetLabelStores.treeMap();
+        for (final SpreadsheetLabelMapping mapping : this.labels().all()) {
+            copy.save(mapping);
+        }
+        return SpreadsheetLabelStores.readOnly(copy);
+    }
+
+    private SpreadsheetLabelStore publishedLabels;
+
+    private void columnsChanged(final Object ignored) {
+        this.columnsChanged = true;
+    }
+
+    private boolean columnsChanged;
+
+    private SpreadsheetColumnStore copyColumns() {
+        final SpreadsheetColumnStore copy = SpreadsheetColumnStores.treeMap();
+        for (final SpreadsheetColumn column : this.columns().all()) {
+            copy.save(column);
+        }
+        return SpreadsheetColumnStores.readOnly(copy);
+    }
+
+    private SpreadsheetColumnStore publishedColumns;
+
+    private void rowsChanged(final Object ignored) {
+        this.rowsChanged = true;
+    }
+
+    private boolean rowsChanged;
+
+    private SpreadsheetRowStore copyRows() {
+        final SpreadsheetRowStore copy = SpreadsheetRowStores.treeMap();
+        for (final SpreadsheetRow row : this.rows().all()) {
+            copy.save(row);
+        }
+        return SpreadsheetRowStores.readOnly(copy);
+    }
+
+    private SpreadsheetRowStore publishedRows;
+
+    private void metadatasChanged(final Object ignored) {
+        this.metadatasChanged = true;
+    }
+
+    private boolean metadatasChanged;
+
+    private SpreadsheetMetadataStore copyMetadatas() {
+        final SpreadsheetMetadataStore copy = SpreadsheetMetadataStores.treeMap();
+        for (final SpreadsheetMetadata metadata : this.metadatas().all()) {
+            copy.save(metadata);
+        }
+        return SpreadsheetMetadataStores.readOnly(copy);
+    }
+
+    private SpreadsheetMetadataStore publishedMetadatas;
+
+    private void rangeToConditionalFormattingRulesChanged() {
+        this.rangeToConditionalFormattingRulesChanged = true;
+    }
+
+    private boolean rangeToConditionalFormattingRulesChanged;
+
+    private SpreadsheetCellRangeStore<SpreadsheetConditionalFormattingRule> copyRangeToConditionalFormattingRules() {
+        final SpreadsheetCellRangeStore<SpreadsheetConditionalFormattingRule> rules = this.rangeToConditionalFormattingRules();
+        final SpreadsheetCellRangeStore<SpreadsheetConditionalFormattingRule> copy = SpreadsheetCellRangeStores.treeMap();
+
+        for (final SpreadsheetCellRange range : rules.ids(0, rules.count())) {
+            for (final SpreadsheetConditionalFormattingRule rule : rules.loadOrFail(range)) {
+                copy.addValue(range, rule);
+            }
+        }
+        return SpreadsheetCellRangeStores.readOnly(copy);
+    }
+
+    private SpreadsheetCellRangeStore<SpreadsheetConditionalFormattingRule> publishedRangeToConditionalFormattingRules;
+
+    @Override
+    public String toString() {
+        return "version " + this.published + " " + this.repository;
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.store.repo;
+
+import walkingkooka.spreadsheet.reference.SpreadsheetCellRange;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellReference;
+import walkingkooka.spreadsheet.reference.store.SpreadsheetCellRangeStore;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Wraps a {@link SpreadsheetCellRangeStore} running a {@link Runnable} after every add, replace, remove or delete,
+ * because a {@link SpreadsheetCellRangeStore} has no save watchers to report values being added.
+ */
+final class MultiVersionSpreadsheetStoreRepositoryCellRangeStore<V> implements SpreadsheetCellRangeStore<V> {
+
+    static <V> MultiVersionSpreadsheetStoreRepositoryCellRangeStore<V> with(final SpreadsheetCellRangeStore<V> store,
+                                                                            final Runnable changed) {
+        Objects.requireNonNull(store, "store");
+        Objects.requireNonNull(changed, "changed");
+
+        return new MultiVersionSpreadsheetStoreRepositoryCellRangeStore<>(store, changed);
+    }
+
+    private MultiVersionSpreadsheetStoreRepositoryCellRangeStore(final SpreadsheetCellRangeStore<V> store,
+                                                                 final Runnable changed) {
+        super();
+        this.store = store;
+        this.changed = changed;
+    }
+
+    @Override
+    public Optional<List<V>> load(final SpreadsheetCellRange range) {
+        return this.store.load(range);
+    }
+
+    @Override
+    public void delete(final SpreadsheetCellRange range) {
+        this.store.delete(range);
+        this.changed.run();
+    }
+
+    @Override
+    public Runnable addDeleteWatcher(final Consumer<SpreadsheetCellRange> deleted) {
+        return this.store.addDeleteWatcher(deleted);
+    }
+
+    @Override
+    public int count() {
+        return this.store.count();
+    }
+
+    @Override
+    public Set<SpreadsheetCellRange> ids(final int from,
+                                         final int count) {
+        return this.store.ids(from, count);
+    }
+
+    @Override
+    public List<List<V>> values(final SpreadsheetCellRange from,
+                                final int count) {
+        return this.store.values(from, count);
+    }
+
+    @Override
+    public Set<SpreadsheetCellRange> loadCellReferenceRanges(final SpreadsheetCellReference cell) {
+        return this.store.loadCellReferenceRanges(cell);
+    }
+
+    @Override
+    public Set<V> loadCellReferenceValues(final SpreadsheetCellReference cell) {
+        return this.store.loadCellReferenceValues(cell);
+    }
+
+    @Override
+    public void addValue(final SpreadsheetCellRange range,
+                         final V value) {
+        this.store.addValue(range, value);
+        this.changed.run();
+    }
+
+    @Override
+    public boolean replaceValue(final SpreadsheetCellRange range,
+                                final V newValue,
+                                final V oldValue) {
+        final boolean replaced = this.store.replaceValue(range, newValue, oldValue);
+        if (replaced) {
+            this.changed.run();
+        }
+        return replaced;
+    }
+
+    @Override
+    public void removeValue(final SpreadsheetCellRange range,
+                            final V value) {
+        this.store.removeValue(range, value);
+        this.changed.run();
+    }
+
+    @Override
+    public Set<SpreadsheetCellRange> rangesWithValue(final V value) {
+        return this.store.rangesWithValue(value);
+    }
+
+    private final SpreadsheetCellRangeStore<V> store;
+
+    /**
+     * Invoked after any change to the wrapped store.
+     */
+    private final Runnable changed;
+
+    @Override
+    public String toString() {
+        return this.store.toString();
+    }
+}
@@ -0,0 +1,361 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.store.repo;
+
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.collect.set.Sets;
+import walkingkooka.spreadsheet.SpreadsheetCell;
+import walkingkooka.spreadsheet.SpreadsheetCellInterner;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetColumnReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetRowReference;
+import walkingkooka.spreadsheet.store.SpreadsheetCellStore;
+import walkingkooka.store.Store;
+import walkingkooka.store.Watchers;
+import walkingkooka.tree.text.Length;
+import walkingkooka.tree.text.PixelLength;
+import walkingkooka.tree.text.TextStylePropertyName;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A {@link SpreadsheetCellStore} view of the cells of a {@link MultiVersionSpreadsheetStoreRepository}, where each
+ * cell reference maps to a chain of {@link MultiVersionSpreadsheetStoreRepositoryCellVersion versions}.
+ * <br>
+ * The writer sees every version and its saves and deletes add a version numbered one after the latest published
+ * version. A snapshot only sees versions up to its own, keeping its saves and deletes in a private overlay.
+ */
+final class MultiVersionSpreadsheetStoreRepositoryCellStore implements SpreadsheetCellStore {
+
+    static MultiVersionSpreadsheetStoreRepositoryCellStore writer(final ConcurrentNavigableMap<SpreadsheetCellReference, MultiVersionSpreadsheetStoreRepositoryCellVersion> cells,
+                                                                  final MultiVersionSpreadsheetStoreRepository repository) {
+        return new MultiVersionSpreadsheetStoreRepositoryCellStore(
+                cells,
+                repository,
+                Long.MAX_VALUE,
+                null
+        );
+    }
+
+    static MultiVersionSpreadsheetStoreRepositoryCellStore snapshot(final ConcurrentNavigableMap<SpreadsheetCellReference, MultiVersionSpreadsheetStoreRepositoryCellVersion> cells,
+                                                                    final long version) {
+        return new MultiVersionSpreadsheetStoreRepositoryCellStore(
+                cells,
+                null,
+                version,
+                Maps.sorted()
+        );
+    }
+
+    private MultiVersionSpreadsheetStoreRepositoryCellStore(final ConcurrentNavigableMap<SpreadsheetCellReference, MultiVersionSpreadsheetStoreRepositoryCellVersion> cells,
+                                                           final MultiVersionSpreadsheetStoreRepository repository,
+                                                           final long version,
+                                                           final Map<SpreadsheetCellReference, Optional<SpreadsheetCell>> overlay) {
+        super();
+        this.cells = cells;
+        this.repository = repository;
+        this.version = version;
+        this.overlay = overlay;
+    }
+
+    // Store............................................................................................................
+
+    @Override
+    public Optional<SpreadsheetCell> load(final SpreadsheetCellReference id) {
+        Objects.requireNonNull(id, "id");
+
+        return Optional.ofNullable(
+                this.cell(id.toRelative())
+        );
+    }
+
+    @Override
+    public SpreadsheetCell save(final SpreadsheetCell cell) {
+        Objects.requireNonNull(cell, "cell");
+
+        final SpreadsheetCellReference key = cell.reference()
+                .toRelative();
+
+        final SpreadsheetCell saved;
+
+        final Map<SpreadsheetCellReference, Optional<SpreadsheetCell>> overlay = this.overlay;
+        if (null != overlay) {
+            saved = cell;
+            overlay.put(key, Optional.of(saved));
+        } else {
+            saved = this.interner.intern(cell);
+            this.write(key, saved);
+        }
+
+        this.saveWatchers.accept(saved);
+        return saved;
+    }
+
+    /**
+     * Shares styles and patterns between written cells, only used by the single writer.
+     */
+    private final SpreadsheetCellInterner interner = SpreadsheetCellInterner.empty();
+
+    @Override
+    public Runnable addSaveWatcher(final Consumer<SpreadsheetCell> saved) {
+        return this.saveWatchers.addWatcher(saved);
+    }
+
+    private final Watchers<SpreadsheetCell> saveWatchers = Watchers.create();
+
+    @Override
+    public void delete(final SpreadsheetCellReference id) {
+        Objects.requireNonNull(id, "id");
+
+        final SpreadsheetCellReference key = id.toRelative();
+        if (null != this.cell(key)) {
+            final Map<SpreadsheetCellReference, Optional<SpreadsheetCell>> overlay = this.overlay;
+            if (null != overlay) {
+                overlay.put(key, Optional.empty());
+            } else {
+                this.write(key, null);
+            }
+
+            this.deleteWatchers.accept(id);
+        }
+    }
+
+    @Override
+    public Runnable addDeleteWatcher(final Consumer<SpreadsheetCellReference> deleted) {
+        return this.deleteWatchers.addWatcher(deleted);
+    }
+
+    private final Watchers<SpreadsheetCellReference> deleteWatchers = Watchers.create();
+
+    @Override
+    public int count() {
+        return (int) this.cells()
+                .count();
+    }
+
+    @Override
+    public Set<SpreadsheetCellReference> ids(final int from,
+                                             final int count) {
+        Store.checkFromAndTo(from, count);
+
+        return this.cells()
+                .skip(from)
+                .limit(count)
+                .map(SpreadsheetCell::reference)
+                .collect(Collectors.toCollection(Sets::ordered));
+    }
+
+    @Override
+    public List<SpreadsheetCell> values(final SpreadsheetCellReference from,
+                                        final int count) {
+        Store.checkFromAndToIds(from, count);
+
+        return this.cells()
+                .filter(c -> c.reference().compareTo(from) >= 0)
+                .limit(count)
+                .collect(Collectors.toCollection(Lists::array));
+    }
+
+    // SpreadsheetCellStore.............................................................................................
+
+    @Override
+    public int rows() {
+        return this.max(c -> c.reference().row().value());
+    }
+
+    @Override
+    public int columns() {
+        return this.max(c -> c.reference().column().value());
+    }
+
+    private int max(final ToIntFunction<SpreadsheetCell> value) {
+        return this.cells()
+                .mapToInt(value)
+                .max()
+                .orElse(0);
+    }
+
+    @Override
+    public Set<SpreadsheetCell> row(final SpreadsheetRowReference row) {
+        Objects.requireNonNull(row, "row");
+
+        return this.filter(c -> row.compareTo(c.reference().row()) == 0);
+    }
+
+    @Override
+    public Set<SpreadsheetCell> column(final SpreadsheetColumnReference column) {
+        Objects.requireNonNull(column, "column");
+
+        return this.filter(c -> column.compareTo(c.reference().column()) == 0);
+    }
+
+    private Set<SpreadsheetCell> filter(final Predicate<SpreadsheetCell> filter) {
+        return this.cells()
+                .filter(filter)
+                .collect(Collectors.toCollection(Sets::sorted));
+    }
+
+    @Override
+    public double maxColumnWidth(final SpreadsheetColumnReference column) {
+        Objects.requireNonNull(column, "column");
+
+        return this.max(
+                c -> c.reference().column().equalsIgnoreReferenceKind(column),
+                TextStylePropertyName.WIDTH
+        );
+    }
+
+    @Override
+    public double maxRowHeight(final SpreadsheetRowReference row) {
+        Objects.requireNonNull(row, "row");
+
+        return this.max(
+                c -> c.reference().row().equalsIgnoreReferenceKind(row),
+                TextStylePropertyName.HEIGHT
+        );
+    }
+
+    private double max(final Predicate<SpreadsheetCell> filter,
+                       final TextStylePropertyName<Length<?>> property) {
+        return this.cells()
+                .filter(filter)
+                .mapToDouble(c -> {
+                    double pixels = 0;
+
+                    final Optional<Length<?>> length = c.style()
+                            .get(property);
+                    if (length.isPresent()) {
+                        final PixelLength pixelLength = (PixelLength) length.get();
+                        pixels = pixelLength.value();
+                    }
+
+                    return pixels;
+                })
+                .max()
+                .orElse(0.0);
+    }
+
+    // versions.........................................................................................................
+
+    /**
+     * Returns the cell visible to this view or null.
+     */
+    private SpreadsheetCell cell(final SpreadsheetCellReference key) {
+        final SpreadsheetCell cell;
+
+        final Map<SpreadsheetCellReference, Optional<SpreadsheetCell>> overlay = this.overlay;
+        final Optional<SpreadsheetCell> overlaid = null != overlay ?
+                overlay.get(key) :
+                null;
+        if (null != overlaid) {
+            cell = overlaid.orElse(null);
+        } else {
+            final MultiVersionSpreadsheetStoreRepositoryCellVersion head = this.cells.get(key);
+            cell = null != head ?
+                    head.cell(this.version) :
+                    null;
+        }
+
+        return cell;
+    }
+
+    /**
+     * All the cells visible to this view in cell reference order.
+     */
+    private Stream<SpreadsheetCell> cells() {
+        final Map<SpreadsheetCellReference, Optional<SpreadsheetCell>> overlay = this.overlay;
+
+        final Set<SpreadsheetCellReference> keys;
+        if (null == overlay || overlay.isEmpty()) {
+            keys = this.cells.keySet();
+        } else {
+            keys = Sets.sorted();
+            keys.addAll(this.cells.keySet());
+            keys.addAll(overlay.keySet());
+        }
+
+        return keys.stream()
+                .map(this::cell)
+                .filter(Objects::nonNull);
+    }
+
+    /**
+     * Adds a version for the cell or delete, replacing any unpublished version and dropping versions no snapshot can
+     * read. A cell that has only ever been unpublished or deleted is removed entirely.
+     */
+    private void write(final SpreadsheetCellReference key,
+                       final SpreadsheetCell cell) {
+        final MultiVersionSpreadsheetStoreRepository repository = this.repository;
+        final long writing = repository.writing();
+
+        final MultiVersionSpreadsheetStoreRepositoryCellVersion head = this.cells.get(key);
+        final MultiVersionSpreadsheetStoreRepositoryCellVersion version = MultiVersionSpreadsheetStoreRepositoryCellVersion.with(
+                writing,
+                cell,
+                null != head && writing == head.version ?
+                        head.older :
+                        head
+        );
+        version.prune(repository.horizon());
+
+        if (null == cell && null == version.older) {
+            this.cells.remove(key);
+        } else {
+            this.cells.put(key, version);
+        }
+    }
+
+    /**
+     * Cell references, without any {@link walkingkooka.spreadsheet.reference.SpreadsheetReferenceKind#ABSOLUTE} components,
+     * to their versions, shared by the writer and all snapshots.
+     */
+    private final ConcurrentNavigableMap<SpreadsheetCellReference, MultiVersionSpreadsheetStoreRepositoryCellVersion> cells;
+
+    /**
+     * Only present for the writer.
+     */
+    private final MultiVersionSpreadsheetStoreRepository repository;
+
+    /**
+     * The newest version visible, {@link Long#MAX_VALUE} for the writer.
+     */
+    private final long version;
+
+    /**
+     * Saves and deletes made through a snapshot, null for the writer.
+     */
+    private final Map<SpreadsheetCellReference, Optional<SpreadsheetCell>> overlay;
+
+    @Override
+    public String toString() {
+        return this.cells()
+                .collect(Collectors.toCollection(Lists::array))
+                .toString();
+    }
+}
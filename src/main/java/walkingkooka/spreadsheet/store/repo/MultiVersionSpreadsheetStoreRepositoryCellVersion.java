@@ -0,0 +1,83 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.store.repo;
+
+import walkingkooka.spreadsheet.SpreadsheetCell;
+
+/**
+ * One version of a cell, linked to its older version. A null cell records a delete.
+ */
+final class MultiVersionSpreadsheetStoreRepositoryCellVersion {
+
+    static MultiVersionSpreadsheetStoreRepositoryCellVersion with(final long version,
+                                                                  final SpreadsheetCell cell,
+                                                                  final MultiVersionSpreadsheetStoreRepositoryCellVersion older) {
+        return new MultiVersionSpreadsheetStoreRepositoryCellVersion(
+                version,
+                cell,
+                older
+        );
+    }
+
+    private MultiVersionSpreadsheetStoreRepositoryCellVersion(final long version,
+                                                              final SpreadsheetCell cell,
+                                                              final MultiVersionSpreadsheetStoreRepositoryCellVersion older) {
+        super();
+        this.version = version;
+        this.cell = cell;
+        this.older = older;
+    }
+
+    /**
+     * Returns the cell as it was at the given version, or null if it was absent or deleted.
+     */
+    SpreadsheetCell cell(final long version) {
+        MultiVersionSpreadsheetStoreRepositoryCellVersion v = this;
+        while (null != v && v.version > version) {
+            v = v.older;
+        }
+        return null != v ? v.cell : null;
+    }
+
+    /**
+     * Drops all versions older than the newest version at or before the horizon, as no snapshot can read them.
+     */
+    void prune(final long horizon) {
+        MultiVersionSpreadsheetStoreRepositoryCellVersion v = this;
+        while (null != v && v.version > horizon) {
+            v = v.older;
+        }
+        if (null != v) {
+            v.older = null;
+        }
+    }
+
+    final long version;
+
+    final SpreadsheetCell cell;
+
+    /**
+     * Cleared by {@link #prune(long)} from the writer while snapshots may be reading.
+     */
+    volatile MultiVersionSpreadsheetStoreRepositoryCellVersion older;
+
+    @Override
+    public String toString() {
+        return this.version + "=" + this.cell + (null != this.older ? ", " + this.older : "");
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.store.repo;
+
+import walkingkooka.spreadsheet.conditionalformat.SpreadsheetConditionalFormattingRule;
+import walkingkooka.spreadsheet.meta.store.SpreadsheetMetadataStore;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetLabelName;
+import walkingkooka.spreadsheet.reference.store.SpreadsheetCellRangeStore;
+import walkingkooka.spreadsheet.reference.store.SpreadsheetExpressionReferenceStore;
+import walkingkooka.spreadsheet.reference.store.SpreadsheetLabelStore;
+import walkingkooka.spreadsheet.security.store.SpreadsheetGroupStore;
+import walkingkooka.spreadsheet.security.store.SpreadsheetUserStore;
+import walkingkooka.spreadsheet.store.SpreadsheetCellStore;
+import walkingkooka.spreadsheet.store.SpreadsheetColumnStore;
+import walkingkooka.spreadsheet.store.SpreadsheetRowStore;
+
+/**
+ * A {@link SpreadsheetStoreRepositorySnapshot} created by {@link MultiVersionSpreadsheetStoreRepository#snapshot()}.
+ */
+final class MultiVersionSpreadsheetStoreRepositorySnapshot implements SpreadsheetStoreRepositorySnapshot {
+
+    static MultiVersionSpreadsheetStoreRepositorySnapshot with(final long version,
+                                                               final SpreadsheetStoreRepository repository,
+                                                               final Runnable release) {
+        return new MultiVersionSpreadsheetStoreRepositorySnapshot(
+                version,
+                repository,
+                release
+        );
+    }
+
+    private MultiVersionSpreadsheetStoreRepositorySnapshot(final long version,
+                                                           final SpreadsheetStoreRepository repository,
+                                                           final Runnable release) {
+        super();
+        this.version = version;
+        this.repository = repository;
+        this.release = release;
+    }
+
+    @Override
+    public SpreadsheetCellStore cells() {
+        return this.repository.cells();
+    }
+
+    @Override
+    public SpreadsheetExpressionReferenceStore<SpreadsheetCellReference> cellReferences() {
+        return this.repository.cellReferences();
+    }
+
+    @Override
+    public SpreadsheetColumnStore columns() {
+        return this.repository.columns();
+    }
+
+    @Override
+    public SpreadsheetGroupStore groups() {
+        return this.repository.groups();
+    }
+
+    @Override
+    public SpreadsheetLabelStore labels() {
+        return this.repository.labels();
+    }
+
+    @Override
+    public SpreadsheetExpressionReferenceStore<SpreadsheetLabelName> labelReferences() {
+        return this.repository.labelReferences();
+    }
+
+    @Override
+    public SpreadsheetMetadataStore metadatas() {
+        return this.repository.metadatas();
+    }
+
+    @Override
+    public SpreadsheetCellRangeStore<SpreadsheetCellReference> rangeToCells() {
+        return this.repository.rangeToCells();
+    }
+
+    @Override
+    public SpreadsheetCellRangeStore<SpreadsheetConditionalFormattingRule> rangeToConditionalFormattingRules() {
+        return this.repository.rangeToConditionalFormattingRules();
+    }
+
+    @Override
+    public SpreadsheetRowStore rows() {
+        return this.repository.rows();
+    }
+
+    @Override
+    public SpreadsheetUserStore users() {
+        return this.repository.users();
+    }
+
+    private final SpreadsheetStoreRepository repository;
+
+    @Override
+    public long version() {
+        return this.version;
+    }
+
+    private final long version;
+
+    /**
+     * Only the first close releases the version.
+     */
+    @Override
+    public void close() {
+        if (!this.closed) {
+            this.closed = true;
+            this.release.run();
+        }
+    }
+
+    private final Runnable release;
+
+    private boolean closed;
+
+    @Override
+    public String toString() {
+        return "version " + this.version + " " + this.repository;
+    }
+}
@@ -39,7 +39,7 @@ import java.util.function.Supplier;
 
 /**
  * A {@link SpreadsheetStoreRepository} that rewraps the {@link SpreadsheetCellStore} each time a {@link SpreadsheetMetadata}
- * with the same id is saved.
+ * with the same id and different formula properties is saved.
  */
 final class SpreadsheetMetadataAwareSpreadsheetCellStoreSpreadsheetStoreRepository implements SpreadsheetStoreRepository {
 
@@ -69,15 +69,19 @@ final class SpreadsheetMetadataAwareSpreadsheetCellStoreSpreadsheetStoreReposito
 
     /**
      * Whenever the {@link SpreadsheetMetadata} with the same id is saved call {@link SpreadsheetCellStores#spreadsheetFormulaSpreadsheetMetadataAware}
-     * again.
+     * again with the current wrapper, which is only replaced if a property used to parse or update formulas changed.
      */
     private void onSaveMetadata(final SpreadsheetMetadata metadata) {
         final SpreadsheetId id = metadata.id()
                 .orElseThrow(() -> new IllegalArgumentException("Metadata missing id"));
         final SpreadsheetId expected = this.id;
         if (expected.equals(id)) {
+            final SpreadsheetCellStore cells = this.cells;
+
             this.cells = SpreadsheetCellStores.spreadsheetFormulaSpreadsheetMetadataAware(
-                    this.repository.cells(),
+                    null != cells ?
+                            cells :
+                            this.repository.cells(),
                     metadata,
                     this.now
             );
@@ -86,12 +90,16 @@ final class SpreadsheetMetadataAwareSpreadsheetCellStoreSpreadsheetStoreReposito
 
     @Override
     public SpreadsheetCellStore cells() {
-        if (null == this.cells) {
-            this.cells = SpreadsheetCellStores.spreadsheetFormulaSpreadsheetMetadataAware(
+        SpreadsheetCellStore cells = this.cells;
+
+        // if two threads race both create an equivalent wrapper and the last one is kept.
+        if (null == cells) {
+            cells = SpreadsheetCellStores.spreadsheetFormulaSpreadsheetMetadataAware(
                     this.repository.cells(),
                     this.repository.metadatas().loadOrFail(this.id),
                     this.now
             );
+            this.cells = cells;
         }
         return cells;
     }
@@ -99,9 +107,10 @@ final class SpreadsheetMetadataAwareSpreadsheetCellStoreSpreadsheetStoreReposito
     private final Supplier<LocalDateTime> now;
 
     /**
-     * This will be updated each time a new {@link SpreadsheetMetadata} is saved.
+     * This will be updated each time a {@link SpreadsheetMetadata} with different formula properties is saved. The
+     * field is volatile so readers always see a fully constructed wrapper.
      */
-    private SpreadsheetCellStore cells; // TODO AtomicReference
+    private volatile SpreadsheetCellStore cells;
 
     @Override
     public SpreadsheetExpressionReferenceStore<SpreadsheetCellReference> cellReferences() {
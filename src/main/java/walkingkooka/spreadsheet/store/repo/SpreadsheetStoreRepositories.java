@@ -31,6 +31,8 @@ import walkingkooka.spreadsheet.security.store.SpreadsheetUserStore;
 import walkingkooka.spreadsheet.store.SpreadsheetCellStore;
 import walkingkooka.spreadsheet.store.SpreadsheetColumnStore;
 import walkingkooka.spreadsheet.store.SpreadsheetRowStore;
+import walkingkooka.tree.json.marshall.JsonNodeMarshallContext;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
 
 import java.time.LocalDateTime;
 import java.util.function.Supplier;
@@ -76,6 +78,17 @@ public final class SpreadsheetStoreRepositories implements PublicStaticHelper {
         );
     }
 
+    /**
+     * {@see BinarySpreadsheetStoreRepositoryCodec}
+     */
+    public static SpreadsheetStoreRepositoryCodec binaryCodec(final JsonNodeMarshallContext marshallContext,
+                                                              final JsonNodeUnmarshallContext unmarshallContext) {
+        return BinarySpreadsheetStoreRepositoryCodec.with(
+                marshallContext,
+                unmarshallContext
+        );
+    }
+
     /**
      * {@see SpreadsheetMetadataAwareSpreadsheetCellStoreSpreadsheetStoreRepository}
      */
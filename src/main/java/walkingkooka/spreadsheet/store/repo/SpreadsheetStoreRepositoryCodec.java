@@ -0,0 +1,40 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.store.repo;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Writes a snapshot of a whole {@link SpreadsheetStoreRepository} to a stream and restores it again.
+ */
+public interface SpreadsheetStoreRepositoryCodec {
+
+    /**
+     * Writes the cells, columns, rows, labels, references and metadata of the {@link SpreadsheetStoreRepository}.
+     */
+    void snapshot(final SpreadsheetStoreRepository repository,
+                  final OutputStream output) throws IOException;
+
+    /**
+     * Reads a snapshot saving everything into the given, usually empty {@link SpreadsheetStoreRepository}.
+     */
+    void restore(final InputStream input,
+                 final SpreadsheetStoreRepository repository) throws IOException;
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.store.repo;
+
+/**
+ * A {@link SpreadsheetStoreRepository} whose writes become visible to readers only when published, readers take a
+ * {@link SpreadsheetStoreRepositorySnapshot} of the latest published version which never changes while they read.
+ * There must only be one writer at a time.
+ */
+public interface VersionedSpreadsheetStoreRepository extends SpreadsheetStoreRepository {
+
+    /**
+     * The latest published version.
+     */
+    long version();
+
+    /**
+     * Atomically publishes all writes since the previous publish, returning the new version.
+     */
+    long publish();
+
+    /**
+     * Returns a snapshot of the latest published version, which must be closed when no longer needed.
+     */
+    SpreadsheetStoreRepositorySnapshot snapshot();
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.spreadsheet.format.pattern.SpreadsheetPattern;
+import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
+import walkingkooka.tree.text.FontStyle;
+import walkingkooka.tree.text.Length;
+import walkingkooka.tree.text.TextNode;
+import walkingkooka.tree.text.TextStyle;
+import walkingkooka.tree.text.TextStylePropertyName;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class SpreadsheetCellInternerTest implements ClassTesting2<SpreadsheetCellInterner>,
+        ToStringTesting<SpreadsheetCellInterner> {
+
+    @Test
+    public void testInternNullFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> SpreadsheetCellInterner.empty().intern(null)
+        );
+    }
+
+    @Test
+    public void testInternFirstCellUnchanged() {
+        final SpreadsheetCell cell = this.cell("A1");
+
+        assertSame(
+                cell,
+                SpreadsheetCellInterner.empty().intern(cell)
+        );
+    }
+
+    @Test
+    public void testInternSharesStyleAndPatterns() {
+        final SpreadsheetCellInterner interner = SpreadsheetCellInterner.empty();
+
+        final SpreadsheetCell a1 = interner.intern(this.cell("A1"));
+        final SpreadsheetCell b2 = this.cell("B2");
+        assertNotSame(a1.style(), b2.style(), "style");
+
+        final SpreadsheetCell interned = interner.intern(b2);
+        this.checkEquals(b2, interned);
+
+        assertSame(a1.style(), interned.style(), "style");
+        assertSame(a1.parsePattern().get(), interned.parsePattern().get(), "parsePattern");
+        assertSame(a1.formatPattern().get(), interned.formatPattern().get(), "formatPattern");
+        assertSame(a1.formatPattern().get().formatter(), interned.formatPattern().get().formatter(), "formatter");
+    }
+
+    @Test
+    public void testInternKeepsFormatted() {
+        final SpreadsheetCellInterner interner = SpreadsheetCellInterner.empty();
+        interner.intern(this.cell("A1"));
+
+        final SpreadsheetCell cell = this.cell("B2")
+                .setFormatted(
+                        Optional.of(
+                                TextNode.text("formatted")
+                        )
+                );
+        this.checkEquals(
+                cell,
+                interner.intern(cell)
+        );
+    }
+
+    @Test
+    public void testInternEmptyStyleAndMissingPatternsNotPooled() {
+        final SpreadsheetCellInterner interner = SpreadsheetCellInterner.empty();
+        final SpreadsheetCell cell = SpreadsheetSelection.parseCell("A1")
+                .setFormula(SpreadsheetFormula.EMPTY.setText("=1"));
+
+        assertSame(cell, interner.intern(cell));
+        this.checkEquals(0, interner.size(), "size");
+    }
+
+    @Test
+    public void testInternClearsFullPool() {
+        final SpreadsheetCellInterner interner = SpreadsheetCellInterner.empty();
+
+        for (int i = 0; i < SpreadsheetCellInterner.MAX_SIZE; i++) {
+            interner.intern(
+                    SpreadsheetSelection.parseCell("A1")
+                            .setFormula(SpreadsheetFormula.EMPTY.setText("=1"))
+                            .setStyle(
+                                    TextStyle.EMPTY
+                                            .set(TextStylePropertyName.WIDTH, Length.pixel((double) i))
+                            )
+            );
+        }
+        this.checkEquals(SpreadsheetCellInterner.MAX_SIZE, interner.size(), "size");
+
+        final SpreadsheetCell a1 = interner.intern(this.cell("A1"));
+        this.checkEquals(3, interner.size(), "size after clear");
+
+        assertSame(
+                a1.style(),
+                interner.intern(this.cell("B2")).style(),
+                "style"
+        );
+    }
+
+    @Test
+    public void testToString() {
+        final SpreadsheetCellInterner interner = SpreadsheetCellInterner.empty();
+        interner.intern(this.cell("A1"));
+        interner.intern(this.cell("B2"));
+
+        this.toStringAndCheck(
+                interner,
+                "1 style(s) 1 parse pattern(s) 1 format pattern(s)"
+        );
+    }
+
+    /**
+     * Every call creates new but equal style and pattern instances.
+     */
+    private SpreadsheetCell cell(final String reference) {
+        return SpreadsheetSelection.parseCell(reference)
+                .setFormula(SpreadsheetFormula.EMPTY.setText("=1"))
+                .setStyle(
+                        TextStyle.with(
+                                Maps.of(TextStylePropertyName.FONT_STYLE, FontStyle.ITALIC)
+                        )
+                ).setParsePattern(
+                        Optional.of(
+                                SpreadsheetPattern.parseNumberParsePattern("#.##")
+                        )
+                ).setFormatPattern(
+                        Optional.of(
+                                SpreadsheetPattern.parseNumberFormatPattern("#.##")
+                        )
+                );
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<SpreadsheetCellInterner> type() {
+        return SpreadsheetCellInterner.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
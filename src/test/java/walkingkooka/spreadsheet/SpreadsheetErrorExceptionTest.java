@@ -45,6 +45,15 @@ public final class SpreadsheetErrorExceptionTest implements ClassTesting<Spreads
         );
     }
 
+    @Test
+    public void testNewStackTraceEmpty() {
+        this.checkEquals(
+                0,
+                new SpreadsheetErrorException(ERROR).getStackTrace().length,
+                "stackTrace"
+        );
+    }
+
     @Override
     public Class<SpreadsheetErrorException> type() {
         return SpreadsheetErrorException.class;
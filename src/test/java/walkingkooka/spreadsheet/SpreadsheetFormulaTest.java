@@ -38,6 +38,7 @@ import walkingkooka.tree.expression.Expression;
 import walkingkooka.tree.expression.ExpressionNumberKind;
 import walkingkooka.tree.json.JsonNode;
 import walkingkooka.tree.json.JsonPropertyName;
+import walkingkooka.tree.json.marshall.JsonNodeMarshallContext;
 import walkingkooka.tree.json.marshall.JsonNodeMarshallingTesting;
 import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
 import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContexts;
@@ -770,6 +771,95 @@ public final class SpreadsheetFormulaTest implements ClassTesting2<SpreadsheetFo
         );
     }
 
+    @Test
+    public void testCompactMarshallContextNullFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> SpreadsheetFormula.compactMarshallContext(null)
+        );
+    }
+
+    @Test
+    public void testCompactMarshallContextNullProcessorFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> SpreadsheetFormula.compactMarshallContext(
+                        this.marshallContext(),
+                        null
+                )
+        );
+    }
+
+    @Test
+    public void testCompactMarshallContextTextTokenExpressionAndValue() {
+        this.checkEquals(
+                JsonNode.object()
+                        .set(JsonPropertyName.with("text"), JsonNode.string("1+2"))
+                        .set(JsonPropertyName.with("value"), this.marshallContext().marshallWithType(123L)),
+                SpreadsheetFormula.compactMarshallContext(this.marshallContext())
+                        .marshall(
+                                formula(TEXT)
+                                        .setToken(this.token())
+                                        .setExpression(this.expression())
+                                        .setValue(Optional.of(123L))
+                        )
+        );
+    }
+
+    @Test
+    public void testCompactMarshallContextWithProcessor() {
+        final JsonPropertyName compacted = JsonPropertyName.with("compacted");
+
+        this.checkEquals(
+                JsonNode.object()
+                        .set(JsonPropertyName.with("text"), JsonNode.string("1+2"))
+                        .set(JsonPropertyName.with("value"), this.marshallContext().marshallWithType(123L))
+                        .set(compacted, JsonNode.booleanNode(true)),
+                SpreadsheetFormula.compactMarshallContext(
+                        this.marshallContext(),
+                        (value, object) -> value instanceof SpreadsheetFormula ?
+                                object.set(compacted, JsonNode.booleanNode(true)) :
+                                object
+                ).marshall(
+                        formula(TEXT)
+                                .setToken(this.token())
+                                .setExpression(this.expression())
+                                .setValue(Optional.of(123L))
+                )
+        );
+    }
+
+    @Test
+    public void testCompactMarshallContextRoundtrip() {
+        final JsonNodeMarshallContext context = SpreadsheetFormula.compactMarshallContext(this.marshallContext());
+        final SpreadsheetFormula formula = formula(TEXT)
+                .setToken(this.token())
+                .setExpression(this.expression())
+                .setValue(Optional.of(123L));
+        final JsonNode json = context.marshall(formula);
+
+        final SpreadsheetFormula unmarshalled = this.unmarshallContext()
+                .unmarshall(
+                        json,
+                        SpreadsheetFormula.class
+                );
+        this.checkEquals(
+                formula.text(),
+                unmarshalled.text(),
+                "text"
+        );
+        this.checkEquals(
+                formula.value(),
+                unmarshalled.value(),
+                "value"
+        );
+        this.checkEquals(
+                json,
+                context.marshall(unmarshalled),
+                "marshall again"
+        );
+    }
+
     // patch............................................................................................................
 
     @Test
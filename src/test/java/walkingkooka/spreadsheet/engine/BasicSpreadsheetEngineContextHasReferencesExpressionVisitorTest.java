@@ -0,0 +1,100 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.engine;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
+import walkingkooka.tree.expression.Expression;
+import walkingkooka.tree.expression.ExpressionVisitor;
+import walkingkooka.tree.expression.ExpressionVisitorTesting;
+
+public final class BasicSpreadsheetEngineContextHasReferencesExpressionVisitorTest extends BasicSpreadsheetEngineTestCase<BasicSpreadsheetEngineContextHasReferencesExpressionVisitor>
+        implements ExpressionVisitorTesting<BasicSpreadsheetEngineContextHasReferencesExpressionVisitor> {
+
+    @Test
+    public void testHasReferencesValue() {
+        this.hasReferencesAndCheck(
+                Expression.value(true),
+                false
+        );
+    }
+
+    @Test
+    public void testHasReferencesAdd() {
+        this.hasReferencesAndCheck(
+                Expression.add(
+                        Expression.value(1),
+                        Expression.value(2)
+                ),
+                false
+        );
+    }
+
+    @Test
+    public void testHasReferencesReference() {
+        this.hasReferencesAndCheck(
+                Expression.reference(
+                        SpreadsheetSelection.parseCell("A1")
+                ),
+                true
+        );
+    }
+
+    @Test
+    public void testHasReferencesNestedReference() {
+        this.hasReferencesAndCheck(
+                Expression.add(
+                        Expression.value(1),
+                        Expression.reference(
+                                SpreadsheetSelection.parseCell("B2")
+                        )
+                ),
+                true
+        );
+    }
+
+    private void hasReferencesAndCheck(final Expression expression,
+                                       final boolean expected) {
+        this.checkEquals(
+                expected,
+                BasicSpreadsheetEngineContextHasReferencesExpressionVisitor.hasReferences(expression),
+                () -> "hasReferences " + expression
+        );
+    }
+
+    // TypeNameTesting..........................................................................
+
+    @Override
+    public String typeNameSuffix() {
+        return ExpressionVisitor.class.getSimpleName();
+    }
+
+    // ClassTesting..........................................................................
+
+    @Override
+    public Class<BasicSpreadsheetEngineContextHasReferencesExpressionVisitor> type() {
+        return BasicSpreadsheetEngineContextHasReferencesExpressionVisitor.class;
+    }
+
+    // VisitingTesting....................................................................................
+
+    @Override
+    public BasicSpreadsheetEngineContextHasReferencesExpressionVisitor createVisitor() {
+        return new BasicSpreadsheetEngineContextHasReferencesExpressionVisitor();
+    }
+}
@@ -29,7 +29,10 @@ import walkingkooka.math.DecimalNumberContexts;
 import walkingkooka.math.Fraction;
 import walkingkooka.net.AbsoluteUrl;
 import walkingkooka.net.Url;
+import walkingkooka.spreadsheet.SpreadsheetCell;
+import walkingkooka.spreadsheet.SpreadsheetDescription;
 import walkingkooka.spreadsheet.SpreadsheetFormula;
+import walkingkooka.spreadsheet.conditionalformat.SpreadsheetConditionalFormattingRule;
 import walkingkooka.spreadsheet.expression.SpreadsheetExpressionEvaluationContext;
 import walkingkooka.spreadsheet.format.SpreadsheetText;
 import walkingkooka.spreadsheet.format.pattern.SpreadsheetFormatPattern;
@@ -58,6 +61,7 @@ import walkingkooka.tree.expression.function.ExpressionFunctionParameter;
 import walkingkooka.tree.expression.function.ExpressionFunctionParameterKind;
 import walkingkooka.tree.expression.function.ExpressionFunctionParameterName;
 import walkingkooka.tree.expression.function.FakeExpressionFunction;
+import walkingkooka.tree.text.TextStyle;
 
 import java.math.BigDecimal;
 import java.math.MathContext;
@@ -69,6 +73,7 @@ import java.util.Optional;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public final class BasicSpreadsheetEngineContextTest implements SpreadsheetEngineContextTesting<BasicSpreadsheetEngineContext> {
@@ -447,6 +452,202 @@ public final class BasicSpreadsheetEngineContextTest implements SpreadsheetEngin
         );
     }
 
+    @Test
+    public void testTestConditionalFormattingRuleTrue() {
+        this.testConditionalFormattingRuleAndCheck(
+                true
+        );
+    }
+
+    @Test
+    public void testTestConditionalFormattingRuleFalse() {
+        this.testConditionalFormattingRuleAndCheck(
+                false
+        );
+    }
+
+    @Test
+    public void testTestConditionalFormattingRuleMemoized() {
+        final BasicSpreadsheetEngineContext context = this.createContext();
+        final SpreadsheetConditionalFormattingRule rule = this.conditionalFormattingRule(true);
+        final SpreadsheetCell cell = LOAD_CELL_REFERENCE.setFormula(SpreadsheetFormula.EMPTY);
+
+        this.checkEquals(
+                true,
+                context.testConditionalFormattingRule(rule, cell),
+                "first"
+        );
+        this.checkEquals(
+                true,
+                context.testConditionalFormattingRule(rule, cell),
+                "second"
+        );
+    }
+
+    @Test
+    public void testTestConditionalFormattingRuleMemoizedManyCellValues() {
+        final BasicSpreadsheetEngineContext context = this.createContext();
+        final SpreadsheetConditionalFormattingRule rule = this.conditionalFormattingRule(true);
+
+        for (int i = 0; i <= BasicSpreadsheetEngineContext.MAX_CONDITIONAL_FORMATTING_RULE_RESULTS; i++) {
+            this.checkEquals(
+                    true,
+                    context.testConditionalFormattingRule(
+                            rule,
+                            LOAD_CELL_REFERENCE.setFormula(
+                                    SpreadsheetFormula.EMPTY.setValue(
+                                            Optional.of(i)
+                                    )
+                            )
+                    ),
+                    "value"
+            );
+        }
+    }
+
+    @Test
+    public void testConverterContextSame() {
+        final BasicSpreadsheetEngineContext context = this.createContext();
+        assertSame(
+                context.converterContext(),
+                context.converterContext()
+        );
+    }
+
+    // isClean.........................................................................................................
+
+    @Test
+    public void testIsCleanNullCellFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> this.createContext().isClean(null)
+        );
+    }
+
+    @Test
+    public void testMarkCleanNullCellFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> this.createContext().markClean(null)
+        );
+    }
+
+    @Test
+    public void testIsCleanNotMarked() {
+        this.isCleanAndCheck(
+                this.createContext(),
+                LOAD_CELL_REFERENCE.setFormula(SpreadsheetFormula.EMPTY),
+                false
+        );
+    }
+
+    @Test
+    public void testIsCleanMarked() {
+        final BasicSpreadsheetEngineContext context = this.createContext();
+        final SpreadsheetCell cell = LOAD_CELL_REFERENCE.setFormula(SpreadsheetFormula.EMPTY);
+        context.markClean(cell);
+
+        this.isCleanAndCheck(
+                context,
+                cell,
+                true
+        );
+    }
+
+    @Test
+    public void testIsCleanMarkedThenUpdated() {
+        final BasicSpreadsheetEngineContext context = this.createContext();
+        final SpreadsheetCell cell = LOAD_CELL_REFERENCE.setFormula(SpreadsheetFormula.EMPTY);
+        context.markClean(cell);
+
+        this.isCleanAndCheck(
+                context,
+                cell.setFormula(
+                        SpreadsheetFormula.EMPTY.setText("=1")
+                ),
+                false
+        );
+    }
+
+    @Test
+    public void testMarkDirtyNullCellFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> this.createContext().markDirty(null)
+        );
+    }
+
+    @Test
+    public void testIsCleanMarkedThenDirty() {
+        final BasicSpreadsheetEngineContext context = this.createContext();
+        final SpreadsheetCell cell = LOAD_CELL_REFERENCE.setFormula(SpreadsheetFormula.EMPTY);
+        context.markClean(cell);
+        context.markDirty(cell.reference().toAbsolute());
+
+        this.isCleanAndCheck(
+                context,
+                cell,
+                false
+        );
+    }
+
+    @Test
+    public void testMarkCleanClearedWhenFull() {
+        final BasicSpreadsheetEngineContext context = this.createContext();
+        final SpreadsheetCell cell = LOAD_CELL_REFERENCE.setFormula(SpreadsheetFormula.EMPTY);
+        context.markClean(cell);
+
+        for (int i = 0; i < BasicSpreadsheetEngineContext.MAX_CLEAN_CELLS; i++) {
+            context.markClean(
+                    SpreadsheetSelection.parseCell("Y" + (i + 1))
+                            .setFormula(SpreadsheetFormula.EMPTY)
+            );
+        }
+
+        this.isCleanAndCheck(
+                context,
+                cell,
+                false
+        );
+    }
+
+    private void isCleanAndCheck(final BasicSpreadsheetEngineContext context,
+                                 final SpreadsheetCell cell,
+                                 final boolean expected) {
+        this.checkEquals(
+                expected,
+                context.isClean(cell),
+                () -> "isClean " + cell
+        );
+    }
+
+    private void testConditionalFormattingRuleAndCheck(final boolean result) {
+        this.checkEquals(
+                result,
+                this.createContext()
+                        .testConditionalFormattingRule(
+                                this.conditionalFormattingRule(result),
+                                LOAD_CELL_REFERENCE.setFormula(SpreadsheetFormula.EMPTY)
+                        ),
+                () -> "testConditionalFormattingRule " + result
+        );
+    }
+
+    private SpreadsheetConditionalFormattingRule conditionalFormattingRule(final boolean result) {
+        return SpreadsheetConditionalFormattingRule.with(
+                SpreadsheetDescription.with("Description" + result),
+                1,
+                SpreadsheetFormula.EMPTY
+                        .setText(String.valueOf(result))
+                        .setExpression(
+                                Optional.of(
+                                        Expression.value(result)
+                                )
+                        ),
+                (c) -> TextStyle.EMPTY
+        );
+    }
+
     @Test
     public void testFormat() {
         this.formatAndCheck(
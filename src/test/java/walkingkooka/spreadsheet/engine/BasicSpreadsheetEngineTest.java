@@ -82,6 +82,7 @@ import walkingkooka.spreadsheet.store.SpreadsheetRowStores;
 import walkingkooka.spreadsheet.store.repo.FakeSpreadsheetStoreRepository;
 import walkingkooka.spreadsheet.store.repo.SpreadsheetStoreRepositories;
 import walkingkooka.spreadsheet.store.repo.SpreadsheetStoreRepository;
+import walkingkooka.spreadsheet.store.repo.SpreadsheetStoreRepositoryCodec;
 import walkingkooka.text.CaseSensitivity;
 import walkingkooka.text.CharSequences;
 import walkingkooka.text.cursor.TextCursor;
@@ -102,6 +103,8 @@ import walkingkooka.tree.expression.function.ExpressionFunctionParameterKind;
 import walkingkooka.tree.expression.function.ExpressionFunctionParameterName;
 import walkingkooka.tree.expression.function.FakeExpressionFunction;
 import walkingkooka.tree.expression.function.UnknownExpressionFunctionException;
+import walkingkooka.tree.json.marshall.JsonNodeMarshallContexts;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContexts;
 import walkingkooka.tree.text.FontStyle;
 import walkingkooka.tree.text.FontWeight;
 import walkingkooka.tree.text.Length;
@@ -111,6 +114,9 @@ import walkingkooka.tree.text.TextStyle;
 import walkingkooka.tree.text.TextStylePropertyName;
 import walkingkooka.tree.text.TextStylePropertyValueException;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.math.MathContext;
 import java.math.RoundingMode;
@@ -901,6 +907,137 @@ public final class BasicSpreadsheetEngineTest extends BasicSpreadsheetEngineTest
         assertSame(first, second, "different instances of SpreadsheetCell returned not cached");
     }
 
+    @Test
+    public void testLoadCellsComputeIfNecessaryUnchangedDoesNotSave() {
+        final BasicSpreadsheetEngine engine = this.createSpreadsheetEngine();
+        final SpreadsheetEngineContext context = this.createContext(engine);
+
+        final SpreadsheetCellReference cellReference = this.cellReference(1, 1);
+        context.storeRepository()
+                .cells()
+                .save(this.cell(cellReference, "=1+2"));
+
+        final SpreadsheetCell first = this.loadCellOrFail(
+                engine,
+                cellReference,
+                SpreadsheetEngineEvaluation.COMPUTE_IF_NECESSARY,
+                context
+        );
+
+        this.addFailingCellSaveWatcherAndDeleteWatcher(context);
+
+        final SpreadsheetCell second = this.loadCellOrFail(
+                engine,
+                cellReference,
+                SpreadsheetEngineEvaluation.COMPUTE_IF_NECESSARY,
+                context
+        );
+
+        this.checkEquals(first, second);
+    }
+
+    @Test
+    public void testLoadCellsComputeIfNecessaryCleanCellNotEvaluatedOrFormatted() {
+        final BasicSpreadsheetEngine engine = this.createSpreadsheetEngine();
+        final SpreadsheetStoreRepository repository = this.createContext(engine)
+                .storeRepository();
+
+        // cell has no expression or value, which means only a clean cell would be returned unchanged
+        final SpreadsheetCell cell = this.cell("A1", "=1+2")
+                .setFormatted(
+                        Optional.of(
+                                TextNode.text("clean")
+                        )
+                );
+        repository.cells()
+                .save(cell);
+
+        final SpreadsheetEngineContext context = new FakeSpreadsheetEngineContext() {
+            @Override
+            public boolean isClean(final SpreadsheetCell c) {
+                return true;
+            }
+
+            @Override
+            public SpreadsheetStoreRepository storeRepository() {
+                return repository;
+            }
+        };
+
+        this.addFailingCellSaveWatcherAndDeleteWatcher(context);
+
+        this.loadCellAndCheck(
+                engine,
+                cell.reference(),
+                SpreadsheetEngineEvaluation.COMPUTE_IF_NECESSARY,
+                Sets.of(SpreadsheetDeltaProperties.CELLS),
+                context,
+                SpreadsheetDelta.EMPTY
+                        .setCells(
+                                Sets.of(cell)
+                        )
+        );
+    }
+
+    @Test
+    public void testLoadCellsComputeIfNecessaryStaleFormattedFormattedOnce() {
+        final HistogramSpreadsheetEngineMetrics metrics = HistogramSpreadsheetEngineMetrics.empty();
+        final BasicSpreadsheetEngine engine = BasicSpreadsheetEngine.with(metrics);
+        final SpreadsheetEngineContext context = this.createContext(engine);
+
+        final SpreadsheetCellReference a1 = SpreadsheetSelection.parseCell("A1");
+        engine.saveCell(
+                this.cell(a1, "=1+2"),
+                context
+        );
+
+        final SpreadsheetCellStore store = context.storeRepository()
+                .cells();
+        final SpreadsheetCell saved = store.loadOrFail(a1);
+        store.save(
+                saved.setFormatted(
+                        Optional.of(
+                                TextNode.text("stale")
+                        )
+                )
+        );
+
+        final long format = metrics.events(SpreadsheetEngineMetricsPhase.FORMAT);
+        final long storeSave = metrics.events(SpreadsheetEngineMetricsPhase.STORE_SAVE);
+
+        engine.loadCells(
+                a1,
+                SpreadsheetEngineEvaluation.COMPUTE_IF_NECESSARY,
+                Sets.of(SpreadsheetDeltaProperties.CELLS),
+                context
+        );
+
+        this.checkEquals(format + 1, metrics.events(SpreadsheetEngineMetricsPhase.FORMAT), "FORMAT events");
+        this.checkEquals(storeSave + 1, metrics.events(SpreadsheetEngineMetricsPhase.STORE_SAVE), "STORE_SAVE events");
+        this.checkEquals(saved, store.loadOrFail(a1), "saved");
+    }
+
+    @Test
+    public void testLoadCellsSkipEvaluateDoesNotSave() {
+        final BasicSpreadsheetEngine engine = this.createSpreadsheetEngine();
+        final SpreadsheetEngineContext context = this.createContext(engine);
+
+        final SpreadsheetCellReference cellReference = this.cellReference(1, 1);
+        context.storeRepository()
+                .cells()
+                .save(this.cell(cellReference, "=1+2"));
+
+        this.addFailingCellSaveWatcherAndDeleteWatcher(context);
+
+        this.loadCellAndCheckWithoutValueOrError(
+                engine,
+                cellReference,
+                SpreadsheetEngineEvaluation.SKIP_EVALUATE,
+                SpreadsheetDeltaProperties.ALL,
+                context
+        );
+    }
+
     @Test
     public void testLoadCellsManyWithoutCrossCellReferences() {
         final BasicSpreadsheetEngine engine = this.createSpreadsheetEngine();
@@ -1279,6 +1416,209 @@ public final class BasicSpreadsheetEngineTest extends BasicSpreadsheetEngineTest
         );
     }
 
+    // metrics.......................................................................................................
+
+    @Test
+    public void testWithNullMetricsFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> BasicSpreadsheetEngine.with(null)
+        );
+    }
+
+    @Test
+    public void testWithNoopMetrics() {
+        assertSame(
+                BasicSpreadsheetEngine.INSTANCE,
+                BasicSpreadsheetEngine.with(NoopSpreadsheetEngineMetrics.INSTANCE)
+        );
+    }
+
+    @Test
+    public void testSaveCellMetrics() {
+        final HistogramSpreadsheetEngineMetrics metrics = HistogramSpreadsheetEngineMetrics.empty();
+        final BasicSpreadsheetEngine engine = BasicSpreadsheetEngine.with(metrics);
+        final SpreadsheetEngineContext context = this.createContext(engine);
+
+        engine.saveCell(
+                this.cell("a1", "=1+2"),
+                context
+        );
+
+        this.checkEquals(1L, metrics.events(SpreadsheetEngineMetricsPhase.PARSE), "PARSE events");
+        this.checkEquals(1L, metrics.count(SpreadsheetEngineMetricsPhase.PARSE), "PARSE count");
+        this.checkEquals(1L, metrics.events(SpreadsheetEngineMetricsPhase.EVALUATE), "EVALUATE events");
+        this.checkEquals(1L, metrics.events(SpreadsheetEngineMetricsPhase.FORMAT), "FORMAT events");
+        this.checkEquals(1L, metrics.events(SpreadsheetEngineMetricsPhase.STORE_SAVE), "STORE_SAVE events");
+        this.checkEquals(1L, metrics.count(SpreadsheetEngineMetricsPhase.DELTA), "DELTA count");
+    }
+
+    @Test
+    public void testLoadCellsAfterBinaryRestoreParsesAndDoesNotEvaluate() throws IOException {
+        final BasicSpreadsheetEngine engine = this.createSpreadsheetEngine();
+        final SpreadsheetEngineContext context = this.createContext(
+                DEFAULT_YEAR,
+                engine,
+                this.binaryCodecRepository()
+        );
+
+        engine.saveCell(
+                this.cell("A1", "=1+2"),
+                context
+        );
+
+        final SpreadsheetStoreRepositoryCodec codec = SpreadsheetStoreRepositories.binaryCodec(
+                JsonNodeMarshallContexts.basic(),
+                JsonNodeUnmarshallContexts.basic(
+                        EXPRESSION_NUMBER_KIND,
+                        MathContext.DECIMAL32
+                )
+        );
+
+        final ByteArrayOutputStream snapshot = new ByteArrayOutputStream();
+        codec.snapshot(
+                context.storeRepository(),
+                snapshot
+        );
+
+        final HistogramSpreadsheetEngineMetrics metrics = HistogramSpreadsheetEngineMetrics.empty();
+        final BasicSpreadsheetEngine restoredEngine = BasicSpreadsheetEngine.with(metrics);
+        final SpreadsheetEngineContext restoredContext = this.createContext(
+                DEFAULT_YEAR,
+                restoredEngine,
+                this.binaryCodecRepository()
+        );
+
+        codec.restore(
+                new ByteArrayInputStream(snapshot.toByteArray()),
+                restoredContext.storeRepository()
+        );
+
+        final SpreadsheetDelta delta = restoredEngine.loadCells(
+                SpreadsheetSelection.parseCellRange("A1"),
+                SpreadsheetEngineEvaluation.COMPUTE_IF_NECESSARY,
+                Sets.of(SpreadsheetDeltaProperties.CELLS),
+                restoredContext
+        );
+
+        this.checkEquals(
+                context.storeRepository()
+                        .cells()
+                        .loadOrFail(SpreadsheetSelection.parseCell("A1")),
+                delta.cells()
+                        .iterator()
+                        .next(),
+                "restored cell"
+        );
+        this.checkEquals(1L, metrics.count(SpreadsheetEngineMetricsPhase.PARSE), "PARSE count");
+        this.checkEquals(0L, metrics.events(SpreadsheetEngineMetricsPhase.EVALUATE), "EVALUATE events");
+    }
+
+    @Test
+    public void testLoadCellsAfterCompactMarshallRoundtripParsesAndKeepsValue() {
+        final BasicSpreadsheetEngine engine = this.createSpreadsheetEngine();
+        final SpreadsheetEngineContext context = this.createContext(engine);
+
+        final SpreadsheetCellReference a1 = SpreadsheetSelection.parseCell("A1");
+        engine.saveCell(
+                this.cell(a1, "=1+2"),
+                context
+        );
+        final SpreadsheetCell saved = context.storeRepository()
+                .cells()
+                .loadOrFail(a1);
+
+        final SpreadsheetCell unmarshalled = JsonNodeUnmarshallContexts.basic(
+                EXPRESSION_NUMBER_KIND,
+                MathContext.DECIMAL32
+        ).unmarshall(
+                SpreadsheetFormula.compactMarshallContext(JsonNodeMarshallContexts.basic())
+                        .marshall(saved),
+                SpreadsheetCell.class
+        );
+        this.checkEquals(
+                SpreadsheetFormula.NO_TOKEN,
+                unmarshalled.formula().token(),
+                "compact token"
+        );
+
+        final HistogramSpreadsheetEngineMetrics metrics = HistogramSpreadsheetEngineMetrics.empty();
+        final BasicSpreadsheetEngine restoredEngine = BasicSpreadsheetEngine.with(metrics);
+        final SpreadsheetEngineContext restoredContext = this.createContext(restoredEngine);
+        restoredContext.storeRepository()
+                .cells()
+                .save(unmarshalled);
+
+        final SpreadsheetDelta delta = restoredEngine.loadCells(
+                SpreadsheetSelection.parseCellRange("A1"),
+                SpreadsheetEngineEvaluation.COMPUTE_IF_NECESSARY,
+                Sets.of(SpreadsheetDeltaProperties.CELLS),
+                restoredContext
+        );
+
+        this.checkEquals(
+                saved,
+                delta.cells()
+                        .iterator()
+                        .next(),
+                "reparsed cell"
+        );
+        this.checkEquals(1L, metrics.count(SpreadsheetEngineMetricsPhase.PARSE), "PARSE count");
+        this.checkEquals(0L, metrics.events(SpreadsheetEngineMetricsPhase.EVALUATE), "EVALUATE events");
+    }
+
+    @Test
+    public void testSaveCellWithValueAndFormattedButNoTokenEvaluates() {
+        final BasicSpreadsheetEngine engine = this.createSpreadsheetEngine();
+        final SpreadsheetEngineContext context = this.createContext(engine);
+
+        final SpreadsheetCellReference a1 = SpreadsheetSelection.parseCell("A1");
+        final SpreadsheetDelta delta = engine.saveCell(
+                this.cell(
+                        a1,
+                        SpreadsheetFormula.EMPTY
+                                .setText("=1+2")
+                                .setValue(
+                                        Optional.of(number(999))
+                                )
+                ).setFormatted(
+                        Optional.of(
+                                TextNode.text("999")
+                        )
+                ),
+                context
+        );
+
+        this.checkEquals(
+                Optional.of(number(1 + 2)),
+                delta.cells()
+                        .iterator()
+                        .next()
+                        .formula()
+                        .value(),
+                "value"
+        );
+    }
+
+    /**
+     * A repository whose stores may all be snapshot and restored.
+     */
+    private SpreadsheetStoreRepository binaryCodecRepository() {
+        return SpreadsheetStoreRepositories.basic(
+                SpreadsheetCellStores.treeMap(),
+                SpreadsheetExpressionReferenceStores.treeMap(),
+                SpreadsheetColumnStores.treeMap(),
+                SpreadsheetGroupStores.fake(),
+                SpreadsheetLabelStores.treeMap(),
+                SpreadsheetExpressionReferenceStores.treeMap(),
+                SpreadsheetMetadataStores.treeMap(),
+                SpreadsheetCellRangeStores.treeMap(),
+                SpreadsheetCellRangeStores.treeMap(),
+                SpreadsheetRowStores.treeMap(),
+                SpreadsheetUserStores.fake()
+        );
+    }
+
     // saveCell....................................................................................................
 
     @Test
@@ -7032,6 +7372,80 @@ public final class BasicSpreadsheetEngineTest extends BasicSpreadsheetEngineTest
         );
     }
 
+    @Test
+    public void testLoadCellsWindowComputeIfNecessaryUnchangedDoesNotSave() {
+        final BasicSpreadsheetEngine engine = this.createSpreadsheetEngine();
+        final SpreadsheetEngineContext context = this.createContext(engine);
+
+        final SpreadsheetCellStore cellStore = context.storeRepository()
+                .cells();
+
+        cellStore.save(this.cell("b2", "=1+2"));
+        cellStore.save(this.cell("c3", "=3+4"));
+
+        final Set<SpreadsheetCellRange> window = SpreadsheetSelection.parseWindow("b2:c3");
+
+        final SpreadsheetDelta first = engine.loadCells(
+                window,
+                SpreadsheetEngineEvaluation.COMPUTE_IF_NECESSARY,
+                SpreadsheetDeltaProperties.ALL,
+                context
+        );
+
+        this.addFailingCellSaveWatcherAndDeleteWatcher(context);
+
+        this.loadCellsAndCheck(
+                engine,
+                window,
+                SpreadsheetEngineEvaluation.COMPUTE_IF_NECESSARY,
+                SpreadsheetDeltaProperties.ALL,
+                context,
+                first
+        );
+    }
+
+    @Test
+    public void testLoadCellsWindowComputeIfNecessaryOnlySavesUpdatedCells() {
+        final BasicSpreadsheetEngine engine = this.createSpreadsheetEngine();
+        final SpreadsheetEngineContext context = this.createContext(engine);
+
+        final SpreadsheetCellStore cellStore = context.storeRepository()
+                .cells();
+
+        cellStore.save(this.cell("b2", "=1+2"));
+        cellStore.save(this.cell("c3", "=3+4"));
+
+        engine.loadCells(
+                SpreadsheetSelection.parseWindow("b2:c3"),
+                SpreadsheetEngineEvaluation.COMPUTE_IF_NECESSARY,
+                SpreadsheetDeltaProperties.ALL,
+                context
+        );
+
+        cellStore.save(this.cell("d4", "=5+6"));
+
+        final Set<SpreadsheetCellReference> saved = Sets.sorted();
+        cellStore.addSaveWatcher((cell) -> saved.add(cell.reference()));
+
+        final SpreadsheetDelta delta = engine.loadCells(
+                SpreadsheetSelection.parseWindow("b2:d4"),
+                SpreadsheetEngineEvaluation.COMPUTE_IF_NECESSARY,
+                Sets.of(SpreadsheetDeltaProperties.CELLS),
+                context
+        );
+
+        this.checkEquals(
+                Sets.of(SpreadsheetSelection.parseCell("d4")),
+                saved,
+                "saved"
+        );
+        this.checkEquals(
+                3,
+                delta.cells().size(),
+                () -> "cells " + delta
+        );
+    }
+
     @Test
     public void testLoadCellsWithDivideByZero() {
         final BasicSpreadsheetEngine engine = this.createSpreadsheetEngine();
@@ -11144,6 +11558,25 @@ public final class BasicSpreadsheetEngineTest extends BasicSpreadsheetEngineTest
         );
     }
 
+    //  batch...........................................................................................................
+
+    @Test
+    public void testBatch() {
+        final BasicSpreadsheetEngine engine = this.createSpreadsheetEngine();
+        final SpreadsheetEngineContext context = this.createContext();
+
+        this.checkEquals(
+                "result",
+                engine.batch(
+                        (e) -> {
+                            assertSame(engine, e, "engine");
+                            return "result";
+                        },
+                        context
+                )
+        );
+    }
+
     //  helpers.........................................................................................................
 
     @Override
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.engine;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class HistogramSpreadsheetEngineMetricsTest implements ClassTesting2<HistogramSpreadsheetEngineMetrics>,
+        ToStringTesting<HistogramSpreadsheetEngineMetrics> {
+
+    @Test
+    public void testOnPhaseNullPhaseFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> HistogramSpreadsheetEngineMetrics.empty()
+                        .onPhase(null, 1, 1)
+        );
+    }
+
+    @Test
+    public void testEmpty() {
+        final HistogramSpreadsheetEngineMetrics metrics = HistogramSpreadsheetEngineMetrics.empty();
+
+        for (final SpreadsheetEngineMetricsPhase phase : SpreadsheetEngineMetricsPhase.values()) {
+            this.checkEquals(0L, metrics.events(phase), () -> "events " + phase);
+            this.checkEquals(0L, metrics.count(phase), () -> "count " + phase);
+            this.checkEquals(0L, metrics.nanos(phase), () -> "nanos " + phase);
+            this.checkEquals(0L, metrics.percentile(phase, 50), () -> "percentile " + phase);
+        }
+    }
+
+    @Test
+    public void testOnPhase() {
+        final HistogramSpreadsheetEngineMetrics metrics = HistogramSpreadsheetEngineMetrics.empty();
+        metrics.onPhase(SpreadsheetEngineMetricsPhase.EVALUATE, 1, 100);
+        metrics.onPhase(SpreadsheetEngineMetricsPhase.EVALUATE, 2, 200);
+        metrics.onPhase(SpreadsheetEngineMetricsPhase.FORMAT, 1, 50);
+
+        this.checkEquals(2L, metrics.events(SpreadsheetEngineMetricsPhase.EVALUATE), "events");
+        this.checkEquals(3L, metrics.count(SpreadsheetEngineMetricsPhase.EVALUATE), "count");
+        this.checkEquals(300L, metrics.nanos(SpreadsheetEngineMetricsPhase.EVALUATE), "nanos");
+
+        this.checkEquals(1L, metrics.events(SpreadsheetEngineMetricsPhase.FORMAT), "events");
+        this.checkEquals(0L, metrics.events(SpreadsheetEngineMetricsPhase.PARSE), "events");
+    }
+
+    @Test
+    public void testOnPhaseNegativeNanos() {
+        final HistogramSpreadsheetEngineMetrics metrics = HistogramSpreadsheetEngineMetrics.empty();
+        metrics.onPhase(SpreadsheetEngineMetricsPhase.PARSE, 1, -1);
+
+        this.checkEquals(0L, metrics.nanos(SpreadsheetEngineMetricsPhase.PARSE), "nanos");
+        this.checkEquals(0L, metrics.percentile(SpreadsheetEngineMetricsPhase.PARSE, 100), "percentile");
+    }
+
+    @Test
+    public void testPercentileZeroFails() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> HistogramSpreadsheetEngineMetrics.empty()
+                        .percentile(SpreadsheetEngineMetricsPhase.PARSE, 0)
+        );
+    }
+
+    @Test
+    public void testPercentileGreaterThan100Fails() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> HistogramSpreadsheetEngineMetrics.empty()
+                        .percentile(SpreadsheetEngineMetricsPhase.PARSE, 100.5)
+        );
+    }
+
+    @Test
+    public void testPercentile() {
+        final HistogramSpreadsheetEngineMetrics metrics = HistogramSpreadsheetEngineMetrics.empty();
+        metrics.onPhase(SpreadsheetEngineMetricsPhase.STORE_LOAD, 1, 1);
+        metrics.onPhase(SpreadsheetEngineMetricsPhase.STORE_LOAD, 1, 1000);
+        metrics.onPhase(SpreadsheetEngineMetricsPhase.STORE_LOAD, 1, 1000000);
+
+        this.checkEquals(1L, metrics.percentile(SpreadsheetEngineMetricsPhase.STORE_LOAD, 1), "p1");
+        this.checkEquals(1023L, metrics.percentile(SpreadsheetEngineMetricsPhase.STORE_LOAD, 50), "p50");
+        this.checkEquals(1048575L, metrics.percentile(SpreadsheetEngineMetricsPhase.STORE_LOAD, 100), "p100");
+    }
+
+    @Test
+    public void testClear() {
+        final HistogramSpreadsheetEngineMetrics metrics = HistogramSpreadsheetEngineMetrics.empty();
+        metrics.onPhase(SpreadsheetEngineMetricsPhase.DELTA, 5, 1000);
+        metrics.clear();
+
+        this.checkEquals(0L, metrics.events(SpreadsheetEngineMetricsPhase.DELTA), "events");
+        this.checkEquals(0L, metrics.count(SpreadsheetEngineMetricsPhase.DELTA), "count");
+        this.checkEquals(0L, metrics.nanos(SpreadsheetEngineMetricsPhase.DELTA), "nanos");
+        this.checkEquals(0L, metrics.percentile(SpreadsheetEngineMetricsPhase.DELTA, 100), "percentile");
+    }
+
+    @Test
+    public void testToStringEmpty() {
+        this.toStringAndCheck(
+                HistogramSpreadsheetEngineMetrics.empty(),
+                ""
+        );
+    }
+
+    @Test
+    public void testToString() {
+        final HistogramSpreadsheetEngineMetrics metrics = HistogramSpreadsheetEngineMetrics.empty();
+        metrics.onPhase(SpreadsheetEngineMetricsPhase.PARSE, 1, 1000);
+        metrics.onPhase(SpreadsheetEngineMetricsPhase.DELTA, 3, 10);
+
+        this.toStringAndCheck(
+                metrics,
+                "PARSE events=1 count=1 nanos=1000 p50=1023 p99=1023, DELTA events=1 count=3 nanos=10 p50=15 p99=15"
+        );
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<HistogramSpreadsheetEngineMetrics> type() {
+        return HistogramSpreadsheetEngineMetrics.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
@@ -0,0 +1,262 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.engine;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.collect.set.Sets;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.spreadsheet.SpreadsheetCell;
+import walkingkooka.spreadsheet.SpreadsheetColumn;
+import walkingkooka.spreadsheet.SpreadsheetFormula;
+import walkingkooka.spreadsheet.SpreadsheetRow;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellRange;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetColumnReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetLabelMapping;
+import walkingkooka.spreadsheet.reference.SpreadsheetRowReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class SpreadsheetDeltaBuilderTest implements ClassTesting2<SpreadsheetDeltaBuilder> {
+
+    @Test
+    public void testSetCellsNullFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> SpreadsheetDelta.builder()
+                        .setCells(null)
+        );
+    }
+
+    @Test
+    public void testSetWindowNullFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> SpreadsheetDelta.builder()
+                        .setWindow(null)
+        );
+    }
+
+    @Test
+    public void testBuildEmpty() {
+        this.checkEquals(
+                SpreadsheetDelta.EMPTY,
+                SpreadsheetDelta.builder()
+                        .build()
+        );
+    }
+
+    @Test
+    public void testBuildHiddenColumnAndRowFiltersCells() {
+        final Set<SpreadsheetColumn> columns = Sets.of(
+                SpreadsheetSelection.parseColumn("$A")
+                        .column()
+                        .setHidden(true)
+        );
+        final Set<SpreadsheetRow> rows = Sets.of(
+                SpreadsheetSelection.parseRow("2")
+                        .row()
+                        .setHidden(true)
+        );
+
+        final SpreadsheetDelta delta = SpreadsheetDelta.builder()
+                .setCells(this.cells())
+                .setColumns(columns)
+                .setRows(rows)
+                .build();
+
+        this.checkEquals(
+                Sets.of(
+                        this.cell("C3")
+                ),
+                delta.cells(),
+                "cells"
+        );
+
+        this.buildAndCheck(
+                SpreadsheetDelta.builder()
+                        .setCells(this.cells())
+                        .setColumns(columns)
+                        .setRows(rows),
+                SpreadsheetDelta.EMPTY
+                        .setColumns(columns)
+                        .setRows(rows)
+                        .setCells(this.cells())
+        );
+    }
+
+    @Test
+    public void testBuildWithoutWindow() {
+        this.buildAndCheck(
+                this.builder(),
+                this.delta()
+        );
+    }
+
+    @Test
+    public void testBuildWithWindow() {
+        final Set<SpreadsheetCellRange> window = SpreadsheetSelection.parseWindow("B2:C3");
+
+        this.buildAndCheck(
+                this.builder()
+                        .setWindow(window),
+                this.delta()
+                        .setWindow(window)
+        );
+    }
+
+    private void buildAndCheck(final SpreadsheetDeltaBuilder builder,
+                               final SpreadsheetDelta expected) {
+        final SpreadsheetDelta built = builder.build();
+
+        this.checkEquals(
+                expected,
+                built,
+                builder::toString
+        );
+        this.checkEquals(
+                expected.cells(),
+                built.cells(),
+                "cells"
+        );
+        this.checkEquals(
+                expected.toString(),
+                built.toString(),
+                "toString"
+        );
+    }
+
+    private SpreadsheetDeltaBuilder builder() {
+        return SpreadsheetDelta.builder()
+                .setCells(this.cells())
+                .setColumns(this.columns())
+                .setLabels(this.labels())
+                .setRows(this.rows())
+                .setDeletedCells(this.deletedCells())
+                .setDeletedColumns(this.deletedColumns())
+                .setDeletedRows(this.deletedRows())
+                .setColumnWidths(this.columnWidths())
+                .setRowHeights(this.rowHeights());
+    }
+
+    private SpreadsheetDelta delta() {
+        return SpreadsheetDelta.EMPTY
+                .setColumns(this.columns())
+                .setRows(this.rows())
+                .setCells(this.cells())
+                .setLabels(this.labels())
+                .setDeletedCells(this.deletedCells())
+                .setDeletedColumns(this.deletedColumns())
+                .setDeletedRows(this.deletedRows())
+                .setColumnWidths(this.columnWidths())
+                .setRowHeights(this.rowHeights());
+    }
+
+    private Set<SpreadsheetCell> cells() {
+        return Sets.of(
+                this.cell("A1"),
+                this.cell("B2"),
+                this.cell("C3")
+        );
+    }
+
+    private SpreadsheetCell cell(final String reference) {
+        return SpreadsheetSelection.parseCell(reference)
+                .setFormula(
+                        SpreadsheetFormula.EMPTY
+                                .setText("=" + reference)
+                );
+    }
+
+    private Set<SpreadsheetColumn> columns() {
+        return Sets.of(
+                SpreadsheetSelection.parseColumn("B")
+                        .column(),
+                SpreadsheetSelection.parseColumn("D")
+                        .column()
+                        .setHidden(true)
+        );
+    }
+
+    private Set<SpreadsheetLabelMapping> labels() {
+        return Sets.of(
+                SpreadsheetSelection.labelName("LabelA1")
+                        .mapping(SpreadsheetSelection.parseCell("A1")),
+                SpreadsheetSelection.labelName("LabelB2")
+                        .mapping(SpreadsheetSelection.parseCell("B2"))
+        );
+    }
+
+    private Set<SpreadsheetRow> rows() {
+        return Sets.of(
+                SpreadsheetSelection.parseRow("3")
+                        .row()
+        );
+    }
+
+    private Set<SpreadsheetCellReference> deletedCells() {
+        return Sets.of(
+                SpreadsheetSelection.parseCell("$B$3"),
+                SpreadsheetSelection.parseCell("Z99")
+        );
+    }
+
+    private Set<SpreadsheetColumnReference> deletedColumns() {
+        return Sets.of(
+                SpreadsheetSelection.parseColumn("C")
+        );
+    }
+
+    private Set<SpreadsheetRowReference> deletedRows() {
+        return Sets.of(
+                SpreadsheetSelection.parseRow("$2")
+        );
+    }
+
+    private Map<SpreadsheetColumnReference, Double> columnWidths() {
+        return Maps.of(
+                SpreadsheetSelection.parseColumn("B"),
+                50.0
+        );
+    }
+
+    private Map<SpreadsheetRowReference, Double> rowHeights() {
+        return Maps.of(
+                SpreadsheetSelection.parseRow("3"),
+                20.0
+        );
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<SpreadsheetDeltaBuilder> type() {
+        return SpreadsheetDeltaBuilder.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PUBLIC;
+    }
+}
@@ -20,13 +20,21 @@ package walkingkooka.spreadsheet.engine;
 import org.junit.jupiter.api.Test;
 import walkingkooka.collect.set.Sets;
 import walkingkooka.spreadsheet.SpreadsheetCell;
+import walkingkooka.spreadsheet.SpreadsheetFormula;
 import walkingkooka.spreadsheet.reference.SpreadsheetCellRange;
+import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
 import walkingkooka.spreadsheet.reference.SpreadsheetViewportSelection;
 import walkingkooka.tree.json.JsonNode;
+import walkingkooka.tree.text.FontStyle;
+import walkingkooka.tree.text.TextStyle;
+import walkingkooka.tree.text.TextStylePropertyName;
 
+import java.util.Iterator;
 import java.util.Optional;
 import java.util.Set;
 
+import static org.junit.jupiter.api.Assertions.assertSame;
+
 public final class SpreadsheetDeltaNonWindowedTest extends SpreadsheetDeltaTestCase<SpreadsheetDeltaNonWindowed> {
 
     @Test
@@ -461,6 +469,37 @@ public final class SpreadsheetDeltaNonWindowedTest extends SpreadsheetDeltaTestC
         );
     }
 
+    @Test
+    public void testUnmarshallCellsSharesStyle() {
+        final TextStyle style = TextStyle.EMPTY
+                .set(TextStylePropertyName.FONT_STYLE, FontStyle.ITALIC);
+
+        final SpreadsheetDelta delta = SpreadsheetDelta.EMPTY
+                .setCells(
+                        Sets.of(
+                                SpreadsheetSelection.parseCell("A1")
+                                        .setFormula(SpreadsheetFormula.EMPTY.setText("=1"))
+                                        .setStyle(style),
+                                SpreadsheetSelection.parseCell("B2")
+                                        .setFormula(SpreadsheetFormula.EMPTY.setText("=2"))
+                                        .setStyle(style)
+                        )
+                );
+
+        final Set<SpreadsheetCell> cells = this.unmarshall(
+                this.marshallContext()
+                        .marshall(delta),
+                this.unmarshallContext()
+        ).cells();
+        this.checkEquals(delta.cells(), cells);
+
+        final Iterator<SpreadsheetCell> iterator = cells.iterator();
+        assertSame(
+                iterator.next().style(),
+                iterator.next().style()
+        );
+    }
+
     @Test
     public void testUnmarshallLabels() {
         this.unmarshallAndCheck(
@@ -20,6 +20,7 @@ package walkingkooka.spreadsheet.engine;
 import org.junit.jupiter.api.Test;
 import walkingkooka.ToStringTesting;
 import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.set.Sets;
 import walkingkooka.net.email.EmailAddress;
 import walkingkooka.spreadsheet.SpreadsheetCell;
 import walkingkooka.spreadsheet.SpreadsheetFormula;
@@ -56,6 +57,7 @@ import walkingkooka.tree.expression.Expression;
 import walkingkooka.tree.text.TextNode;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
 import java.util.function.Function;
@@ -132,6 +134,73 @@ public final class SpreadsheetMetadataStampingSpreadsheetEngineTest implements S
         this.checkMetadataUpdated(context);
     }
 
+    @Test
+    public void testLoadCellComputeIfNecessaryStamps() {
+        final SpreadsheetMetadataStampingSpreadsheetEngine engine = this.createSpreadsheetEngine();
+        final SpreadsheetEngineContext context = this.createContext();
+
+        final SpreadsheetCell cell = this.cell();
+
+        context.storeRepository().cells().save(cell);
+
+        engine.loadCells(
+                cell.reference(),
+                SpreadsheetEngineEvaluation.COMPUTE_IF_NECESSARY,
+                SpreadsheetDeltaProperties.ALL,
+                context
+        );
+
+        this.checkMetadataUpdated(context);
+    }
+
+    @Test
+    public void testLoadCellComputeIfNecessaryCleanNotStamped() {
+        final SpreadsheetMetadataStampingSpreadsheetEngine engine = this.createSpreadsheetEngine();
+        final SpreadsheetEngineContext context = this.createContext(true);
+
+        final SpreadsheetCell cell = this.cell();
+
+        context.storeRepository().cells().save(cell);
+
+        final SpreadsheetDelta delta = engine.loadCells(
+                cell.reference(),
+                SpreadsheetEngineEvaluation.COMPUTE_IF_NECESSARY,
+                SpreadsheetDeltaProperties.ALL,
+                context
+        );
+        this.checkEquals(
+                Sets.of(cell),
+                delta.cells(),
+                "cells"
+        );
+
+        this.checkMetadataNotUpdated(context);
+    }
+
+    @Test
+    public void testLoadCellSkipEvaluateNotStamped() {
+        final SpreadsheetMetadataStampingSpreadsheetEngine engine = this.createSpreadsheetEngine();
+        final SpreadsheetEngineContext context = this.createContext();
+
+        final SpreadsheetCell cell = this.cell();
+
+        context.storeRepository().cells().save(cell);
+
+        final SpreadsheetDelta delta = engine.loadCells(
+                cell.reference(),
+                SpreadsheetEngineEvaluation.SKIP_EVALUATE,
+                SpreadsheetDeltaProperties.ALL,
+                context
+        );
+        this.checkEquals(
+                Sets.of(cell),
+                delta.cells(),
+                "cells"
+        );
+
+        this.checkMetadataNotUpdated(context);
+    }
+
     @Test
     public void testSaveCellStamped() {
         final SpreadsheetMetadataStampingSpreadsheetEngine engine = this.createSpreadsheetEngine();
@@ -294,6 +363,133 @@ public final class SpreadsheetMetadataStampingSpreadsheetEngineTest implements S
         this.checkMetadataNotUpdated(context);
     }
 
+    @Test
+    public void testBatchStampedOnce() {
+        final SpreadsheetMetadataStampingSpreadsheetEngine engine = this.createSpreadsheetEngine();
+        final SpreadsheetEngineContext context = this.createContext();
+
+        final List<SpreadsheetMetadata> saved = Lists.array();
+        context.storeRepository()
+                .metadatas()
+                .addSaveWatcher(saved::add);
+
+        engine.batch(
+                (e) -> {
+                    e.saveCell(this.cell(), context);
+                    this.checkEquals(Lists.empty(), saved, "metadata saved before batch completed");
+
+                    e.saveCell(
+                            SpreadsheetSelection.parseCell("B2")
+                                    .setFormula(
+                                            SpreadsheetFormula.EMPTY
+                                                    .setText(FORMULA_TEXT)
+                                    ),
+                            context
+                    );
+                    e.deleteCells(SpreadsheetSelection.parseCell("A1"), context);
+                    return null;
+                },
+                context
+        );
+
+        this.checkEquals(1, saved.size(), () -> "metadata saves " + saved);
+        this.checkMetadataUpdated(context);
+    }
+
+    @Test
+    public void testBatchNestedStampedOnce() {
+        final SpreadsheetMetadataStampingSpreadsheetEngine engine = this.createSpreadsheetEngine();
+        final SpreadsheetEngineContext context = this.createContext();
+
+        final List<SpreadsheetMetadata> saved = Lists.array();
+        context.storeRepository()
+                .metadatas()
+                .addSaveWatcher(saved::add);
+
+        engine.batch(
+                (e) -> e.batch(
+                        (e2) -> e2.saveCell(this.cell(), context),
+                        context
+                ),
+                context
+        );
+
+        this.checkEquals(1, saved.size(), () -> "metadata saves " + saved);
+        this.checkMetadataUpdated(context);
+    }
+
+    @Test
+    public void testBatchDelegatesWrappedEngine() {
+        final List<SpreadsheetEngine> batched = Lists.array();
+
+        final SpreadsheetEngine wrapped = new FakeSpreadsheetEngine() {
+            @Override
+            public <T> T batch(final Function<SpreadsheetEngine, T> operations,
+                               final SpreadsheetEngineContext context) {
+                batched.add(this);
+                return operations.apply(this);
+            }
+
+            @Override
+            public String toString() {
+                return "wrapped";
+            }
+        };
+
+        final SpreadsheetMetadataStampingSpreadsheetEngine engine = SpreadsheetMetadataStampingSpreadsheetEngine.with(
+                wrapped,
+                this.stamper()
+        );
+
+        this.checkEquals(
+                "wrapped",
+                engine.batch(
+                        Object::toString,
+                        this.createContext()
+                )
+        );
+        this.checkEquals(Lists.of(wrapped), batched);
+    }
+
+    @Test
+    public void testSaveCellsStampedOnce() {
+        final SpreadsheetMetadataStampingSpreadsheetEngine engine = this.createSpreadsheetEngine();
+        final SpreadsheetEngineContext context = this.createContext();
+
+        final List<SpreadsheetMetadata> saved = Lists.array();
+        context.storeRepository()
+                .metadatas()
+                .addSaveWatcher(saved::add);
+
+        engine.saveCells(
+                Sets.of(
+                        this.cell(),
+                        SpreadsheetSelection.parseCell("B2")
+                                .setFormula(
+                                        SpreadsheetFormula.EMPTY
+                                                .setText(FORMULA_TEXT)
+                                )
+                ),
+                context
+        );
+
+        this.checkEquals(1, saved.size(), () -> "metadata saves " + saved);
+        this.checkMetadataUpdated(context);
+    }
+
+    @Test
+    public void testBatchNoopNotStamped() {
+        final SpreadsheetMetadataStampingSpreadsheetEngine engine = this.createSpreadsheetEngine();
+        final SpreadsheetEngineContext context = this.createContext();
+
+        engine.batch(
+                (e) -> e.deleteCells(SpreadsheetSelection.parseCell("A1"), context),
+                context
+        );
+
+        this.checkMetadataNotUpdated(context);
+    }
+
     private SpreadsheetCell cell() {
         return SpreadsheetSelection.parseCell("A1")
                 .setFormula(
@@ -343,6 +539,13 @@ public final class SpreadsheetMetadataStampingSpreadsheetEngineTest implements S
 
     @Override
     public SpreadsheetEngineContext createContext() {
+        return this.createContext(false);
+    }
+
+    /**
+     * When clean is true every cell is clean, so loads never update cells.
+     */
+    private SpreadsheetEngineContext createContext(final boolean clean) {
         final SpreadsheetCellStore cells = SpreadsheetCellStores.treeMap();
         final SpreadsheetExpressionReferenceStore<SpreadsheetCellReference> cellReferences = SpreadsheetExpressionReferenceStores.treeMap();
         final SpreadsheetColumnStore columns = SpreadsheetColumnStores.treeMap();
@@ -455,6 +658,11 @@ public final class SpreadsheetMetadataStampingSpreadsheetEngineTest implements S
                 checkEquals(FORMULA_VALUE, value, "formatValue");
                 return Optional.of(SpreadsheetText.with(SpreadsheetText.WITHOUT_COLOR, FORMULA_VALUE));
             }
+
+            @Override
+            public boolean isClean(final SpreadsheetCell cell) {
+                return clean;
+            }
         };
     }
 
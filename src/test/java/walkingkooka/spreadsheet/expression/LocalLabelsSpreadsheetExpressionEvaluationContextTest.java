@@ -208,6 +208,36 @@ public final class LocalLabelsSpreadsheetExpressionEvaluationContextTest impleme
         );
     }
 
+    @Test
+    public void testFunctionNestedWithNamedValueFails() {
+        final IllegalArgumentException thrown = assertThrows(
+                IllegalArgumentException.class,
+                () -> LocalLabelsSpreadsheetExpressionEvaluationContext.with(
+                        (r) -> Optional.empty(),
+                        this.createContext()
+                ).function(FunctionExpressionName.with(NAME))
+        );
+        this.checkEquals(
+                "Function name Name1234 is a parameter and not an actual function",
+                thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testIsPureNestedWithNamedValueFails() {
+        final IllegalArgumentException thrown = assertThrows(
+                IllegalArgumentException.class,
+                () -> LocalLabelsSpreadsheetExpressionEvaluationContext.with(
+                        (r) -> Optional.empty(),
+                        this.createContext()
+                ).isPure(FunctionExpressionName.with(NAME))
+        );
+        this.checkEquals(
+                "Function name Name1234 is a parameter and not an actual function",
+                thrown.getMessage()
+        );
+    }
+
     @Test
     public void testReferenceLocalLabelNonNullValue() {
         this.referenceAndCheck(
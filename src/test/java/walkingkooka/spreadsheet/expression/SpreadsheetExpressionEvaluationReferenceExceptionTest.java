@@ -17,6 +17,7 @@
 
 package walkingkooka.spreadsheet.expression;
 
+import org.junit.jupiter.api.Test;
 import walkingkooka.reflect.JavaVisibility;
 import walkingkooka.reflect.StandardThrowableTesting;
 import walkingkooka.tree.expression.ExpressionReference;
@@ -32,6 +33,15 @@ public final class SpreadsheetExpressionEvaluationReferenceExceptionTest impleme
         throw new UnsupportedOperationException();
     }
 
+    @Test
+    public void testStackTraceEmpty() {
+        this.checkEquals(
+                0,
+                this.createThrowable("message").getStackTrace().length,
+                "stackTrace"
+        );
+    }
+
     @Override
     public SpreadsheetExpressionEvaluationReferenceException createThrowable(final String message) {
         return new SpreadsheetExpressionEvaluationReferenceException(message, EXPRESSION_REFERENCE);
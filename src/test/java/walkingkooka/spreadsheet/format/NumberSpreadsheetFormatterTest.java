@@ -38,6 +38,7 @@ import java.math.BigInteger;
 import java.math.MathContext;
 import java.math.RoundingMode;
 import java.util.Optional;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -2260,6 +2261,145 @@ public final class NumberSpreadsheetFormatterTest extends SpreadsheetFormatter3T
         );
     }
 
+    // long fast path...................................................................................................
+
+    @Test
+    public void testNormalLongSameAsNormalBigDecimal() {
+        final Random random = new Random(1);
+
+        for (final String pattern : new String[]{
+                "#",
+                "0",
+                "#.00",
+                "0.###",
+                "#,##0.00",
+                "0%",
+                "0.0%%",
+                "#.000000000000000000"
+        }) {
+            final NumberSpreadsheetFormatter formatter = this.createFormatter(pattern);
+
+            for (final RoundingMode roundingMode : RoundingMode.values()) {
+                if (RoundingMode.UNNECESSARY == roundingMode) {
+                    continue;
+                }
+                final SpreadsheetFormatterContext context = this.createContext(roundingMode);
+
+                for (int i = 0; i < 500; i++) {
+                    final long unscaled = i < 10 ?
+                            i - 5 :
+                            random.nextLong() / POWERS[random.nextInt(POWERS.length)];
+
+                    this.normalLongAndCheck(
+                            BigDecimal.valueOf(unscaled, random.nextInt(30) - 5),
+                            formatter,
+                            context
+                    );
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testNormalLongHalfValues() {
+        for (final RoundingMode roundingMode : RoundingMode.values()) {
+            if (RoundingMode.UNNECESSARY == roundingMode) {
+                continue;
+            }
+            final SpreadsheetFormatterContext context = this.createContext(roundingMode);
+
+            for (final String value : new String[]{"0.5", "1.5", "2.5", "-0.5", "-1.5", "-2.5", "0.05", "9.995", "-9.995", "1E+3", "1E-30"}) {
+                this.checkEquals(
+                        true,
+                        this.normalLongAndCheck(
+                                new BigDecimal(value),
+                                this.createFormatter("#.00"),
+                                context
+                        ),
+                        () -> value + " #.00 " + roundingMode
+                );
+                this.checkEquals(
+                        true,
+                        this.normalLongAndCheck(
+                                new BigDecimal(value),
+                                this.createFormatter("#"),
+                                context
+                        ),
+                        () -> value + " # " + roundingMode
+                );
+            }
+        }
+    }
+
+    @Test
+    public void testNormalLongTooManyDigits() {
+        this.checkEquals(
+                null,
+                NumberSpreadsheetFormatterNormalOrScientific.normalLong(
+                        new BigDecimal("1234567890123456789"),
+                        this.createFormatter("#"),
+                        this.createContext()
+                )
+        );
+    }
+
+    @Test
+    public void testNormalLongUnnecessary() {
+        this.checkEquals(
+                null,
+                NumberSpreadsheetFormatterNormalOrScientific.normalLong(
+                        new BigDecimal("1.5"),
+                        this.createFormatter("#"),
+                        this.createContext(RoundingMode.UNNECESSARY)
+                )
+        );
+    }
+
+    private final static long[] POWERS = {
+            1L,
+            1000L,
+            1000000L,
+            1000000000L,
+            1000000000000L,
+            10000000000000000L
+    };
+
+    private boolean normalLongAndCheck(final BigDecimal value,
+                                       final NumberSpreadsheetFormatter formatter,
+                                       final SpreadsheetFormatterContext context) {
+        final NumberSpreadsheetFormatterContext expected = NumberSpreadsheetFormatterNormalOrScientific.normalBigDecimal(
+                value,
+                formatter,
+                context
+        );
+        final NumberSpreadsheetFormatterContext actual = NumberSpreadsheetFormatterNormalOrScientific.normalLong(
+                value,
+                formatter,
+                context
+        );
+
+        final String message = value + " " + formatter + " " + context.mathContext().getRoundingMode();
+
+        if (null != actual) {
+            this.checkEquals(
+                    expected.integer.text,
+                    actual.integer.text,
+                    () -> "integer " + message
+            );
+            this.checkEquals(
+                    expected.fraction.text,
+                    actual.fraction.text,
+                    () -> "fraction " + message
+            );
+            this.checkEquals(
+                    expected.toString(),
+                    actual.toString(),
+                    () -> message
+            );
+        }
+        return null != actual;
+    }
+
     @Test
     public void testFormatIncludesColorName() {
         this.parseFormatNumberAndCheck(
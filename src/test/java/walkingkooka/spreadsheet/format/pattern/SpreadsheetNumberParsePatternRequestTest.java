@@ -21,6 +21,7 @@ import org.junit.jupiter.api.Test;
 import walkingkooka.ToStringTesting;
 import walkingkooka.collect.iterator.Iterators;
 import walkingkooka.reflect.ClassTesting;
+import walkingkooka.spreadsheet.parser.SpreadsheetParserToken;
 
 public final class SpreadsheetNumberParsePatternRequestTest extends SpreadsheetNumberParsePatternTestCase2<SpreadsheetNumberParsePatternRequest>
         implements ClassTesting<SpreadsheetNumberParsePatternRequest>,
@@ -34,6 +35,19 @@ public final class SpreadsheetNumberParsePatternRequestTest extends SpreadsheetN
         );
     }
 
+    @Test
+    public void testResetClearsState() {
+        final SpreadsheetNumberParsePatternRequest request = this.createRequest();
+        request.add(SpreadsheetParserToken.plusSymbol("+", "+"));
+        request.digits.append('1');
+        request.setDigitMode(SpreadsheetNumberParsePatternComponentDigitMode.INTEGER);
+
+        this.toStringAndCheck(
+                request.reset(Iterators.fake()),
+                this.createRequest().toString()
+        );
+    }
+
     private SpreadsheetNumberParsePatternRequest createRequest() {
         return SpreadsheetNumberParsePatternRequest.with(
                 Iterators.fake(),
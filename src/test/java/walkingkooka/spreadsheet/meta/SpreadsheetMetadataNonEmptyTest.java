@@ -964,6 +964,26 @@ public final class SpreadsheetMetadataNonEmptyTest extends SpreadsheetMetadataTe
         assertSame(metadata.nameToColor(), metadata.nameToColor());
     }
 
+    @Test
+    public void testNameToColorSharedAfterSetModifiedBy() {
+        final SpreadsheetMetadata metadata = this.createSpreadsheetMetadata();
+        assertSame(
+                metadata.nameToColor(),
+                metadata.set(SpreadsheetMetadataPropertyName.MODIFIED_BY, EmailAddress.parse("modified@example.com"))
+                        .nameToColor()
+        );
+    }
+
+    @Test
+    public void testNameToColorNotSharedAfterSetColor() {
+        final SpreadsheetMetadata metadata = this.createSpreadsheetMetadata();
+        assertNotSame(
+                metadata.nameToColor(),
+                metadata.set(SpreadsheetMetadataPropertyName.numberedColor(1), Color.BLACK)
+                        .nameToColor()
+        );
+    }
+
     // NumberToColor....................................................................................................
 
     @Test
@@ -1227,6 +1247,37 @@ public final class SpreadsheetMetadataNonEmptyTest extends SpreadsheetMetadataTe
         assertSame(metadata.converter(), metadata.converter());
     }
 
+    @Test
+    public void testConverterSharedAfterSetModifiedBy() {
+        final SpreadsheetMetadata metadata = this.createSpreadsheetMetadataWithConverter();
+        assertSame(
+                metadata.converter(),
+                metadata.set(SpreadsheetMetadataPropertyName.MODIFIED_BY, EmailAddress.parse("modified@example.com"))
+                        .converter()
+        );
+    }
+
+    @Test
+    public void testConverterSharedAfterRemoveModifiedBy() {
+        final SpreadsheetMetadata metadata = this.createSpreadsheetMetadataWithConverter()
+                .set(SpreadsheetMetadataPropertyName.MODIFIED_BY, EmailAddress.parse("modified@example.com"));
+        assertSame(
+                metadata.converter(),
+                metadata.remove(SpreadsheetMetadataPropertyName.MODIFIED_BY)
+                        .converter()
+        );
+    }
+
+    @Test
+    public void testConverterNotSharedAfterSetNumberParsePattern() {
+        final SpreadsheetMetadata metadata = this.createSpreadsheetMetadataWithConverter();
+        assertNotSame(
+                metadata.converter(),
+                metadata.set(SpreadsheetMetadataPropertyName.NUMBER_PARSE_PATTERN, SpreadsheetPattern.parseNumberParsePattern("#"))
+                        .converter()
+        );
+    }
+
     private SpreadsheetMetadata createSpreadsheetMetadataWithConverter() {
         return SpreadsheetMetadata.EMPTY
                 .set(SpreadsheetMetadataPropertyName.DATETIME_OFFSET, Converters.JAVA_EPOCH_OFFSET)
@@ -1557,6 +1608,26 @@ public final class SpreadsheetMetadataNonEmptyTest extends SpreadsheetMetadataTe
         assertSame(metadata.formatter(), metadata.formatter());
     }
 
+    @Test
+    public void testFormatterSharedAfterSetParsePattern() {
+        final SpreadsheetMetadata metadata = this.createSpreadsheetMetadataWithFormatter();
+        assertSame(
+                metadata.formatter(),
+                metadata.set(SpreadsheetMetadataPropertyName.NUMBER_PARSE_PATTERN, SpreadsheetPattern.parseNumberParsePattern("#"))
+                        .formatter()
+        );
+    }
+
+    @Test
+    public void testFormatterNotSharedAfterSetFormatPattern() {
+        final SpreadsheetMetadata metadata = this.createSpreadsheetMetadataWithFormatter();
+        assertNotSame(
+                metadata.formatter(),
+                metadata.set(SpreadsheetMetadataPropertyName.NUMBER_FORMAT_PATTERN, SpreadsheetPattern.parseNumberFormatPattern("\"Different\" #.0"))
+                        .formatter()
+        );
+    }
+
     private SpreadsheetMetadata createSpreadsheetMetadataWithFormatter() {
         return SpreadsheetMetadata.EMPTY
                 .set(SpreadsheetMetadataPropertyName.DATE_FORMAT_PATTERN, SpreadsheetPattern.parseDateFormatPattern("\"Date\" ddmmyyyy"))
@@ -1710,6 +1781,15 @@ public final class SpreadsheetMetadataNonEmptyTest extends SpreadsheetMetadataTe
         assertSame(metadata.parser(), parser, "parser");
     }
 
+    @Test
+    public void testParserSharedByEqualMetadata() {
+        assertSame(
+                this.metadataWithParser().parser(),
+                this.metadataWithParser().parser(),
+                "parser"
+        );
+    }
+
     @Test
     public void testParserAndParseDate() {
         this.metadataParserParseAndCheck(
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.meta;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.spreadsheet.format.pattern.SpreadsheetParsePattern;
+import walkingkooka.spreadsheet.parser.SpreadsheetParserContext;
+import walkingkooka.text.cursor.parser.Parser;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public final class SpreadsheetMetadataParserCacheTest implements ClassTesting2<SpreadsheetMetadataParserCache> {
+
+    @Test
+    public void testParserSamePatterns() {
+        assertSame(
+                this.parser("#.#"),
+                this.parser("#.#")
+        );
+    }
+
+    @Test
+    public void testParserDifferentPatterns() {
+        assertNotSame(
+                this.parser("#.#"),
+                this.parser("#.##")
+        );
+    }
+
+    private Parser<SpreadsheetParserContext> parser(final String numberPattern) {
+        return SpreadsheetMetadataParserCache.parser(
+                SpreadsheetParsePattern.parseDateParsePattern("yyyy/mm/dd"),
+                SpreadsheetParsePattern.parseDateTimeParsePattern("yyyy/mm/dd hh:mm"),
+                SpreadsheetParsePattern.parseNumberParsePattern(numberPattern),
+                SpreadsheetParsePattern.parseTimeParsePattern("hh:mm")
+        );
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<SpreadsheetMetadataParserCache> type() {
+        return SpreadsheetMetadataParserCache.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -135,6 +135,34 @@ public final class SpreadsheetNumberParserTokenTest extends SpreadsheetParentPar
         );
     }
 
+    @Test
+    public void testToExpressionNumber0Dot1() {
+        this.toExpressionAndCheck2(
+                0.1,
+                digit("0"),
+                decimalSeparator(),
+                digit("1")
+        );
+    }
+
+    @Test
+    public void testToExpressionNumber12Dot() {
+        this.toExpressionAndCheck2(
+                12.0,
+                digit("12"),
+                decimalSeparator()
+        );
+    }
+
+    @Test
+    public void testToExpressionNumberDot5() {
+        this.toExpressionAndCheck2(
+                0.5,
+                decimalSeparator(),
+                digit("5")
+        );
+    }
+
     @Test
     public void testToExpressionMinusNumber1() {
         this.toExpressionAndCheck2(
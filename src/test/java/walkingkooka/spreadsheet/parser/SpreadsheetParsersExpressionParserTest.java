@@ -0,0 +1,141 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.parser;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.text.CharSequences;
+import walkingkooka.text.cursor.TextCursors;
+import walkingkooka.text.cursor.parser.ParserToken;
+
+public final class SpreadsheetParsersExpressionParserTest extends SpreadsheetParserTestCase<SpreadsheetParsersExpressionParser, SpreadsheetParserToken>
+        implements ToStringTesting<SpreadsheetParsersExpressionParser> {
+
+    @Test
+    public void testInvalidTokenFails() {
+        this.parseThrows("!", "Invalid character " + CharSequences.quoteIfChars('!') + " at (1,1)");
+    }
+
+    @Test
+    public void testInvalidBinaryRightFails() {
+        this.parseThrows("1+!", "Invalid character " + CharSequences.quoteIfChars('!') + " at (3,1)");
+    }
+
+    @Test
+    public void testLabel() {
+        this.parseAndCheckSameAsExpression("Hello");
+    }
+
+    @Test
+    public void testLabelWhitespace() {
+        this.parseAndCheckSameAsExpression(" Hello ");
+    }
+
+    @Test
+    public void testLabelUnclosedParameters() {
+        this.parseAndCheckSameAsExpression("Hello(1");
+    }
+
+    @Test
+    public void testLambdaPrefixedLabel() {
+        this.parseAndCheckSameAsExpression("lambdaX");
+    }
+
+    @Test
+    public void testLambdaFunction() {
+        this.parseAndCheckSameAsExpression("LAMBDA(x,x*2)(3)");
+    }
+
+    @Test
+    public void testNamedFunction() {
+        this.parseAndCheckSameAsExpression("xyz( 1 , \"abc\" ,#REF! )");
+    }
+
+    @Test
+    public void testCellRange() {
+        this.parseAndCheckSameAsExpression("$A$1 : B2");
+    }
+
+    @Test
+    public void testCellRangeRange() {
+        this.parseAndCheckSameAsExpression("A1:B2:C3");
+    }
+
+    @Test
+    public void testCellLabelRange() {
+        this.parseAndCheckSameAsExpression("A1:Hello");
+    }
+
+    @Test
+    public void testOperatorPriorities() {
+        this.parseAndCheckSameAsExpression("1+2*3-4/5^6");
+    }
+
+    @Test
+    public void testOperatorPrioritiesWhitespace() {
+        this.parseAndCheckSameAsExpression("1 * 2 + 3 ^ 4 ^ 5 < 6");
+    }
+
+    @Test
+    public void testComparisons() {
+        this.parseAndCheckSameAsExpression("1<>2=3>=4<=5");
+    }
+
+    @Test
+    public void testNegativeGroupPercentage() {
+        this.parseAndCheckSameAsExpression("- ( ( -1% ) )--2");
+    }
+
+    @Test
+    public void testTrailingUnconsumed() {
+        this.parseAndCheckSameAsExpression("1+2 )");
+    }
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(this.createParser(), "EXPRESSION");
+    }
+
+    /**
+     * Parses the text using {@link SpreadsheetParsers#expression()} and verifies this parser produces the same token
+     * and consumes the same text.
+     */
+    private void parseAndCheckSameAsExpression(final String text) {
+        final ParserToken expected = SpreadsheetParsers.expression()
+                .parse(TextCursors.charSequence(text), this.createContext())
+                .orElseThrow(() -> new AssertionError("Expression failed to parse " + CharSequences.quoteAndEscape(text)));
+        final String consumed = expected.text();
+
+        this.parseAndCheck(
+                text,
+                expected,
+                consumed,
+                text.substring(consumed.length())
+        );
+    }
+
+    @Override
+    public SpreadsheetParsersExpressionParser createParser() {
+        return SpreadsheetParsersExpressionParser.INSTANCE;
+    }
+
+    @Override
+    public Class<SpreadsheetParsersExpressionParser> type() {
+        return SpreadsheetParsersExpressionParser.class;
+    }
+}
@@ -84,6 +84,7 @@ import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.fail;
 
 public final class SpreadsheetParsersTest implements PublicStaticHelperTesting<SpreadsheetParsers>,
@@ -131,23 +132,39 @@ public final class SpreadsheetParsersTest implements PublicStaticHelperTesting<S
 
     private void parseStringAndCheck(final String text) {
         final String apostropheText = '\'' + text;
+        final SpreadsheetParserToken token = SpreadsheetTextParserToken.text(
+                Lists.of(
+                                SpreadsheetParserToken.apostropheSymbol("'", "'"),
+                                SpreadsheetParserToken.textLiteral(text, text)
+                        ).stream()
+                        .filter(t -> !t.text().isEmpty())
+                        .collect(Collectors.toList()),
+                apostropheText);
 
         this.parseAndCheck(
                 valueOrExpressionParser(),
                 apostropheText,
-                SpreadsheetTextParserToken.text(
-                        Lists.of(
-                                        SpreadsheetParserToken.apostropheSymbol("'", "'"),
-                                        SpreadsheetParserToken.textLiteral(text, text)
-                                ).stream()
-                                .filter(t -> !t.text().isEmpty())
-                                .collect(Collectors.toList()),
-                        apostropheText),
+                token,
+                apostropheText,
+                ""
+        );
+        this.parseAndCheck(
+                valueOrExpressionRecursiveDescentParser(),
+                apostropheText,
+                token,
                 apostropheText,
                 ""
         );
     }
 
+    @Test
+    public void testValueOrExpressionRecursiveDescentNullValueFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> SpreadsheetParsers.valueOrExpressionRecursiveDescent(null)
+        );
+    }
+
     // date values.......................................................................................................
 
     @Test
@@ -317,13 +334,22 @@ public final class SpreadsheetParsersTest implements PublicStaticHelperTesting<S
                                     final BiFunction<List<ParserToken>, String, SpreadsheetParentParserToken> factory,
                                     final SpreadsheetParserToken... tokens) {
         final List<ParserToken> list = Lists.of(tokens);
+        final ParserToken token = factory.apply(
+                list,
+                ParserToken.text(list)
+        );
+
         this.parseAndCheck(
                 SpreadsheetParsers.valueOrExpression(parser),
                 text,
-                factory.apply(
-                        list,
-                        ParserToken.text(list)
-                ),
+                token,
+                text,
+                ""
+        );
+        this.parseAndCheck(
+                SpreadsheetParsers.valueOrExpressionRecursiveDescent(parser),
+                text,
+                token,
                 text,
                 ""
         );
@@ -2800,16 +2826,27 @@ public final class SpreadsheetParsersTest implements PublicStaticHelperTesting<S
                 text,
                 message
         );
+        this.parseThrows(
+                SpreadsheetParsers.expressionRecursiveDescent(),
+                text,
+                message
+        );
 
         final int at = message.indexOf("at (");
         final int at2 = message.indexOf(",", at);
         final int column = Integer.parseInt(message.substring(at + 4, at2));
 
         //+1 to the column number in the message
+        final String equalsMessage = message.substring(0, at + 4) + (column + 1) + message.substring(at2);
         this.parseThrows(
                 valueOrExpressionParser(),
                 "=" + text,
-                message.substring(0, at + 4) + (column + 1) + message.substring(at2)
+                equalsMessage
+        );
+        this.parseThrows(
+                valueOrExpressionRecursiveDescentParser(),
+                "=" + text,
+                equalsMessage
         );
     }
 
@@ -2835,18 +2872,33 @@ public final class SpreadsheetParsersTest implements PublicStaticHelperTesting<S
                 text,
                 ""
         );
+        this.parseAndCheck(
+                SpreadsheetParsers.expressionRecursiveDescent(),
+                formula,
+                token,
+                text,
+                ""
+        );
 
         final String equalsFormula = "=" + formula;
+        final SpreadsheetParserToken equalsToken = SpreadsheetParserToken.expression(
+                Lists.of(
+                        SpreadsheetParserToken.equalsSymbol("=", "="),
+                        token
+                ),
+                equalsFormula
+        );
         this.parseAndCheck(
                 valueOrExpressionParser(),
                 equalsFormula,
-                SpreadsheetParserToken.expression(
-                        Lists.of(
-                                SpreadsheetParserToken.equalsSymbol("=", "="),
-                                token
-                        ),
-                        equalsFormula
-                ),
+                equalsToken,
+                equalsFormula,
+                ""
+        );
+        this.parseAndCheck(
+                valueOrExpressionRecursiveDescentParser(),
+                equalsFormula,
+                equalsToken,
                 equalsFormula,
                 ""
         );
@@ -2889,6 +2941,10 @@ public final class SpreadsheetParsersTest implements PublicStaticHelperTesting<S
      */
     private void parseExpressionEvaluateAndCheck(final String formulaText,
                                                  final String expectedText) {
+        this.expressionRecursiveDescentAndCheck(formulaText);
+        this.valueOrExpressionRecursiveDescentAndCheck("=" + formulaText);
+        this.valueOrExpressionRecursiveDescentAndCheck("= " + formulaText);
+
         this.parseExpressionEvaluateAndCheck0(
                 expressionParser(),
                 formulaText,
@@ -2908,6 +2964,38 @@ public final class SpreadsheetParsersTest implements PublicStaticHelperTesting<S
         );
     }
 
+    /**
+     * Parses the formula with {@link SpreadsheetParsers#expression()} and verifies {@link SpreadsheetParsers#expressionRecursiveDescent()}
+     * produces the same token.
+     */
+    private void expressionRecursiveDescentAndCheck(final String formulaText) {
+        final SpreadsheetParserToken expected = this.parse(expressionParser(), formulaText);
+
+        this.parseAndCheck(
+                SpreadsheetParsers.expressionRecursiveDescent(),
+                formulaText,
+                expected,
+                formulaText,
+                ""
+        );
+    }
+
+    /**
+     * Parses the formula with {@link SpreadsheetParsers#valueOrExpression(Parser)} and verifies
+     * {@link SpreadsheetParsers#valueOrExpressionRecursiveDescent(Parser)} produces the same token.
+     */
+    private void valueOrExpressionRecursiveDescentAndCheck(final String formulaText) {
+        final SpreadsheetParserToken expected = this.parse(valueOrExpressionParser(), formulaText);
+
+        this.parseAndCheck(
+                valueOrExpressionRecursiveDescentParser(),
+                formulaText,
+                expected,
+                formulaText,
+                ""
+        );
+    }
+
     private void parseExpressionEvaluateAndCheck0(final Parser<SpreadsheetParserContext> parser,
                                                   final String formulaText,
                                                   final String expectedText) {
@@ -2965,13 +3053,23 @@ public final class SpreadsheetParsersTest implements PublicStaticHelperTesting<S
 
     private static Parser<SpreadsheetParserContext> valueOrExpressionParser() {
         return SpreadsheetParsers.valueOrExpression(
-                Parsers.alternatives(
-                        Lists.of(
-                                SpreadsheetParsePattern.parseDateParsePattern("yyyy/mm/dd").parser(),
-                                SpreadsheetParsePattern.parseDateTimeParsePattern("yyyy/mm/dd hh:mm").parser(),
-                                SpreadsheetParsePattern.parseNumberParsePattern("#;#.#").parser(),
-                                SpreadsheetParsePattern.parseTimeParsePattern("hh:mm").parser()
-                        )
+                valueParser()
+        );
+    }
+
+    private static Parser<SpreadsheetParserContext> valueOrExpressionRecursiveDescentParser() {
+        return SpreadsheetParsers.valueOrExpressionRecursiveDescent(
+                valueParser()
+        );
+    }
+
+    private static Parser<SpreadsheetParserContext> valueParser() {
+        return Parsers.alternatives(
+                Lists.of(
+                        SpreadsheetParsePattern.parseDateParsePattern("yyyy/mm/dd").parser(),
+                        SpreadsheetParsePattern.parseDateTimeParsePattern("yyyy/mm/dd hh:mm").parser(),
+                        SpreadsheetParsePattern.parseNumberParsePattern("#;#.#").parser(),
+                        SpreadsheetParsePattern.parseTimeParsePattern("hh:mm").parser()
                 )
         );
     }
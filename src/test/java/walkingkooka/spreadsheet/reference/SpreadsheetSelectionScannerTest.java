@@ -0,0 +1,282 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.reference;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.spreadsheet.parser.SpreadsheetCellReferenceParserToken;
+import walkingkooka.spreadsheet.parser.SpreadsheetColumnReferenceParserToken;
+import walkingkooka.spreadsheet.parser.SpreadsheetParserContext;
+import walkingkooka.spreadsheet.parser.SpreadsheetParserContexts;
+import walkingkooka.spreadsheet.parser.SpreadsheetParsers;
+import walkingkooka.spreadsheet.parser.SpreadsheetRowReferenceParserToken;
+import walkingkooka.text.cursor.TextCursor;
+import walkingkooka.text.cursor.TextCursors;
+import walkingkooka.text.cursor.parser.Parser;
+import walkingkooka.text.cursor.parser.ParserToken;
+
+/**
+ * Verifies the scanner produces the same references as the {@link SpreadsheetParsers} for the same text.
+ */
+public final class SpreadsheetSelectionScannerTest implements ClassTesting2<SpreadsheetSelectionScanner> {
+
+    // column...........................................................................................................
+
+    @Test
+    public void testColumn() {
+        this.columnAndCheck("A");
+    }
+
+    @Test
+    public void testColumnLowerCase() {
+        this.columnAndCheck("bc");
+    }
+
+    @Test
+    public void testColumnAbsolute() {
+        this.columnAndCheck("$ZZ");
+    }
+
+    @Test
+    public void testColumnMax() {
+        this.columnAndCheck("XFD");
+    }
+
+    @Test
+    public void testColumnTooLargeFails() {
+        this.columnFailAndCheck("XFE");
+    }
+
+    @Test
+    public void testColumnEmptyFails() {
+        this.columnFailAndCheck("");
+    }
+
+    @Test
+    public void testColumnDollarOnlyFails() {
+        this.columnFailAndCheck("$");
+    }
+
+    @Test
+    public void testColumnWithRowFails() {
+        this.columnFailAndCheck("A1");
+    }
+
+    private void columnAndCheck(final String text) {
+        final int column = SpreadsheetSelectionScanner.column(text, 0, text.length());
+        this.checkNotEquals(SpreadsheetSelectionScanner.FAIL, column, () -> "column " + text);
+
+        this.checkEqualsAndToString(
+                this.parse(SpreadsheetParsers.column(), text)
+                        .cast(SpreadsheetColumnReferenceParserToken.class)
+                        .value(),
+                SpreadsheetSelectionScanner.toColumn(column),
+                text
+        );
+    }
+
+    private void columnFailAndCheck(final String text) {
+        this.checkEquals(
+                SpreadsheetSelectionScanner.FAIL,
+                SpreadsheetSelectionScanner.column(text, 0, text.length()),
+                () -> "column " + text
+        );
+    }
+
+    // row..............................................................................................................
+
+    @Test
+    public void testRow() {
+        this.rowAndCheck("1");
+    }
+
+    @Test
+    public void testRowLeadingZero() {
+        this.rowAndCheck("012");
+    }
+
+    @Test
+    public void testRowAbsolute() {
+        this.rowAndCheck("$99");
+    }
+
+    @Test
+    public void testRowMax() {
+        this.rowAndCheck("" + (SpreadsheetRowReference.MAX_VALUE + 1));
+    }
+
+    @Test
+    public void testRowTooLargeFails() {
+        this.rowFailAndCheck("" + (SpreadsheetRowReference.MAX_VALUE + 2));
+    }
+
+    @Test
+    public void testRowZeroFails() {
+        this.rowFailAndCheck("0");
+    }
+
+    @Test
+    public void testRowLetterFails() {
+        this.rowFailAndCheck("1A");
+    }
+
+    @Test
+    public void testRowNonAsciiDigitFails() {
+        this.rowFailAndCheck("\u0661");
+    }
+
+    private void rowAndCheck(final String text) {
+        final int row = SpreadsheetSelectionScanner.row(text, 0, text.length());
+        this.checkNotEquals(SpreadsheetSelectionScanner.FAIL, row, () -> "row " + text);
+
+        this.checkEqualsAndToString(
+                this.parse(SpreadsheetParsers.row(), text)
+                        .cast(SpreadsheetRowReferenceParserToken.class)
+                        .value(),
+                SpreadsheetSelectionScanner.toRow(row),
+                text
+        );
+    }
+
+    private void rowFailAndCheck(final String text) {
+        this.checkEquals(
+                SpreadsheetSelectionScanner.FAIL,
+                SpreadsheetSelectionScanner.row(text, 0, text.length()),
+                () -> "row " + text
+        );
+    }
+
+    // cell.............................................................................................................
+
+    @Test
+    public void testCell() {
+        this.cellAndCheck("A1");
+    }
+
+    @Test
+    public void testCellAbsoluteColumn() {
+        this.cellAndCheck("$B2");
+    }
+
+    @Test
+    public void testCellAbsoluteRow() {
+        this.cellAndCheck("c$3");
+    }
+
+    @Test
+    public void testCellAbsolute() {
+        this.cellAndCheck("$AB$123");
+    }
+
+    @Test
+    public void testCellMax() {
+        this.cellAndCheck("XFD" + (SpreadsheetRowReference.MAX_VALUE + 1));
+    }
+
+    @Test
+    public void testCellWithinText() {
+        final String text = "A1:B22";
+        final long cell = SpreadsheetSelectionScanner.cell(text, 3, text.length());
+
+        this.checkEqualsAndToString(
+                SpreadsheetSelection.parseCell("B22"),
+                SpreadsheetSelectionScanner.toCell(cell),
+                text
+        );
+    }
+
+    @Test
+    public void testCellColumnOnlyFails() {
+        this.cellFailAndCheck("A");
+    }
+
+    @Test
+    public void testCellRowOnlyFails() {
+        this.cellFailAndCheck("1");
+    }
+
+    @Test
+    public void testCellRangeFails() {
+        this.cellFailAndCheck("A1:B2");
+    }
+
+    @Test
+    public void testCellLabelFails() {
+        this.cellFailAndCheck("Label1");
+    }
+
+    @Test
+    public void testCellDollarOnlyFails() {
+        this.cellFailAndCheck("$$");
+    }
+
+    private void cellAndCheck(final String text) {
+        final long cell = SpreadsheetSelectionScanner.cell(text, 0, text.length());
+        this.checkNotEquals(SpreadsheetSelectionScanner.FAIL, cell, () -> "cell " + text);
+
+        this.checkEqualsAndToString(
+                this.parse(SpreadsheetParsers.cell(), text)
+                        .cast(SpreadsheetCellReferenceParserToken.class)
+                        .cell(),
+                SpreadsheetSelectionScanner.toCell(cell),
+                text
+        );
+    }
+
+    private void cellFailAndCheck(final String text) {
+        this.checkEquals(
+                SpreadsheetSelectionScanner.FAIL,
+                SpreadsheetSelectionScanner.cell(text, 0, text.length()),
+                () -> "cell " + text
+        );
+    }
+
+    // helpers..........................................................................................................
+
+    private ParserToken parse(final Parser<SpreadsheetParserContext> parser,
+                              final String text) {
+        final TextCursor cursor = TextCursors.charSequence(text);
+        final ParserToken token = parser.parse(cursor, SpreadsheetParserContexts.fake())
+                .orElseThrow(() -> new AssertionError("Parser failed " + text));
+        this.checkEquals(true, cursor.isEmpty(), () -> "Parser left text " + text);
+        return token;
+    }
+
+    /**
+     * Also compares toString so the {@link SpreadsheetReferenceKind} is verified.
+     */
+    private void checkEqualsAndToString(final SpreadsheetSelection expected,
+                                        final SpreadsheetSelection actual,
+                                        final String text) {
+        this.checkEquals(expected, actual, text);
+        this.checkEquals(expected.toString(), actual.toString(), text);
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<SpreadsheetSelectionScanner> type() {
+        return SpreadsheetSelectionScanner.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.reference.store;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.spreadsheet.reference.SpreadsheetLabelName;
+import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public final class TreeMapSpreadsheetLabelStoreLabelNameIndexTest implements ClassTesting2<TreeMapSpreadsheetLabelStoreLabelNameIndex>,
+        ToStringTesting<TreeMapSpreadsheetLabelStoreLabelNameIndex> {
+
+    @Test
+    public void testFoldUnchanged() {
+        final String text = "label_123";
+        assertSame(text, TreeMapSpreadsheetLabelStoreLabelNameIndex.fold(text));
+    }
+
+    @Test
+    public void testFold() {
+        this.checkEquals("label_123", TreeMapSpreadsheetLabelStoreLabelNameIndex.fold("LaBeL_123"));
+    }
+
+    @Test
+    public void testExact() {
+        final TreeMapSpreadsheetLabelStoreLabelNameIndex index = this.createIndex();
+        this.checkEquals(this.label1(), index.exact("LABEL123"));
+    }
+
+    @Test
+    public void testExactInvalidLabelText() {
+        final TreeMapSpreadsheetLabelStoreLabelNameIndex index = this.createIndex();
+        this.checkEquals(null, index.exact("A1"));
+    }
+
+    @Test
+    public void testExactAfterRemove() {
+        final TreeMapSpreadsheetLabelStoreLabelNameIndex index = this.createIndex();
+        index.remove(this.label1());
+
+        this.checkEquals(null, index.exact(this.label1().value()));
+    }
+
+    @Test
+    public void testContainsNone() {
+        this.containsAndCheck("xyz", 3);
+    }
+
+    @Test
+    public void testContainsSingleCharacter() {
+        this.containsAndCheck("2", 3, this.label1(), this.label2());
+    }
+
+    @Test
+    public void testContainsIgnoresCase() {
+        this.containsAndCheck("BEL", 3, this.label1(), this.label2(), this.label3());
+    }
+
+    @Test
+    public void testContainsLongerThanGram() {
+        this.containsAndCheck("label12", 3, this.label1(), this.label2());
+    }
+
+    @Test
+    public void testContainsExcludesExact() {
+        this.containsAndCheck("label123", 3, this.label2());
+    }
+
+    @Test
+    public void testContainsCount() {
+        this.containsAndCheck("label", 2, this.label1(), this.label2());
+    }
+
+    @Test
+    public void testContainsAfterRemove() {
+        final TreeMapSpreadsheetLabelStoreLabelNameIndex index = this.createIndex();
+        index.remove(this.label2());
+
+        this.checkEquals(
+                Lists.of(this.label1(), this.label3()),
+                index.contains("label", 3)
+        );
+    }
+
+    @Test
+    public void testToString() {
+        final TreeMapSpreadsheetLabelStoreLabelNameIndex index = TreeMapSpreadsheetLabelStoreLabelNameIndex.empty();
+        index.add(this.label1());
+
+        this.toStringAndCheck(index, "[" + this.label1() + "]");
+    }
+
+    private void containsAndCheck(final String text,
+                                  final int count,
+                                  final SpreadsheetLabelName... expected) {
+        this.checkEquals(
+                Lists.of(expected),
+                this.createIndex().contains(text, count),
+                () -> "contains " + text + " " + count
+        );
+    }
+
+    private TreeMapSpreadsheetLabelStoreLabelNameIndex createIndex() {
+        final TreeMapSpreadsheetLabelStoreLabelNameIndex index = TreeMapSpreadsheetLabelStoreLabelNameIndex.empty();
+        index.add(this.label3());
+        index.add(this.label2());
+        index.add(this.label1());
+        return index;
+    }
+
+    private SpreadsheetLabelName label1() {
+        return SpreadsheetSelection.labelName("Label123");
+    }
+
+    private SpreadsheetLabelName label2() {
+        return SpreadsheetSelection.labelName("Label1234");
+    }
+
+    private SpreadsheetLabelName label3() {
+        return SpreadsheetSelection.labelName("Label999");
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<TreeMapSpreadsheetLabelStoreLabelNameIndex> type() {
+        return TreeMapSpreadsheetLabelStoreLabelNameIndex.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
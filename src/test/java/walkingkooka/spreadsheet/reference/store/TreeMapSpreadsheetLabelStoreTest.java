@@ -259,6 +259,49 @@ public final class TreeMapSpreadsheetLabelStoreTest extends SpreadsheetLabelStor
         );
     }
 
+    @Test
+    public void testFindSimilarInvalidLabelText() {
+        final TreeMapSpreadsheetLabelStore store = this.createStore();
+
+        final SpreadsheetCellReference cell = this.a1();
+
+        final SpreadsheetLabelName label1 = SpreadsheetLabelName.labelName("LabelA1");
+        final SpreadsheetLabelMapping mapping1 = label1.mapping(cell);
+        store.save(mapping1);
+
+        store.save(SpreadsheetLabelMapping.with(SpreadsheetLabelName.labelName("Label999"), cell));
+
+        this.findSimilarAndCheck(
+                store,
+                "a1",
+                2,
+                mapping1
+        );
+    }
+
+    @Test
+    public void testFindSimilarAfterDelete() {
+        final TreeMapSpreadsheetLabelStore store = this.createStore();
+
+        final SpreadsheetCellReference cell = this.a1();
+
+        final SpreadsheetLabelName label1 = SpreadsheetLabelName.labelName("Label123");
+        store.save(label1.mapping(cell));
+
+        final SpreadsheetLabelName label2 = SpreadsheetLabelName.labelName("Label1234");
+        final SpreadsheetLabelMapping mapping2 = label2.mapping(cell);
+        store.save(mapping2);
+
+        store.delete(label1);
+
+        this.findSimilarAndCheck(
+                store,
+                "LABEL123",
+                2,
+                mapping2
+        );
+    }
+
     // loadCellReferencesOrRanges.......................................................................................
 
     @Test
@@ -218,6 +218,63 @@ public final class TreeMapSpreadsheetGroupStoreTest implements SpreadsheetGroupS
         this.loadUserGroupsAndCheck(store, user2, Sets.of(group2));
     }
 
+    @Test
+    public void testLoadWithName() {
+        final TreeMapSpreadsheetGroupStore store = this.createNotEmptyStore();
+
+        this.checkEquals(Optional.of(this.group2()), store.loadWithName(this.group2().name()));
+    }
+
+    @Test
+    public void testLoadWithNameSharedReturnsLowestId() {
+        final TreeMapSpreadsheetGroupStore store = this.createNotEmptyStore();
+
+        final Group shared = Group.with(this.groupId4(), this.group2().name());
+        store.store.save(shared);
+
+        this.checkEquals(Optional.of(this.group2()), store.loadWithName(shared.name()));
+    }
+
+    @SuppressWarnings("OptionalGetWithoutIsPresent")
+    @Test
+    public void testLoadWithNameSharedAfterDelete() {
+        final TreeMapSpreadsheetGroupStore store = this.createNotEmptyStore();
+
+        final Group shared = Group.with(this.groupId4(), this.group2().name());
+        store.store.save(shared);
+        store.delete(this.groupId2().get());
+
+        this.checkEquals(Optional.of(shared), store.loadWithName(shared.name()));
+    }
+
+    @Test
+    public void testLoadWithNameUnknown() {
+        final TreeMapSpreadsheetGroupStore store = this.createNotEmptyStore();
+
+        this.checkEquals(Optional.empty(), store.loadWithName(GroupName.with("unknown")));
+    }
+
+    @Test
+    public void testLoadWithNameAfterSaveReplacesName() {
+        final TreeMapSpreadsheetGroupStore store = this.createNotEmptyStore();
+
+        final Group replace = Group.with(this.groupId1(), GroupName.with("replaced"));
+        store.save(replace);
+
+        this.checkEquals(Optional.empty(), store.loadWithName(this.group1().name()), "previous name");
+        this.checkEquals(Optional.of(replace), store.loadWithName(replace.name()), "replaced name");
+    }
+
+    @SuppressWarnings("OptionalGetWithoutIsPresent")
+    @Test
+    public void testLoadWithNameAfterDelete() {
+        final TreeMapSpreadsheetGroupStore store = this.createNotEmptyStore();
+
+        store.delete(this.groupId1().get());
+
+        this.checkEquals(Optional.empty(), store.loadWithName(this.group1().name()));
+    }
+
     @Test
     public void testToString() {
         final TreeMapSpreadsheetGroupStore store = this.createNotEmptyStore();
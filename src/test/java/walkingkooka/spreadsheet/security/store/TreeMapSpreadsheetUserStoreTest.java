@@ -25,6 +25,8 @@ import walkingkooka.spreadsheet.security.UserId;
 import java.util.Optional;
 import java.util.TreeMap;
 
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
 public final class TreeMapSpreadsheetUserStoreTest implements SpreadsheetUserStoreTesting<TreeMapSpreadsheetUserStore> {
 
     @SuppressWarnings("OptionalGetWithoutIsPresent")
@@ -174,6 +176,64 @@ public final class TreeMapSpreadsheetUserStoreTest implements SpreadsheetUserSto
         this.checkEquals(Optional.of(this.user1()), store.loadWithEmail(this.user1().email()));
     }
 
+    @Test
+    public void testLoadWithEmailNullFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> this.createStore().loadWithEmail(null)
+        );
+    }
+
+    @Test
+    public void testLoadWithEmailSharedReturnsLowestId() {
+        final TreeMapSpreadsheetUserStore store = this.createNotEmptyStore();
+
+        final User shared = User.with(this.userId4(), this.user2().email());
+        store.store.save(shared);
+
+        this.checkEquals(Optional.of(this.user2()), store.loadWithEmail(shared.email()));
+    }
+
+    @SuppressWarnings("OptionalGetWithoutIsPresent")
+    @Test
+    public void testLoadWithEmailSharedAfterDelete() {
+        final TreeMapSpreadsheetUserStore store = this.createNotEmptyStore();
+
+        final User shared = User.with(this.userId4(), this.user2().email());
+        store.store.save(shared);
+        store.delete(this.userId2().get());
+
+        this.checkEquals(Optional.of(shared), store.loadWithEmail(shared.email()));
+    }
+
+    @Test
+    public void testLoadWithEmailUnknown() {
+        final TreeMapSpreadsheetUserStore store = this.createNotEmptyStore();
+
+        this.checkEquals(Optional.empty(), store.loadWithEmail(EmailAddress.parse("unknown@example.com")));
+    }
+
+    @Test
+    public void testLoadWithEmailAfterSaveReplacesEmail() {
+        final TreeMapSpreadsheetUserStore store = this.createNotEmptyStore();
+
+        final User replace = User.with(this.userId1(), EmailAddress.parse("replaced@example.com"));
+        store.save(replace);
+
+        this.checkEquals(Optional.empty(), store.loadWithEmail(this.user1().email()), "previous email");
+        this.checkEquals(Optional.of(replace), store.loadWithEmail(replace.email()), "replaced email");
+    }
+
+    @SuppressWarnings("OptionalGetWithoutIsPresent")
+    @Test
+    public void testLoadWithEmailAfterDelete() {
+        final TreeMapSpreadsheetUserStore store = this.createNotEmptyStore();
+
+        store.delete(this.userId1().get());
+
+        this.checkEquals(Optional.empty(), store.loadWithEmail(this.user1().email()));
+    }
+
     @Test
     public void testToString() {
         final TreeMapSpreadsheetUserStore store = createNotEmptyStore();
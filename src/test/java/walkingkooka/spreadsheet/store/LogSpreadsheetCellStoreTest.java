@@ -0,0 +1,397 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.store;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.spreadsheet.SpreadsheetCell;
+import walkingkooka.spreadsheet.SpreadsheetFormula;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
+import walkingkooka.tree.json.marshall.JsonNodeMarshallContext;
+import walkingkooka.tree.json.marshall.JsonNodeMarshallContexts;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContexts;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.math.MathContext;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+final class LogSpreadsheetCellStoreTest extends SpreadsheetCellStoreTestCase<LogSpreadsheetCellStore> {
+
+    private final static int CACHE_SIZE = 100;
+
+    private final static JsonNodeMarshallContext MARSHALL_CONTEXT = JsonNodeMarshallContexts.basic();
+
+    private final static JsonNodeUnmarshallContext UNMARSHALL_CONTEXT = JsonNodeUnmarshallContexts.basic(
+            EXPRESSION_NUMBER_KIND,
+            MathContext.DECIMAL32
+    );
+
+    @AfterEach
+    public void afterEach() {
+        this.stores.forEach(LogSpreadsheetCellStore::close);
+    }
+
+    /**
+     * Every store opened by a test, closed after the test.
+     */
+    private final List<LogSpreadsheetCellStore> stores = Lists.array();
+
+    @Test
+    public void testOpenNullPathFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> LogSpreadsheetCellStore.open(
+                        null,
+                        CACHE_SIZE,
+                        MARSHALL_CONTEXT,
+                        UNMARSHALL_CONTEXT
+                )
+        );
+    }
+
+    @Test
+    public void testOpenInvalidCacheSizeFails() {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> LogSpreadsheetCellStore.open(
+                        this.path(),
+                        -1,
+                        MARSHALL_CONTEXT,
+                        UNMARSHALL_CONTEXT
+                )
+        );
+    }
+
+    @Test
+    public void testOpenNullMarshallContextFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> LogSpreadsheetCellStore.open(
+                        this.path(),
+                        CACHE_SIZE,
+                        null,
+                        UNMARSHALL_CONTEXT
+                )
+        );
+    }
+
+    @Test
+    public void testOpenNullUnmarshallContextFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> LogSpreadsheetCellStore.open(
+                        this.path(),
+                        CACHE_SIZE,
+                        MARSHALL_CONTEXT,
+                        null
+                )
+        );
+    }
+
+    @Test
+    public void testSaveAndLoadWithoutCache() {
+        final LogSpreadsheetCellStore store = this.open(
+                this.path(),
+                0
+        );
+
+        final SpreadsheetCell a1 = this.cell("A1", "=1+2");
+        store.save(a1);
+
+        this.loadAndCheck(store, a1.reference(), a1);
+    }
+
+    @Test
+    public void testReopen() {
+        final Path path = this.path();
+        final LogSpreadsheetCellStore store = this.open(path);
+
+        final SpreadsheetCell a1 = this.cell("A1", "=1+2");
+        final SpreadsheetCell b2 = this.cell("B2", "'Hello");
+        store.save(a1);
+        store.save(b2);
+        store.close();
+
+        final LogSpreadsheetCellStore reopened = this.open(path);
+        this.countAndCheck(reopened, 2);
+        this.loadAndCheck(reopened, a1.reference(), a1);
+        this.loadAndCheck(reopened, b2.reference(), b2);
+    }
+
+    @Test
+    public void testReopenAfterSaveReplaceAndDelete() {
+        final Path path = this.path();
+        final LogSpreadsheetCellStore store = this.open(path);
+
+        final SpreadsheetCell a1 = this.cell("A1", "=1+2");
+        final SpreadsheetCell a1Replaced = this.cell("A1", "=3+4");
+        final SpreadsheetCell b2 = this.cell("B2", "'Hello");
+        store.save(a1);
+        store.save(b2);
+        store.save(a1Replaced);
+        store.delete(b2.reference());
+        store.close();
+
+        final LogSpreadsheetCellStore reopened = this.open(path);
+        this.countAndCheck(reopened, 1);
+        this.loadAndCheck(reopened, a1.reference(), a1Replaced);
+        this.loadFailCheck(reopened, b2.reference());
+    }
+
+    @Test
+    public void testReopenTruncatesTornRecord() throws IOException {
+        final Path path = this.path();
+        final LogSpreadsheetCellStore store = this.open(path);
+
+        final SpreadsheetCell a1 = this.cell("A1", "=1+2");
+        store.save(a1);
+        store.close();
+
+        final long length = Files.size(path);
+
+        try (final RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.seek(length);
+            file.writeInt(100);
+            file.writeInt(0);
+            file.write(LogSpreadsheetCellStore.SAVE);
+        }
+
+        final LogSpreadsheetCellStore reopened = this.open(path);
+        this.countAndCheck(reopened, 1);
+        this.loadAndCheck(reopened, a1.reference(), a1);
+        this.checkEquals(length, Files.size(path), "torn record should have been truncated");
+    }
+
+    @Test
+    public void testReopenTruncatesCorruptRecord() throws IOException {
+        final Path path = this.path();
+        final LogSpreadsheetCellStore store = this.open(path);
+
+        final SpreadsheetCell a1 = this.cell("A1", "=1+2");
+        store.save(a1);
+
+        final long length = Files.size(path);
+        store.save(this.cell("B2", "=3+4"));
+        store.close();
+
+        try (final RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            final long last = file.length() - 1;
+            file.seek(last);
+            final int b = file.read();
+            file.seek(last);
+            file.write(b ^ 0xff);
+        }
+
+        final LogSpreadsheetCellStore reopened = this.open(path);
+        this.countAndCheck(reopened, 1);
+        this.loadAndCheck(reopened, a1.reference(), a1);
+        this.checkEquals(length, Files.size(path), "corrupt record should have been truncated");
+    }
+
+    @Test
+    public void testReopenCorruptRecordFollowedByRecordsFails() throws IOException {
+        final Path path = this.path();
+        final LogSpreadsheetCellStore store = this.open(path);
+
+        store.save(this.cell("A1", "=1+2"));
+
+        final long last = Files.size(path) - 1;
+        store.save(this.cell("B2", "=3+4"));
+        store.close();
+
+        try (final RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.seek(last);
+            final int b = file.read();
+            file.seek(last);
+            file.write(b ^ 0xff);
+        }
+
+        final long length = Files.size(path);
+
+        final LogSpreadsheetCellStoreException thrown = assertThrows(
+                LogSpreadsheetCellStoreException.class,
+                () -> this.open(path)
+        );
+        this.checkEquals(
+                "Corrupt record at 0 in " + path,
+                thrown.getMessage(),
+                "message"
+        );
+        this.checkEquals(length, Files.size(path), "log should not have been truncated");
+    }
+
+    // close............................................................................................................
+
+    @Test
+    public void testCloseThenLoadFails() {
+        final LogSpreadsheetCellStore store = this.open(this.path(), 0);
+
+        final SpreadsheetCell a1 = this.cell("A1", "=1+2");
+        store.save(a1);
+        store.close();
+
+        assertThrows(
+                LogSpreadsheetCellStoreException.class,
+                () -> store.load(a1.reference())
+        );
+    }
+
+    @Test
+    public void testCompact() throws IOException {
+        final Path path = this.path();
+        final LogSpreadsheetCellStore store = this.open(path);
+
+        for (int i = 0; i < 10; i++) {
+            store.save(this.cell("A1", "=" + i));
+            store.save(this.cell("B2", "'Hello" + i));
+        }
+        store.delete(SpreadsheetSelection.parseCell("B2"));
+
+        final SpreadsheetCell a1 = this.cell("A1", "=99");
+        store.save(a1);
+
+        final long before = Files.size(path);
+        store.compact();
+
+        this.checkEquals(true, Files.size(path) < before, () -> "log should be smaller after compact " + before);
+        this.countAndCheck(store, 1);
+        this.loadAndCheck(store, a1.reference(), a1);
+        store.close();
+
+        final LogSpreadsheetCellStore reopened = this.open(path);
+        this.countAndCheck(reopened, 1);
+        this.loadAndCheck(reopened, a1.reference(), a1);
+    }
+
+    @Test
+    public void testCompactThenSave() throws IOException {
+        final Path path = this.path();
+        final LogSpreadsheetCellStore store = this.open(path);
+
+        store.save(this.cell("A1", "=1"));
+        store.save(this.cell("A1", "=2"));
+        store.compact();
+
+        final SpreadsheetCell b2 = this.cell("B2", "=3");
+        store.save(b2);
+        store.close();
+
+        final LogSpreadsheetCellStore reopened = this.open(path);
+        this.countAndCheck(reopened, 2);
+        this.loadAndCheck(reopened, b2.reference(), b2);
+    }
+
+    @Test
+    public void testOpenDeletesPartialCompact() throws IOException {
+        final Path path = this.path();
+        final Path compact = path.resolveSibling(path.getFileName() + ".compact");
+        Files.write(compact, new byte[]{1, 2, 3});
+
+        this.open(path);
+
+        this.checkEquals(false, Files.exists(compact), "partial compact should have been deleted");
+    }
+
+    // toString.........................................................................................................
+
+    @Test
+    public void testToString() {
+        final Path path = this.path();
+        final LogSpreadsheetCellStore store = this.open(path);
+        store.save(this.cell("A1", "1+2"));
+
+        this.toStringAndCheck(store, path + " [A1]");
+    }
+
+    // helpers..........................................................................................................
+
+    private SpreadsheetCell cell(final String reference,
+                                 final String text) {
+        return SpreadsheetSelection.parseCell(reference)
+                .setFormula(
+                        SpreadsheetFormula.EMPTY
+                                .setText(text)
+                );
+    }
+
+    private void loadAndCheck(final LogSpreadsheetCellStore store,
+                              final SpreadsheetCellReference reference,
+                              final SpreadsheetCell expected) {
+        this.checkEquals(
+                Optional.of(expected),
+                store.load(reference),
+                () -> "load " + reference
+        );
+    }
+
+    private LogSpreadsheetCellStore open(final Path path) {
+        return this.open(
+                path,
+                CACHE_SIZE
+        );
+    }
+
+    private LogSpreadsheetCellStore open(final Path path,
+                                         final int cacheSize) {
+        final LogSpreadsheetCellStore store = LogSpreadsheetCellStore.open(
+                path,
+                cacheSize,
+                MARSHALL_CONTEXT,
+                UNMARSHALL_CONTEXT
+        );
+        this.stores.add(store);
+        return store;
+    }
+
+    private Path path() {
+        try {
+            final Path path = Files.createTempFile(this.getClass().getSimpleName(), ".log");
+            path.toFile().deleteOnExit();
+            return path;
+        } catch (final IOException cause) {
+            throw new UncheckedIOException(cause);
+        }
+    }
+
+    @Override
+    public LogSpreadsheetCellStore createStore() {
+        return this.open(this.path());
+    }
+
+    @Override
+    public Class<LogSpreadsheetCellStore> type() {
+        return LogSpreadsheetCellStore.class;
+    }
+
+    // TypeNameTesting..................................................................
+
+    @Override
+    public String typeNamePrefix() {
+        return "Log";
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.store;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.spreadsheet.SpreadsheetColumn;
+import walkingkooka.spreadsheet.reference.SpreadsheetColumnReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
+import walkingkooka.store.ReadOnlyStoreTesting;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class ReadOnlySpreadsheetColumnStoreTest implements SpreadsheetColumnStoreTesting<ReadOnlySpreadsheetColumnStore>,
+        ReadOnlyStoreTesting<ReadOnlySpreadsheetColumnStore, SpreadsheetColumnReference, SpreadsheetColumn> {
+
+    private final static SpreadsheetColumnReference REFERENCE = SpreadsheetSelection.parseColumn("B");
+
+    @Test
+    public void testWithNullStoreFails() {
+        assertThrows(NullPointerException.class, () -> ReadOnlySpreadsheetColumnStore.with(null));
+    }
+
+    @Test
+    public void testSaveAndLoad() {
+        final SpreadsheetColumnStore store = SpreadsheetColumnStores.treeMap();
+
+        final SpreadsheetColumn column = REFERENCE.column();
+        store.save(column);
+
+        assertSame(column, ReadOnlySpreadsheetColumnStore.with(store).loadOrFail(REFERENCE));
+    }
+
+    @Test
+    public void testSaveFails() {
+        assertThrows(UnsupportedOperationException.class, () -> this.createStore().save(REFERENCE.column()));
+    }
+
+    @Test
+    public void testDeleteFails() {
+        assertThrows(UnsupportedOperationException.class, () -> this.createStore().delete(REFERENCE));
+    }
+
+    @Override
+    public void testAddSaveWatcherAndSave() {
+    }
+
+    @Override
+    public void testAddSaveWatcherAndSaveTwiceFiresOnce() {
+    }
+
+    @Override
+    public void testAddSaveWatcherAndRemove() {
+    }
+
+    @Override
+    public void testAddDeleteWatcherAndDelete() {
+    }
+
+    @Override
+    public void testAddDeleteWatcherAndRemove() {
+    }
+
+    @Test
+    public void testLeftSkipHidden() {
+        final SpreadsheetColumnStore store = SpreadsheetColumnStores.treeMap();
+        store.save(REFERENCE.column().setHidden(true));
+
+        this.leftSkipHiddenAndCheck(
+                ReadOnlySpreadsheetColumnStore.with(store),
+                "C",
+                "A"
+        );
+    }
+
+    @Test
+    public void testToString() {
+        final SpreadsheetColumnStore store = SpreadsheetColumnStores.treeMap();
+        store.save(REFERENCE.column());
+
+        this.toStringAndCheck(ReadOnlySpreadsheetColumnStore.with(store), store.toString());
+    }
+
+    @Override
+    public ReadOnlySpreadsheetColumnStore createStore() {
+        return ReadOnlySpreadsheetColumnStore.with(SpreadsheetColumnStores.treeMap());
+    }
+
+    @Override
+    public SpreadsheetColumnReference id() {
+        return REFERENCE;
+    }
+
+    @Override
+    public SpreadsheetColumn value() {
+        return REFERENCE.column();
+    }
+
+    @Override
+    public Class<ReadOnlySpreadsheetColumnStore> type() {
+        return ReadOnlySpreadsheetColumnStore.class;
+    }
+}
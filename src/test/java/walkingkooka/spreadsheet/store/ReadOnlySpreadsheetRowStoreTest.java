@@ -0,0 +1,118 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.store;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.spreadsheet.SpreadsheetRow;
+import walkingkooka.spreadsheet.reference.SpreadsheetRowReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
+import walkingkooka.store.ReadOnlyStoreTesting;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class ReadOnlySpreadsheetRowStoreTest implements SpreadsheetRowStoreTesting<ReadOnlySpreadsheetRowStore>,
+        ReadOnlyStoreTesting<ReadOnlySpreadsheetRowStore, SpreadsheetRowReference, SpreadsheetRow> {
+
+    private final static SpreadsheetRowReference REFERENCE = SpreadsheetSelection.parseRow("2");
+
+    @Test
+    public void testWithNullStoreFails() {
+        assertThrows(NullPointerException.class, () -> ReadOnlySpreadsheetRowStore.with(null));
+    }
+
+    @Test
+    public void testSaveAndLoad() {
+        final SpreadsheetRowStore store = SpreadsheetRowStores.treeMap();
+
+        final SpreadsheetRow row = REFERENCE.row();
+        store.save(row);
+
+        assertSame(row, ReadOnlySpreadsheetRowStore.with(store).loadOrFail(REFERENCE));
+    }
+
+    @Test
+    public void testSaveFails() {
+        assertThrows(UnsupportedOperationException.class, () -> this.createStore().save(REFERENCE.row()));
+    }
+
+    @Test
+    public void testDeleteFails() {
+        assertThrows(UnsupportedOperationException.class, () -> this.createStore().delete(REFERENCE));
+    }
+
+    @Override
+    public void testAddSaveWatcherAndSave() {
+    }
+
+    @Override
+    public void testAddSaveWatcherAndSaveTwiceFiresOnce() {
+    }
+
+    @Override
+    public void testAddSaveWatcherAndRemove() {
+    }
+
+    @Override
+    public void testAddDeleteWatcherAndDelete() {
+    }
+
+    @Override
+    public void testAddDeleteWatcherAndRemove() {
+    }
+
+    @Test
+    public void testUpSkipHidden() {
+        final SpreadsheetRowStore store = SpreadsheetRowStores.treeMap();
+        store.save(REFERENCE.row().setHidden(true));
+
+        this.upSkipHiddenAndCheck(
+                ReadOnlySpreadsheetRowStore.with(store),
+                "3",
+                "1"
+        );
+    }
+
+    @Test
+    public void testToString() {
+        final SpreadsheetRowStore store = SpreadsheetRowStores.treeMap();
+        store.save(REFERENCE.row());
+
+        this.toStringAndCheck(ReadOnlySpreadsheetRowStore.with(store), store.toString());
+    }
+
+    @Override
+    public ReadOnlySpreadsheetRowStore createStore() {
+        return ReadOnlySpreadsheetRowStore.with(SpreadsheetRowStores.treeMap());
+    }
+
+    @Override
+    public SpreadsheetRowReference id() {
+        return REFERENCE;
+    }
+
+    @Override
+    public SpreadsheetRow value() {
+        return REFERENCE.row();
+    }
+
+    @Override
+    public Class<ReadOnlySpreadsheetRowStore> type() {
+        return ReadOnlySpreadsheetRowStore.class;
+    }
+}
@@ -19,6 +19,7 @@ package walkingkooka.spreadsheet.store;
 
 import org.junit.jupiter.api.Test;
 import walkingkooka.collect.list.Lists;
+import walkingkooka.net.email.EmailAddress;
 import walkingkooka.spreadsheet.SpreadsheetCell;
 import walkingkooka.spreadsheet.SpreadsheetErrorKind;
 import walkingkooka.spreadsheet.SpreadsheetFormula;
@@ -144,7 +145,7 @@ final class SpreadsheetFormulaSpreadsheetMetadataAwareSpreadsheetCellStoreTest e
         );
 
         final SpreadsheetMetadata differentMetadata = metadata.set(
-                SpreadsheetMetadataPropertyName.SPREADSHEET_ID, SpreadsheetId.with(99999L)
+                SpreadsheetMetadataPropertyName.DEFAULT_YEAR, DEFAULT_YEAR + 1
         );
 
         this.check(
@@ -159,6 +160,27 @@ final class SpreadsheetFormulaSpreadsheetMetadataAwareSpreadsheetCellStoreTest e
         );
     }
 
+    @Test
+    public void testWithSpreadsheetFormulaSpreadsheetMetadataAwareSpreadsheetCellStoreDifferentMetadataSameFormulaProperties() {
+        final SpreadsheetCellStore cellStore = this.cellStore();
+        final SpreadsheetMetadata metadata = this.metadata();
+
+        final SpreadsheetFormulaSpreadsheetMetadataAwareSpreadsheetCellStore wrapped = SpreadsheetFormulaSpreadsheetMetadataAwareSpreadsheetCellStore.with(
+                cellStore,
+                metadata,
+                NOW
+        );
+
+        assertSame(
+                wrapped,
+                SpreadsheetFormulaSpreadsheetMetadataAwareSpreadsheetCellStore.with(
+                        wrapped,
+                        metadata.set(SpreadsheetMetadataPropertyName.SPREADSHEET_ID, SpreadsheetId.with(99999L))
+                                .set(SpreadsheetMetadataPropertyName.MODIFIED_BY, EmailAddress.parse("modified@example.com")),
+                        NOW
+                ));
+    }
+
     private void check(final SpreadsheetFormulaSpreadsheetMetadataAwareSpreadsheetCellStore store,
                        final SpreadsheetCellStore cellStore,
                        final SpreadsheetMetadata metadata,
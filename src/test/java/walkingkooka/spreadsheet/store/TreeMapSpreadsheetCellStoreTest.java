@@ -31,6 +31,7 @@ import walkingkooka.tree.text.TextStylePropertyName;
 
 import java.util.TreeMap;
 
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 final class TreeMapSpreadsheetCellStoreTest extends SpreadsheetCellStoreTestCase<TreeMapSpreadsheetCellStore> {
@@ -100,6 +101,33 @@ final class TreeMapSpreadsheetCellStoreTest extends SpreadsheetCellStoreTestCase
         this.loadFailCheck(store, c3);
     }
 
+    @Test
+    public void testSaveSharesStyle() {
+        final TreeMapSpreadsheetCellStore store = this.createStore();
+
+        final SpreadsheetCell a1 = store.save(
+                SpreadsheetSelection.parseCell("A1")
+                        .setFormula(SpreadsheetFormula.EMPTY)
+                        .setStyle(this.style())
+        );
+        final SpreadsheetCell b2 = store.save(
+                SpreadsheetSelection.parseCell("B2")
+                        .setFormula(SpreadsheetFormula.EMPTY)
+                        .setStyle(this.style())
+        );
+
+        assertSame(
+                a1.style(),
+                store.loadOrFail(b2.reference())
+                        .style()
+        );
+    }
+
+    private TextStyle style() {
+        return TextStyle.EMPTY
+                .set(TextStylePropertyName.WIDTH, Length.pixel(50.0));
+    }
+
     // maxColumnWidth...................................................................................................
 
     @Test
@@ -0,0 +1,603 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.store.repo;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.map.Maps;
+import walkingkooka.collect.set.Sets;
+import walkingkooka.net.email.EmailAddress;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.spreadsheet.SpreadsheetCell;
+import walkingkooka.spreadsheet.SpreadsheetError;
+import walkingkooka.spreadsheet.SpreadsheetErrorKind;
+import walkingkooka.spreadsheet.SpreadsheetFormula;
+import walkingkooka.spreadsheet.SpreadsheetId;
+import walkingkooka.spreadsheet.format.pattern.SpreadsheetPattern;
+import walkingkooka.spreadsheet.meta.SpreadsheetMetadata;
+import walkingkooka.spreadsheet.meta.SpreadsheetMetadataPropertyName;
+import walkingkooka.spreadsheet.meta.store.SpreadsheetMetadataStores;
+import walkingkooka.spreadsheet.parser.SpreadsheetParserToken;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellRange;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetLabelName;
+import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
+import walkingkooka.spreadsheet.reference.store.SpreadsheetCellRangeStores;
+import walkingkooka.spreadsheet.reference.store.SpreadsheetExpressionReferenceStores;
+import walkingkooka.spreadsheet.reference.store.SpreadsheetLabelStores;
+import walkingkooka.spreadsheet.security.store.SpreadsheetGroupStores;
+import walkingkooka.spreadsheet.security.store.SpreadsheetUserStores;
+import walkingkooka.spreadsheet.store.SpreadsheetCellStores;
+import walkingkooka.spreadsheet.store.SpreadsheetColumnStores;
+import walkingkooka.spreadsheet.store.SpreadsheetRowStores;
+import walkingkooka.tree.expression.Expression;
+import walkingkooka.tree.expression.ExpressionNumber;
+import walkingkooka.tree.expression.ExpressionNumberKind;
+import walkingkooka.tree.json.marshall.JsonNodeMarshallContext;
+import walkingkooka.tree.json.marshall.JsonNodeMarshallContexts;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContext;
+import walkingkooka.tree.json.marshall.JsonNodeUnmarshallContexts;
+import walkingkooka.tree.text.FontStyle;
+import walkingkooka.tree.text.FontWeight;
+import walkingkooka.tree.text.TextNode;
+import walkingkooka.tree.text.TextStyle;
+import walkingkooka.tree.text.TextStylePropertyName;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class BinarySpreadsheetStoreRepositoryCodecTest implements ClassTesting2<BinarySpreadsheetStoreRepositoryCodec>,
+        ToStringTesting<BinarySpreadsheetStoreRepositoryCodec> {
+
+    private final static ExpressionNumberKind EXPRESSION_NUMBER_KIND = ExpressionNumberKind.BIG_DECIMAL;
+
+    private final static JsonNodeMarshallContext MARSHALL_CONTEXT = JsonNodeMarshallContexts.basic();
+
+    private final static JsonNodeUnmarshallContext UNMARSHALL_CONTEXT = JsonNodeUnmarshallContexts.basic(
+            EXPRESSION_NUMBER_KIND,
+            MathContext.DECIMAL32
+    );
+
+    private final static TextStyle STYLE = TextStyle.with(
+            Maps.of(
+                    TextStylePropertyName.FONT_WEIGHT,
+                    FontWeight.BOLD,
+                    TextStylePropertyName.FONT_STYLE,
+                    FontStyle.ITALIC
+            )
+    );
+
+    @Test
+    public void testWithNullMarshallContextFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> BinarySpreadsheetStoreRepositoryCodec.with(
+                        null,
+                        UNMARSHALL_CONTEXT
+                )
+        );
+    }
+
+    @Test
+    public void testWithNullUnmarshallContextFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> BinarySpreadsheetStoreRepositoryCodec.with(
+                        MARSHALL_CONTEXT,
+                        null
+                )
+        );
+    }
+
+    @Test
+    public void testSnapshotNullRepositoryFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> this.createCodec()
+                        .snapshot(
+                                null,
+                                new ByteArrayOutputStream()
+                        )
+        );
+    }
+
+    @Test
+    public void testSnapshotNullOutputFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> this.createCodec()
+                        .snapshot(
+                                this.repository(),
+                                null
+                        )
+        );
+    }
+
+    @Test
+    public void testRestoreNullInputFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> this.createCodec()
+                        .restore(
+                                null,
+                                this.repository()
+                        )
+        );
+    }
+
+    @Test
+    public void testRestoreNullRepositoryFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> this.createCodec()
+                        .restore(
+                                new ByteArrayInputStream(new byte[0]),
+                                null
+                        )
+        );
+    }
+
+    @Test
+    public void testRoundTripEmpty() throws IOException {
+        this.roundTripAndCheck(this.repository());
+    }
+
+    @Test
+    public void testRoundTripCells() throws IOException {
+        final SpreadsheetStoreRepository repository = this.repository();
+
+        this.saveCell(repository, "A1", "=1+2", EXPRESSION_NUMBER_KIND.create(3));
+        this.saveCell(repository, "$B$2", "=-1", EXPRESSION_NUMBER_KIND.create(-1));
+        this.saveCell(repository, "C3", "=1.5", EXPRESSION_NUMBER_KIND.create(1.5));
+        this.saveCell(repository, "D4", "=1/3", EXPRESSION_NUMBER_KIND.create(new BigDecimal("0.3333333333333333333333333333333333")));
+        this.saveCell(repository, "E5", "123456789012345678901234567890", EXPRESSION_NUMBER_KIND.create(new BigDecimal("123456789012345678901234567890")));
+        this.saveCell(repository, "F6", "'Hello", "Hello");
+        this.saveCell(repository, "G7", "=true()", true);
+        this.saveCell(repository, "H8", "=false()", false);
+        this.saveCell(repository, "I9", "1999/12/31", LocalDate.of(1999, 12, 31));
+        this.saveCell(repository, "J10", "1969/12/31 12:58:59.123", LocalDateTime.of(1969, 12, 31, 12, 58, 59, 123000000));
+        this.saveCell(repository, "K11", "12:58:59", LocalTime.of(12, 58, 59));
+        this.saveCell(repository, "L12", "=1/0", SpreadsheetError.with(SpreadsheetErrorKind.DIV0, "Division by zero", SpreadsheetError.NO_VALUE));
+        this.saveCell(repository, "M13", "=Z99", SpreadsheetError.selectionNotFound(SpreadsheetSelection.parseCell("Z99")));
+        this.saveCell(repository, "N14", "=Label1", SpreadsheetError.selectionNotFound(SpreadsheetSelection.labelName("Label1")));
+        this.saveCell(repository, "O15", "=cell(\"Z9\")", SpreadsheetSelection.parseCell("Z9"));
+
+        repository.cells()
+                .save(
+                        SpreadsheetSelection.parseCell("P16")
+                                .setFormula(SpreadsheetFormula.EMPTY.setText("=1"))
+                );
+
+        this.roundTripAndCheck(repository);
+    }
+
+    @Test
+    public void testRoundTripNumberKeepsScale() throws IOException {
+        final SpreadsheetStoreRepository repository = this.repository();
+        this.saveCell(repository, "A1", "100.00", EXPRESSION_NUMBER_KIND.create(new BigDecimal("100.00")));
+
+        final SpreadsheetStoreRepository restored = this.roundTripAndCheck(repository);
+
+        this.checkEquals(
+                new BigDecimal("100.00"),
+                ((ExpressionNumber) restored.cells()
+                        .loadOrFail(SpreadsheetSelection.parseCell("A1"))
+                        .formula()
+                        .value()
+                        .get()
+                ).bigDecimal()
+        );
+    }
+
+    @Test
+    public void testRoundTripSkipsTokenAndExpression() throws IOException {
+        final SpreadsheetStoreRepository repository = this.repository();
+
+        final SpreadsheetFormula formula = SpreadsheetFormula.EMPTY
+                .setToken(
+                        Optional.of(
+                                SpreadsheetParserToken.number(
+                                        Lists.of(
+                                                SpreadsheetParserToken.digits("12", "12")
+                                        ),
+                                        "12"
+                                )
+                        )
+                ).setExpression(
+                        Optional.of(
+                                Expression.value(EXPRESSION_NUMBER_KIND.create(12))
+                        )
+                ).setValue(
+                        Optional.of(EXPRESSION_NUMBER_KIND.create(12))
+                );
+        repository.cells()
+                .save(
+                        SpreadsheetSelection.parseCell("A1")
+                                .setFormula(formula)
+                );
+
+        final SpreadsheetStoreRepository restored = this.repository();
+        this.createCodec()
+                .restore(
+                        new ByteArrayInputStream(this.snapshot(repository)),
+                        restored
+                );
+
+        this.checkEquals(
+                SpreadsheetFormula.EMPTY
+                        .setText("12")
+                        .setValue(
+                                Optional.of(EXPRESSION_NUMBER_KIND.create(12))
+                        ),
+                restored.cells()
+                        .loadOrFail(SpreadsheetSelection.parseCell("A1"))
+                        .formula()
+        );
+    }
+
+    @Test
+    public void testSnapshotSmallerThanJson() throws IOException {
+        final SpreadsheetStoreRepository repository = this.repository();
+
+        for (int i = 1; i <= 100; i++) {
+            final String text = String.valueOf(i);
+
+            repository.cells()
+                    .save(
+                            SpreadsheetSelection.parseCell("A" + i)
+                                    .setFormula(
+                                            SpreadsheetFormula.EMPTY
+                                                    .setToken(
+                                                            Optional.of(
+                                                                    SpreadsheetParserToken.number(
+                                                                            Lists.of(
+                                                                                    SpreadsheetParserToken.digits(text, text)
+                                                                            ),
+                                                                            text
+                                                                    )
+                                                            )
+                                                    ).setExpression(
+                                                            Optional.of(
+                                                                    Expression.value(EXPRESSION_NUMBER_KIND.create(i))
+                                                            )
+                                                    ).setValue(
+                                                            Optional.of(EXPRESSION_NUMBER_KIND.create(i))
+                                                    )
+                                    ).setStyle(STYLE)
+                                    .setFormatted(Optional.of(STYLE.replace(TextNode.text(text))))
+                    );
+        }
+
+        int json = 0;
+        for (final SpreadsheetCell cell : repository.cells().all()) {
+            json += MARSHALL_CONTEXT.marshall(cell)
+                    .toString()
+                    .getBytes(StandardCharsets.UTF_8)
+                    .length;
+        }
+
+        final int binary = this.snapshot(repository).length;
+        this.checkEquals(
+                true,
+                binary * 4 < json,
+                () -> "binary " + binary + " should be less than a quarter of json " + json
+        );
+    }
+
+    @Test
+    public void testRoundTripStylesPatternsAndFormatted() throws IOException {
+        final SpreadsheetStoreRepository repository = this.repository();
+
+        repository.cells()
+                .save(
+                        SpreadsheetSelection.parseCell("A1")
+                                .setFormula(
+                                        SpreadsheetFormula.EMPTY.setText("1.5")
+                                                .setValue(Optional.of(EXPRESSION_NUMBER_KIND.create(1.5)))
+                                ).setStyle(STYLE)
+                                .setParsePattern(Optional.of(SpreadsheetPattern.parseNumberParsePattern("#.#")))
+                                .setFormatPattern(Optional.of(SpreadsheetPattern.parseNumberFormatPattern("#.00")))
+                                .setFormatted(Optional.of(STYLE.replace(TextNode.text("1.50"))))
+                );
+        repository.cells()
+                .save(
+                        SpreadsheetSelection.parseCell("B2")
+                                .setFormula(SpreadsheetFormula.EMPTY.setText("'Text"))
+                                .setFormatPattern(Optional.of(SpreadsheetPattern.parseTextFormatPattern("@")))
+                                .setFormatted(Optional.of(TextNode.text("Text")))
+                );
+
+        this.roundTripAndCheck(repository);
+    }
+
+    @Test
+    public void testRoundTripColumnsRowsLabelsMetadataAndReferences() throws IOException {
+        final SpreadsheetStoreRepository repository = this.repository();
+
+        repository.metadatas()
+                .save(this.metadata());
+
+        repository.columns()
+                .save(SpreadsheetSelection.parseColumn("B").column().setHidden(true));
+        repository.columns()
+                .save(SpreadsheetSelection.parseColumn("C").column());
+        repository.rows()
+                .save(SpreadsheetSelection.parseRow("3").row().setHidden(true));
+
+        final SpreadsheetLabelName label1 = SpreadsheetSelection.labelName("Label1");
+        final SpreadsheetLabelName label2 = SpreadsheetSelection.labelName("Label2");
+
+        repository.labels()
+                .save(label1.mapping(SpreadsheetSelection.parseCell("A1")));
+        repository.labels()
+                .save(label2.mapping(SpreadsheetSelection.parseCellRange("B2:C3")));
+
+        final SpreadsheetCellReference a1 = SpreadsheetSelection.parseCell("A1");
+        final SpreadsheetCellReference b2 = SpreadsheetSelection.parseCell("B2");
+        final SpreadsheetCellReference c3 = SpreadsheetSelection.parseCell("C3");
+
+        repository.cellReferences()
+                .saveReferences(a1, Sets.of(b2));
+        repository.labelReferences()
+                .saveReferences(label1, Sets.of(c3));
+
+        final SpreadsheetCellRange range = SpreadsheetSelection.parseCellRange("A1:B2");
+        repository.rangeToCells()
+                .addValue(range, c3);
+        repository.rangeToCells()
+                .addValue(range, b2);
+
+        this.roundTripAndCheck(repository);
+    }
+
+    @Test
+    public void testRestoreSharesStyles() throws IOException {
+        final SpreadsheetStoreRepository repository = this.repository();
+
+        final SpreadsheetCellReference a1 = SpreadsheetSelection.parseCell("A1");
+        final SpreadsheetCellReference b2 = SpreadsheetSelection.parseCell("B2");
+
+        repository.cells()
+                .save(a1.setFormula(SpreadsheetFormula.EMPTY.setText("1")).setStyle(STYLE));
+        repository.cells()
+                .save(b2.setFormula(SpreadsheetFormula.EMPTY.setText("2")).setStyle(STYLE));
+
+        final SpreadsheetStoreRepository restored = this.roundTripAndCheck(repository);
+
+        final TextStyle a1Style = restored.cells().loadOrFail(a1).style();
+        final TextStyle b2Style = restored.cells().loadOrFail(b2).style();
+
+        this.checkEquals(STYLE, a1Style);
+        assertNotSame(STYLE, a1Style);
+        assertSame(a1Style, b2Style);
+    }
+
+    @Test
+    public void testSnapshotWritesRepeatedStringsOnce() throws IOException {
+        final SpreadsheetStoreRepository repository = this.repository();
+
+        final String text = "=RepeatedFormulaText";
+
+        for (int i = 1; i <= 10; i++) {
+            repository.cells()
+                    .save(
+                            SpreadsheetSelection.parseCell("A" + i)
+                                    .setFormula(SpreadsheetFormula.EMPTY.setText(text))
+                    );
+        }
+
+        final String snapshot = new String(
+                this.snapshot(repository),
+                StandardCharsets.ISO_8859_1
+        );
+        this.checkEquals(
+                snapshot.indexOf(text),
+                snapshot.lastIndexOf(text),
+                () -> "formula text should be written once"
+        );
+    }
+
+    @Test
+    public void testSnapshotTwiceSame() throws IOException {
+        final SpreadsheetStoreRepository repository = this.repository();
+        this.saveCell(repository, "A1", "=1+2", EXPRESSION_NUMBER_KIND.create(3));
+        this.saveCell(repository, "B2", "'Hello", "Hello");
+
+        final byte[] snapshot = this.snapshot(repository);
+
+        final SpreadsheetStoreRepository restored = this.repository();
+        this.createCodec()
+                .restore(
+                        new ByteArrayInputStream(snapshot),
+                        restored
+                );
+
+        this.checkEquals(
+                Arrays.toString(snapshot),
+                Arrays.toString(this.snapshot(restored))
+        );
+    }
+
+    @Test
+    public void testRestoreNotSnapshotFails() {
+        final IOException thrown = assertThrows(
+                IOException.class,
+                () -> this.createCodec()
+                        .restore(
+                                new ByteArrayInputStream("XYZ!".getBytes(StandardCharsets.UTF_8)),
+                                this.repository()
+                        )
+        );
+        this.checkEquals(
+                "Not a spreadsheet snapshot",
+                thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testRestoreUnsupportedVersionFails() {
+        final IOException thrown = assertThrows(
+                IOException.class,
+                () -> this.createCodec()
+                        .restore(
+                                new ByteArrayInputStream(new byte[]{'W', 'K', 'S', 'S', 99}),
+                                this.repository()
+                        )
+        );
+        this.checkEquals(
+                "Unsupported snapshot version 99",
+                thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testRestoreTruncatedFails() throws IOException {
+        final SpreadsheetStoreRepository repository = this.repository();
+        this.saveCell(repository, "A1", "=1+2", EXPRESSION_NUMBER_KIND.create(3));
+
+        final byte[] snapshot = this.snapshot(repository);
+
+        final IOException thrown = assertThrows(
+                IOException.class,
+                () -> this.createCodec()
+                        .restore(
+                                new ByteArrayInputStream(Arrays.copyOf(snapshot, snapshot.length - 1)),
+                                this.repository()
+                        )
+        );
+        this.checkEquals(
+                "Truncated snapshot",
+                thrown.getMessage()
+        );
+    }
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+                this.createCodec(),
+                "binary v2"
+        );
+    }
+
+    // helpers..........................................................................................................
+
+    private BinarySpreadsheetStoreRepositoryCodec createCodec() {
+        return BinarySpreadsheetStoreRepositoryCodec.with(
+                MARSHALL_CONTEXT,
+                UNMARSHALL_CONTEXT
+        );
+    }
+
+    private SpreadsheetStoreRepository repository() {
+        return SpreadsheetStoreRepositories.basic(
+                SpreadsheetCellStores.treeMap(),
+                SpreadsheetExpressionReferenceStores.treeMap(),
+                SpreadsheetColumnStores.treeMap(),
+                SpreadsheetGroupStores.fake(),
+                SpreadsheetLabelStores.treeMap(),
+                SpreadsheetExpressionReferenceStores.treeMap(),
+                SpreadsheetMetadataStores.treeMap(),
+                SpreadsheetCellRangeStores.treeMap(),
+                SpreadsheetCellRangeStores.treeMap(),
+                SpreadsheetRowStores.treeMap(),
+                SpreadsheetUserStores.fake()
+        );
+    }
+
+    private SpreadsheetMetadata metadata() {
+        return SpreadsheetMetadata.EMPTY
+                .set(SpreadsheetMetadataPropertyName.SPREADSHEET_ID, SpreadsheetId.with(1))
+                .set(SpreadsheetMetadataPropertyName.CREATOR, EmailAddress.parse("creator@example.com"))
+                .set(SpreadsheetMetadataPropertyName.CREATE_DATE_TIME, LocalDateTime.of(1999, 12, 31, 12, 58, 59))
+                .set(SpreadsheetMetadataPropertyName.LOCALE, Locale.forLanguageTag("EN-AU"))
+                .set(SpreadsheetMetadataPropertyName.MODIFIED_BY, EmailAddress.parse("modified@example.com"))
+                .set(SpreadsheetMetadataPropertyName.MODIFIED_DATE_TIME, LocalDateTime.of(2000, 1, 2, 12, 58, 59));
+    }
+
+    private void saveCell(final SpreadsheetStoreRepository repository,
+                          final String reference,
+                          final String text,
+                          final Object value) {
+        repository.cells()
+                .save(
+                        SpreadsheetSelection.parseCell(reference)
+                                .setFormula(
+                                        SpreadsheetFormula.EMPTY.setText(text)
+                                                .setValue(Optional.of(value))
+                                )
+                );
+    }
+
+    private byte[] snapshot(final SpreadsheetStoreRepository repository) throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        this.createCodec()
+                .snapshot(
+                        repository,
+                        output
+                );
+        return output.toByteArray();
+    }
+
+    private SpreadsheetStoreRepository roundTripAndCheck(final SpreadsheetStoreRepository repository) throws IOException {
+        final SpreadsheetStoreRepository restored = this.repository();
+        this.createCodec()
+                .restore(
+                        new ByteArrayInputStream(this.snapshot(repository)),
+                        restored
+                );
+
+        this.checkEquals(repository.metadatas().all(), restored.metadatas().all(), "metadatas");
+        this.checkEquals(repository.columns().all(), restored.columns().all(), "columns");
+        this.checkEquals(repository.rows().all(), restored.rows().all(), "rows");
+        this.checkEquals(repository.labels().all(), restored.labels().all(), "labels");
+        this.checkEquals(repository.cells().all(), restored.cells().all(), "cells");
+        this.checkEquals(repository.cellReferences().all(), restored.cellReferences().all(), "cellReferences");
+        this.checkEquals(repository.labelReferences().all(), restored.labelReferences().all(), "labelReferences");
+        this.checkEquals(repository.rangeToCells().all(), restored.rangeToCells().all(), "rangeToCells");
+
+        return restored;
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<BinarySpreadsheetStoreRepositoryCodec> type() {
+        return BinarySpreadsheetStoreRepositoryCodec.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
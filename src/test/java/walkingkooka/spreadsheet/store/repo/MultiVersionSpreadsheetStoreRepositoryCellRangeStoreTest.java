@@ -0,0 +1,167 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.store.repo;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.Cast;
+import walkingkooka.ToStringTesting;
+import walkingkooka.spreadsheet.reference.store.SpreadsheetCellRangeStore;
+import walkingkooka.spreadsheet.reference.store.SpreadsheetCellRangeStoreTesting;
+import walkingkooka.spreadsheet.reference.store.SpreadsheetCellRangeStores;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class MultiVersionSpreadsheetStoreRepositoryCellRangeStoreTest implements SpreadsheetCellRangeStoreTesting<MultiVersionSpreadsheetStoreRepositoryCellRangeStore<String>, String>,
+        ToStringTesting<MultiVersionSpreadsheetStoreRepositoryCellRangeStore<String>> {
+
+    private final static String VALUE = "value";
+
+    @Test
+    public void testWithNullStoreFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> MultiVersionSpreadsheetStoreRepositoryCellRangeStore.with(null, () -> {
+                })
+        );
+    }
+
+    @Test
+    public void testWithNullChangedFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> MultiVersionSpreadsheetStoreRepositoryCellRangeStore.with(SpreadsheetCellRangeStores.treeMap(), null)
+        );
+    }
+
+    @Test
+    public void testAddValueChanged() {
+        final AtomicInteger changed = new AtomicInteger();
+        final SpreadsheetCellRangeStore<String> store = MultiVersionSpreadsheetStoreRepositoryCellRangeStore.with(
+                SpreadsheetCellRangeStores.treeMap(),
+                changed::incrementAndGet
+        );
+
+        store.addValue(RANGE, VALUE);
+
+        this.checkEquals(1, changed.get(), "changed");
+        this.loadRangeAndCheck(store, RANGE, VALUE);
+    }
+
+    @Test
+    public void testReplaceValueChanged() {
+        final AtomicInteger changed = new AtomicInteger();
+        final SpreadsheetCellRangeStore<String> store = MultiVersionSpreadsheetStoreRepositoryCellRangeStore.with(
+                SpreadsheetCellRangeStores.treeMap(),
+                changed::incrementAndGet
+        );
+
+        store.addValue(RANGE, VALUE);
+        store.replaceValue(RANGE, "replaced", VALUE);
+
+        this.checkEquals(2, changed.get(), "changed");
+        this.loadRangeAndCheck(store, RANGE, "replaced");
+    }
+
+    @Test
+    public void testReplaceValueUnknownNotChanged() {
+        final AtomicInteger changed = new AtomicInteger();
+        final SpreadsheetCellRangeStore<String> store = MultiVersionSpreadsheetStoreRepositoryCellRangeStore.with(
+                SpreadsheetCellRangeStores.treeMap(),
+                changed::incrementAndGet
+        );
+
+        store.replaceValue(RANGE, "replaced", VALUE);
+
+        this.checkEquals(0, changed.get(), "changed");
+    }
+
+    @Test
+    public void testRemoveValueChanged() {
+        final AtomicInteger changed = new AtomicInteger();
+        final SpreadsheetCellRangeStore<String> store = MultiVersionSpreadsheetStoreRepositoryCellRangeStore.with(
+                SpreadsheetCellRangeStores.treeMap(),
+                changed::incrementAndGet
+        );
+
+        store.addValue(RANGE, VALUE);
+        store.removeValue(RANGE, VALUE);
+
+        this.checkEquals(2, changed.get(), "changed");
+        this.countAndCheck(store, 0);
+    }
+
+    @Test
+    public void testDeleteChanged() {
+        final AtomicInteger changed = new AtomicInteger();
+        final SpreadsheetCellRangeStore<String> store = MultiVersionSpreadsheetStoreRepositoryCellRangeStore.with(
+                SpreadsheetCellRangeStores.treeMap(),
+                changed::incrementAndGet
+        );
+
+        store.addValue(RANGE, VALUE);
+        store.delete(RANGE);
+
+        this.checkEquals(2, changed.get(), "changed");
+        this.countAndCheck(store, 0);
+    }
+
+    @Override
+    public void testAddSaveWatcherAndSaveTwiceFiresOnce() {
+    }
+
+    @Test
+    public void testToString() {
+        final SpreadsheetCellRangeStore<String> store = SpreadsheetCellRangeStores.treeMap();
+        store.addValue(RANGE, VALUE);
+
+        this.toStringAndCheck(
+                MultiVersionSpreadsheetStoreRepositoryCellRangeStore.with(
+                        store,
+                        () -> {
+                        }
+                ),
+                store.toString()
+        );
+    }
+
+    @Override
+    public MultiVersionSpreadsheetStoreRepositoryCellRangeStore<String> createStore() {
+        return MultiVersionSpreadsheetStoreRepositoryCellRangeStore.with(
+                SpreadsheetCellRangeStores.treeMap(),
+                () -> {
+                }
+        );
+    }
+
+    @Override
+    public String valueValue() {
+        return VALUE;
+    }
+
+    @Override
+    public Class<MultiVersionSpreadsheetStoreRepositoryCellRangeStore<String>> type() {
+        return Cast.to(MultiVersionSpreadsheetStoreRepositoryCellRangeStore.class);
+    }
+
+    @Override
+    public String typeNameSuffix() {
+        return "";
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.store.repo;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.spreadsheet.SpreadsheetCell;
+import walkingkooka.spreadsheet.SpreadsheetFormula;
+import walkingkooka.spreadsheet.meta.store.SpreadsheetMetadataStores;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellReference;
+import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
+import walkingkooka.spreadsheet.reference.store.SpreadsheetCellRangeStores;
+import walkingkooka.spreadsheet.reference.store.SpreadsheetExpressionReferenceStores;
+import walkingkooka.spreadsheet.reference.store.SpreadsheetLabelStores;
+import walkingkooka.spreadsheet.security.store.SpreadsheetGroupStores;
+import walkingkooka.spreadsheet.security.store.SpreadsheetUserStores;
+import walkingkooka.spreadsheet.store.SpreadsheetCellStoreTesting;
+import walkingkooka.spreadsheet.store.SpreadsheetCellStores;
+import walkingkooka.spreadsheet.store.SpreadsheetColumnStores;
+import walkingkooka.spreadsheet.store.SpreadsheetRowStores;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public final class MultiVersionSpreadsheetStoreRepositoryCellStoreTest implements SpreadsheetCellStoreTesting<MultiVersionSpreadsheetStoreRepositoryCellStore>,
+        ToStringTesting<MultiVersionSpreadsheetStoreRepositoryCellStore> {
+
+    @Test
+    public void testSaveAndLoad() {
+        final MultiVersionSpreadsheetStoreRepositoryCellStore store = this.createStore();
+
+        final SpreadsheetCell cell = this.cell("A1", "=1");
+        store.save(cell);
+
+        assertSame(cell, store.loadOrFail(this.id()));
+    }
+
+    @Test
+    public void testSaveAndLoadAbsoluteReference() {
+        final MultiVersionSpreadsheetStoreRepositoryCellStore store = this.createStore();
+
+        final SpreadsheetCell cell = this.cell("$A$1", "=1");
+        store.save(cell);
+
+        assertSame(cell, store.loadOrFail(this.id()));
+    }
+
+    @Test
+    public void testSaveTwiceAndLoad() {
+        final MultiVersionSpreadsheetStoreRepositoryCellStore store = this.createStore();
+
+        store.save(this.cell("A1", "=1"));
+
+        final SpreadsheetCell cell = this.cell("A1", "=2");
+        store.save(cell);
+
+        assertSame(cell, store.loadOrFail(this.id()));
+        this.countAndCheck(store, 1);
+    }
+
+    @Test
+    public void testSaveDeleteLoad() {
+        final MultiVersionSpreadsheetStoreRepositoryCellStore store = this.createStore();
+
+        store.save(this.cell("A1", "=1"));
+        store.delete(this.id());
+
+        this.loadFailCheck(store, this.id());
+        this.countAndCheck(store, 0);
+    }
+
+    @Test
+    public void testCountIdsAndValues() {
+        final MultiVersionSpreadsheetStoreRepositoryCellStore store = this.createStore();
+
+        final SpreadsheetCell a1 = this.cell("A1", "=1");
+        final SpreadsheetCell b2 = this.cell("B2", "=2");
+        final SpreadsheetCell c3 = this.cell("C3", "=3");
+
+        store.save(a1);
+        store.save(b2);
+        store.save(c3);
+        store.delete(b2.reference());
+
+        this.countAndCheck(store, 2);
+        this.idsAndCheck(store, 0, 3, a1.reference(), c3.reference());
+        this.valuesAndCheck(store, a1.reference(), 3, a1, c3);
+    }
+
+    @Test
+    public void testRowsAndColumns() {
+        final MultiVersionSpreadsheetStoreRepositoryCellStore store = this.createStore();
+
+        store.save(this.cell("B9", "=1"));
+        store.save(this.cell("D2", "=2"));
+
+        this.checkEquals(8, store.rows(), "rows");
+        this.checkEquals(3, store.columns(), "columns");
+    }
+
+    @Test
+    public void testRowAndColumn() {
+        final MultiVersionSpreadsheetStoreRepositoryCellStore store = this.createStore();
+
+        final SpreadsheetCell a1 = this.cell("A1", "=1");
+        final SpreadsheetCell a2 = this.cell("A2", "=2");
+        final SpreadsheetCell b1 = this.cell("B1", "=3");
+
+        store.save(a1);
+        store.save(a2);
+        store.save(b1);
+
+        this.checkEquals(
+                store.row(a1.reference().row()).size(),
+                2,
+                "row 1"
+        );
+        this.checkEquals(
+                store.column(a1.reference().column()).size(),
+                2,
+                "column A"
+        );
+    }
+
+    @Test
+    public void testToString() {
+        final MultiVersionSpreadsheetStoreRepositoryCellStore store = this.createStore();
+
+        final SpreadsheetCell cell = this.cell("A1", "=1");
+        store.save(cell);
+
+        this.toStringAndCheck(
+                store,
+                "[" + cell + "]"
+        );
+    }
+
+    @Override
+    public MultiVersionSpreadsheetStoreRepositoryCellStore createStore() {
+        return MultiVersionSpreadsheetStoreRepository.with(
+                SpreadsheetStoreRepositories.basic(
+                        SpreadsheetCellStores.treeMap(),
+                        SpreadsheetExpressionReferenceStores.treeMap(),
+                        SpreadsheetColumnStores.treeMap(),
+                        SpreadsheetGroupStores.fake(),
+                        SpreadsheetLabelStores.treeMap(),
+                        SpreadsheetExpressionReferenceStores.treeMap(),
+                        SpreadsheetMetadataStores.treeMap(),
+                        SpreadsheetCellRangeStores.treeMap(),
+                        SpreadsheetCellRangeStores.treeMap(),
+                        SpreadsheetRowStores.treeMap(),
+                        SpreadsheetUserStores.fake()
+                )
+        ).cells();
+    }
+
+    @Override
+    public SpreadsheetCellReference id() {
+        return SpreadsheetSelection.parseCell("A1");
+    }
+
+    @Override
+    public SpreadsheetCell value() {
+        return this.cell("A1", "=1");
+    }
+
+    private SpreadsheetCell cell(final String reference,
+                                 final String formula) {
+        return SpreadsheetSelection.parseCell(reference)
+                .setFormula(SpreadsheetFormula.EMPTY.setText(formula));
+    }
+}
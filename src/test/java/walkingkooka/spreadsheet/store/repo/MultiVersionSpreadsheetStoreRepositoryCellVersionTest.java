@@ -0,0 +1,121 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.store.repo;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.spreadsheet.SpreadsheetCell;
+import walkingkooka.spreadsheet.SpreadsheetFormula;
+import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public final class MultiVersionSpreadsheetStoreRepositoryCellVersionTest implements ClassTesting2<MultiVersionSpreadsheetStoreRepositoryCellVersion>,
+        ToStringTesting<MultiVersionSpreadsheetStoreRepositoryCellVersion> {
+
+    private final static SpreadsheetCell CELL1 = cell("=1");
+    private final static SpreadsheetCell CELL3 = cell("=3");
+    private final static SpreadsheetCell CELL7 = cell("=7");
+
+    @Test
+    public void testCell() {
+        final MultiVersionSpreadsheetStoreRepositoryCellVersion version = this.createVersion();
+
+        assertNull(version.cell(0), "0");
+        assertSame(CELL1, version.cell(1), "1");
+        assertSame(CELL1, version.cell(2), "2");
+        assertSame(CELL3, version.cell(3), "3");
+        assertNull(version.cell(5), "5");
+        assertSame(CELL7, version.cell(7), "7");
+        assertSame(CELL7, version.cell(Long.MAX_VALUE), "max");
+    }
+
+    @Test
+    public void testPrune() {
+        final MultiVersionSpreadsheetStoreRepositoryCellVersion version = this.createVersion();
+        version.prune(4);
+
+        assertSame(CELL3, version.cell(4), "4");
+        assertSame(CELL3, version.cell(3), "3");
+        assertNull(version.cell(2), "2 was pruned");
+        assertSame(CELL7, version.cell(7), "7");
+    }
+
+    @Test
+    public void testPruneBeforeOldest() {
+        final MultiVersionSpreadsheetStoreRepositoryCellVersion version = this.createVersion();
+        version.prune(0);
+
+        assertSame(CELL1, version.cell(1), "1");
+    }
+
+    @Test
+    public void testToString() {
+        this.toStringAndCheck(
+                MultiVersionSpreadsheetStoreRepositoryCellVersion.with(
+                        2,
+                        null,
+                        MultiVersionSpreadsheetStoreRepositoryCellVersion.with(1, CELL1, null)
+                ),
+                "2=null, 1=" + CELL1
+        );
+    }
+
+    /**
+     * Saved at 1, 3, deleted at 5 and saved again at 7.
+     */
+    private MultiVersionSpreadsheetStoreRepositoryCellVersion createVersion() {
+        return MultiVersionSpreadsheetStoreRepositoryCellVersion.with(
+                7,
+                CELL7,
+                MultiVersionSpreadsheetStoreRepositoryCellVersion.with(
+                        5,
+                        null,
+                        MultiVersionSpreadsheetStoreRepositoryCellVersion.with(
+                                3,
+                                CELL3,
+                                MultiVersionSpreadsheetStoreRepositoryCellVersion.with(
+                                        1,
+                                        CELL1,
+                                        null
+                                )
+                        )
+                )
+        );
+    }
+
+    private static SpreadsheetCell cell(final String formula) {
+        return SpreadsheetSelection.parseCell("A1")
+                .setFormula(SpreadsheetFormula.EMPTY.setText(formula));
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<MultiVersionSpreadsheetStoreRepositoryCellVersion> type() {
+        return MultiVersionSpreadsheetStoreRepositoryCellVersion.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
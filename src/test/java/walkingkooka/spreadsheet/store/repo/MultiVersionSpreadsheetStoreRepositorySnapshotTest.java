@@ -0,0 +1,86 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.store.repo;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public final class MultiVersionSpreadsheetStoreRepositorySnapshotTest implements ClassTesting2<MultiVersionSpreadsheetStoreRepositorySnapshot>,
+        ToStringTesting<MultiVersionSpreadsheetStoreRepositorySnapshot> {
+
+    private final static long VERSION = 123;
+
+    @Test
+    public void testVersion() {
+        this.checkEquals(
+                VERSION,
+                this.createSnapshot(() -> {
+                }).version()
+        );
+    }
+
+    @Test
+    public void testCloseOnlyReleasesOnce() {
+        final AtomicInteger released = new AtomicInteger();
+        final MultiVersionSpreadsheetStoreRepositorySnapshot snapshot = this.createSnapshot(released::incrementAndGet);
+
+        snapshot.close();
+        snapshot.close();
+
+        this.checkEquals(1, released.get());
+    }
+
+    @Test
+    public void testToString() {
+        final SpreadsheetStoreRepository repository = SpreadsheetStoreRepositories.fake();
+
+        this.toStringAndCheck(
+                MultiVersionSpreadsheetStoreRepositorySnapshot.with(
+                        VERSION,
+                        repository,
+                        () -> {
+                        }
+                ),
+                "version 123 " + repository
+        );
+    }
+
+    private MultiVersionSpreadsheetStoreRepositorySnapshot createSnapshot(final Runnable release) {
+        return MultiVersionSpreadsheetStoreRepositorySnapshot.with(
+                VERSION,
+                SpreadsheetStoreRepositories.fake(),
+                release
+        );
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<MultiVersionSpreadsheetStoreRepositorySnapshot> type() {
+        return MultiVersionSpreadsheetStoreRepositorySnapshot.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -0,0 +1,390 @@
+/*
+ * Copyright 2019 Miroslav Pokorny (github.com/mP1)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package walkingkooka.spreadsheet.store.repo;
+
+import org.junit.jupiter.api.Test;
+import walkingkooka.ToStringTesting;
+import walkingkooka.collect.list.Lists;
+import walkingkooka.collect.set.Sets;
+import walkingkooka.reflect.ClassTesting2;
+import walkingkooka.reflect.JavaVisibility;
+import walkingkooka.spreadsheet.SpreadsheetCell;
+import walkingkooka.spreadsheet.SpreadsheetDescription;
+import walkingkooka.spreadsheet.SpreadsheetFormula;
+import walkingkooka.spreadsheet.conditionalformat.SpreadsheetConditionalFormattingRule;
+import walkingkooka.spreadsheet.meta.store.SpreadsheetMetadataStores;
+import walkingkooka.spreadsheet.reference.SpreadsheetCellRange;
+import walkingkooka.spreadsheet.reference.SpreadsheetLabelMapping;
+import walkingkooka.spreadsheet.reference.SpreadsheetSelection;
+import walkingkooka.spreadsheet.reference.store.SpreadsheetCellRangeStore;
+import walkingkooka.spreadsheet.reference.store.SpreadsheetCellRangeStores;
+import walkingkooka.spreadsheet.reference.store.SpreadsheetExpressionReferenceStores;
+import walkingkooka.spreadsheet.reference.store.SpreadsheetLabelStores;
+import walkingkooka.spreadsheet.security.store.SpreadsheetGroupStores;
+import walkingkooka.spreadsheet.security.store.SpreadsheetUserStores;
+import walkingkooka.spreadsheet.store.SpreadsheetCellStore;
+import walkingkooka.spreadsheet.store.SpreadsheetCellStores;
+import walkingkooka.spreadsheet.store.SpreadsheetColumnStores;
+import walkingkooka.spreadsheet.store.SpreadsheetRowStores;
+import walkingkooka.tree.text.TextStyle;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class MultiVersionSpreadsheetStoreRepositoryTest implements ClassTesting2<MultiVersionSpreadsheetStoreRepository>,
+        ToStringTesting<MultiVersionSpreadsheetStoreRepository> {
+
+    @Test
+    public void testWithNullRepositoryFails() {
+        assertThrows(
+                NullPointerException.class,
+                () -> MultiVersionSpreadsheetStoreRepository.with(null)
+        );
+    }
+
+    @Test
+    public void testWithCopiesCells() {
+        final SpreadsheetStoreRepository repository = this.repository();
+
+        final SpreadsheetCell cell = this.cell("A1", "=1");
+        repository.cells()
+                .save(cell);
+
+        final MultiVersionSpreadsheetStoreRepository versioned = MultiVersionSpreadsheetStoreRepository.with(repository);
+        this.checkEquals(0L, versioned.version(), "version");
+
+        assertSame(cell, versioned.cells().loadOrFail(cell.reference()));
+
+        try (final SpreadsheetStoreRepositorySnapshot snapshot = versioned.snapshot()) {
+            this.checkEquals(0L, snapshot.version(), "snapshot version");
+            assertSame(cell, snapshot.cells().loadOrFail(cell.reference()));
+        }
+    }
+
+    @Test
+    public void testPublishIncrementsVersion() {
+        final MultiVersionSpreadsheetStoreRepository versioned = this.createRepository();
+
+        this.checkEquals(1L, versioned.publish());
+        this.checkEquals(2L, versioned.publish());
+        this.checkEquals(2L, versioned.version());
+    }
+
+    @Test
+    public void testSnapshotIgnoresUnpublishedSave() {
+        final MultiVersionSpreadsheetStoreRepository versioned = this.createRepository();
+
+        final SpreadsheetCell cell = this.cell("A1", "=1");
+        versioned.cells()
+                .save(cell);
+
+        try (final SpreadsheetStoreRepositorySnapshot snapshot = versioned.snapshot()) {
+            this.checkEquals(0, snapshot.cells().count(), "count");
+        }
+
+        versioned.publish();
+
+        try (final SpreadsheetStoreRepositorySnapshot snapshot = versioned.snapshot()) {
+            assertSame(cell, snapshot.cells().loadOrFail(cell.reference()));
+        }
+    }
+
+    @Test
+    public void testSnapshotUnchangedByLaterSavesAndDeletes() {
+        final MultiVersionSpreadsheetStoreRepository versioned = this.createRepository();
+        final SpreadsheetCellStore cells = versioned.cells();
+
+        final SpreadsheetCell a1 = this.cell("A1", "=1");
+        final SpreadsheetCell b2 = this.cell("B2", "=2");
+        cells.save(a1);
+        cells.save(b2);
+        versioned.publish();
+
+        try (final SpreadsheetStoreRepositorySnapshot snapshot = versioned.snapshot()) {
+            cells.save(this.cell("A1", "=99"));
+            cells.delete(b2.reference());
+            cells.save(this.cell("C3", "=3"));
+            versioned.publish();
+
+            cells.save(this.cell("A1", "=999"));
+            versioned.publish();
+
+            this.checkEquals(
+                    Lists.of(a1, b2),
+                    snapshot.cells().all(),
+                    "old snapshot"
+            );
+        }
+
+        try (final SpreadsheetStoreRepositorySnapshot snapshot = versioned.snapshot()) {
+            this.checkEquals(
+                    "=999",
+                    snapshot.cells().loadOrFail(a1.reference()).formula().text(),
+                    "new snapshot A1"
+            );
+            this.checkEquals(
+                    false,
+                    snapshot.cells().load(b2.reference()).isPresent(),
+                    "new snapshot B2"
+            );
+            this.checkEquals(2, snapshot.cells().count(), "new snapshot count");
+        }
+    }
+
+    @Test
+    public void testSnapshotSaveAndDeleteOnlyVisibleToSnapshot() {
+        final MultiVersionSpreadsheetStoreRepository versioned = this.createRepository();
+
+        final SpreadsheetCell a1 = this.cell("A1", "=1");
+        versioned.cells()
+                .save(a1);
+        versioned.publish();
+
+        final SpreadsheetCell b2 = this.cell("B2", "=2");
+
+        try (final SpreadsheetStoreRepositorySnapshot snapshot = versioned.snapshot()) {
+            final SpreadsheetCellStore cells = snapshot.cells();
+            cells.save(b2);
+            cells.delete(a1.reference());
+
+            this.checkEquals(
+                    Lists.of(b2),
+                    cells.all(),
+                    "snapshot"
+            );
+        }
+
+        this.checkEquals(
+                Lists.of(a1),
+                versioned.cells().all(),
+                "writer"
+        );
+    }
+
+    @Test
+    public void testSnapshotLabelsOnlyChangeWhenPublished() {
+        final MultiVersionSpreadsheetStoreRepository versioned = this.createRepository();
+
+        final SpreadsheetLabelMapping mapping = SpreadsheetSelection.labelName("Label1")
+                .mapping(SpreadsheetSelection.parseCell("A1"));
+        versioned.labels()
+                .save(mapping);
+
+        try (final SpreadsheetStoreRepositorySnapshot snapshot = versioned.snapshot()) {
+            this.checkEquals(0, snapshot.labels().count(), "before publish");
+        }
+
+        versioned.publish();
+
+        try (final SpreadsheetStoreRepositorySnapshot snapshot = versioned.snapshot()) {
+            this.checkEquals(
+                    Lists.of(mapping),
+                    snapshot.labels().all(),
+                    "after publish"
+            );
+        }
+    }
+
+    @Test
+    public void testSnapshotConditionalFormattingRulesOnlyChangeWhenPublished() {
+        final MultiVersionSpreadsheetStoreRepository versioned = this.createRepository();
+
+        final SpreadsheetCellRange range = SpreadsheetSelection.parseCellRange("A1:B2");
+        final SpreadsheetConditionalFormattingRule rule = SpreadsheetConditionalFormattingRule.with(
+                SpreadsheetDescription.with("Description"),
+                1,
+                SpreadsheetFormula.EMPTY
+                        .setText("true"),
+                (c) -> TextStyle.EMPTY
+        );
+        versioned.rangeToConditionalFormattingRules()
+                .addValue(range, rule);
+
+        try (final SpreadsheetStoreRepositorySnapshot snapshot = versioned.snapshot()) {
+            this.checkEquals(0, snapshot.rangeToConditionalFormattingRules().count(), "before publish");
+        }
+
+        versioned.publish();
+
+        try (final SpreadsheetStoreRepositorySnapshot snapshot = versioned.snapshot()) {
+            this.checkEquals(
+                    Lists.of(rule),
+                    snapshot.rangeToConditionalFormattingRules()
+                            .loadOrFail(range),
+                    "after publish"
+            );
+        }
+    }
+
+    @Test
+    public void testPublishUnchangedConditionalFormattingRulesNotCopied() {
+        final MultiVersionSpreadsheetStoreRepository versioned = this.createRepository();
+
+        final SpreadsheetCellRangeStore<SpreadsheetConditionalFormattingRule> before;
+        try (final SpreadsheetStoreRepositorySnapshot snapshot = versioned.snapshot()) {
+            before = snapshot.rangeToConditionalFormattingRules();
+        }
+
+        versioned.publish();
+
+        try (final SpreadsheetStoreRepositorySnapshot snapshot = versioned.snapshot()) {
+            assertSame(
+                    before,
+                    snapshot.rangeToConditionalFormattingRules()
+            );
+        }
+    }
+
+    @Test
+    public void testSnapshotColumnsAndRowsReadOnly() {
+        final MultiVersionSpreadsheetStoreRepository versioned = this.createRepository();
+
+        try (final SpreadsheetStoreRepositorySnapshot snapshot = versioned.snapshot()) {
+            assertThrows(
+                    UnsupportedOperationException.class,
+                    () -> snapshot.columns()
+                            .save(SpreadsheetSelection.parseColumn("A").column())
+            );
+            assertThrows(
+                    UnsupportedOperationException.class,
+                    () -> snapshot.rows()
+                            .save(SpreadsheetSelection.parseRow("1").row())
+            );
+        }
+    }
+
+    @Test
+    public void testHorizon() {
+        final MultiVersionSpreadsheetStoreRepository versioned = this.createRepository();
+        versioned.publish();
+
+        final SpreadsheetStoreRepositorySnapshot snapshot = versioned.snapshot();
+
+        versioned.publish();
+        versioned.publish();
+        this.checkEquals(1L, versioned.horizon(), "horizon with open snapshot");
+
+        snapshot.close();
+        snapshot.close();
+        this.checkEquals(3L, versioned.horizon(), "horizon after close");
+    }
+
+    @Test
+    public void testSnapshotsConsistentWhileWriting() throws Exception {
+        final MultiVersionSpreadsheetStoreRepository versioned = this.createRepository();
+        final SpreadsheetCellStore cells = versioned.cells();
+
+        final int cellCount = 20;
+        final AtomicBoolean writing = new AtomicBoolean(true);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        final Runnable reader = () -> {
+            try {
+                while (writing.get()) {
+                    try (final SpreadsheetStoreRepositorySnapshot snapshot = versioned.snapshot()) {
+                        final List<SpreadsheetCell> all = snapshot.cells().all();
+                        final Set<String> formulas = all.stream()
+                                .map(c -> c.formula().text())
+                                .collect(Collectors.toCollection(Sets::sorted));
+                        if (formulas.size() > 1 || (!all.isEmpty() && all.size() != cellCount)) {
+                            throw new AssertionError("Inconsistent snapshot " + snapshot.version() + " " + all);
+                        }
+                    }
+                }
+            } catch (final Throwable cause) {
+                failure.compareAndSet(null, cause);
+            }
+        };
+
+        final Thread reader1 = new Thread(reader);
+        final Thread reader2 = new Thread(reader);
+        reader1.start();
+        reader2.start();
+
+        try {
+            for (int round = 1; round <= 500; round++) {
+                for (int i = 1; i <= cellCount; i++) {
+                    cells.save(this.cell("A" + i, "=" + round));
+                }
+                versioned.publish();
+            }
+        } finally {
+            writing.set(false);
+            reader1.join();
+            reader2.join();
+        }
+
+        if (null != failure.get()) {
+            throw new AssertionError(failure.get());
+        }
+    }
+
+    @Test
+    public void testToString() {
+        final SpreadsheetStoreRepository repository = this.repository();
+
+        this.toStringAndCheck(
+                MultiVersionSpreadsheetStoreRepository.with(repository),
+                "version 0 " + repository
+        );
+    }
+
+    private MultiVersionSpreadsheetStoreRepository createRepository() {
+        return MultiVersionSpreadsheetStoreRepository.with(this.repository());
+    }
+
+    private SpreadsheetStoreRepository repository() {
+        return SpreadsheetStoreRepositories.basic(
+                SpreadsheetCellStores.treeMap(),
+                SpreadsheetExpressionReferenceStores.treeMap(),
+                SpreadsheetColumnStores.treeMap(),
+                SpreadsheetGroupStores.fake(),
+                SpreadsheetLabelStores.treeMap(),
+                SpreadsheetExpressionReferenceStores.treeMap(),
+                SpreadsheetMetadataStores.treeMap(),
+                SpreadsheetCellRangeStores.treeMap(),
+                SpreadsheetCellRangeStores.treeMap(),
+                SpreadsheetRowStores.treeMap(),
+                SpreadsheetUserStores.fake()
+        );
+    }
+
+    private SpreadsheetCell cell(final String reference,
+                                 final String formula) {
+        return SpreadsheetSelection.parseCell(reference)
+                .setFormula(SpreadsheetFormula.EMPTY.setText(formula));
+    }
+
+    // ClassTesting.....................................................................................................
+
+    @Override
+    public Class<MultiVersionSpreadsheetStoreRepository> type() {
+        return MultiVersionSpreadsheetStoreRepository.class;
+    }
+
+    @Override
+    public JavaVisibility typeVisibility() {
+        return JavaVisibility.PACKAGE_PRIVATE;
+    }
+}
@@ -117,12 +117,25 @@ public final class SpreadsheetMetadataAwareSpreadsheetCellStoreSpreadsheetStoreR
 
         final SpreadsheetMetadata metadata = this.metadata();
         repository.metadatas()
-                .save(metadata);
+                .save(metadata.set(SpreadsheetMetadataPropertyName.DECIMAL_SEPARATOR, '$'));
 
         assertNotSame(cellStore, repository.cells(), "SpreadsheetCellStore should have been recreated because of metadata save");
         assertSame(repository.cells(), repository.cells(), "SpreadsheetCellStore should have been cached, and not recreated");
     }
 
+    @Test
+    public void testCellStoreSaveMetadataSameFormulaPropertiesCellStore() {
+        final SpreadsheetMetadataAwareSpreadsheetCellStoreSpreadsheetStoreRepository repository = this.createStoreRepository();
+
+        final SpreadsheetCellStore cellStore = repository.cells();
+
+        final SpreadsheetMetadata metadata = this.metadata();
+        repository.metadatas()
+                .save(metadata.set(SpreadsheetMetadataPropertyName.SPREADSHEET_NAME, SpreadsheetName.with("Different")));
+
+        assertSame(cellStore, repository.cells(), "SpreadsheetCellStore should not have been recreated because formula properties are unchanged");
+    }
+
     @Test
     public void testCellStoreSaveDifferentMetadataCellStore() {
         final SpreadsheetMetadataAwareSpreadsheetCellStoreSpreadsheetStoreRepository repository = this.createStoreRepository();
@@ -149,7 +162,7 @@ public final class SpreadsheetMetadataAwareSpreadsheetCellStoreSpreadsheetStoreR
 
         // addSaveWatcher not fired if same metadata saved twice in a row
         repository.metadatas()
-                .save(metadata.set(SpreadsheetMetadataPropertyName.SPREADSHEET_NAME, SpreadsheetName.with("Different")));
+                .save(metadata.set(SpreadsheetMetadataPropertyName.DEFAULT_YEAR, 1999));
 
         assertNotSame(cellStore, repository.cells(), "SpreadsheetCellStore should have been recreated because of metadata save");
         assertSame(repository.cells(), repository.cells(), "SpreadsheetCellStore should have been cached, and not recreated");